@@ -60,6 +60,20 @@ public interface ClientConnectionManager extends ConnectionListenable {
      */
     Connection getOrTriggerConnect(Address address) throws IOException;
 
+    /**
+     * Returns one of the connections to the given address, selected by the routing key, when the client is configured
+     * to use several {@link com.hazelcast.client.spi.properties.ClientProperty#CONNECTIONS_PER_MEMBER connections per
+     * member}. Invocations with the same routing key are sent over the same connection once it is open. They are not
+     * kept in order when the selected connection becomes available and replaces the returned fallback connection.
+     *
+     * @param address    to be connected
+     * @param routingKey selects one of the connections to the address
+     * @return the selected connection, or the connection returned by {@link #getOrTriggerConnect(Address)} if the
+     * selected connection is not available yet; in that case its creation is triggered
+     * @throws IOException if connection is not able to triggered
+     */
+    Connection getOrTriggerConnect(Address address, int routingKey) throws IOException;
+
     void addConnectionHeartbeatListener(ConnectionHeartbeatListener connectionHeartbeatListener);
 
     Collection<ClientConnection> getActiveConnections();
@@ -22,6 +22,7 @@ import com.hazelcast.internal.networking.Channel;
 import com.hazelcast.internal.networking.ChannelInboundHandler;
 import com.hazelcast.internal.networking.ChannelInitializer;
 import com.hazelcast.internal.networking.ChannelOutboundHandler;
+import com.hazelcast.internal.networking.DirectWriteOutboundHandler;
 import com.hazelcast.internal.networking.InitResult;
 
 import java.io.IOException;
@@ -69,11 +70,21 @@ class ClientChannelInitializer implements ChannelInitializer {
         // add the protocol-bytes so the client makes itself known to the 'server'
         outputBuffer.put(stringToBytes(CLIENT_BINARY_NEW));
 
-        ChannelOutboundHandler outboundHandler = new ChannelOutboundHandler<ClientMessage>() {
+        ChannelOutboundHandler outboundHandler = new DirectWriteOutboundHandler<ClientMessage>() {
             @Override
             public boolean onWrite(ClientMessage msg, ByteBuffer dst) throws Exception {
                 return msg.writeTo(dst);
             }
+
+            @Override
+            public ByteBuffer remainingBytes(ClientMessage msg, int minLength) {
+                return msg.remainingBytes(minLength);
+            }
+
+            @Override
+            public boolean onDirectWrite(ClientMessage msg, int bytesWritten) {
+                return msg.onBytesWritten(bytesWritten);
+            }
         };
 
         return new InitResult<ChannelOutboundHandler>(outputBuffer, outboundHandler);
@@ -63,6 +63,7 @@ import com.hazelcast.spi.properties.HazelcastProperties;
 import com.hazelcast.spi.serialization.SerializationService;
 import com.hazelcast.util.AddressUtil;
 import com.hazelcast.util.Clock;
+import com.hazelcast.util.ConstructorFunction;
 import com.hazelcast.util.executor.SingleExecutorThreadFactory;
 
 import java.io.EOFException;
@@ -89,12 +90,17 @@ import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
 
 import static com.hazelcast.client.config.SocketOptions.DEFAULT_BUFFER_SIZE_BYTE;
 import static com.hazelcast.client.config.SocketOptions.KILO_BYTE;
+import static com.hazelcast.client.spi.properties.ClientProperty.CONNECTIONS_PER_MEMBER;
 import static com.hazelcast.client.spi.properties.ClientProperty.SHUFFLE_MEMBER_LIST;
 import static com.hazelcast.spi.properties.GroupProperty.SOCKET_CLIENT_BUFFER_DIRECT;
+import static com.hazelcast.util.ConcurrencyUtil.getOrPutIfAbsent;
 import static com.hazelcast.util.ExceptionUtil.rethrow;
+import static com.hazelcast.util.Preconditions.checkPositive;
 
 /**
  * Implementation of {@link ClientConnectionManager}.
@@ -126,6 +132,16 @@ public class ClientConnectionManagerImpl implements ClientConnectionManager, Con
     private final ConcurrentMap<Address, AuthenticationFuture> connectionsInProgress =
             new ConcurrentHashMap<Address, AuthenticationFuture>();
     private final Set<ConnectionListener> connectionListeners = new CopyOnWriteArraySet<ConnectionListener>();
+    private final int connectionsPerMember;
+    private final ConcurrentMap<Address, SecondaryConnections> secondaryConnections
+            = new ConcurrentHashMap<Address, SecondaryConnections>();
+    private final ConstructorFunction<Address, SecondaryConnections> secondaryConnectionsConstructor
+            = new ConstructorFunction<Address, SecondaryConnections>() {
+        @Override
+        public SecondaryConnections createNew(Address address) {
+            return new SecondaryConnections(address, connectionsPerMember - 1);
+        }
+    };
 
     private final Credentials credentials;
     private final NioEventLoopGroup eventLoopGroup;
@@ -171,6 +187,8 @@ public class ClientConnectionManagerImpl implements ClientConnectionManager, Con
         this.connectionStrategy = initializeStrategy(client);
         this.clusterConnectionExecutor = createSingleThreadExecutorService(client);
         this.shuffleMemberList = client.getProperties().getBoolean(SHUFFLE_MEMBER_LIST);
+        this.connectionsPerMember = checkPositive(client.getProperties().getInteger(CONNECTIONS_PER_MEMBER),
+                CONNECTIONS_PER_MEMBER.getName() + " should be positive");
         this.addressProviders = addressProviders;
         connectionAttemptPeriod = networkConfig.getConnectionAttemptPeriod();
 
@@ -305,6 +323,9 @@ public class ClientConnectionManagerImpl implements ClientConnectionManager, Con
         for (Connection connection : activeConnections.values()) {
             connection.close("Hazelcast client is shutting down", null);
         }
+        for (Connection connection : getSecondaryConnections()) {
+            connection.close("Hazelcast client is shutting down", null);
+        }
         ClientExecutionServiceImpl.shutdownExecutor("cluster", clusterConnectionExecutor, logger);
         stopEventLoopGroup();
         connectionListeners.clear();
@@ -349,6 +370,56 @@ public class ClientConnectionManagerImpl implements ClientConnectionManager, Con
         return null;
     }
 
+    @Override
+    public Connection getOrTriggerConnect(Address target, int routingKey) throws IOException {
+        Connection connection = getOrTriggerConnect(target);
+        if (connection == null || connectionsPerMember == 1) {
+            return connection;
+        }
+
+        int index = (routingKey & Integer.MAX_VALUE) % connectionsPerMember;
+        if (index == 0) {
+            return connection;
+        }
+        Connection secondaryConnection = getOrTriggerSecondaryConnect(target, index - 1);
+        return secondaryConnection != null ? secondaryConnection : connection;
+    }
+
+    private Connection getOrTriggerSecondaryConnect(Address target, int slot) {
+        SecondaryConnections secondaries = getOrPutIfAbsent(secondaryConnections, target, secondaryConnectionsConstructor);
+        ClientConnection connection = secondaries.connections.get(slot);
+        if (connection != null && connection.isAlive()) {
+            return connection;
+        }
+        if (alive && secondaries.connecting.compareAndSet(slot, 0, 1)) {
+            executionService.execute(new InitSecondaryConnectionTask(secondaries, slot));
+        }
+        return null;
+    }
+
+    /**
+     * Returns the additional connections opened when there are several
+     * {@link ClientProperty#CONNECTIONS_PER_MEMBER connections per member}. These connections are not part of the
+     * {@link #getActiveConnections() active connections}.
+     */
+    Collection<ClientConnection> getSecondaryConnections() {
+        List<ClientConnection> connections = new ArrayList<ClientConnection>();
+        for (SecondaryConnections secondaries : secondaryConnections.values()) {
+            for (int slot = 0; slot < secondaries.connections.length(); slot++) {
+                ClientConnection connection = secondaries.connections.get(slot);
+                if (connection != null) {
+                    connections.add(connection);
+                }
+            }
+        }
+        return connections;
+    }
+
+    // just for testing
+    Set<Address> getSecondaryConnectionAddresses() {
+        return secondaryConnections.keySet();
+    }
+
     private Connection getConnection(Address target, boolean asOwner) throws IOException {
         if (!asOwner) {
             connectionStrategy.beforeGetConnection(target);
@@ -603,7 +674,11 @@ public class ClientConnectionManagerImpl implements ClientConnectionManager, Con
         }
         if (activeConnections.remove(endpoint, connection)) {
             logger.info("Removed connection to endpoint: " + endpoint + ", connection: " + connection);
+            pruneSecondaryConnections(endpoint);
             fireConnectionRemovedEvent((ClientConnection) connection);
+        } else if (removeFromSecondaryConnections(endpoint, connection)) {
+            logger.info("Removed secondary connection to endpoint: " + endpoint + ", connection: " + connection);
+            pruneSecondaryConnections(endpoint);
         } else {
             if (logger.isFinestEnabled()) {
                 logger.finest("Destroying a connection, but there is no mapping " + endpoint + " -> " + connection
@@ -612,6 +687,39 @@ public class ClientConnectionManagerImpl implements ClientConnectionManager, Con
         }
     }
 
+    private boolean removeFromSecondaryConnections(Address endpoint, Connection connection) {
+        SecondaryConnections secondaries = secondaryConnections.get(endpoint);
+        if (secondaries == null) {
+            return false;
+        }
+        for (int slot = 0; slot < secondaries.connections.length(); slot++) {
+            if (secondaries.connections.compareAndSet(slot, (ClientConnection) connection, null)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Removes the secondary connections of the endpoint once it has no primary connection anymore, e.g. because the
+     * member left, and closes them. They are reopened on demand when a primary connection is established again.
+     */
+    private void pruneSecondaryConnections(Address endpoint) {
+        if (activeConnections.containsKey(endpoint)) {
+            return;
+        }
+        SecondaryConnections secondaries = secondaryConnections.remove(endpoint);
+        if (secondaries == null) {
+            return;
+        }
+        for (int slot = 0; slot < secondaries.connections.length(); slot++) {
+            ClientConnection connection = secondaries.connections.getAndSet(slot, null);
+            if (connection != null) {
+                connection.close("Connection to " + endpoint + " has been removed", null);
+            }
+        }
+    }
+
     @Override
     public void addConnectionListener(ConnectionListener connectionListener) {
         connectionListeners.add(connectionListener);
@@ -624,12 +732,16 @@ public class ClientConnectionManagerImpl implements ClientConnectionManager, Con
 
     private void authenticate(final Address target, final ClientConnection connection, final boolean asOwner,
                               final AuthenticationFuture future) {
+        authenticate(connection, asOwner, new AuthCallback(connection, asOwner, target, future));
+    }
+
+    private void authenticate(ClientConnection connection, boolean asOwner, ExecutionCallback<ClientMessage> callback) {
         final ClientPrincipal principal = getPrincipal();
         ClientMessage clientMessage = encodeAuthenticationRequest(asOwner, client.getSerializationService(), principal);
         ClientInvocation clientInvocation = new ClientInvocation(client, clientMessage, null, connection);
         ClientInvocationFuture invocationFuture = clientInvocation.invokeUrgent();
         executionService.schedule(new TimeoutAuthenticationTask(invocationFuture), connectionTimeout, TimeUnit.MILLISECONDS);
-        invocationFuture.andThen(new AuthCallback(connection, asOwner, target, future));
+        invocationFuture.andThen(callback);
     }
 
     private ClientMessage encodeAuthenticationRequest(boolean asOwner, SerializationService ss, ClientPrincipal principal) {
@@ -763,12 +875,65 @@ public class ClientConnectionManagerImpl implements ClientConnectionManager, Con
             if (connection != null) {
                 return connection;
             }
-            Address address = addressTranslator.translate(target);
-            if (address == null) {
-                throw new NullPointerException("Address Translator " + addressTranslator.getClass()
-                        + " could not translate address " + target);
+            return createSocketConnection(translate(target));
+        }
+    }
+
+    private Address translate(Address target) {
+        Address address = addressTranslator.translate(target);
+        if (address == null) {
+            throw new NullPointerException("Address Translator " + addressTranslator.getClass()
+                    + " could not translate address " + target);
+        }
+        return address;
+    }
+
+    /**
+     * The additional connections to a member. A slot is marked as connecting while its connection is being opened,
+     * so that a single connection is opened per slot at a time.
+     */
+    private static final class SecondaryConnections {
+
+        private final Address address;
+        private final AtomicReferenceArray<ClientConnection> connections;
+        private final AtomicIntegerArray connecting;
+
+        SecondaryConnections(Address address, int count) {
+            this.address = address;
+            this.connections = new AtomicReferenceArray<ClientConnection>(count);
+            this.connecting = new AtomicIntegerArray(count);
+        }
+    }
+
+    private class InitSecondaryConnectionTask implements Runnable {
+
+        private final SecondaryConnections secondaries;
+        private final int slot;
+
+        InitSecondaryConnectionTask(SecondaryConnections secondaries, int slot) {
+            this.secondaries = secondaries;
+            this.slot = slot;
+        }
+
+        @Override
+        public void run() {
+            ClientConnection connection;
+            try {
+                connection = createSocketConnection(translate(secondaries.address));
+            } catch (Exception e) {
+                logger.finest(e);
+                secondaries.connecting.set(slot, 0);
+                pruneSecondaryConnections(secondaries.address);
+                return;
+            }
+
+            try {
+                authenticate(connection, false, new SecondaryAuthCallback(connection, secondaries, slot));
+            } catch (Exception e) {
+                connection.close("Failed to authenticate connection", e);
+                secondaries.connecting.set(slot, 0);
+                pruneSecondaryConnections(secondaries.address);
             }
-            return createSocketConnection(address);
         }
     }
 
@@ -979,4 +1144,56 @@ public class ClientConnectionManagerImpl implements ClientConnectionManager, Con
             future.onFailure(t);
         }
     }
+
+    private class SecondaryAuthCallback implements ExecutionCallback<ClientMessage> {
+        private final ClientConnection connection;
+        private final SecondaryConnections secondaries;
+        private final int slot;
+
+        SecondaryAuthCallback(ClientConnection connection, SecondaryConnections secondaries, int slot) {
+            this.connection = connection;
+            this.secondaries = secondaries;
+            this.slot = slot;
+        }
+
+        @Override
+        public void onResponse(ClientMessage response) {
+            ClientAuthenticationCodec.ResponseParameters result;
+            try {
+                result = ClientAuthenticationCodec.decodeResponse(response);
+            } catch (HazelcastException e) {
+                onFailure(e);
+                return;
+            }
+            AuthenticationStatus authenticationStatus = AuthenticationStatus.getById(result.status);
+            if (authenticationStatus != AuthenticationStatus.AUTHENTICATED) {
+                onFailure(new AuthenticationException("Authentication of secondary connection failed. status: "
+                        + authenticationStatus));
+                return;
+            }
+
+            connection.setConnectedServerVersion(result.serverHazelcastVersion);
+            connection.setRemoteEndpoint(result.address);
+            secondaries.connections.set(slot, connection);
+            secondaries.connecting.set(slot, 0);
+            logger.info("Authenticated secondary connection " + connection);
+
+            // same race as in onAuthenticated: the connection may have been closed before it was added, and the
+            // secondary connections of the member may have been pruned meanwhile
+            if (!connection.isAlive() || !alive || secondaryConnections.get(secondaries.address) != secondaries) {
+                secondaries.connections.compareAndSet(slot, connection, null);
+                connection.close(null, null);
+            }
+        }
+
+        @Override
+        public void onFailure(Throwable t) {
+            if (logger.isFinestEnabled()) {
+                logger.finest("Authentication of secondary connection " + connection + " failed.", t);
+            }
+            connection.close(null, t);
+            secondaries.connecting.set(slot, 0);
+            pruneSecondaryConnections(secondaries.address);
+        }
+    }
 }
@@ -25,6 +25,7 @@ import com.hazelcast.client.spi.impl.ClientInvocation;
 import com.hazelcast.client.spi.impl.ConnectionHeartbeatListener;
 import com.hazelcast.core.ExecutionCallback;
 import com.hazelcast.logging.ILogger;
+import com.hazelcast.spi.exception.TargetDisconnectedException;
 import com.hazelcast.spi.properties.HazelcastProperties;
 import com.hazelcast.util.Clock;
 
@@ -90,25 +91,7 @@ public class HeartbeatManager implements Runnable {
                 }
             }
             if (now - connection.lastReadTimeMillis() > heartbeatInterval) {
-                ClientMessage request = ClientPingCodec.encodeRequest();
-                final ClientInvocation clientInvocation = new ClientInvocation(client, request, null, connection);
-                clientInvocation.setBypassHeartbeatCheck(true);
-                connection.onHeartbeatRequested();
-                clientInvocation.invokeUrgent().andThen(new ExecutionCallback<ClientMessage>() {
-                    @Override
-                    public void onResponse(ClientMessage response) {
-                        if (connection.isAlive()) {
-                            connection.onHeartbeatReceived();
-                        }
-                    }
-
-                    @Override
-                    public void onFailure(Throwable t) {
-                        if (connection.isAlive()) {
-                            logger.warning("Error receiving ping answer from the connection: " + connection, t);
-                        }
-                    }
-                });
+                ping(connection);
             } else {
                 if (!connection.isHeartBeating()) {
                     logger.warning("Heartbeat is back to healthy for the connection: " + connection);
@@ -117,6 +100,45 @@ public class HeartbeatManager implements Runnable {
                 }
             }
         }
+        checkSecondaryConnections(now);
+    }
+
+    private void checkSecondaryConnections(long now) {
+        for (ClientConnection connection : clientConnectionManager.getSecondaryConnections()) {
+            if (!connection.isAlive()) {
+                continue;
+            }
+
+            if (now - connection.lastReadTimeMillis() > heartbeatTimeout) {
+                // the member itself is monitored over its primary connection, a secondary one is reopened on demand
+                connection.close(null, new TargetDisconnectedException("Heartbeat timed out to secondary connection "
+                        + connection));
+            } else if (now - connection.lastReadTimeMillis() > heartbeatInterval) {
+                ping(connection);
+            }
+        }
+    }
+
+    private void ping(final ClientConnection connection) {
+        ClientMessage request = ClientPingCodec.encodeRequest();
+        final ClientInvocation clientInvocation = new ClientInvocation(client, request, null, connection);
+        clientInvocation.setBypassHeartbeatCheck(true);
+        connection.onHeartbeatRequested();
+        clientInvocation.invokeUrgent().andThen(new ExecutionCallback<ClientMessage>() {
+            @Override
+            public void onResponse(ClientMessage response) {
+                if (connection.isAlive()) {
+                    connection.onHeartbeatReceived();
+                }
+            }
+
+            @Override
+            public void onFailure(Throwable t) {
+                if (connection.isAlive()) {
+                    logger.warning("Error receiving ping answer from the connection: " + connection, t);
+                }
+            }
+        });
     }
 
     private void fireHeartbeatResumed(ClientConnection connection) {
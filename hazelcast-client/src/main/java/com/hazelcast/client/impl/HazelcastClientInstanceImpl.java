@@ -109,6 +109,7 @@ import com.hazelcast.internal.diagnostics.MetricsPlugin;
 import com.hazelcast.internal.diagnostics.NetworkingImbalancePlugin;
 import com.hazelcast.internal.diagnostics.SystemLogPlugin;
 import com.hazelcast.internal.diagnostics.SystemPropertiesPlugin;
+import com.hazelcast.internal.diagnostics.TracingPlugin;
 import com.hazelcast.internal.metrics.ProbeLevel;
 import com.hazelcast.internal.metrics.impl.MetricsRegistryImpl;
 import com.hazelcast.internal.metrics.metricsets.ClassLoadingMetricSet;
@@ -119,6 +120,7 @@ import com.hazelcast.internal.metrics.metricsets.RuntimeMetricSet;
 import com.hazelcast.internal.metrics.metricsets.ThreadMetricSet;
 import com.hazelcast.internal.nearcache.NearCacheManager;
 import com.hazelcast.internal.serialization.InternalSerializationService;
+import com.hazelcast.internal.tracing.Tracer;
 import com.hazelcast.logging.ILogger;
 import com.hazelcast.logging.LoggingService;
 import com.hazelcast.map.impl.MapService;
@@ -168,6 +170,7 @@ import java.util.concurrent.atomic.AtomicInteger;
 
 import static com.hazelcast.client.spi.properties.ClientProperty.BACKPRESSURE_BACKOFF_TIMEOUT_MILLIS;
 import static com.hazelcast.client.spi.properties.ClientProperty.MAX_CONCURRENT_INVOCATIONS;
+import static com.hazelcast.client.spi.properties.ClientProperty.TRACING_SAMPLE_RATE;
 import static com.hazelcast.util.ExceptionUtil.rethrow;
 import static java.lang.System.currentTimeMillis;
 
@@ -204,6 +207,7 @@ public class HazelcastClientInstanceImpl implements HazelcastInstance, Serializa
     private final ClientLockReferenceIdGenerator lockReferenceIdGenerator;
     private final ClientExceptionFactory clientExceptionFactory;
     private final CallIdSequence callIdSequence;
+    private final Tracer tracer;
     private final ClientUserCodeDeploymentService userCodeDeploymentService;
 
     public HazelcastClientInstanceImpl(ClientConfig config,
@@ -250,6 +254,7 @@ public class HazelcastClientInstanceImpl implements HazelcastInstance, Serializa
         callIdSequence = CallIdFactory
                 .newCallIdSequence(isBackPressureEnabled, maxAllowedConcurrentInvocations, backofftimeoutMs);
 
+        tracer = new Tracer(properties.getFloat(TRACING_SAMPLE_RATE), loggingService.getLogger(Tracer.class));
         invocationService = initInvocationService();
         listenerService = initListenerService();
         userContext = new ConcurrentHashMap<String, Object>();
@@ -439,6 +444,8 @@ public class HazelcastClientInstanceImpl implements HazelcastInstance, Serializa
         diagnostics.register(
                 new NetworkingImbalancePlugin(properties, connectionManager.getEventLoopGroup(),
                         loggingService.getLogger(NetworkingImbalancePlugin.class)));
+        diagnostics.register(
+                new TracingPlugin(loggingService.getLogger(TracingPlugin.class), properties, tracer));
         diagnostics.register(
                 new EventQueuePlugin(loggingService.getLogger(EventQueuePlugin.class), listenerService.getEventExecutor(),
                         properties));
@@ -759,6 +766,10 @@ public class HazelcastClientInstanceImpl implements HazelcastInstance, Serializa
         return callIdSequence;
     }
 
+    public Tracer getTracer() {
+        return tracer;
+    }
+
     public Credentials getCredentials() {
         return credentials;
     }
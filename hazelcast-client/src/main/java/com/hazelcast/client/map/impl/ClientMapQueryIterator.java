@@ -0,0 +1,183 @@
+/*
+ * Copyright (c) 2008-2018, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.client.map.impl;
+
+import com.hazelcast.client.impl.HazelcastClientInstanceImpl;
+import com.hazelcast.client.impl.protocol.ClientMessage;
+import com.hazelcast.client.impl.protocol.codec.MapFetchWithQueryCodec;
+import com.hazelcast.client.proxy.ClientMapProxy;
+import com.hazelcast.client.spi.ClientContext;
+import com.hazelcast.client.spi.ClientPartitionService;
+import com.hazelcast.client.spi.impl.ClientInvocation;
+import com.hazelcast.client.spi.impl.ClientInvocationFuture;
+import com.hazelcast.core.IMap;
+import com.hazelcast.nio.Address;
+import com.hazelcast.nio.serialization.Data;
+import com.hazelcast.projection.Projection;
+import com.hazelcast.query.Predicate;
+import com.hazelcast.spi.serialization.SerializationService;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.NoSuchElementException;
+import java.util.Queue;
+
+import static com.hazelcast.util.ExceptionUtil.rethrow;
+
+/**
+ * Iterator for iterating the result of a query over all partitions of a map. The results are not fetched one-by-one
+ * but rather in batches of {@code fetchSize}, so neither the members nor the client ever hold the complete result.
+ * <p>
+ * The partitions are grouped by their owner and the owners are queried in parallel: for every member the next batch
+ * is fetched while the previous batches are iterated, so the client holds at most one batch per member. The
+ * predicate and the projection are serialized only once for all batches.
+ * The {@link Iterator#remove()} method is not supported and will throw an {@link UnsupportedOperationException}.
+ * <p>
+ * <b>NOTE</b>
+ * Iterating the map should be done only when the {@link IMap} is not being
+ * mutated and the cluster is stable (there are no migrations or membership changes).
+ * In other cases, the iterator may not return some entries or may return an entry twice.
+ */
+public class ClientMapQueryIterator<K, V, R> implements Iterator<R> {
+
+    private final HazelcastClientInstanceImpl client;
+    private final SerializationService serializationService;
+    private final String name;
+    private final int fetchSize;
+    private final Data predicate;
+    private final Data projection;
+    private final Queue<MemberCursor> cursors = new ArrayDeque<MemberCursor>();
+
+    private List<Data> segment = Collections.emptyList();
+    private int index;
+
+    public ClientMapQueryIterator(ClientMapProxy<K, V> mapProxy, ClientContext context, int fetchSize,
+                                  Predicate<K, V> predicate, Projection<Entry<K, V>, R> projection) {
+        this.client = (HazelcastClientInstanceImpl) context.getHazelcastInstance();
+        this.serializationService = context.getSerializationService();
+        this.name = mapProxy.getName();
+        this.fetchSize = fetchSize;
+        this.predicate = serializationService.toData(predicate);
+        this.projection = serializationService.toData(projection);
+
+        for (List<Integer> partitionIds : getPartitionsByOwner(context.getPartitionService()).values()) {
+            MemberCursor cursor = new MemberCursor(partitionIds);
+            cursor.fetch();
+            cursors.add(cursor);
+        }
+    }
+
+    private static Map<Address, List<Integer>> getPartitionsByOwner(ClientPartitionService partitionService) {
+        Map<Address, List<Integer>> partitionsByOwner = new LinkedHashMap<Address, List<Integer>>();
+        for (int partitionId = 0; partitionId < partitionService.getPartitionCount(); partitionId++) {
+            // partitions without a known owner are grouped together, the invocation finds the owner
+            Address owner = partitionService.getPartitionOwner(partitionId);
+            List<Integer> partitionIds = partitionsByOwner.get(owner);
+            if (partitionIds == null) {
+                partitionIds = new ArrayList<Integer>();
+                partitionsByOwner.put(owner, partitionIds);
+            }
+            partitionIds.add(partitionId);
+        }
+        return partitionsByOwner;
+    }
+
+    @Override
+    public boolean hasNext() {
+        while (index >= segment.size()) {
+            MemberCursor cursor = cursors.poll();
+            if (cursor == null) {
+                return false;
+            }
+            segment = cursor.take();
+            index = 0;
+            if (!cursor.isDone()) {
+                // round robin, so the members fetch their next batches while this one is iterated
+                cursors.add(cursor);
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public R next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        return serializationService.toObject(segment.get(index++));
+    }
+
+    @Override
+    public void remove() {
+        throw new UnsupportedOperationException("Removing when iterating map with query is not supported");
+    }
+
+    /**
+     * Fetches the batches of the partitions owned by a member one after another, with one batch in flight.
+     */
+    private final class MemberCursor {
+
+        private final List<Integer> partitionIds;
+        private int position;
+        private int tableIndex = Integer.MAX_VALUE;
+        private ClientInvocationFuture pending;
+
+        MemberCursor(List<Integer> partitionIds) {
+            this.partitionIds = partitionIds;
+        }
+
+        void fetch() {
+            ClientMessage request = MapFetchWithQueryCodec.encodeRequest(name, tableIndex, fetchSize, projection, predicate);
+            pending = new ClientInvocation(client, request, name, partitionIds.get(position)).invoke();
+        }
+
+        /**
+         * Waits for the batch in flight and starts fetching the next one, if any.
+         */
+        List<Data> take() {
+            MapFetchWithQueryCodec.ResponseParameters response;
+            try {
+                response = MapFetchWithQueryCodec.decodeResponse(pending.get());
+            } catch (Exception e) {
+                throw rethrow(e);
+            }
+            pending = null;
+
+            List<Data> results = response.results;
+            if (results.isEmpty() || response.nextTableIndexToReadFrom < 0) {
+                position++;
+                tableIndex = Integer.MAX_VALUE;
+            } else {
+                tableIndex = response.nextTableIndexToReadFrom;
+            }
+            if (position < partitionIds.size()) {
+                fetch();
+            }
+            return results;
+        }
+
+        boolean isDone() {
+            return pending == null;
+        }
+    }
+}
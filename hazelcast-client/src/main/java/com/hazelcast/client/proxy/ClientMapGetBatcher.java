@@ -0,0 +1,287 @@
+/*
+ * Copyright (c) 2008-2018, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.client.proxy;
+
+import com.hazelcast.client.impl.HazelcastClientInstanceImpl;
+import com.hazelcast.client.impl.protocol.ClientMessage;
+import com.hazelcast.client.impl.protocol.codec.MapGetAllCodec;
+import com.hazelcast.client.impl.protocol.codec.MapGetCodec;
+import com.hazelcast.client.spi.ClientExecutionService;
+import com.hazelcast.client.spi.ClientPartitionService;
+import com.hazelcast.client.spi.impl.ClientInvocation;
+import com.hazelcast.core.ExecutionCallback;
+import com.hazelcast.logging.ILogger;
+import com.hazelcast.nio.serialization.Data;
+import com.hazelcast.spi.InternalCompletableFuture;
+import com.hazelcast.spi.impl.AbstractInvocationFuture;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import static com.hazelcast.util.ExceptionUtil.fixAsyncStackTrace;
+import static java.util.concurrent.TimeUnit.MICROSECONDS;
+
+/**
+ * Aggregates concurrent {@link com.hazelcast.core.IMap#getAsync(Object)} calls for keys of the same partition
+ * into a single {@link MapGetAllCodec get-all} request.
+ * <p>
+ * The first key of a partition opens a batch which is sent after {@code windowMicros} microseconds, or as soon
+ * as it holds {@code maxBatchSize} keys. The response of the batch is split back into {@link MapGetCodec}
+ * responses completing the futures of the individual calls, so the returned futures behave the same as the
+ * futures of unbatched calls.
+ */
+final class ClientMapGetBatcher {
+
+    private final String name;
+    private final HazelcastClientInstanceImpl client;
+    private final ClientExecutionService executionService;
+    private final ClientPartitionService partitionService;
+    private final ILogger logger;
+    private final long windowMicros;
+    private final int maxBatchSize;
+
+    private final ConcurrentMap<Integer, Batch> batches = new ConcurrentHashMap<Integer, Batch>();
+
+    ClientMapGetBatcher(String name, HazelcastClientInstanceImpl client, long windowMicros, int maxBatchSize) {
+        this.name = name;
+        this.client = client;
+        this.executionService = client.getClientExecutionService();
+        this.partitionService = client.getClientPartitionService();
+        this.logger = client.getLoggingService().getLogger(ClientMapGetBatcher.class);
+        this.windowMicros = windowMicros;
+        this.maxBatchSize = maxBatchSize;
+    }
+
+    /**
+     * Adds the key to the pending batch of its partition.
+     *
+     * @param keyData the key to get the value of
+     * @return the future which is completed with the {@link MapGetCodec} response for the key
+     */
+    InternalCompletableFuture<ClientMessage> getAsync(Data keyData) {
+        int partitionId = partitionService.getPartitionId(keyData);
+        KeyFuture future = new KeyFuture(executionService, logger);
+        for (; ; ) {
+            Batch batch = batches.get(partitionId);
+            if (batch == null) {
+                Batch newBatch = new Batch(partitionId);
+                batch = batches.putIfAbsent(partitionId, newBatch);
+                if (batch == null) {
+                    batch = newBatch;
+                    executionService.schedule(new FlushTask(batch), windowMicros, MICROSECONDS);
+                }
+            }
+
+            int size = batch.add(keyData, future);
+            if (size < 0) {
+                // the batch has been flushed concurrently
+                batches.remove(partitionId, batch);
+                continue;
+            }
+            if (size >= maxBatchSize) {
+                flush(batch);
+            }
+            return future;
+        }
+    }
+
+    private void flush(Batch batch) {
+        Map<Data, List<KeyFuture>> futuresByKey = batch.close();
+        if (futuresByKey == null) {
+            return;
+        }
+        batches.remove(batch.partitionId, batch);
+
+        List<Data> keys = new ArrayList<Data>(futuresByKey.keySet());
+        try {
+            ClientMessage request = MapGetAllCodec.encodeRequest(name, keys);
+            ClientInvocation invocation = new ClientInvocation(client, request, name, batch.partitionId);
+            invocation.invoke().andThen(new SplitResponseCallback(futuresByKey));
+        } catch (Throwable t) {
+            completeAll(futuresByKey, t);
+        }
+    }
+
+    private static void completeAll(Map<Data, List<KeyFuture>> futuresByKey, Object value) {
+        for (List<KeyFuture> futures : futuresByKey.values()) {
+            complete(futures, value);
+        }
+    }
+
+    private static void complete(List<KeyFuture> futures, Object value) {
+        for (KeyFuture future : futures) {
+            future.complete(value);
+        }
+    }
+
+    /**
+     * The keys of a partition waiting to be sent. Once closed, no more keys can be added.
+     */
+    private static final class Batch {
+
+        private final int partitionId;
+        private Map<Data, List<KeyFuture>> futuresByKey = new HashMap<Data, List<KeyFuture>>();
+        private int size;
+
+        Batch(int partitionId) {
+            this.partitionId = partitionId;
+        }
+
+        /**
+         * @return the number of keys in the batch after adding the key, or {@code -1} if the batch has been closed
+         */
+        synchronized int add(Data keyData, KeyFuture future) {
+            if (futuresByKey == null) {
+                return -1;
+            }
+            List<KeyFuture> futures = futuresByKey.get(keyData);
+            if (futures == null) {
+                futures = new ArrayList<KeyFuture>(1);
+                futuresByKey.put(keyData, futures);
+            }
+            futures.add(future);
+            return ++size;
+        }
+
+        /**
+         * @return the futures of the batch by key, or {@code null} if the batch has already been closed
+         */
+        synchronized Map<Data, List<KeyFuture>> close() {
+            Map<Data, List<KeyFuture>> closed = futuresByKey;
+            futuresByKey = null;
+            return closed;
+        }
+    }
+
+    private final class FlushTask implements Runnable {
+
+        private final Batch batch;
+
+        FlushTask(Batch batch) {
+            this.batch = batch;
+        }
+
+        @Override
+        public void run() {
+            flush(batch);
+        }
+    }
+
+    private static final class SplitResponseCallback implements ExecutionCallback<ClientMessage> {
+
+        private final Map<Data, List<KeyFuture>> futuresByKey;
+
+        SplitResponseCallback(Map<Data, List<KeyFuture>> futuresByKey) {
+            this.futuresByKey = futuresByKey;
+        }
+
+        @Override
+        public void onResponse(ClientMessage response) {
+            try {
+                for (Map.Entry<Data, Data> entry : MapGetAllCodec.decodeResponse(response).response) {
+                    List<KeyFuture> futures = futuresByKey.remove(entry.getKey());
+                    if (futures != null) {
+                        complete(futures, MapGetCodec.encodeResponse(entry.getValue()));
+                    }
+                }
+                // the keys without a value are not part of the response
+                for (List<KeyFuture> futures : futuresByKey.values()) {
+                    complete(futures, MapGetCodec.encodeResponse(null));
+                }
+            } catch (Throwable t) {
+                completeAll(futuresByKey, t);
+            }
+        }
+
+        @Override
+        public void onFailure(Throwable t) {
+            completeAll(futuresByKey, t);
+        }
+    }
+
+    /**
+     * The future of a single key of a batch. It is completed with a {@link MapGetCodec} response for the key.
+     * <p>
+     * It is not backed by a {@link ClientInvocation} of its own, so it takes no call id: the batch invocation
+     * holds the call id for all of its keys. Otherwise it resolves its value the same way as the future of an
+     * unbatched invocation.
+     */
+    private static final class KeyFuture extends AbstractInvocationFuture<ClientMessage> {
+
+        KeyFuture(Executor internalExecutor, ILogger logger) {
+            super(internalExecutor, logger);
+        }
+
+        @Override
+        protected String invocationToString() {
+            return "batched MapGet";
+        }
+
+        @Override
+        protected void onInterruptDetected() {
+            complete(new InterruptedException());
+        }
+
+        @Override
+        protected TimeoutException newTimeoutException(long timeout, TimeUnit unit) {
+            return new TimeoutException();
+        }
+
+        @Override
+        protected Throwable unwrap(Throwable throwable) {
+            return throwable;
+        }
+
+        @Override
+        protected Object resolve(Object value) {
+            if (value instanceof Throwable) {
+                return new ExecutionException((Throwable) value);
+            }
+            return value;
+        }
+
+        @Override
+        protected ClientMessage resolveAndThrowIfException(Object response) throws ExecutionException, InterruptedException {
+            if (response instanceof Throwable) {
+                fixAsyncStackTrace((Throwable) response, Thread.currentThread().getStackTrace());
+                if (response instanceof ExecutionException) {
+                    throw (ExecutionException) response;
+                }
+                if (response instanceof Error) {
+                    throw (Error) response;
+                }
+                if (response instanceof InterruptedException) {
+                    throw (InterruptedException) response;
+                }
+                if (response instanceof CancellationException) {
+                    throw (CancellationException) response;
+                }
+                throw new ExecutionException((Throwable) response);
+            }
+            return (ClientMessage) response;
+        }
+    }
+}
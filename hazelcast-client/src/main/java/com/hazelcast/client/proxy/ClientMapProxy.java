@@ -85,6 +85,7 @@ import com.hazelcast.client.impl.protocol.codec.MapValuesWithPredicateCodec;
 import com.hazelcast.client.impl.querycache.ClientQueryCacheContext;
 import com.hazelcast.client.impl.querycache.subscriber.ClientQueryCacheEndToEndConstructor;
 import com.hazelcast.client.map.impl.ClientMapPartitionIterator;
+import com.hazelcast.client.map.impl.ClientMapQueryIterator;
 import com.hazelcast.client.map.impl.ClientMapQueryPartitionIterator;
 import com.hazelcast.client.spi.ClientContext;
 import com.hazelcast.client.spi.ClientPartitionService;
@@ -93,6 +94,7 @@ import com.hazelcast.client.spi.EventHandler;
 import com.hazelcast.client.spi.impl.ClientInvocation;
 import com.hazelcast.client.spi.impl.ClientInvocationFuture;
 import com.hazelcast.client.spi.impl.ListenerMessageCodec;
+import com.hazelcast.client.spi.properties.ClientProperty;
 import com.hazelcast.client.util.ClientDelegatingFuture;
 import com.hazelcast.core.EntryEvent;
 import com.hazelcast.core.EntryEventType;
@@ -114,10 +116,13 @@ import com.hazelcast.map.EntryProcessor;
 import com.hazelcast.map.MapInterceptor;
 import com.hazelcast.map.MapPartitionLostEvent;
 import com.hazelcast.map.QueryCache;
+import com.hazelcast.map.QueryResultSizeExceededException;
 import com.hazelcast.map.impl.DataAwareEntryEvent;
 import com.hazelcast.map.impl.LazyMapEntry;
 import com.hazelcast.map.impl.ListenerAdapter;
 import com.hazelcast.map.impl.SimpleEntryView;
+import com.hazelcast.map.impl.query.QueryResultRow;
+import com.hazelcast.map.impl.query.SerializedEntryProjection;
 import com.hazelcast.map.impl.querycache.subscriber.QueryCacheEndToEndProvider;
 import com.hazelcast.map.impl.querycache.subscriber.QueryCacheRequest;
 import com.hazelcast.map.impl.querycache.subscriber.SubscriberContext;
@@ -144,7 +149,9 @@ import com.hazelcast.query.PartitionPredicate;
 import com.hazelcast.query.Predicate;
 import com.hazelcast.ringbuffer.ReadResultSet;
 import com.hazelcast.ringbuffer.impl.client.PortableReadResultSet;
+import com.hazelcast.spi.InternalCompletableFuture;
 import com.hazelcast.spi.impl.UnmodifiableLazyList;
+import com.hazelcast.spi.properties.HazelcastProperties;
 import com.hazelcast.spi.serialization.SerializationService;
 import com.hazelcast.util.CollectionUtil;
 import com.hazelcast.util.IterationType;
@@ -155,6 +162,7 @@ import com.hazelcast.util.collection.InflatableSet;
 import java.util.AbstractMap;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
@@ -235,6 +243,9 @@ public class ClientMapProxy<K, V> extends ClientProxy implements IMap<K, V>, Eve
     private ClientMessageDecoder eventJournalSubscribeResponseDecoder;
     private ClientLockReferenceIdGenerator lockReferenceIdGenerator;
     private ClientQueryCacheContext queryCacheContext;
+    private ClientMapGetBatcher getBatcher;
+    private int queryFetchSize;
+    private int queryResultSizeLimit;
 
     public ClientMapProxy(String serviceName, String name, ClientContext context) {
         super(serviceName, name, context);
@@ -246,6 +257,14 @@ public class ClientMapProxy<K, V> extends ClientProxy implements IMap<K, V>, Eve
 
         lockReferenceIdGenerator = getClient().getLockReferenceIdGenerator();
         queryCacheContext = getContext().getQueryCacheContext();
+        HazelcastProperties properties = getClient().getProperties();
+        long getBatchWindowMicros = properties.getLong(ClientProperty.MAP_GET_BATCH_WINDOW_MICROS);
+        if (getBatchWindowMicros > 0) {
+            getBatcher = new ClientMapGetBatcher(name, getClient(), getBatchWindowMicros,
+                    properties.getInteger(ClientProperty.MAP_GET_BATCH_MAX_SIZE));
+        }
+        queryFetchSize = properties.getInteger(ClientProperty.MAP_QUERY_FETCH_SIZE);
+        queryResultSizeLimit = properties.getInteger(ClientProperty.MAP_QUERY_RESULT_SIZE_LIMIT);
         eventJournalReadResponseDecoder = new ClientMessageDecoder() {
             @Override
             public ReadResultSet<?> decodeClientMessage(ClientMessage message) {
@@ -385,6 +404,11 @@ public class ClientMapProxy<K, V> extends ClientProxy implements IMap<K, V>, Eve
     protected ICompletableFuture<V> getAsyncInternal(Object key) {
         try {
             Data keyData = toData(key);
+            if (getBatcher != null) {
+                InternalCompletableFuture<ClientMessage> future = getBatcher.getAsync(keyData);
+                return new ClientDelegatingFuture<V>(future, getContext().getExecutionService().getUserExecutor(),
+                        getSerializationService(), GET_ASYNC_RESPONSE_DECODER);
+            }
             ClientMessage request = MapGetCodec.encodeRequest(name, keyData, getThreadId());
             ClientInvocationFuture future = invokeOnKeyOwner(request, keyData);
             return new ClientDelegatingFuture<V>(future, getSerializationService(), GET_ASYNC_RESPONSE_DECODER);
@@ -1141,11 +1165,20 @@ public class ClientMapProxy<K, V> extends ClientProxy implements IMap<K, V>, Eve
     }
 
     @Override
+    @SuppressWarnings("unchecked")
     public Set<K> keySet(Predicate predicate) {
         checkNotNull(predicate, NULL_PREDICATE_IS_NOT_ALLOWED);
         if (predicate instanceof PagingPredicate) {
             return keySetWithPagingPredicate((PagingPredicate) predicate);
         }
+        if (isFetchedByPartition(predicate)) {
+            List<Object> keys = fetchByPartition(predicate, IterationType.KEY);
+            InflatableSet.Builder<K> setBuilder = InflatableSet.newBuilder(keys.size());
+            for (Object key : keys) {
+                setBuilder.add((K) key);
+            }
+            return setBuilder.build();
+        }
 
         ClientMessage request = MapKeySetWithPredicateCodec.encodeRequest(name, toData(predicate));
         ClientMessage response = invokeWithPredicate(request, predicate);
@@ -1181,6 +1214,9 @@ public class ClientMapProxy<K, V> extends ClientProxy implements IMap<K, V>, Eve
         if (predicate instanceof PagingPredicate) {
             return entrySetWithPagingPredicate((PagingPredicate) predicate);
         }
+        if (isFetchedByPartition(predicate)) {
+            return entrySetByPartition(predicate);
+        }
         ClientMessage request = MapEntriesWithPredicateCodec.encodeRequest(name, toData(predicate));
 
         ClientMessage response = invokeWithPredicate(request, predicate);
@@ -1217,11 +1253,15 @@ public class ClientMapProxy<K, V> extends ClientProxy implements IMap<K, V>, Eve
     }
 
     @Override
+    @SuppressWarnings("unchecked")
     public Collection<V> values(Predicate predicate) {
         checkNotNull(predicate, NULL_PREDICATE_IS_NOT_ALLOWED);
         if (predicate instanceof PagingPredicate) {
             return valuesForPagingPredicate((PagingPredicate) predicate);
         }
+        if (isFetchedByPartition(predicate)) {
+            return (Collection<V>) Collections.unmodifiableList(fetchByPartition(predicate, IterationType.VALUE));
+        }
 
         ClientMessage request = MapValuesWithPredicateCodec.encodeRequest(name, toData(predicate));
         ClientMessage response = invokeWithPredicate(request, predicate);
@@ -1230,6 +1270,41 @@ public class ClientMapProxy<K, V> extends ClientProxy implements IMap<K, V>, Eve
         return new UnmodifiableLazyList<V>(resultParameters.response, getSerializationService());
     }
 
+    private boolean isFetchedByPartition(Predicate predicate) {
+        return queryFetchSize > 0 && !(predicate instanceof PartitionPredicate);
+    }
+
+    private Set<Entry<K, V>> entrySetByPartition(Predicate predicate) {
+        List<Object> rows = fetchByPartition(predicate, IterationType.ENTRY);
+        InflatableSet.Builder<Entry<K, V>> setBuilder = InflatableSet.newBuilder(rows.size());
+        InternalSerializationService serializationService = ((InternalSerializationService) getContext()
+                .getSerializationService());
+        for (Object row : rows) {
+            QueryResultRow resultRow = (QueryResultRow) row;
+            setBuilder.add(new LazyMapEntry<K, V>(resultRow.getKey(), resultRow.getValue(), serializationService));
+        }
+        return setBuilder.build();
+    }
+
+    /**
+     * Fetches the results of the query in batches of {@link ClientProperty#MAP_QUERY_FETCH_SIZE} entries from all members
+     * in parallel instead of collecting the whole result on the members. Since the client collects the whole result,
+     * it is limited to {@link ClientProperty#MAP_QUERY_RESULT_SIZE_LIMIT} entries.
+     */
+    private List<Object> fetchByPartition(Predicate predicate, IterationType iterationType) {
+        Projection<Entry<K, V>, Object> projection = new SerializedEntryProjection<Entry<K, V>>(iterationType);
+        Iterator<Object> iterator = new ClientMapQueryIterator<K, V, Object>(this, getContext(), queryFetchSize,
+                predicate, projection);
+        List<Object> results = new ArrayList<Object>();
+        while (iterator.hasNext()) {
+            if (queryResultSizeLimit > 0 && results.size() == queryResultSizeLimit) {
+                throw new QueryResultSizeExceededException(queryResultSizeLimit, " Result size exceeded on the client.");
+            }
+            results.add(iterator.next());
+        }
+        return results;
+    }
+
     private ClientMessage invokeWithPredicate(ClientMessage request, Predicate predicate) {
         ClientMessage response;
         if (predicate instanceof PartitionPredicate) {
@@ -1644,6 +1719,36 @@ public class ClientMapProxy<K, V> extends ClientProxy implements IMap<K, V>, Eve
                 predicate, projection);
     }
 
+    /**
+     * Returns an iterator for iterating the result of the projection on the entries of all partitions which satisfy
+     * the {@code predicate}. The {@link Iterator#remove()} method is not supported and will throw an
+     * {@link UnsupportedOperationException}.
+     * <p>
+     * The results are fetched lazily in batches of {@code fetchSize} from all members in parallel, so neither the
+     * members nor the client hold the whole result. Unlike {@link #values(Predicate)} the result is not limited by the
+     * query result size limit, but the partitions are scanned without using indexes.
+     * Predicates of type {@link PagingPredicate} are not supported.
+     * <p>
+     * <b>NOTE</b>
+     * Iterating the map should be done only when the {@link IMap} is not being
+     * mutated and the cluster is stable (there are no migrations or membership changes).
+     * In other cases, the iterator may not return some entries or may return an entry twice.
+     *
+     * @param fetchSize  the size of the batches which will be sent when iterating the data
+     * @param projection the projection to apply before returning the value. {@code null} value is not allowed
+     * @param predicate  the predicate which the entries must match. {@code null} value is not allowed
+     * @param <R>        the return type
+     * @return the iterator for the projected entries
+     * @throws UnsupportedOperationException if {@link Iterator#remove()} is invoked
+     * @throws IllegalArgumentException      if the predicate is of type {@link PagingPredicate}
+     */
+    public <R> Iterator<R> iterator(int fetchSize, Projection<Map.Entry<K, V>, R> projection, Predicate<K, V> predicate) {
+        checkNotNull(projection, NULL_PROJECTION_IS_NOT_ALLOWED);
+        checkNotNull(predicate, NULL_PREDICATE_IS_NOT_ALLOWED);
+        checkNotPagingPredicate(predicate, "iterator");
+        return new ClientMapQueryIterator<K, V, R>(this, getContext(), fetchSize, predicate, projection);
+    }
+
     @Override
     public ICompletableFuture<EventJournalInitialSubscriberState> subscribeToEventJournal(int partitionId) {
         final ClientMessage request = MapEventJournalSubscribeCodec.encodeRequest(name);
@@ -46,6 +46,7 @@ import java.util.concurrent.TimeUnit;
 import static com.hazelcast.client.spi.properties.ClientProperty.INVOCATION_RETRY_PAUSE_MILLIS;
 import static com.hazelcast.client.spi.properties.ClientProperty.INVOCATION_TIMEOUT_SECONDS;
 import static com.hazelcast.instance.OutOfMemoryErrorDispatcher.onOutOfMemory;
+import static com.hazelcast.internal.tracing.TraceStage.CLIENT_WRITTEN;
 import static com.hazelcast.spi.impl.operationservice.impl.AsyncInboundResponseHandler.getIdleStrategy;
 
 public abstract class AbstractClientInvocationService implements ClientInvocationService {
@@ -118,6 +119,7 @@ public abstract class AbstractClientInvocationService implements ClientInvocatio
             throw new HazelcastClientNotActiveException("Client is shut down");
         }
         registerInvocation(invocation);
+        invocation.traceInvoked();
 
         ClientMessage clientMessage = invocation.getClientMessage();
         if (!isAllowedToSendRequest(connection, invocation) || !writeToConnection(connection, clientMessage)) {
@@ -134,6 +136,7 @@ public abstract class AbstractClientInvocationService implements ClientInvocatio
         }
 
         invocation.setSendConnection(connection);
+        invocation.markTrace(CLIENT_WRITTEN);
     }
 
     private boolean writeToConnection(ClientConnection connection, ClientMessage clientMessage) {
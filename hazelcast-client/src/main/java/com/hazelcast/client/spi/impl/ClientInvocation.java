@@ -27,6 +27,9 @@ import com.hazelcast.core.HazelcastInstanceNotActiveException;
 import com.hazelcast.core.HazelcastOverloadException;
 import com.hazelcast.core.LifecycleService;
 import com.hazelcast.core.OperationTimeoutException;
+import com.hazelcast.internal.tracing.Trace;
+import com.hazelcast.internal.tracing.TraceStage;
+import com.hazelcast.internal.tracing.Tracer;
 import com.hazelcast.logging.ILogger;
 import com.hazelcast.nio.Address;
 import com.hazelcast.nio.Connection;
@@ -41,6 +44,9 @@ import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicLongFieldUpdater;
 
+import static com.hazelcast.internal.tracing.TraceStage.CLIENT_COMPLETED;
+import static com.hazelcast.internal.tracing.TraceStage.CLIENT_INVOKED;
+import static com.hazelcast.internal.tracing.TraceStage.CLIENT_RESPONSE_RECEIVED;
 import static com.hazelcast.util.Clock.currentTimeMillis;
 import static com.hazelcast.util.StringUtil.timeToString;
 
@@ -72,7 +78,10 @@ public class ClientInvocation implements Runnable {
     private final long startTimeMillis;
     private final long retryPauseMillis;
     private final String objectName;
+    private final Tracer tracer;
     private volatile ClientConnection sendConnection;
+    // null if this invocation isn't traced
+    private Trace trace;
     private boolean bypassHeartbeatCheck;
     private EventHandler handler;
     private volatile long invokeCount;
@@ -96,6 +105,7 @@ public class ClientInvocation implements Runnable {
         this.retryPauseMillis = invocationService.getInvocationRetryPauseMillis();
         this.logger = invocationService.invocationLogger;
         this.callIdSequence = client.getCallIdSequence();
+        this.tracer = client.getTracer();
         this.clientInvocationFuture = new ClientInvocationFuture(this, executionService,
                 clientMessage, logger, callIdSequence);
     }
@@ -197,6 +207,7 @@ public class ClientInvocation implements Runnable {
         if (clientMessage == null) {
             throw new IllegalArgumentException("response can't be null");
         }
+        markTrace(CLIENT_RESPONSE_RECEIVED);
         clientInvocationFuture.complete(clientMessage);
     }
 
@@ -284,6 +295,45 @@ public class ClientInvocation implements Runnable {
         this.bypassHeartbeatCheck = bypassHeartbeatCheck;
     }
 
+    /**
+     * Starts tracing this invocation if its correlation id is sampled and marks that it is about to be sent. A retried
+     * invocation keeps the trace of its first attempt. The invocations sent before the client is authenticated are not
+     * traced, since the uuid of the client is part of the trace id.
+     */
+    void traceInvoked() {
+        long correlationId = clientMessage.getCorrelationId();
+        if (trace == null && tracer.isSampled(correlationId)) {
+            startTrace(correlationId);
+        }
+        markTrace(CLIENT_INVOKED);
+    }
+
+    private void startTrace(long correlationId) {
+        // the trace id matches the one of the member, so the traces of both sides can be correlated
+        String clientUuid = clientClusterService.getLocalClient().getUuid();
+        if (clientUuid != null) {
+            String operationName = clientMessage.getOperationName();
+            trace = tracer.startTrace(clientUuid + "/" + correlationId,
+                    operationName != null ? operationName : "0x" + Integer.toHexString(clientMessage.getMessageType()));
+        }
+    }
+
+    void markTrace(TraceStage stage) {
+        Trace trace = this.trace;
+        if (trace != null) {
+            trace.mark(stage);
+        }
+    }
+
+    void finishTrace() {
+        Trace trace = this.trace;
+        if (trace != null) {
+            this.trace = null;
+            trace.mark(CLIENT_COMPLETED);
+            tracer.finishTrace(trace);
+        }
+    }
+
     public void setSendConnection(ClientConnection connection) {
         this.sendConnection = connection;
     }
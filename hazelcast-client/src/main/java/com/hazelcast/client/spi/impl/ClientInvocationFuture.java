@@ -77,17 +77,27 @@ public class ClientInvocationFuture extends AbstractInvocationFuture<ClientMessa
 
     @Override
     public void andThen(ExecutionCallback<ClientMessage> callback) {
-        super.andThen(new InternalDelegatingExecutionCallback(callback));
+        super.andThen(delegate(callback));
     }
 
     @Override
     public void andThen(ExecutionCallback<ClientMessage> callback, Executor executor) {
-        super.andThen(new InternalDelegatingExecutionCallback(callback), executor);
+        super.andThen(delegate(callback), executor);
+    }
+
+    private ExecutionCallback<ClientMessage> delegate(ExecutionCallback<ClientMessage> callback) {
+        return callIdSequence == null ? callback : new InternalDelegatingExecutionCallback(callback);
     }
 
     @Override
     protected void onComplete() {
-        callIdSequence.complete();
+        // a future which isn't backed by an invocation of its own, e.g. of a batched call, may have neither
+        if (callIdSequence != null) {
+            callIdSequence.complete();
+        }
+        if (invocation != null) {
+            invocation.finishTrace();
+        }
     }
 
     @Override
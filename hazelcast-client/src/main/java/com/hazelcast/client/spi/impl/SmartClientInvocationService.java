@@ -25,10 +25,12 @@ import com.hazelcast.nio.Connection;
 import com.hazelcast.spi.exception.TargetNotMemberException;
 
 import java.io.IOException;
+import java.util.concurrent.atomic.AtomicInteger;
 
 public class SmartClientInvocationService extends AbstractClientInvocationService {
 
     private final LoadBalancer loadBalancer;
+    private final AtomicInteger randomTargetRoutingKey = new AtomicInteger();
 
     public SmartClientInvocationService(HazelcastClientInstanceImpl client, LoadBalancer loadBalancer) {
         super(client);
@@ -45,7 +47,8 @@ public class SmartClientInvocationService extends AbstractClientInvocationServic
             throw new TargetNotMemberException("Partition owner '" + owner + "' is not a member.");
         }
         invocation.getClientMessage().setPartitionId(partitionId);
-        Connection connection = getOrTriggerConnect(owner);
+        // invocations on the same partition share a connection, so each partition's load stays on one IO thread
+        Connection connection = getOrTriggerConnect(owner, partitionId);
         send(invocation, (ClientConnection) connection);
     }
 
@@ -55,7 +58,7 @@ public class SmartClientInvocationService extends AbstractClientInvocationServic
         if (randomAddress == null) {
             throw new IOException("No address found to invoke");
         }
-        Connection connection = getOrTriggerConnect(randomAddress);
+        Connection connection = getOrTriggerConnect(randomAddress, randomTargetRoutingKey.getAndIncrement());
         send(invocation, (ClientConnection) connection);
     }
 
@@ -70,7 +73,14 @@ public class SmartClientInvocationService extends AbstractClientInvocationServic
     }
 
     private Connection getOrTriggerConnect(Address target) throws IOException {
-        Connection connection = connectionManager.getOrTriggerConnect(target);
+        return checkConnection(target, connectionManager.getOrTriggerConnect(target));
+    }
+
+    private Connection getOrTriggerConnect(Address target, int routingKey) throws IOException {
+        return checkConnection(target, connectionManager.getOrTriggerConnect(target, routingKey));
+    }
+
+    private static Connection checkConnection(Address target, Connection connection) throws IOException {
         if (connection == null) {
             throw new IOException("No available connection to address " + target);
         }
@@ -18,6 +18,7 @@ package com.hazelcast.client.spi.properties;
 
 import com.hazelcast.spi.properties.HazelcastProperty;
 
+import static java.util.concurrent.TimeUnit.MICROSECONDS;
 import static java.util.concurrent.TimeUnit.MILLISECONDS;
 import static java.util.concurrent.TimeUnit.SECONDS;
 
@@ -159,6 +160,84 @@ public final class ClientProperty {
     public static final HazelcastProperty IO_BALANCER_INTERVAL_SECONDS
             = new HazelcastProperty("hazelcast.client.io.balancer.interval.seconds", 20, SECONDS);
 
+    /**
+     * The number of connections a smart client opens to every member. Invocations on a partition are routed over
+     * the same connection, invocations on a random member are spread round-robin. This does not keep invocations on
+     * a partition in order: while the selected connection is being opened they use the first connection, and the
+     * ones sent before the switch may complete after the ones sent afterwards.
+     * <p/>
+     * The first connection of a member is used for authentication, heartbeats and listener registrations, the
+     * additional connections are opened on demand and carry requests and their responses only. Using several
+     * connections allows a single client to use more than one IO thread on both the client and the member side.
+     * <p/>
+     * The default is 1. The property is ignored by non-smart clients.
+     */
+    public static final HazelcastProperty CONNECTIONS_PER_MEMBER
+            = new HazelcastProperty("hazelcast.client.connections.per.member", 1);
+
+    /**
+     * The time window in microseconds within which concurrent {@link com.hazelcast.core.IMap#getAsync(Object)}
+     * calls for keys of the same partition are aggregated into a single get-all request. The futures of the
+     * individual calls are completed with their part of the response.
+     * <p/>
+     * Batching trades a slightly higher latency for fewer and larger messages, which increases the throughput
+     * of applications issuing many concurrent asynchronous gets.
+     * <p/>
+     * The default is 0, which disables batching.
+     */
+    public static final HazelcastProperty MAP_GET_BATCH_WINDOW_MICROS
+            = new HazelcastProperty("hazelcast.client.map.get.batch.window.micros", 0, MICROSECONDS);
+
+    /**
+     * The maximum number of keys aggregated into a single get-all request when
+     * {@link #MAP_GET_BATCH_WINDOW_MICROS} is enabled. A batch reaching this size is sent without waiting for
+     * the end of its time window.
+     */
+    public static final HazelcastProperty MAP_GET_BATCH_MAX_SIZE
+            = new HazelcastProperty("hazelcast.client.map.get.batch.max.size", 100);
+
+    /**
+     * The number of entries fetched in a single request when the results of {@link com.hazelcast.core.IMap#keySet(
+     * com.hazelcast.query.Predicate)}, {@link com.hazelcast.core.IMap#values(com.hazelcast.query.Predicate)} and
+     * {@link com.hazelcast.core.IMap#entrySet(com.hazelcast.query.Predicate)} are fetched partition by partition.
+     * <p/>
+     * The partitions are grouped by their owners, which are queried in parallel with one chunk in flight per member.
+     * Fetching the results in chunks bounds the size of the messages and of the intermediate results on the members,
+     * the size of the collected result is limited by {@link #MAP_QUERY_RESULT_SIZE_LIMIT} instead. On the other hand
+     * the partitions are scanned without using indexes, and the result may miss or repeat entries if the map is
+     * mutated or migrated during the query. Paging and partition predicates are always executed in a single request.
+     * <p/>
+     * The default is -1, which executes the query in a single request per member.
+     */
+    public static final HazelcastProperty MAP_QUERY_FETCH_SIZE
+            = new HazelcastProperty("hazelcast.client.map.query.fetch.size", -1);
+
+    /**
+     * Result size limit for map queries whose results are fetched in chunks, see {@link #MAP_QUERY_FETCH_SIZE}.
+     * <p/>
+     * The members never hold the complete result of such a query, so their
+     * {@link com.hazelcast.spi.properties.GroupProperty#QUERY_RESULT_SIZE_LIMIT} doesn't apply. Instead the client
+     * throws a {@link com.hazelcast.map.QueryResultSizeExceededException} when the collected result exceeds this
+     * number of entries, which prevents an OOME on the client.
+     * <p/>
+     * The feature can be disabled by setting its value to <tt>-1</tt> (which is the default value).
+     */
+    public static final HazelcastProperty MAP_QUERY_RESULT_SIZE_LIMIT
+            = new HazelcastProperty("hazelcast.client.map.query.result.size.limit", -1);
+
+    /**
+     * The fraction of the invocations that is traced, e.g. 0.01 to trace 1 in 100 invocations.
+     * <p/>
+     * A traced invocation records when it is sent, written and when its response is received and completed. The traces
+     * are written to the diagnostics log by the {@link com.hazelcast.internal.diagnostics.TracingPlugin}. If the members
+     * are configured with the same sample rate, they trace the same invocations under the same trace id, so the client
+     * and the member side of a slow request can be put next to each other.
+     * <p/>
+     * The default is 0, so tracing is disabled.
+     */
+    public static final HazelcastProperty TRACING_SAMPLE_RATE
+            = new HazelcastProperty("hazelcast.client.tracing.sample.rate", "0");
+
     private ClientProperty() {
     }
 }
@@ -41,7 +41,7 @@ public class ClientDelegatingFuture<V> implements InternalCompletableFuture<V> {
     private static final AtomicReferenceFieldUpdater<ClientDelegatingFuture, Object> DECODED_RESPONSE =
             AtomicReferenceFieldUpdater.newUpdater(ClientDelegatingFuture.class, Object.class, "decodedResponse");
     private static final Object VOID = "VOID";
-    private final ClientInvocationFuture future;
+    private final InternalCompletableFuture<ClientMessage> future;
     private final SerializationService serializationService;
     private final ClientMessageDecoder clientMessageDecoder;
     private final boolean deserializeResponse;
@@ -52,11 +52,27 @@ public class ClientDelegatingFuture<V> implements InternalCompletableFuture<V> {
     public ClientDelegatingFuture(ClientInvocationFuture clientInvocationFuture,
                                   SerializationService serializationService,
                                   ClientMessageDecoder clientMessageDecoder, V defaultValue, boolean deserializeResponse) {
-        this.future = clientInvocationFuture;
+        this(clientInvocationFuture, clientInvocationFuture.getInvocation().getUserExecutor(), serializationService,
+                clientMessageDecoder, defaultValue, deserializeResponse);
+    }
+
+    /**
+     * Creates a future over a future which is not backed by a {@link com.hazelcast.client.spi.impl.ClientInvocation}
+     * of its own, e.g. one which is completed with a part of the response of a batched invocation.
+     */
+    public ClientDelegatingFuture(InternalCompletableFuture<ClientMessage> future, Executor userExecutor,
+                                  SerializationService serializationService, ClientMessageDecoder clientMessageDecoder) {
+        this(future, userExecutor, serializationService, clientMessageDecoder, null, true);
+    }
+
+    private ClientDelegatingFuture(InternalCompletableFuture<ClientMessage> future, Executor userExecutor,
+                                   SerializationService serializationService, ClientMessageDecoder clientMessageDecoder,
+                                   V defaultValue, boolean deserializeResponse) {
+        this.future = future;
         this.serializationService = serializationService;
         this.clientMessageDecoder = clientMessageDecoder;
         this.defaultValue = defaultValue;
-        this.userExecutor = clientInvocationFuture.getInvocation().getUserExecutor();
+        this.userExecutor = userExecutor;
         this.deserializeResponse = deserializeResponse;
     }
 
@@ -170,7 +186,7 @@ public class ClientDelegatingFuture<V> implements InternalCompletableFuture<V> {
         return newDecodedResponse;
     }
 
-    protected ClientInvocationFuture getFuture() {
+    protected InternalCompletableFuture<ClientMessage> getFuture() {
         return future;
     }
 
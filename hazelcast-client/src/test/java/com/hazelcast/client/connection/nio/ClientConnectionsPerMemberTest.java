@@ -0,0 +1,140 @@
+/*
+ * Copyright (c) 2008-2018, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.client.connection.nio;
+
+import com.hazelcast.client.config.ClientConfig;
+import com.hazelcast.client.spi.properties.ClientProperty;
+import com.hazelcast.client.test.ClientTestSupport;
+import com.hazelcast.client.test.TestHazelcastFactory;
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.core.IMap;
+import com.hazelcast.instance.Node;
+import com.hazelcast.nio.Address;
+import com.hazelcast.test.AssertTask;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.annotation.ParallelTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelTest.class})
+public class ClientConnectionsPerMemberTest extends ClientTestSupport {
+
+    private static final int CONNECTIONS_PER_MEMBER = 3;
+    private static final int ENTRY_COUNT = 1000;
+
+    private final TestHazelcastFactory factory = new TestHazelcastFactory();
+
+    private HazelcastInstance member1;
+    private HazelcastInstance member2;
+    private HazelcastInstance client;
+    private ClientConnectionManagerImpl connectionManager;
+
+    @Before
+    public void setup() {
+        member1 = factory.newHazelcastInstance();
+        member2 = factory.newHazelcastInstance();
+
+        ClientConfig config = new ClientConfig();
+        config.setProperty(ClientProperty.CONNECTIONS_PER_MEMBER.getName(), String.valueOf(CONNECTIONS_PER_MEMBER));
+        client = factory.newHazelcastClient(config);
+        connectionManager = (ClientConnectionManagerImpl) getHazelcastClientInstanceImpl(client).getConnectionManager();
+        makeSureConnectedToServers(client, 2);
+    }
+
+    @After
+    public void cleanup() {
+        factory.terminateAll();
+    }
+
+    @Test
+    public void testSecondaryConnectionsOpened() {
+        final IMap<Integer, Integer> map = client.getMap(randomMapName());
+
+        assertTrueEventually(new AssertTask() {
+            @Override
+            public void run() {
+                putAndGet(map);
+                assertEquals(2, connectionManager.getActiveConnections().size());
+                assertEquals(2 * (CONNECTIONS_PER_MEMBER - 1), connectionManager.getSecondaryConnections().size());
+                assertEquals(CONNECTIONS_PER_MEMBER, getEndpointCount(member1));
+                assertEquals(CONNECTIONS_PER_MEMBER, getEndpointCount(member2));
+            }
+        });
+    }
+
+    @Test
+    public void testSecondaryConnectionsClosed_whenMemberLeaves() {
+        final IMap<Integer, Integer> map = client.getMap(randomMapName());
+        assertTrueEventually(new AssertTask() {
+            @Override
+            public void run() {
+                putAndGet(map);
+                assertEquals(2 * (CONNECTIONS_PER_MEMBER - 1), connectionManager.getSecondaryConnections().size());
+            }
+        });
+
+        final Address member2Address = getAddress(member2);
+        member2.getLifecycleService().terminate();
+
+        assertTrueEventually(new AssertTask() {
+            @Override
+            public void run() {
+                assertEquals(1, connectionManager.getActiveConnections().size());
+                assertEquals(CONNECTIONS_PER_MEMBER - 1, connectionManager.getSecondaryConnections().size());
+                assertFalse(connectionManager.getSecondaryConnectionAddresses().contains(member2Address));
+            }
+        });
+        putAndGet(map);
+    }
+
+    @Test
+    public void testSecondaryConnectionsClosed_onShutdown() {
+        putAndGet(client.<Integer, Integer>getMap(randomMapName()));
+
+        client.shutdown();
+
+        assertTrueEventually(new AssertTask() {
+            @Override
+            public void run() {
+                assertEquals(0, getEndpointCount(member1));
+                assertEquals(0, getEndpointCount(member2));
+            }
+        });
+    }
+
+    private static void putAndGet(IMap<Integer, Integer> map) {
+        for (int i = 0; i < ENTRY_COUNT; i++) {
+            map.put(i, i);
+        }
+        for (int i = 0; i < ENTRY_COUNT; i++) {
+            assertEquals(i, (int) map.get(i));
+        }
+    }
+
+    private static int getEndpointCount(HazelcastInstance member) {
+        Node node = getNode(member);
+        return node.clientEngine.getClientEndpointCount();
+    }
+}
@@ -0,0 +1,74 @@
+/*
+ * Copyright (c) 2008-2018, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.client.impl;
+
+import com.hazelcast.client.impl.protocol.task.map.MapGetMessageTask;
+import com.hazelcast.client.impl.protocol.task.map.MapPutMessageTask;
+import com.hazelcast.client.test.TestHazelcastFactory;
+import com.hazelcast.config.Config;
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.core.IMap;
+import com.hazelcast.internal.util.counters.LatencyHistograms;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.HazelcastTestSupport;
+import com.hazelcast.test.annotation.ParallelTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.After;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import static com.hazelcast.spi.properties.GroupProperty.LATENCY_HISTOGRAMS_ENABLED;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelTest.class})
+public class ClientMessageLatencyTest extends HazelcastTestSupport {
+
+    private final TestHazelcastFactory hazelcastFactory = new TestHazelcastFactory();
+
+    @After
+    public void tearDown() {
+        hazelcastFactory.terminateAll();
+    }
+
+    @Test
+    public void testLatenciesRecorded() {
+        Config config = new Config().setProperty(LATENCY_HISTOGRAMS_ENABLED.getName(), "true");
+        HazelcastInstance server = hazelcastFactory.newHazelcastInstance(config);
+        HazelcastInstance client = hazelcastFactory.newHazelcastClient();
+
+        IMap<Integer, Integer> map = client.getMap(randomMapName());
+        for (int i = 0; i < 100; i++) {
+            map.put(i, i);
+            map.get(i);
+        }
+
+        LatencyHistograms histograms = getNode(server).clientEngine.getLatencyHistograms();
+        assertEquals(100, histograms.getHistogram(MapPutMessageTask.class).snapshot().getCount());
+        assertEquals(100, histograms.getHistogram(MapGetMessageTask.class).snapshot().getCount());
+    }
+
+    @Test
+    public void testLatenciesNotRecorded_whenDisabled() {
+        HazelcastInstance server = hazelcastFactory.newHazelcastInstance();
+
+        assertNull(getNode(server).clientEngine.getLatencyHistograms());
+    }
+}
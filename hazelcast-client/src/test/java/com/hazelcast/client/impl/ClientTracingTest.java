@@ -0,0 +1,142 @@
+/*
+ * Copyright (c) 2008-2018, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.client.impl;
+
+import com.hazelcast.client.config.ClientConfig;
+import com.hazelcast.client.impl.protocol.task.map.MapPutMessageTask;
+import com.hazelcast.client.spi.properties.ClientProperty;
+import com.hazelcast.client.test.TestHazelcastFactory;
+import com.hazelcast.config.Config;
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.internal.tracing.Trace;
+import com.hazelcast.internal.tracing.TraceExporter;
+import com.hazelcast.internal.tracing.TraceStage;
+import com.hazelcast.map.impl.operation.PutOperation;
+import com.hazelcast.test.AssertTask;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.HazelcastTestSupport;
+import com.hazelcast.test.annotation.ParallelTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.After;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import static com.hazelcast.client.impl.ClientTestUtil.getHazelcastClientInstanceImpl;
+import static com.hazelcast.internal.tracing.TraceStage.CLIENT_COMPLETED;
+import static com.hazelcast.internal.tracing.TraceStage.CLIENT_INVOKED;
+import static com.hazelcast.internal.tracing.TraceStage.CLIENT_RESPONSE_RECEIVED;
+import static com.hazelcast.internal.tracing.TraceStage.CLIENT_WRITTEN;
+import static com.hazelcast.internal.tracing.TraceStage.INVOCATION_COMPLETED;
+import static com.hazelcast.internal.tracing.TraceStage.INVOCATION_STARTED;
+import static com.hazelcast.internal.tracing.TraceStage.MESSAGE_RECEIVED;
+import static com.hazelcast.internal.tracing.TraceStage.MESSAGE_TASK_STARTED;
+import static com.hazelcast.internal.tracing.TraceStage.OPERATION_STARTED;
+import static com.hazelcast.internal.tracing.TraceStage.RESPONSE_SENT;
+import static com.hazelcast.spi.properties.GroupProperty.TRACING_SAMPLE_RATE;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelTest.class})
+public class ClientTracingTest extends HazelcastTestSupport {
+
+    private final TestHazelcastFactory hazelcastFactory = new TestHazelcastFactory();
+
+    @After
+    public void tearDown() {
+        hazelcastFactory.terminateAll();
+    }
+
+    @Test
+    public void testTracesCorrelated() {
+        Config config = new Config().setProperty(TRACING_SAMPLE_RATE.getName(), "1");
+        HazelcastInstance server = hazelcastFactory.newHazelcastInstance(config);
+        ClientConfig clientConfig = new ClientConfig()
+                .setProperty(ClientProperty.TRACING_SAMPLE_RATE.getName(), "1");
+        HazelcastInstance client = hazelcastFactory.newHazelcastClient(clientConfig);
+
+        final CollectingExporter serverTraces = new CollectingExporter();
+        final CollectingExporter clientTraces = new CollectingExporter();
+        getNodeEngineImpl(server).getTracer().addExporter(serverTraces);
+        getHazelcastClientInstanceImpl(client).getTracer().addExporter(clientTraces);
+
+        client.getMap(randomMapName()).put(1, 1);
+
+        assertTrueEventually(new AssertTask() {
+            @Override
+            public void run() throws Exception {
+                Trace serverTrace = serverTraces.findByName(MapPutMessageTask.class.getSimpleName());
+                assertNotNull(serverTrace);
+                Trace clientTrace = clientTraces.traces.get(serverTrace.getId());
+                assertNotNull(clientTrace);
+
+                assertEquals("Map.put", clientTrace.getName());
+                assertPassed(clientTrace, CLIENT_INVOKED, CLIENT_WRITTEN, CLIENT_RESPONSE_RECEIVED, CLIENT_COMPLETED);
+                assertPassed(serverTrace, MESSAGE_RECEIVED, MESSAGE_TASK_STARTED, RESPONSE_SENT);
+
+                // the invocation of the message task has a trace of its own
+                Trace invocationTrace = serverTraces.findByName(PutOperation.class.getSimpleName());
+                assertNotNull(invocationTrace);
+                assertTrue(invocationTrace.getId(), invocationTrace.getId().startsWith(serverTrace.getId() + "/"));
+                assertPassed(invocationTrace, INVOCATION_STARTED, OPERATION_STARTED, INVOCATION_COMPLETED);
+            }
+        });
+    }
+
+    @Test
+    public void testNotTraced_whenDisabled() {
+        hazelcastFactory.newHazelcastInstance();
+        HazelcastInstance client = hazelcastFactory.newHazelcastClient();
+
+        CollectingExporter clientTraces = new CollectingExporter();
+        getHazelcastClientInstanceImpl(client).getTracer().addExporter(clientTraces);
+
+        client.getMap(randomMapName()).put(1, 1);
+
+        assertTrue(clientTraces.traces.isEmpty());
+    }
+
+    private static void assertPassed(Trace trace, TraceStage... stages) {
+        for (TraceStage stage : stages) {
+            assertTrue(trace + " didn't pass " + stage, trace.getTimestampNanos(stage) > 0);
+        }
+    }
+
+    private static class CollectingExporter implements TraceExporter {
+
+        private final ConcurrentMap<String, Trace> traces = new ConcurrentHashMap<String, Trace>();
+
+        @Override
+        public void export(Trace trace) {
+            traces.put(trace.getId(), trace);
+        }
+
+        Trace findByName(String name) {
+            for (Trace trace : traces.values()) {
+                if (trace.getName().equals(name)) {
+                    return trace;
+                }
+            }
+            return null;
+        }
+    }
+}
@@ -0,0 +1,163 @@
+/*
+ * Copyright (c) 2008-2018, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.client.map;
+
+import com.hazelcast.client.config.ClientConfig;
+import com.hazelcast.client.spi.properties.ClientProperty;
+import com.hazelcast.client.test.TestHazelcastFactory;
+import com.hazelcast.config.NearCacheConfig;
+import com.hazelcast.core.ExecutionCallback;
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.core.ICompletableFuture;
+import com.hazelcast.core.IMap;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.HazelcastTestSupport;
+import com.hazelcast.test.annotation.ParallelTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelTest.class})
+public class ClientMapGetBatchingTest extends HazelcastTestSupport {
+
+    private static final int ENTRY_COUNT = 1000;
+
+    private final TestHazelcastFactory hazelcastFactory = new TestHazelcastFactory();
+
+    private IMap<Integer, String> serverMap;
+    private ClientConfig clientConfig;
+
+    @Before
+    public void setup() {
+        HazelcastInstance server = hazelcastFactory.newHazelcastInstance();
+        hazelcastFactory.newHazelcastInstance();
+        serverMap = server.getMap(randomMapName());
+        for (int i = 0; i < ENTRY_COUNT; i++) {
+            serverMap.put(i, "value-" + i);
+        }
+
+        clientConfig = new ClientConfig()
+                .setProperty(ClientProperty.MAP_GET_BATCH_WINDOW_MICROS.getName(), "1000")
+                .setProperty(ClientProperty.MAP_GET_BATCH_MAX_SIZE.getName(), "10");
+    }
+
+    @After
+    public void tearDown() {
+        hazelcastFactory.terminateAll();
+    }
+
+    @Test
+    public void testGetAsync() throws Exception {
+        IMap<Integer, String> map = newClientMap();
+
+        assertGetAsync(map);
+    }
+
+    @Test
+    public void testGetAsync_withNearCache() throws Exception {
+        clientConfig.addNearCacheConfig(new NearCacheConfig(serverMap.getName()));
+        IMap<Integer, String> map = newClientMap();
+
+        assertGetAsync(map);
+        // the second round is served from the Near Cache populated by the batched responses
+        assertGetAsync(map);
+    }
+
+    @Test
+    public void testGetAsync_withTracing() throws Exception {
+        clientConfig.setProperty(ClientProperty.TRACING_SAMPLE_RATE.getName(), "1");
+        IMap<Integer, String> map = newClientMap();
+
+        assertGetAsync(map);
+    }
+
+    @Test
+    public void testGetAsync_whenSameKeyRequestedConcurrently() throws Exception {
+        IMap<Integer, String> map = newClientMap();
+
+        List<ICompletableFuture<String>> futures = new ArrayList<ICompletableFuture<String>>();
+        for (int i = 0; i < 5; i++) {
+            futures.add(map.getAsync(42));
+        }
+
+        for (ICompletableFuture<String> future : futures) {
+            assertEquals("value-42", future.get());
+        }
+    }
+
+    @Test
+    public void testGetAsync_whenKeyMissing() throws Exception {
+        IMap<Integer, String> map = newClientMap();
+
+        ICompletableFuture<String> missing = map.getAsync(-1);
+        ICompletableFuture<String> existing = map.getAsync(1);
+
+        assertNull(missing.get());
+        assertEquals("value-1", existing.get());
+    }
+
+    @Test
+    public void testGetAsync_andThen() throws Exception {
+        IMap<Integer, String> map = newClientMap();
+        final CountDownLatch latch = new CountDownLatch(1);
+        final AtomicReference<String> value = new AtomicReference<String>();
+
+        map.getAsync(7).andThen(new ExecutionCallback<String>() {
+            @Override
+            public void onResponse(String response) {
+                value.set(response);
+                latch.countDown();
+            }
+
+            @Override
+            public void onFailure(Throwable t) {
+                latch.countDown();
+            }
+        });
+
+        assertOpenEventually(latch);
+        assertEquals("value-7", value.get());
+    }
+
+    private IMap<Integer, String> newClientMap() {
+        HazelcastInstance client = hazelcastFactory.newHazelcastClient(clientConfig);
+        return client.getMap(serverMap.getName());
+    }
+
+    private static void assertGetAsync(IMap<Integer, String> map) throws Exception {
+        List<ICompletableFuture<String>> futures = new ArrayList<ICompletableFuture<String>>(ENTRY_COUNT);
+        for (int i = 0; i < ENTRY_COUNT; i++) {
+            futures.add(map.getAsync(i));
+        }
+
+        for (int i = 0; i < ENTRY_COUNT; i++) {
+            assertEquals("value-" + i, futures.get(i).get());
+        }
+    }
+}
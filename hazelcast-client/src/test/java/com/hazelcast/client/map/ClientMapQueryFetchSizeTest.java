@@ -0,0 +1,198 @@
+/*
+ * Copyright (c) 2008-2018, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.client.map;
+
+import com.hazelcast.client.config.ClientConfig;
+import com.hazelcast.client.proxy.ClientMapProxy;
+import com.hazelcast.client.spi.properties.ClientProperty;
+import com.hazelcast.client.test.TestHazelcastFactory;
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.core.IMap;
+import com.hazelcast.map.QueryResultSizeExceededException;
+import com.hazelcast.projection.Projection;
+import com.hazelcast.projection.Projections;
+import com.hazelcast.query.PagingPredicate;
+import com.hazelcast.query.PartitionPredicate;
+import com.hazelcast.query.Predicate;
+import com.hazelcast.query.SqlPredicate;
+import com.hazelcast.query.TruePredicate;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.HazelcastTestSupport;
+import com.hazelcast.test.annotation.ParallelTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelTest.class})
+public class ClientMapQueryFetchSizeTest extends HazelcastTestSupport {
+
+    private static final int ENTRY_COUNT = 1000;
+
+    private final TestHazelcastFactory hazelcastFactory = new TestHazelcastFactory();
+
+    private String mapName;
+    private IMap<Integer, Integer> serverMap;
+    private IMap<Integer, Integer> map;
+
+    @Before
+    public void setup() {
+        HazelcastInstance server = hazelcastFactory.newHazelcastInstance();
+        hazelcastFactory.newHazelcastInstance();
+        mapName = randomMapName();
+        serverMap = server.getMap(mapName);
+        for (int i = 0; i < ENTRY_COUNT; i++) {
+            serverMap.put(i, i);
+        }
+
+        ClientConfig clientConfig = new ClientConfig()
+                .setProperty(ClientProperty.MAP_QUERY_FETCH_SIZE.getName(), "7");
+        HazelcastInstance client = hazelcastFactory.newHazelcastClient(clientConfig);
+        map = client.getMap(mapName);
+    }
+
+    @After
+    public void tearDown() {
+        hazelcastFactory.terminateAll();
+    }
+
+    @Test
+    public void testKeySet() {
+        Set<Integer> keys = map.keySet(new SqlPredicate("this >= 500"));
+
+        assertEquals(expectedFrom(500).keySet(), keys);
+    }
+
+    @Test
+    public void testValues() {
+        Collection<Integer> values = map.values(new SqlPredicate("this < 300"));
+
+        assertEquals(new HashSet<Integer>(expectedFrom(0, 300).values()), new HashSet<Integer>(values));
+        assertEquals(300, values.size());
+    }
+
+    @Test
+    public void testEntrySet() {
+        Set<Map.Entry<Integer, Integer>> entries = map.entrySet(TruePredicate.INSTANCE);
+
+        assertEquals(expectedFrom(0).entrySet(), entries);
+    }
+
+    @Test
+    public void testEntrySet_noMatch() {
+        Set<Map.Entry<Integer, Integer>> entries = map.entrySet(new SqlPredicate("this < 0"));
+
+        assertEquals(0, entries.size());
+    }
+
+    @Test
+    public void testEntrySet_withIndex() {
+        map.addIndex("this", true);
+
+        Set<Map.Entry<Integer, Integer>> entries = map.entrySet(new SqlPredicate("this >= 900"));
+
+        assertEquals(expectedFrom(900).entrySet(), entries);
+    }
+
+    @Test
+    public void testIterator() {
+        ClientMapProxy<Integer, Integer> proxy = (ClientMapProxy<Integer, Integer>) map;
+        Projection<Map.Entry<Integer, Integer>, Integer> projection = Projections.singleAttribute("this");
+
+        Iterator<Integer> iterator = proxy.iterator(7, projection, new SqlPredicate("this >= 100"));
+
+        Set<Integer> values = new HashSet<Integer>();
+        while (iterator.hasNext()) {
+            assertTrue(values.add(iterator.next()));
+        }
+        assertEquals(new HashSet<Integer>(expectedFrom(100).values()), values);
+    }
+
+    @Test(expected = NoSuchElementException.class)
+    public void testIterator_whenNoMatch() {
+        ClientMapProxy<Integer, Integer> proxy = (ClientMapProxy<Integer, Integer>) map;
+        Projection<Map.Entry<Integer, Integer>, Integer> projection = Projections.singleAttribute("this");
+
+        Iterator<Integer> iterator = proxy.iterator(7, projection, new SqlPredicate("this < 0"));
+
+        assertFalse(iterator.hasNext());
+        iterator.next();
+    }
+
+    @Test(expected = QueryResultSizeExceededException.class)
+    public void testValues_whenResultSizeLimitExceeded() {
+        ClientConfig clientConfig = new ClientConfig()
+                .setProperty(ClientProperty.MAP_QUERY_FETCH_SIZE.getName(), "7")
+                .setProperty(ClientProperty.MAP_QUERY_RESULT_SIZE_LIMIT.getName(), "100");
+        IMap<Integer, Integer> limitedMap = hazelcastFactory.newHazelcastClient(clientConfig).getMap(mapName);
+
+        assertEquals(100, limitedMap.values(new SqlPredicate("this < 100")).size());
+        limitedMap.values(new SqlPredicate("this <= 100"));
+    }
+
+    @Test
+    public void testValues_withPartitionPredicate() {
+        Predicate<Integer, Integer> predicate = new PartitionPredicate<Integer, Integer>(1, TruePredicate.INSTANCE);
+
+        Collection<Integer> values = map.values(predicate);
+
+        assertEquals(new HashSet<Integer>(serverMap.values(predicate)), new HashSet<Integer>(values));
+    }
+
+    @Test
+    public void testValues_withPagingPredicate() {
+        PagingPredicate<Integer, Integer> predicate = new PagingPredicate<Integer, Integer>(10);
+
+        Collection<Integer> values = map.values(predicate);
+
+        assertEquals(10, values.size());
+        List<Integer> expected = new ArrayList<Integer>();
+        for (int i = 0; i < 10; i++) {
+            expected.add(i);
+        }
+        assertEquals(expected, new ArrayList<Integer>(values));
+    }
+
+    private static Map<Integer, Integer> expectedFrom(int from) {
+        return expectedFrom(from, ENTRY_COUNT);
+    }
+
+    private static Map<Integer, Integer> expectedFrom(int from, int to) {
+        Map<Integer, Integer> expected = new HashMap<Integer, Integer>();
+        for (int i = from; i < to; i++) {
+            expected.put(i, i);
+        }
+        return expected;
+    }
+}
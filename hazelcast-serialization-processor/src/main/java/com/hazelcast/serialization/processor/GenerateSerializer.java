@@ -0,0 +1,62 @@
+/*
+ * Copyright (c) 2008-2018, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.serialization.processor;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks a class for which a {@code StreamSerializer} should be generated at
+ * build time by the {@link SerializerProcessor}.
+ * <p>
+ * For an annotated class {@code Person}, the processor generates a
+ * {@code PersonSerializer} and a {@code PersonSerializerHook} in the same
+ * package and registers the hook in
+ * {@code META-INF/services/com.hazelcast.SerializerHook}, so the serializer
+ * is picked up automatically by every Hazelcast member and client having the
+ * compiled classes on its classpath.
+ * <p>
+ * The generated serializer reads and writes all non-static, non-transient
+ * fields of the class and its superclasses without reflection. A field is
+ * accessed directly when it is visible from the package of the annotated
+ * class, otherwise through its JavaBean getter and setter. The annotated
+ * class should be a non-generic top-level or static nested class with
+ * a non-private no-arg constructor.
+ * <p>
+ * Primitives, {@link String} and arrays of them are written with the
+ * corresponding {@code ObjectDataOutput} methods. All other fields are
+ * written with {@code ObjectDataOutput#writeObject(Object)}, so they are
+ * serialized by whichever serializer is registered for their type.
+ */
+@Documented
+@Retention(RetentionPolicy.SOURCE)
+@Target(ElementType.TYPE)
+public @interface GenerateSerializer {
+
+    /**
+     * Returns the type ID of the generated serializer.
+     * <p>
+     * It has to be positive and unique among all the serializers
+     * registered in the cluster.
+     *
+     * @return the type ID of the generated serializer
+     */
+    int typeId();
+}
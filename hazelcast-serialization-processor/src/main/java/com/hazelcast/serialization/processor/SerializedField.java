@@ -0,0 +1,110 @@
+/*
+ * Copyright (c) 2008-2018, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.serialization.processor;
+
+import javax.lang.model.type.ArrayType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * A field read and written by a generated serializer together with the
+ * expressions used to access it.
+ */
+final class SerializedField {
+
+    private static final String STRING_CLASS_NAME = String.class.getName();
+    private static final Map<TypeKind, String> PRIMITIVE_IO_METHOD_SUFFIXES = new EnumMap<TypeKind, String>(TypeKind.class);
+
+    static {
+        PRIMITIVE_IO_METHOD_SUFFIXES.put(TypeKind.BOOLEAN, "Boolean");
+        PRIMITIVE_IO_METHOD_SUFFIXES.put(TypeKind.BYTE, "Byte");
+        PRIMITIVE_IO_METHOD_SUFFIXES.put(TypeKind.CHAR, "Char");
+        PRIMITIVE_IO_METHOD_SUFFIXES.put(TypeKind.SHORT, "Short");
+        PRIMITIVE_IO_METHOD_SUFFIXES.put(TypeKind.INT, "Int");
+        PRIMITIVE_IO_METHOD_SUFFIXES.put(TypeKind.LONG, "Long");
+        PRIMITIVE_IO_METHOD_SUFFIXES.put(TypeKind.FLOAT, "Float");
+        PRIMITIVE_IO_METHOD_SUFFIXES.put(TypeKind.DOUBLE, "Double");
+    }
+
+    private final String name;
+    private final TypeMirror type;
+    private final String getter;
+    private final String setter;
+
+    /**
+     * @param name   name of the field
+     * @param type   type of the field
+     * @param getter name of the getter method, or {@code null} if the field is accessed directly
+     * @param setter name of the setter method, or {@code null} if the field is accessed directly
+     */
+    SerializedField(String name, TypeMirror type, String getter, String setter) {
+        this.name = name;
+        this.type = type;
+        this.getter = getter;
+        this.setter = setter;
+    }
+
+    /**
+     * Returns the statement writing this field of {@code objectVar} to {@code outVar}.
+     */
+    String writeStatement(String outVar, String objectVar) {
+        String value = getter == null ? objectVar + "." + name : objectVar + "." + getter + "()";
+        return outVar + ".write" + ioMethodSuffix(type) + "(" + value + ");";
+    }
+
+    /**
+     * Returns the statement reading this field of {@code objectVar} from {@code inVar}.
+     */
+    String readStatement(String inVar, String objectVar) {
+        String suffix = ioMethodSuffix(type);
+        String value = inVar + ".read" + suffix + "()";
+        if ("Object".equals(suffix)) {
+            value = "(" + type + ") " + value;
+        }
+        return setter == null
+                ? objectVar + "." + name + " = " + value + ";"
+                : objectVar + "." + setter + "(" + value + ");";
+    }
+
+    /**
+     * Returns whether reading this field requires an unchecked cast.
+     */
+    boolean isGenericObject() {
+        return "Object".equals(ioMethodSuffix(type)) && type.toString().contains("<");
+    }
+
+    private static String ioMethodSuffix(TypeMirror type) {
+        TypeKind kind = type.getKind();
+        if (kind.isPrimitive()) {
+            return PRIMITIVE_IO_METHOD_SUFFIXES.get(kind);
+        }
+        if (kind == TypeKind.ARRAY) {
+            return arrayIoMethodSuffix(((ArrayType) type).getComponentType());
+        }
+        return STRING_CLASS_NAME.equals(type.toString()) ? "UTF" : "Object";
+    }
+
+    private static String arrayIoMethodSuffix(TypeMirror componentType) {
+        TypeKind kind = componentType.getKind();
+        if (kind.isPrimitive() || STRING_CLASS_NAME.equals(componentType.toString())) {
+            return ioMethodSuffix(componentType) + "Array";
+        }
+        return "Object";
+    }
+}
@@ -0,0 +1,354 @@
+/*
+ * Copyright (c) 2008-2018, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.serialization.processor;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.Messager;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.PackageElement;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
+import javax.lang.model.util.Elements;
+import javax.lang.model.util.Types;
+import javax.tools.Diagnostic;
+import javax.tools.FileObject;
+import javax.tools.JavaFileObject;
+import javax.tools.StandardLocation;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Generates a {@code StreamSerializer} and a {@code SerializerHook} for every
+ * class annotated with {@link GenerateSerializer} and registers the hooks in
+ * {@code META-INF/services/com.hazelcast.SerializerHook}.
+ * <p>
+ * The processor is registered as a {@code javax.annotation.processing.Processor}
+ * service, so it is run by {@code javac} whenever this module is on the
+ * compile classpath. The generated code only depends on the public Hazelcast
+ * serialization API.
+ * <p>
+ * The services file is written once, when all annotated classes of the
+ * compilation are known. Incremental compilations which compile only some of
+ * the annotated classes should be followed by a full build before packaging.
+ */
+@SupportedAnnotationTypes("com.hazelcast.serialization.processor.GenerateSerializer")
+public class SerializerProcessor extends AbstractProcessor {
+
+    static final String SERIALIZER_SUFFIX = "Serializer";
+    static final String HOOK_SUFFIX = "SerializerHook";
+    static final String HOOKS_RESOURCE = "META-INF/services/com.hazelcast.SerializerHook";
+
+    private final Map<Integer, String> typeIds = new HashMap<Integer, String>();
+    private final List<String> hooks = new ArrayList<String>();
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+        for (Element element : roundEnv.getElementsAnnotatedWith(GenerateSerializer.class)) {
+            if (element.getKind() != ElementKind.CLASS) {
+                error(element, "@GenerateSerializer can only be used on classes");
+                continue;
+            }
+            TypeElement type = (TypeElement) element;
+            if (isValid(type)) {
+                List<SerializedField> fields = collectFields(type);
+                if (fields != null) {
+                    generate(type, type.getAnnotation(GenerateSerializer.class).typeId(), fields);
+                }
+            }
+        }
+
+        if (roundEnv.processingOver() && !hooks.isEmpty()) {
+            writeHooksResource();
+        }
+        return true;
+    }
+
+    private boolean isValid(TypeElement type) {
+        Set<Modifier> modifiers = type.getModifiers();
+        if (modifiers.contains(Modifier.ABSTRACT)) {
+            return error(type, "@GenerateSerializer cannot be used on abstract classes");
+        }
+        if (modifiers.contains(Modifier.PRIVATE)) {
+            return error(type, "@GenerateSerializer cannot be used on private classes");
+        }
+        if (!type.getTypeParameters().isEmpty()) {
+            return error(type, "@GenerateSerializer cannot be used on generic classes");
+        }
+        if (type.getEnclosingElement().getKind() != ElementKind.PACKAGE && !modifiers.contains(Modifier.STATIC)) {
+            return error(type, "@GenerateSerializer cannot be used on inner classes, make the class static");
+        }
+        if (!hasNoArgConstructor(type)) {
+            return error(type, "@GenerateSerializer requires a non-private no-arg constructor");
+        }
+        return isValidTypeId(type);
+    }
+
+    private boolean isValidTypeId(TypeElement type) {
+        int typeId = type.getAnnotation(GenerateSerializer.class).typeId();
+        if (typeId <= 0) {
+            return error(type, "@GenerateSerializer type ID must be positive: " + typeId);
+        }
+        String previous = typeIds.put(typeId, type.getQualifiedName().toString());
+        if (previous != null) {
+            return error(type, "@GenerateSerializer type ID " + typeId + " is already used by " + previous);
+        }
+        return true;
+    }
+
+    private boolean hasNoArgConstructor(TypeElement type) {
+        for (ExecutableElement constructor : ElementFilter.constructorsIn(type.getEnclosedElements())) {
+            if (constructor.getParameters().isEmpty() && !constructor.getModifiers().contains(Modifier.PRIVATE)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Returns the serialized fields of the type and all its superclasses,
+     * starting with the fields of the topmost superclass, or {@code null}
+     * if any of the fields cannot be accessed.
+     */
+    private List<SerializedField> collectFields(TypeElement type) {
+        List<TypeElement> hierarchy = new ArrayList<TypeElement>();
+        for (TypeElement current = type; current != null; current = getSuperclass(current)) {
+            hierarchy.add(current);
+        }
+        Collections.reverse(hierarchy);
+
+        boolean valid = true;
+        List<SerializedField> fields = new ArrayList<SerializedField>();
+        for (TypeElement declaringType : hierarchy) {
+            for (VariableElement field : ElementFilter.fieldsIn(declaringType.getEnclosedElements())) {
+                Set<Modifier> modifiers = field.getModifiers();
+                if (modifiers.contains(Modifier.STATIC) || modifiers.contains(Modifier.TRANSIENT)) {
+                    continue;
+                }
+                SerializedField serializedField = createField(type, declaringType, field);
+                if (serializedField == null) {
+                    valid = false;
+                } else {
+                    fields.add(serializedField);
+                }
+            }
+        }
+        return valid ? fields : null;
+    }
+
+    private TypeElement getSuperclass(TypeElement type) {
+        TypeMirror superclass = type.getSuperclass();
+        if (superclass.getKind() != TypeKind.DECLARED) {
+            return null;
+        }
+        TypeElement superType = (TypeElement) ((DeclaredType) superclass).asElement();
+        return Object.class.getName().equals(superType.getQualifiedName().toString()) ? null : superType;
+    }
+
+    private SerializedField createField(TypeElement type, TypeElement declaringType, VariableElement field) {
+        String name = field.getSimpleName().toString();
+        TypeMirror fieldType = field.asType();
+        if (isAccessible(type, field) && !field.getModifiers().contains(Modifier.FINAL)) {
+            return new SerializedField(name, fieldType, null, null);
+        }
+
+        String capitalized = Character.toUpperCase(name.charAt(0)) + name.substring(1);
+        String getter = findGetter(type, capitalized, fieldType);
+        String setter = findSetter(type, capitalized, fieldType);
+        if (getter == null || setter == null) {
+            error(field, "Field " + declaringType.getSimpleName() + "." + name
+                    + " is not accessible from the generated serializer and has no accessible getter and setter");
+            return null;
+        }
+        return new SerializedField(name, fieldType, getter, setter);
+    }
+
+    private String findGetter(TypeElement type, String capitalized, TypeMirror fieldType) {
+        Types types = processingEnv.getTypeUtils();
+        for (ExecutableElement method : accessibleMethods(type)) {
+            String methodName = method.getSimpleName().toString();
+            boolean nameMatches = methodName.equals("get" + capitalized)
+                    || (fieldType.getKind() == TypeKind.BOOLEAN && methodName.equals("is" + capitalized));
+            if (nameMatches && method.getParameters().isEmpty() && types.isSameType(method.getReturnType(), fieldType)) {
+                return methodName;
+            }
+        }
+        return null;
+    }
+
+    private String findSetter(TypeElement type, String capitalized, TypeMirror fieldType) {
+        Types types = processingEnv.getTypeUtils();
+        for (ExecutableElement method : accessibleMethods(type)) {
+            if (method.getSimpleName().toString().equals("set" + capitalized)
+                    && method.getParameters().size() == 1
+                    && types.isSameType(method.getParameters().get(0).asType(), fieldType)) {
+                return method.getSimpleName().toString();
+            }
+        }
+        return null;
+    }
+
+    private List<ExecutableElement> accessibleMethods(TypeElement type) {
+        List<ExecutableElement> methods = new ArrayList<ExecutableElement>();
+        for (ExecutableElement method : ElementFilter.methodsIn(processingEnv.getElementUtils().getAllMembers(type))) {
+            if (!method.getModifiers().contains(Modifier.STATIC) && isAccessible(type, method)) {
+                methods.add(method);
+            }
+        }
+        return methods;
+    }
+
+    /**
+     * Checks if the member is accessible from a class in the package of the
+     * given type, which is where the serializer is generated.
+     */
+    private boolean isAccessible(TypeElement type, Element member) {
+        Set<Modifier> modifiers = member.getModifiers();
+        if (modifiers.contains(Modifier.PUBLIC)) {
+            return true;
+        }
+        if (modifiers.contains(Modifier.PRIVATE)) {
+            return false;
+        }
+        Elements elements = processingEnv.getElementUtils();
+        return elements.getPackageOf(member).equals(elements.getPackageOf(type));
+    }
+
+    private void generate(TypeElement type, int typeId, List<SerializedField> fields) {
+        PackageElement packageElement = processingEnv.getElementUtils().getPackageOf(type);
+        String packageName = packageElement.isUnnamed() ? null : packageElement.getQualifiedName().toString();
+        String typeName = type.getQualifiedName().toString();
+        String baseName = getBaseName(type, packageName);
+
+        String serializerName = baseName + SERIALIZER_SUFFIX;
+        String hookName = baseName + HOOK_SUFFIX;
+        String serializerSource = SerializerSources.serializer(packageName, serializerName, typeName, typeId, fields);
+        String hookSource = SerializerSources.hook(packageName, hookName, serializerName, typeName);
+        if (writeSource(type, qualify(packageName, serializerName), serializerSource)
+                && writeSource(type, qualify(packageName, hookName), hookSource)) {
+            hooks.add(qualify(packageName, hookName));
+        }
+    }
+
+    /**
+     * Returns the name of the type relative to its package, with the names of
+     * the enclosing classes separated by underscores for nested classes.
+     */
+    private String getBaseName(TypeElement type, String packageName) {
+        String binaryName = processingEnv.getElementUtils().getBinaryName(type).toString();
+        String relativeName = packageName == null ? binaryName : binaryName.substring(packageName.length() + 1);
+        return relativeName.replace('$', '_');
+    }
+
+    private static String qualify(String packageName, String simpleName) {
+        return packageName == null ? simpleName : packageName + "." + simpleName;
+    }
+
+    private boolean writeSource(TypeElement type, String name, String source) {
+        try {
+            JavaFileObject file = processingEnv.getFiler().createSourceFile(name, type);
+            Writer writer = file.openWriter();
+            try {
+                writer.write(source);
+            } finally {
+                writer.close();
+            }
+            return true;
+        } catch (IOException e) {
+            return error(type, "Could not write " + name + ": " + e.getMessage());
+        }
+    }
+
+    /**
+     * Writes the services file. Hook entries already present in the class output, e.g. copied from a hand-written
+     * services file in the resources, are kept and the generated hooks are appended.
+     */
+    private void writeHooksResource() {
+        Set<String> allHooks = new LinkedHashSet<String>();
+        try {
+            allHooks.addAll(readExistingHooks());
+            allHooks.addAll(hooks);
+            FileObject file = processingEnv.getFiler().createResource(StandardLocation.CLASS_OUTPUT, "", HOOKS_RESOURCE);
+            Writer writer = file.openWriter();
+            try {
+                for (String hook : allHooks) {
+                    writer.write(hook);
+                    writer.write('\n');
+                }
+            } finally {
+                writer.close();
+            }
+        } catch (IOException e) {
+            processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR,
+                    "Could not write " + HOOKS_RESOURCE + ": " + e.getMessage());
+        }
+    }
+
+    private List<String> readExistingHooks() throws IOException {
+        List<String> existing = new ArrayList<String>();
+        BufferedReader reader;
+        try {
+            FileObject file = processingEnv.getFiler().getResource(StandardLocation.CLASS_OUTPUT, "", HOOKS_RESOURCE);
+            reader = new BufferedReader(new InputStreamReader(file.openInputStream(), "UTF-8"));
+        } catch (IOException e) {
+            // there is no services file yet
+            return existing;
+        }
+        try {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                int commentStart = line.indexOf('#');
+                String hook = (commentStart >= 0 ? line.substring(0, commentStart) : line).trim();
+                if (hook.length() > 0) {
+                    existing.add(hook);
+                }
+            }
+        } finally {
+            reader.close();
+        }
+        return existing;
+    }
+
+    private boolean error(Element element, String message) {
+        Messager messager = processingEnv.getMessager();
+        messager.printMessage(Diagnostic.Kind.ERROR, message, element);
+        return false;
+    }
+}
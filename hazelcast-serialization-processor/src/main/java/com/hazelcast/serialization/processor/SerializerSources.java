@@ -0,0 +1,122 @@
+/*
+ * Copyright (c) 2008-2018, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.serialization.processor;
+
+import java.util.List;
+
+/**
+ * Renders the sources of the generated serializers and serializer hooks.
+ */
+final class SerializerSources {
+
+    private static final String GENERATED_COMMENT = "/**\n"
+            + " * Generated by {@code " + SerializerProcessor.class.getName() + "}, do not edit.\n"
+            + " */\n";
+
+    private SerializerSources() {
+    }
+
+    static String serializer(String packageName, String serializerName, String typeName, int typeId,
+                             List<SerializedField> fields) {
+        StringBuilder sb = new StringBuilder();
+        appendHeader(sb, packageName);
+        sb.append("import com.hazelcast.nio.ObjectDataInput;\n")
+          .append("import com.hazelcast.nio.ObjectDataOutput;\n")
+          .append("import com.hazelcast.nio.serialization.StreamSerializer;\n")
+          .append("\n")
+          .append("import java.io.IOException;\n")
+          .append("\n")
+          .append(GENERATED_COMMENT)
+          .append("public final class ").append(serializerName)
+          .append(" implements StreamSerializer<").append(typeName).append("> {\n")
+          .append("\n")
+          .append("    public static final int TYPE_ID = ").append(typeId).append(";\n")
+          .append("\n")
+          .append("    @Override\n")
+          .append("    public int getTypeId() {\n")
+          .append("        return TYPE_ID;\n")
+          .append("    }\n")
+          .append("\n")
+          .append("    @Override\n")
+          .append("    public void write(ObjectDataOutput out, ").append(typeName).append(" object) throws IOException {\n");
+        for (SerializedField field : fields) {
+            sb.append("        ").append(field.writeStatement("out", "object")).append('\n');
+        }
+        sb.append("    }\n")
+          .append("\n");
+        if (hasGenericObject(fields)) {
+            sb.append("    @SuppressWarnings(\"unchecked\")\n");
+        }
+        sb.append("    @Override\n")
+          .append("    public ").append(typeName).append(" read(ObjectDataInput in) throws IOException {\n")
+          .append("        ").append(typeName).append(" object = new ").append(typeName).append("();\n");
+        for (SerializedField field : fields) {
+            sb.append("        ").append(field.readStatement("in", "object")).append('\n');
+        }
+        sb.append("        return object;\n")
+          .append("    }\n")
+          .append("\n")
+          .append("    @Override\n")
+          .append("    public void destroy() {\n")
+          .append("    }\n")
+          .append("}\n");
+        return sb.toString();
+    }
+
+    static String hook(String packageName, String hookName, String serializerName, String typeName) {
+        StringBuilder sb = new StringBuilder();
+        appendHeader(sb, packageName);
+        sb.append("import com.hazelcast.nio.serialization.Serializer;\n")
+          .append("import com.hazelcast.nio.serialization.SerializerHook;\n")
+          .append("\n")
+          .append(GENERATED_COMMENT)
+          .append("public final class ").append(hookName)
+          .append(" implements SerializerHook<").append(typeName).append("> {\n")
+          .append("\n")
+          .append("    @Override\n")
+          .append("    public Class<").append(typeName).append("> getSerializationType() {\n")
+          .append("        return ").append(typeName).append(".class;\n")
+          .append("    }\n")
+          .append("\n")
+          .append("    @Override\n")
+          .append("    public Serializer createSerializer() {\n")
+          .append("        return new ").append(serializerName).append("();\n")
+          .append("    }\n")
+          .append("\n")
+          .append("    @Override\n")
+          .append("    public boolean isOverwritable() {\n")
+          .append("        return true;\n")
+          .append("    }\n")
+          .append("}\n");
+        return sb.toString();
+    }
+
+    private static void appendHeader(StringBuilder sb, String packageName) {
+        if (packageName != null) {
+            sb.append("package ").append(packageName).append(";\n\n");
+        }
+    }
+
+    private static boolean hasGenericObject(List<SerializedField> fields) {
+        for (SerializedField field : fields) {
+            if (field.isGenericObject()) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
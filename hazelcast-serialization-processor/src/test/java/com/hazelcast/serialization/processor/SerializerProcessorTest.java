@@ -0,0 +1,257 @@
+/*
+ * Copyright (c) 2008-2018, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.serialization.processor;
+
+import com.hazelcast.internal.serialization.InternalSerializationService;
+import com.hazelcast.internal.serialization.impl.DefaultSerializationServiceBuilder;
+import com.hazelcast.nio.serialization.Data;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.annotation.ParallelTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.rules.TemporaryFolder;
+import org.junit.runner.RunWith;
+
+import javax.tools.Diagnostic;
+import javax.tools.DiagnosticCollector;
+import javax.tools.JavaCompiler;
+import javax.tools.JavaFileObject;
+import javax.tools.StandardJavaFileManager;
+import javax.tools.ToolProvider;
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.util.ArrayList;
+import java.util.List;
+
+import static java.util.Arrays.asList;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelTest.class})
+public class SerializerProcessorTest {
+
+    private static final String BASE_SOURCE = "package example;\n"
+            + "public class Base {\n"
+            + "    protected long id;\n"
+            + "}\n";
+
+    private static final String PERSON_SOURCE = "package example;\n"
+            + "import com.hazelcast.serialization.processor.GenerateSerializer;\n"
+            + "import java.util.Arrays;\n"
+            + "import java.util.List;\n"
+            + "@GenerateSerializer(typeId = 4200)\n"
+            + "public class Person extends Base {\n"
+            + "    static int ignoredStatic = 5;\n"
+            + "    transient int ignoredTransient = 6;\n"
+            + "    String name;\n"
+            + "    int age;\n"
+            + "    char initial;\n"
+            + "    double[] scores;\n"
+            + "    String[] aliases;\n"
+            + "    List<String> tags;\n"
+            + "    Integer boxed;\n"
+            + "    Address address;\n"
+            + "    private boolean active;\n"
+            + "    public boolean isActive() { return active; }\n"
+            + "    public void setActive(boolean active) { this.active = active; }\n"
+            + "    @Override public String toString() {\n"
+            + "        return id + \",\" + name + \",\" + age + \",\" + initial + \",\" + Arrays.toString(scores)\n"
+            + "            + \",\" + Arrays.toString(aliases) + \",\" + tags + \",\" + boxed + \",\" + address\n"
+            + "            + \",\" + active + \",\" + ignoredTransient;\n"
+            + "    }\n"
+            + "    @GenerateSerializer(typeId = 4201)\n"
+            + "    public static class Address {\n"
+            + "        String city;\n"
+            + "        @Override public String toString() { return \"Address(\" + city + \")\"; }\n"
+            + "    }\n"
+            + "}\n";
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private File sourceDir;
+    private File classesDir;
+    private DiagnosticCollector<JavaFileObject> diagnostics;
+
+    @Before
+    public void setUp() throws IOException {
+        sourceDir = folder.newFolder("sources");
+        classesDir = folder.newFolder("classes");
+        diagnostics = new DiagnosticCollector<JavaFileObject>();
+    }
+
+    @Test
+    public void testGeneratedSerializers_areRegisteredAndRoundTrip() throws Exception {
+        assertTrue(diagnostics.getDiagnostics().toString(), compile(BASE_SOURCE, PERSON_SOURCE));
+
+        ClassLoader classLoader = new URLClassLoader(new URL[]{classesDir.toURI().toURL()}, getClass().getClassLoader());
+        InternalSerializationService ss = new DefaultSerializationServiceBuilder().setClassLoader(classLoader).build();
+
+        Object person = classLoader.loadClass("example.Person").newInstance();
+        Object address = classLoader.loadClass("example.Person$Address").newInstance();
+        set(address, "city", "Istanbul");
+        set(person, "id", 42L);
+        set(person, "name", "Joe");
+        set(person, "age", 35);
+        set(person, "initial", 'J');
+        set(person, "scores", new double[]{1.5, 2.5});
+        set(person, "aliases", new String[]{"J", "Joey"});
+        set(person, "tags", new ArrayList<String>(asList("a", "b")));
+        set(person, "address", address);
+        set(person, "active", true);
+        set(person, "ignoredTransient", 99);
+
+        Data data = ss.toData(person);
+        Object deserialized = ss.toObject(data);
+
+        assertEquals(4200, data.getType());
+        assertEquals("42,Joe,35,J,[1.5, 2.5],[J, Joey],[a, b],null,Address(Istanbul),true,6", deserialized.toString());
+    }
+
+    @Test
+    public void testHandWrittenHooks_areKept() throws Exception {
+        File servicesFile = new File(classesDir, SerializerProcessor.HOOKS_RESOURCE);
+        assertTrue(servicesFile.getParentFile().mkdirs());
+        Writer writer = new OutputStreamWriter(new FileOutputStream(servicesFile), "UTF-8");
+        try {
+            writer.write("# hand-written hooks\nexample.HandWrittenHook\n");
+        } finally {
+            writer.close();
+        }
+        String source = "package example;\n"
+                + "@com.hazelcast.serialization.processor.GenerateSerializer(typeId = 1)\n"
+                + "public class Generated {\n"
+                + "}\n";
+
+        assertTrue(diagnostics.getDiagnostics().toString(), compile(source));
+
+        BufferedReader reader = new BufferedReader(new InputStreamReader(new FileInputStream(servicesFile), "UTF-8"));
+        try {
+            assertEquals("example.HandWrittenHook", reader.readLine());
+            assertEquals("example.GeneratedSerializerHook", reader.readLine());
+            assertNull(reader.readLine());
+        } finally {
+            reader.close();
+        }
+    }
+
+    @Test
+    public void testCompilationFails_whenFieldIsNotAccessible() throws Exception {
+        String source = "package example;\n"
+                + "@com.hazelcast.serialization.processor.GenerateSerializer(typeId = 1)\n"
+                + "public class Hidden {\n"
+                + "    private int value;\n"
+                + "}\n";
+
+        assertFalse(compile(source));
+        assertError("Field Hidden.value is not accessible");
+    }
+
+    @Test
+    public void testCompilationFails_whenTypeIdIsDuplicated() throws Exception {
+        String first = "package example;\n"
+                + "@com.hazelcast.serialization.processor.GenerateSerializer(typeId = 7)\n"
+                + "public class First {\n"
+                + "}\n";
+        String second = "package example;\n"
+                + "@com.hazelcast.serialization.processor.GenerateSerializer(typeId = 7)\n"
+                + "public class Second {\n"
+                + "}\n";
+
+        assertFalse(compile(first, second));
+        assertError("type ID 7 is already used");
+    }
+
+    @Test
+    public void testCompilationFails_whenNoDefaultConstructor() throws Exception {
+        String source = "package example;\n"
+                + "@com.hazelcast.serialization.processor.GenerateSerializer(typeId = 1)\n"
+                + "public class NoDefault {\n"
+                + "    NoDefault(int value) {\n"
+                + "    }\n"
+                + "}\n";
+
+        assertFalse(compile(source));
+        assertError("requires a non-private no-arg constructor");
+    }
+
+    private boolean compile(String... sources) throws IOException {
+        List<File> files = new ArrayList<File>();
+        for (String source : sources) {
+            String className = source.substring(source.indexOf("class ") + "class ".length()).split("[ {]")[0];
+            File file = new File(sourceDir, className + ".java");
+            Writer writer = new OutputStreamWriter(new FileOutputStream(file), "UTF-8");
+            try {
+                writer.write(source);
+            } finally {
+                writer.close();
+            }
+            files.add(file);
+        }
+
+        JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        StandardJavaFileManager fileManager = compiler.getStandardFileManager(diagnostics, null, null);
+        try {
+            List<String> options = asList(
+                    "-classpath", System.getProperty("java.class.path"),
+                    "-processor", SerializerProcessor.class.getName(),
+                    "-d", classesDir.getAbsolutePath(),
+                    "-s", sourceDir.getAbsolutePath());
+            return compiler.getTask(null, fileManager, diagnostics, options, null,
+                    fileManager.getJavaFileObjectsFromFiles(files)).call();
+        } finally {
+            fileManager.close();
+        }
+    }
+
+    private void assertError(String expectedMessage) {
+        for (Diagnostic<? extends JavaFileObject> diagnostic : diagnostics.getDiagnostics()) {
+            if (diagnostic.getKind() == Diagnostic.Kind.ERROR && diagnostic.getMessage(null).contains(expectedMessage)) {
+                return;
+            }
+        }
+        throw new AssertionError("No error containing '" + expectedMessage + "' in " + diagnostics.getDiagnostics());
+    }
+
+    private static void set(Object target, String fieldName, Object value) throws Exception {
+        Class<?> type = target.getClass();
+        while (true) {
+            try {
+                java.lang.reflect.Field field = type.getDeclaredField(fieldName);
+                field.setAccessible(true);
+                field.set(target, value);
+                return;
+            } catch (NoSuchFieldException e) {
+                type = type.getSuperclass();
+            }
+        }
+    }
+}
@@ -47,8 +47,9 @@ public class CacheEventJournalReadResultSetImpl<K, V, T> extends ReadResultSetIm
 
     @Override
     public void addItem(long seq, Object item) {
-        // the event journal ringbuffer supports only OBJECT format for now
-        final InternalEventJournalCacheEvent e = (InternalEventJournalCacheEvent) item;
+        // the event journal ringbuffer keeps the events either as objects or as
+        // serialized data, depending on the configured in-memory format
+        final InternalEventJournalCacheEvent e = serializationService.toObject(item);
         final DeserializingEventJournalCacheEvent<K, V> deserialisingEvent
                 = new DeserializingEventJournalCacheEvent<K, V>(serializationService, e);
         super.addItem(seq, deserialisingEvent);
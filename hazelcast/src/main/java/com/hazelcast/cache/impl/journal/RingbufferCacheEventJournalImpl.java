@@ -21,7 +21,6 @@ import com.hazelcast.cache.CacheNotExistsException;
 import com.hazelcast.cache.impl.CacheService;
 import com.hazelcast.config.CacheConfig;
 import com.hazelcast.config.EventJournalConfig;
-import com.hazelcast.config.InMemoryFormat;
 import com.hazelcast.config.RingbufferConfig;
 import com.hazelcast.internal.cluster.Versions;
 import com.hazelcast.internal.serialization.InternalSerializationService;
@@ -188,7 +187,7 @@ public class RingbufferCacheEventJournalImpl implements CacheEventJournal {
         return new RingbufferConfig()
                 .setAsyncBackupCount(0)
                 .setBackupCount(0)
-                .setInMemoryFormat(InMemoryFormat.OBJECT)
+                .setInMemoryFormat(config.getInMemoryFormat())
                 .setCapacity(config.getCapacity() / partitionCount)
                 .setTimeToLiveSeconds(config.getTimeToLiveSeconds());
     }
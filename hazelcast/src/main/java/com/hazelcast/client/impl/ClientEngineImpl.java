@@ -28,6 +28,7 @@ import com.hazelcast.client.impl.operations.PostJoinClientOperation;
 import com.hazelcast.client.impl.protocol.ClientExceptionFactory;
 import com.hazelcast.client.impl.protocol.ClientMessage;
 import com.hazelcast.client.impl.protocol.MessageTaskFactory;
+import com.hazelcast.client.impl.protocol.task.AbstractMessageTask;
 import com.hazelcast.client.impl.protocol.task.AuthenticationCustomCredentialsMessageTask;
 import com.hazelcast.client.impl.protocol.task.AuthenticationMessageTask;
 import com.hazelcast.client.impl.protocol.task.GetPartitionsMessageTask;
@@ -42,7 +43,9 @@ import com.hazelcast.core.Member;
 import com.hazelcast.instance.MemberImpl;
 import com.hazelcast.instance.Node;
 import com.hazelcast.internal.cluster.ClusterService;
+import com.hazelcast.internal.tracing.Tracer;
 import com.hazelcast.internal.util.RuntimeAvailableProcessors;
+import com.hazelcast.internal.util.counters.LatencyHistograms;
 import com.hazelcast.logging.ILogger;
 import com.hazelcast.nio.Address;
 import com.hazelcast.nio.Connection;
@@ -135,6 +138,9 @@ public class ClientEngineImpl implements ClientEngine, CoreService, PostJoinAwar
     private final ClientExceptionFactory clientExceptionFactory;
     private final int endpointRemoveDelaySeconds;
     private final ClientPartitionListenerService partitionListenerService;
+    // null if latency histograms are disabled
+    private final LatencyHistograms latencyHistograms;
+    private final Tracer tracer;
 
     public ClientEngineImpl(Node node) {
         this.logger = node.getLogger(ClientEngine.class);
@@ -148,6 +154,10 @@ public class ClientEngineImpl implements ClientEngine, CoreService, PostJoinAwar
         this.clientExceptionFactory = initClientExceptionFactory();
         this.endpointRemoveDelaySeconds = node.getProperties().getInteger(GroupProperty.CLIENT_ENDPOINT_REMOVE_DELAY_SECONDS);
         this.partitionListenerService = new ClientPartitionListenerService(nodeEngine);
+        this.latencyHistograms = node.getProperties().getBoolean(GroupProperty.LATENCY_HISTOGRAMS_ENABLED)
+                ? new LatencyHistograms("client.latency", nodeEngine.getMetricsRegistry())
+                : null;
+        this.tracer = nodeEngine.getTracer();
     }
 
     private ClientExceptionFactory initClientExceptionFactory() {
@@ -203,6 +213,9 @@ public class ClientEngineImpl implements ClientEngine, CoreService, PostJoinAwar
     public void handleClientMessage(ClientMessage clientMessage, Connection connection) {
         int partitionId = clientMessage.getPartitionId();
         MessageTask messageTask = messageTaskFactory.create(clientMessage, connection);
+        if (tracer.isSampled(clientMessage.getCorrelationId()) && messageTask instanceof AbstractMessageTask) {
+            ((AbstractMessageTask) messageTask).startTrace(tracer);
+        }
         InternalOperationService operationService = nodeEngine.getOperationService();
         if (partitionId < 0) {
             if (isUrgent(messageTask)) {
@@ -420,6 +433,15 @@ public class ClientEngineImpl implements ClientEngine, CoreService, PostJoinAwar
         return node.nodeEngine.getTransactionManagerService();
     }
 
+    /**
+     * Returns the latency histograms of the client messages per message task type.
+     *
+     * @return the latency histograms or {@code null} if {@link GroupProperty#LATENCY_HISTOGRAMS_ENABLED} is disabled
+     */
+    public LatencyHistograms getLatencyHistograms() {
+        return latencyHistograms;
+    }
+
     public ClientPartitionListenerService getPartitionListenerService() {
         return partitionListenerService;
     }
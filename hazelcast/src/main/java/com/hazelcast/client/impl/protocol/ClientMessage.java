@@ -17,6 +17,7 @@
 package com.hazelcast.client.impl.protocol;
 
 import com.hazelcast.client.impl.protocol.exception.MaxMessageSizeExceeded;
+import com.hazelcast.client.impl.protocol.util.ClientMessageBufferPool;
 import com.hazelcast.client.impl.protocol.util.ClientProtocolBuffer;
 import com.hazelcast.client.impl.protocol.util.MessageFlyweight;
 import com.hazelcast.client.impl.protocol.util.SafeBuffer;
@@ -92,6 +93,14 @@ public class ClientMessage
     private static final String PROP_HAZELCAST_PROTOCOL_UNSAFE = "hazelcast.protocol.unsafe.enabled";
     private static final boolean USE_UNSAFE = Boolean.getBoolean(PROP_HAZELCAST_PROTOCOL_UNSAFE);
 
+    private static final String PROP_HAZELCAST_PROTOCOL_BUFFER_POOL = "hazelcast.protocol.buffer.pool.enabled";
+    private static final int MIN_POOLED_BUFFER_SIZE = 64;
+    private static final int MAX_POOLED_BUFFER_SIZE = 64 * 1024;
+    private static final int POOLED_BUFFERS_PER_SIZE = 16;
+    private static final ClientMessageBufferPool BUFFER_POOL = Boolean.getBoolean(PROP_HAZELCAST_PROTOCOL_BUFFER_POOL)
+            ? new ClientMessageBufferPool(MIN_POOLED_BUFFER_SIZE, MAX_POOLED_BUFFER_SIZE, POOLED_BUFFERS_PER_SIZE)
+            : null;
+
     private static final int FRAME_LENGTH_FIELD_OFFSET = 0;
     private static final int VERSION_FIELD_OFFSET = FRAME_LENGTH_FIELD_OFFSET + Bits.INT_SIZE_IN_BYTES;
     private static final int FLAGS_FIELD_OFFSET = VERSION_FIELD_OFFSET + Bits.BYTE_SIZE_IN_BYTES;
@@ -108,13 +117,14 @@ public class ClientMessage
     private transient int writeOffset;
     private transient boolean isRetryable;
     private transient String operationName;
+    private transient boolean recyclable;
 
     protected ClientMessage() {
     }
 
     protected void wrapForEncode(ClientProtocolBuffer buffer, int offset) {
         ensureHeaderSize(offset, buffer.capacity());
-        super.wrap(buffer.byteArray(), offset, USE_UNSAFE);
+        wrapBuffer(buffer, offset);
         setDataOffset(HEADER_SIZE);
         setFrameLength(HEADER_SIZE);
         index(getDataOffset());
@@ -128,9 +138,17 @@ public class ClientMessage
         }
     }
 
+    private void wrapBuffer(ClientProtocolBuffer buffer, int offset) {
+        if (USE_UNSAFE ? buffer instanceof UnsafeBuffer : buffer instanceof SafeBuffer) {
+            super.wrap(buffer, offset);
+        } else {
+            super.wrap(buffer.byteArray(), offset, USE_UNSAFE);
+        }
+    }
+
     protected void wrapForDecode(ClientProtocolBuffer buffer, int offset) {
         ensureHeaderSize(offset, buffer.capacity());
-        super.wrap(buffer.byteArray(), offset, USE_UNSAFE);
+        wrapBuffer(buffer, offset);
         index(getDataOffset());
     }
 
@@ -320,6 +338,39 @@ public class ClientMessage
         return done;
     }
 
+    /**
+     * Returns a view over the bytes of this message which have not been written by {@link #writeTo(ByteBuffer)} yet,
+     * so they can be written to a socket without copying them into a buffer first. Once (some of) the bytes have been
+     * written, {@link #onBytesWritten(int)} should be called.
+     *
+     * @param minLength the minimum number of remaining bytes
+     * @return the remaining bytes, or {@code null} if less than {@code minLength} bytes remain.
+     */
+    public ByteBuffer remainingBytes(int minLength) {
+        int bytesNeeded = getFrameLength() - writeOffset;
+        if (bytesNeeded == 0 || bytesNeeded < minLength) {
+            return null;
+        }
+        return ByteBuffer.wrap(buffer.byteArray(), writeOffset, bytesNeeded);
+    }
+
+    /**
+     * Advances the write offset by the given number of bytes.
+     *
+     * @param bytesWritten the number of bytes written out of the buffer returned by {@link #remainingBytes(int)}
+     * @return {@code true} if the message is now completely written; {@code false} otherwise.
+     */
+    public boolean onBytesWritten(int bytesWritten) {
+        writeOffset += bytesWritten;
+        if (writeOffset < getFrameLength()) {
+            return false;
+        }
+
+        // clear the write offset so that same client message can be resend if needed
+        writeOffset = 0;
+        return true;
+    }
+
     public boolean readFrom(ByteBuffer src) {
         int frameLength = 0;
         if (this.buffer == null) {
@@ -379,6 +430,36 @@ public class ClientMessage
         this.operationName = operationName;
     }
 
+    public String getOperationName() {
+        return operationName;
+    }
+
+    /**
+     * Marks this message as safe to {@link #recycle()} once it has been written out. A message should only be marked
+     * when it is written exactly once and nothing refers to it after the write, e.g. a response sent by a member.
+     */
+    public void markRecyclable() {
+        this.recyclable = true;
+    }
+
+    /**
+     * Returns the backing array of this message to the buffer pool if the message has been marked as
+     * {@link #markRecyclable() recyclable} and the pool is enabled with the
+     * {@code hazelcast.protocol.buffer.pool.enabled} system property. The message must not be used after it
+     * has been recycled.
+     *
+     * @return {@code true} if the backing array was returned to the pool, {@code false} otherwise
+     */
+    public boolean recycle() {
+        if (!recyclable || BUFFER_POOL == null) {
+            return false;
+        }
+        recyclable = false;
+        byte[] byteArray = buffer.byteArray();
+        buffer = null;
+        return BUFFER_POOL.offer(byteArray);
+    }
+
     @Override
     public String toString() {
         int len = index();
@@ -404,10 +485,11 @@ public class ClientMessage
 
     public static ClientMessage createForEncode(int initialCapacity) {
         initialCapacity = findSuitableMessageSize(initialCapacity);
+        byte[] byteArray = BUFFER_POOL == null ? new byte[initialCapacity] : BUFFER_POOL.take(initialCapacity);
         if (USE_UNSAFE) {
-            return createForEncode(new UnsafeBuffer(new byte[initialCapacity]), 0);
+            return createForEncode(new UnsafeBuffer(byteArray), 0);
         } else {
-            return createForEncode(new SafeBuffer(new byte[initialCapacity]), 0);
+            return createForEncode(new SafeBuffer(byteArray), 0);
         }
     }
 
@@ -27,6 +27,10 @@ import com.hazelcast.core.HazelcastInstanceNotActiveException;
 import com.hazelcast.instance.BuildInfo;
 import com.hazelcast.instance.Node;
 import com.hazelcast.internal.serialization.InternalSerializationService;
+import com.hazelcast.internal.tracing.Trace;
+import com.hazelcast.internal.tracing.Tracer;
+import com.hazelcast.internal.util.counters.LatencyHistogram;
+import com.hazelcast.internal.util.counters.LatencyHistograms;
 import com.hazelcast.logging.ILogger;
 import com.hazelcast.nio.Connection;
 import com.hazelcast.security.Credentials;
@@ -37,6 +41,10 @@ import com.hazelcast.util.ExceptionUtil;
 
 import java.security.Permission;
 
+import static com.hazelcast.internal.tracing.TraceStage.MESSAGE_RECEIVED;
+import static com.hazelcast.internal.tracing.TraceStage.MESSAGE_TASK_STARTED;
+import static com.hazelcast.internal.tracing.TraceStage.RESPONSE_SENT;
+
 /**
  * Base Message task.
  */
@@ -53,6 +61,12 @@ public abstract class AbstractMessageTask<P> implements MessageTask, SecureReque
     protected final ClientEngineImpl clientEngine;
     protected P parameters;
     private final Node node;
+    // set while the latency of this task is being recorded
+    private LatencyHistogram latencyHistogram;
+    private long startNanos;
+    // set while this task is traced
+    private Tracer tracer;
+    private Trace trace;
 
     protected AbstractMessageTask(ClientMessage clientMessage, Node node, Connection connection) {
         this.clientMessage = clientMessage;
@@ -88,8 +102,37 @@ public abstract class AbstractMessageTask<P> implements MessageTask, SecureReque
         return clientMessage.getPartitionId();
     }
 
+    /**
+     * Starts tracing this task. Called when the client message is received, before the task is scheduled.
+     * <p>
+     * The messages of a client which is not authenticated yet are not traced, since its uuid is part of the trace id.
+     *
+     * @param tracer the tracer
+     */
+    public void startTrace(Tracer tracer) {
+        // the trace id matches the one of the client, so the traces of both sides can be correlated
+        String clientUuid = endpoint == null ? null : endpoint.getUuid();
+        if (clientUuid == null) {
+            return;
+        }
+        this.tracer = tracer;
+        this.trace = tracer.startTrace(clientUuid + "/" + clientMessage.getCorrelationId(), getClass().getSimpleName());
+        trace.mark(MESSAGE_RECEIVED);
+    }
+
     @Override
     public void run() {
+        LatencyHistograms latencyHistograms = clientEngine.getLatencyHistograms();
+        if (latencyHistograms != null) {
+            latencyHistogram = latencyHistograms.getHistogram(getClass());
+            startNanos = System.nanoTime();
+        }
+        Trace trace = this.trace;
+        if (trace != null) {
+            trace.mark(MESSAGE_TASK_STARTED);
+            // the invocations created by this task start traces of their own with this trace as parent
+            tracer.setCurrentTrace(trace);
+        }
         try {
             if (isAuthenticationMessage()) {
                 initializeAndProcessMessage();
@@ -105,6 +148,10 @@ public abstract class AbstractMessageTask<P> implements MessageTask, SecureReque
             }
         } catch (Throwable e) {
             handleProcessingFailure(e);
+        } finally {
+            if (trace != null) {
+                tracer.setCurrentTrace(null);
+            }
         }
     }
 
@@ -196,6 +243,10 @@ public abstract class AbstractMessageTask<P> implements MessageTask, SecureReque
 
     protected void sendResponse(Object response) {
         ClientMessage clientMessage = encodeResponse(response);
+        // the response is written once and not referenced afterwards, so its buffer can be pooled
+        clientMessage.markRecyclable();
+        recordLatency();
+        finishTrace();
         sendClientMessage(clientMessage);
     }
 
@@ -219,9 +270,30 @@ public abstract class AbstractMessageTask<P> implements MessageTask, SecureReque
     protected void sendClientMessage(Throwable throwable) {
         ClientExceptionFactory exceptionFactory = clientEngine.getClientExceptionFactory();
         ClientMessage exception = exceptionFactory.createExceptionMessage(ExceptionUtil.peel(throwable));
+        recordLatency();
+        finishTrace();
         sendClientMessage(exception);
     }
 
+    private void recordLatency() {
+        LatencyHistogram histogram = latencyHistogram;
+        if (histogram != null) {
+            // only the first response is recorded
+            latencyHistogram = null;
+            histogram.recordNanos(System.nanoTime() - startNanos);
+        }
+    }
+
+    private void finishTrace() {
+        Trace trace = this.trace;
+        if (trace != null) {
+            // only the first response is traced
+            this.trace = null;
+            trace.mark(RESPONSE_SENT);
+            tracer.finishTrace(trace);
+        }
+    }
+
     public abstract String getServiceName();
 
     @Override
@@ -0,0 +1,114 @@
+/*
+ * Copyright (c) 2008-2018, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.client.impl.protocol.util;
+
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+import static com.hazelcast.util.Preconditions.checkPositive;
+import static com.hazelcast.util.QuickMath.isPowerOfTwo;
+import static com.hazelcast.util.QuickMath.log2;
+import static com.hazelcast.util.QuickMath.nextPowerOfTwo;
+
+/**
+ * A bounded pool of the byte arrays backing encoded {@link com.hazelcast.client.impl.protocol.ClientMessage}s.
+ * <p>
+ * Arrays are pooled by size classes of powers of two up to {@code maxPooledSize} bytes; every size class holds at
+ * most {@code arraysPerSizeClass} arrays. Larger arrays are neither handed out by nor accepted into the pool.
+ * <p>
+ * Arrays are typically taken by the thread encoding a message and offered back by the IO thread which wrote the
+ * message, so the pool is thread-safe. Taking an array from an empty size class and offering an array to a full
+ * size class both fall back to the garbage collector instead of blocking.
+ */
+public final class ClientMessageBufferPool {
+
+    private final int minSizeClassShift;
+    private final int maxPooledSize;
+    private final AtomicReferenceArray<byte[]>[] sizeClasses;
+
+    /**
+     * @param minPooledSize      the size of the smallest size class, must be a power of two
+     * @param maxPooledSize      the size of the largest size class, must be a power of two
+     * @param arraysPerSizeClass the maximum number of arrays pooled per size class
+     */
+    @SuppressWarnings("unchecked")
+    public ClientMessageBufferPool(int minPooledSize, int maxPooledSize, int arraysPerSizeClass) {
+        checkPositive(arraysPerSizeClass, "arraysPerSizeClass should be positive");
+        if (!isPowerOfTwo(minPooledSize) || !isPowerOfTwo(maxPooledSize) || minPooledSize > maxPooledSize) {
+            throw new IllegalArgumentException("Pooled sizes must be powers of two and minPooledSize <= maxPooledSize! "
+                    + "minPooledSize: " + minPooledSize + ", maxPooledSize: " + maxPooledSize);
+        }
+        this.minSizeClassShift = log2(minPooledSize);
+        this.maxPooledSize = maxPooledSize;
+        int sizeClassCount = log2(maxPooledSize) - minSizeClassShift + 1;
+        this.sizeClasses = new AtomicReferenceArray[sizeClassCount];
+        for (int i = 0; i < sizeClassCount; i++) {
+            sizeClasses[i] = new AtomicReferenceArray<byte[]>(arraysPerSizeClass);
+        }
+    }
+
+    /**
+     * Returns an array of at least the given size. Arrays which can be pooled are rounded up to the size of their
+     * size class.
+     *
+     * @param minSize the minimum size of the array
+     * @return a pooled array or a new one if there is no pooled array of the requested size
+     */
+    public byte[] take(int minSize) {
+        if (minSize > maxPooledSize) {
+            return new byte[minSize];
+        }
+
+        int size = Math.max(nextPowerOfTwo(minSize), 1 << minSizeClassShift);
+        AtomicReferenceArray<byte[]> sizeClass = sizeClasses[sizeClassIndex(size)];
+        for (int i = 0; i < sizeClass.length(); i++) {
+            if (sizeClass.get(i) != null) {
+                byte[] array = sizeClass.getAndSet(i, null);
+                if (array != null) {
+                    return array;
+                }
+            }
+        }
+        return new byte[size];
+    }
+
+    /**
+     * Offers an array back to the pool. Arrays which don't match a size class are ignored.
+     * <p>
+     * The caller must not use the array after offering it.
+     *
+     * @param array the array to offer
+     * @return {@code true} if the array was pooled, {@code false} otherwise
+     */
+    public boolean offer(byte[] array) {
+        int size = array.length;
+        if (size > maxPooledSize || size < 1 << minSizeClassShift || !isPowerOfTwo(size)) {
+            return false;
+        }
+
+        AtomicReferenceArray<byte[]> sizeClass = sizeClasses[sizeClassIndex(size)];
+        for (int i = 0; i < sizeClass.length(); i++) {
+            if (sizeClass.get(i) == null && sizeClass.compareAndSet(i, null, array)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private int sizeClassIndex(int powerOfTwoSize) {
+        return log2(powerOfTwoSize) - minSizeClassShift;
+    }
+}
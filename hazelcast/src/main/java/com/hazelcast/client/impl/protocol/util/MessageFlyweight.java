@@ -59,6 +59,16 @@ public class MessageFlyweight {
         return this;
     }
 
+    /**
+     * Wraps the given buffer without creating a new {@link ClientProtocolBuffer} around its backing array.
+     */
+    public MessageFlyweight wrap(ClientProtocolBuffer buffer, int offset) {
+        this.buffer = buffer;
+        this.offset = offset;
+        this.index = 0;
+        return this;
+    }
+
     public int index() {
         return index;
     }
@@ -211,6 +211,7 @@ public class ConfigXmlGenerator {
                     .node("mapName", c.getMapName())
                     .node("capacity", c.getCapacity())
                     .node("time-to-live-seconds", c.getTimeToLiveSeconds())
+                    .node("in-memory-format", c.getInMemoryFormat())
                     .close();
         }
         for (EventJournalConfig c : cacheJournalConfigs) {
@@ -218,6 +219,7 @@ public class ConfigXmlGenerator {
                     .node("cacheName", c.getCacheName())
                     .node("capacity", c.getCapacity())
                     .node("time-to-live-seconds", c.getTimeToLiveSeconds())
+                    .node("in-memory-format", c.getInMemoryFormat())
                     .close();
         }
     }
@@ -16,9 +16,11 @@
 
 package com.hazelcast.config;
 
+import com.hazelcast.internal.cluster.Versions;
 import com.hazelcast.nio.ObjectDataInput;
 import com.hazelcast.nio.ObjectDataOutput;
 import com.hazelcast.nio.serialization.IdentifiedDataSerializable;
+import com.hazelcast.nio.serialization.impl.Versioned;
 import com.hazelcast.spi.annotation.Beta;
 
 import java.io.IOException;
@@ -38,7 +40,7 @@ import static com.hazelcast.util.Preconditions.checkPositive;
  * and does not expose any features in Hazelcast IMDG.
  */
 @Beta
-public class EventJournalConfig implements IdentifiedDataSerializable {
+public class EventJournalConfig implements IdentifiedDataSerializable, Versioned {
 
     /**
      * Default value of capacity of the event journal.
@@ -48,12 +50,17 @@ public class EventJournalConfig implements IdentifiedDataSerializable {
      * Default value for the time to live property.
      */
     public static final int DEFAULT_TTL_SECONDS = 0;
+    /**
+     * Default value for the in-memory format.
+     */
+    public static final InMemoryFormat DEFAULT_IN_MEMORY_FORMAT = InMemoryFormat.OBJECT;
 
     private String mapName;
     private String cacheName;
     private boolean enabled = true;
     private int capacity = DEFAULT_CAPACITY;
     private int timeToLiveSeconds = DEFAULT_TTL_SECONDS;
+    private InMemoryFormat inMemoryFormat = DEFAULT_IN_MEMORY_FORMAT;
 
     public EventJournalConfig() {
     }
@@ -71,6 +78,7 @@ public class EventJournalConfig implements IdentifiedDataSerializable {
         this.cacheName = config.cacheName;
         this.capacity = config.capacity;
         this.timeToLiveSeconds = config.timeToLiveSeconds;
+        this.inMemoryFormat = config.inMemoryFormat;
     }
 
     /**
@@ -140,6 +148,33 @@ public class EventJournalConfig implements IdentifiedDataSerializable {
         return this;
     }
 
+    /**
+     * Returns the in-memory format used to store the journal events.
+     *
+     * @return the in-memory format
+     */
+    public InMemoryFormat getInMemoryFormat() {
+        return inMemoryFormat;
+    }
+
+    /**
+     * Sets the in-memory format used to store the journal events.
+     * <p>
+     * With {@link InMemoryFormat#NATIVE} the events are kept in serialized form
+     * outside of the Java heap, which requires the {@link NativeMemoryConfig}
+     * to be enabled; its size limits the native memory used by all journals
+     * and ringbuffers of a member. If off-heap memory is not available on the
+     * platform, the events are kept in serialized form on the heap instead.
+     *
+     * @param inMemoryFormat the in-memory format
+     * @return the updated config
+     * @throws NullPointerException if inMemoryFormat is {@code null}
+     */
+    public EventJournalConfig setInMemoryFormat(InMemoryFormat inMemoryFormat) {
+        this.inMemoryFormat = checkNotNull(inMemoryFormat, "inMemoryFormat can't be null");
+        return this;
+    }
+
     @Override
     public String toString() {
         return "EventJournalConfig{"
@@ -148,6 +183,7 @@ public class EventJournalConfig implements IdentifiedDataSerializable {
                 + ", enabled=" + enabled
                 + ", capacity=" + capacity
                 + ", timeToLiveSeconds=" + timeToLiveSeconds
+                + ", inMemoryFormat=" + inMemoryFormat
                 + '}';
     }
 
@@ -242,6 +278,9 @@ public class EventJournalConfig implements IdentifiedDataSerializable {
         out.writeBoolean(enabled);
         out.writeInt(capacity);
         out.writeInt(timeToLiveSeconds);
+        if (out.getVersion().isGreaterOrEqual(Versions.V3_10)) {
+            out.writeUTF(inMemoryFormat.name());
+        }
     }
 
     @Override
@@ -251,6 +290,9 @@ public class EventJournalConfig implements IdentifiedDataSerializable {
         enabled = in.readBoolean();
         capacity = in.readInt();
         timeToLiveSeconds = in.readInt();
+        if (in.getVersion().isGreaterOrEqual(Versions.V3_10)) {
+            inMemoryFormat = InMemoryFormat.valueOf(in.readUTF());
+        }
     }
 
     @Override
@@ -273,6 +315,9 @@ public class EventJournalConfig implements IdentifiedDataSerializable {
         if (timeToLiveSeconds != that.timeToLiveSeconds) {
             return false;
         }
+        if (inMemoryFormat != that.inMemoryFormat) {
+            return false;
+        }
         if (mapName != null ? !mapName.equals(that.mapName) : that.mapName != null) {
             return false;
         }
@@ -286,6 +331,7 @@ public class EventJournalConfig implements IdentifiedDataSerializable {
         result = 31 * result + (enabled ? 1 : 0);
         result = 31 * result + capacity;
         result = 31 * result + timeToLiveSeconds;
+        result = 31 * result + (inMemoryFormat != null ? inMemoryFormat.hashCode() : 0);
         return result;
     }
 
@@ -306,6 +352,11 @@ public class EventJournalConfig implements IdentifiedDataSerializable {
             throw new UnsupportedOperationException("This config is read-only");
         }
 
+        @Override
+        public EventJournalConfig setInMemoryFormat(InMemoryFormat inMemoryFormat) {
+            throw new UnsupportedOperationException("This config is read-only");
+        }
+
         @Override
         public EventJournalConfig setEnabled(boolean enabled) {
             throw new UnsupportedOperationException("This config is read-only");
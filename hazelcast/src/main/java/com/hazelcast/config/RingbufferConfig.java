@@ -25,10 +25,8 @@ import com.hazelcast.spi.annotation.Beta;
 
 import java.io.IOException;
 
-import static com.hazelcast.config.InMemoryFormat.NATIVE;
 import static com.hazelcast.util.Preconditions.checkAsyncBackupCount;
 import static com.hazelcast.util.Preconditions.checkBackupCount;
-import static com.hazelcast.util.Preconditions.checkFalse;
 import static com.hazelcast.util.Preconditions.checkHasText;
 import static com.hazelcast.util.Preconditions.checkNotNegative;
 import static com.hazelcast.util.Preconditions.checkNotNull;
@@ -268,6 +266,10 @@ public class RingbufferConfig implements IdentifiedDataSerializable, Versioned {
      * <ol>
      * <li>{@link InMemoryFormat#OBJECT}: the item is stored in deserialized format (so a regular object)</li>
      * <li>{@link InMemoryFormat#BINARY}: the item is stored in serialized format (so a is binary blob) </li>
+     * <li>{@link InMemoryFormat#NATIVE}: the item is stored in serialized format outside of the Java heap, so a
+     * ringbuffer with a large capacity doesn't put pressure on the garbage collector. It requires the
+     * {@link NativeMemoryConfig} to be enabled, whose size limits the native memory used by the ringbuffers of a
+     * member. If native memory can't be accessed on the JVM, the items are stored as with the binary format.</li>
      * </ol>
      * <p>
      * The default is binary. The object InMemoryFormat is useful when:
@@ -279,12 +281,10 @@ public class RingbufferConfig implements IdentifiedDataSerializable, Versioned {
      *
      * @param inMemoryFormat the new in memory format
      * @return the updated Config
-     * @throws NullPointerException     if inMemoryFormat is {@code null}
-     * @throws IllegalArgumentException if {@link InMemoryFormat#NATIVE} in memory format is selected
+     * @throws NullPointerException if inMemoryFormat is {@code null}
      */
     public RingbufferConfig setInMemoryFormat(InMemoryFormat inMemoryFormat) {
         checkNotNull(inMemoryFormat, "inMemoryFormat can't be null");
-        checkFalse(inMemoryFormat == NATIVE, "InMemoryFormat " + NATIVE + " is not supported");
         this.inMemoryFormat = inMemoryFormat;
         return this;
     }
@@ -724,6 +724,7 @@ public class XmlConfigBuilder extends AbstractConfigBuilder implements ConfigBui
                         : arg == int.class ? Integer.valueOf(argument)
                         : arg == long.class ? Long.valueOf(argument)
                         : arg == boolean.class ? getBooleanValue(argument)
+                        : arg.isEnum() ? enumValueOf(arg, argument)
                         : null;
         if (coercedArg == null) {
             throw new HazelcastException(String.format(
@@ -736,6 +737,11 @@ public class XmlConfigBuilder extends AbstractConfigBuilder implements ConfigBui
         }
     }
 
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static Object enumValueOf(Class<?> enumType, String name) {
+        return Enum.valueOf((Class<Enum>) enumType, upperCaseInternal(name));
+    }
+
     private static void attachChildConfig(Object parent, Object child) throws Exception {
         String targetName = child.getClass().getSimpleName();
         Method attacher = getMethod(parent, "set" + targetName, false);
@@ -761,7 +767,7 @@ public class XmlConfigBuilder extends AbstractConfigBuilder implements ConfigBui
                     continue;
                 }
                 Class<?> arg = method.getParameterTypes()[0];
-                if (arg == String.class || arg == int.class || arg == long.class || arg == boolean.class) {
+                if (arg == String.class || arg == int.class || arg == long.class || arg == boolean.class || arg.isEnum()) {
                     return method;
                 }
             }
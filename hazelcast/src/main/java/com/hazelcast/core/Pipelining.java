@@ -0,0 +1,143 @@
+/*
+ * Copyright (c) 2008-2018, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.core;
+
+import com.hazelcast.spi.annotation.Beta;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Semaphore;
+
+import static com.hazelcast.util.Preconditions.checkNotNull;
+import static com.hazelcast.util.Preconditions.checkPositive;
+
+/**
+ * The Pipelining can be used to speed up requests. It is built on top of asynchronous
+ * requests like e.g. {@link IMap#getAsync(Object)} or any other asynchronous call.
+ * <p>
+ * The main purpose of the Pipelining is to control the number of concurrent requests
+ * when using asynchronous invocations. This can be done by setting the depth using
+ * the constructor. So you could set the depth to e.g. 100 and do 1000 calls. That means
+ * that at any given moment, there will only be 100 concurrent requests. When the depth
+ * is reached, {@link #add(ICompletableFuture)} blocks until one of the pending requests
+ * has completed, so the caller is slowed down to the pace of the cluster instead of
+ * piling up an unbounded number of invocations.
+ * <p>
+ * It depends on the situation what the optimal depth (number of invocations in
+ * flight) should be. If it is too high, you can run into memory related problems.
+ * If it is too low, it will provide little or no performance advantage at all. In
+ * most cases a Pipelining and a few hundred map/cache puts/gets should not lead to
+ * any problems. For testing purposes we frequently have a Pipelining of 1000 or
+ * more concurrent requests to be able to saturate the system.
+ * <p>
+ * The Pipelining can't be used for transaction purposes. So you can't create a
+ * Pipelining, add a set of asynchronous request and then not call {@link #results()}
+ * to prevent executing these requests. Invocations can be executed before the
+ * {@link #results()} is called.
+ * <p>
+ * The Pipelining isn't threadsafe. So only a single thread should add requests to
+ * the Pipelining and wait for results.
+ * <p>
+ * Currently all {@link ICompletableFuture} and their responses are stored in the
+ * Pipelining. So be careful executing a huge number of requests with a single
+ * Pipelining because it can lead to a huge memory bubble. In this case it is better
+ * to periodically, after waiting for completion, to replace the Pipelining by a new
+ * one. In the future we might provide this as an out of the box experience, but
+ * currently we do not.
+ * <p>
+ * A Pipelining provides its own backpressure on the system. So there will not be
+ * more in flight invocations than the depth of the Pipelining plus one, the request
+ * which is being added. This means that the Pipelining will work fine when
+ * backpressure on the client/member is disabled (default). Also when it is enabled
+ * it will work fine, but keep in mind that the number of concurrent invocations in
+ * the Pipelining could be limited by the backpressure.
+ *
+ * @param <E> the type of the results
+ */
+@Beta
+public class Pipelining<E> {
+
+    private final Semaphore semaphore;
+    private final List<ICompletableFuture<E>> futures = new ArrayList<ICompletableFuture<E>>();
+
+    /**
+     * Creates a Pipelining with the given depth.
+     *
+     * @param depth the maximum number of concurrent calls allowed in this Pipelining
+     * @throws IllegalArgumentException if depth is smaller than 1
+     */
+    public Pipelining(int depth) {
+        checkPositive(depth, "depth must be positive");
+        this.semaphore = new Semaphore(depth);
+    }
+
+    /**
+     * Returns the results.
+     * <p>
+     * The results are returned in the order the requests were done.
+     * <p>
+     * This call waits till all requests have completed.
+     *
+     * @return the list of results
+     * @throws Exception if something fails getting the results
+     */
+    public List<E> results() throws Exception {
+        List<E> result = new ArrayList<E>(futures.size());
+        for (ICompletableFuture<E> future : futures) {
+            result.add(future.get());
+        }
+        return result;
+    }
+
+    /**
+     * Adds a future to this Pipelining or blocks until there is capacity to add the future to the Pipelining.
+     * <p>
+     * This call blocks until there is space in the Pipelining, but it doesn't mean that the invocation that
+     * returned the {@link ICompletableFuture} got blocked.
+     *
+     * @param future the future to add
+     * @return the future added
+     * @throws InterruptedException if the thread is interrupted while adding the future
+     * @throws NullPointerException if future is null
+     */
+    public ICompletableFuture<E> add(ICompletableFuture<E> future) throws InterruptedException {
+        checkNotNull(future, "future can't be null");
+
+        down();
+        futures.add(future);
+        future.andThen(new ExecutionCallback<E>() {
+            @Override
+            public void onResponse(E response) {
+                up();
+            }
+
+            @Override
+            public void onFailure(Throwable t) {
+                up();
+            }
+        });
+        return future;
+    }
+
+    private void down() throws InterruptedException {
+        semaphore.acquire();
+    }
+
+    private void up() {
+        semaphore.release();
+    }
+}
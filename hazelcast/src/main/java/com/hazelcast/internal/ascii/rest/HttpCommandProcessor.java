@@ -26,6 +26,7 @@ public abstract class HttpCommandProcessor<T> extends AbstractTextCommandProcess
     public static final String URI_MANCENTER_CHANGE_URL = URI_MANCENTER_BASE_URL + "/changeurl";
     public static final String URI_UPDATE_PERMISSIONS = URI_MANCENTER_BASE_URL + "/security/permissions";
     public static final String URI_HEALTH_URL = "/hazelcast/health";
+    public static final String URI_METRICS_URL = "/hazelcast/metrics";
 
     // Cluster
     public static final String URI_CLUSTER = "/hazelcast/rest/cluster";
@@ -22,6 +22,8 @@ import com.hazelcast.instance.NodeState;
 import com.hazelcast.internal.ascii.TextCommandService;
 import com.hazelcast.internal.cluster.ClusterService;
 import com.hazelcast.internal.cluster.impl.ClusterServiceImpl;
+import com.hazelcast.internal.metrics.MetricsRegistry;
+import com.hazelcast.internal.metrics.renderers.PrometheusProbeRenderer;
 import com.hazelcast.internal.partition.InternalPartitionService;
 import com.hazelcast.nio.ConnectionManager;
 import com.hazelcast.util.StringUtil;
@@ -35,6 +37,11 @@ public class HttpGetCommandProcessor extends HttpCommandProcessor<HttpGetCommand
 
     public static final String QUEUE_SIZE_COMMAND = "size";
 
+    private static final byte[] CONTENT_TYPE_PROMETHEUS = stringToBytes("text/plain; version=0.0.4; charset=utf-8");
+
+    // reused by the scrapes, so the converted probe names are cached; guarded by itself
+    private final PrometheusProbeRenderer metricsRenderer = new PrometheusProbeRenderer();
+
     public HttpGetCommandProcessor(TextCommandService textCommandService) {
         super(textCommandService);
     }
@@ -50,6 +57,8 @@ public class HttpGetCommandProcessor extends HttpCommandProcessor<HttpGetCommand
             handleCluster(command);
         } else if (uri.equals(URI_HEALTH_URL)) {
             handleHealthcheck(command);
+        } else if (uri.equals(URI_METRICS_URL)) {
+            handleMetrics(command);
         } else if (uri.startsWith(URI_CLUSTER_VERSION_URL)) {
             handleGetClusterVersion(command);
         } else {
@@ -81,6 +90,16 @@ public class HttpGetCommandProcessor extends HttpCommandProcessor<HttpGetCommand
         command.setResponse(MIME_TEXT_PLAIN, stringToBytes(res.toString()));
     }
 
+    private void handleMetrics(HttpGetCommand command) {
+        MetricsRegistry metricsRegistry = textCommandService.getNode().nodeEngine.getMetricsRegistry();
+        String metrics;
+        synchronized (metricsRenderer) {
+            metricsRegistry.render(metricsRenderer);
+            metrics = metricsRenderer.getRenderedString();
+        }
+        command.setResponse(CONTENT_TYPE_PROMETHEUS, stringToBytes(metrics));
+    }
+
     private void handleGetClusterVersion(HttpGetCommand command) {
         String res = "{\"status\":\"${STATUS}\",\"version\":\"${VERSION}\"}";
         Node node = textCommandService.getNode();
@@ -24,6 +24,7 @@ import com.hazelcast.config.MapConfig;
 import com.hazelcast.config.NativeMemoryConfig;
 import com.hazelcast.config.NearCacheConfig;
 import com.hazelcast.config.NearCachePreloaderConfig;
+import com.hazelcast.config.RingbufferConfig;
 import com.hazelcast.instance.BuildInfoProvider;
 import com.hazelcast.internal.eviction.EvictionPolicyComparator;
 import com.hazelcast.logging.ILogger;
@@ -114,6 +115,26 @@ public final class ConfigValidator {
         throw new IllegalArgumentException("Enable native memory config to use NATIVE in-memory-format for Near Cache");
     }
 
+    /**
+     * Checks preconditions to create a ringbuffer container. A ringbuffer with the {@link InMemoryFormat#NATIVE}
+     * in-memory format requires the native memory to be enabled, which also defines how much native memory is used.
+     *
+     * @param ringbufferConfig   the {@link RingbufferConfig} to be checked
+     * @param nativeMemoryConfig native memory configuration
+     */
+    public static void checkRingbufferConfig(RingbufferConfig ringbufferConfig, NativeMemoryConfig nativeMemoryConfig) {
+        if (ringbufferConfig.getInMemoryFormat() != NATIVE) {
+            return;
+        }
+
+        if (nativeMemoryConfig != null && nativeMemoryConfig.isEnabled()) {
+            return;
+        }
+
+        throw new IllegalArgumentException("Enable native memory config to use NATIVE in-memory-format for ringbuffer "
+                + ringbufferConfig.getName());
+    }
+
     private static void checkOnHeapNearCacheMaxSizePolicy(NearCacheConfig nearCacheConfig) {
         InMemoryFormat inMemoryFormat = nearCacheConfig.getInMemoryFormat();
         if (inMemoryFormat == NATIVE) {
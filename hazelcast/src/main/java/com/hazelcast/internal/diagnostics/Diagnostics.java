@@ -239,6 +239,10 @@ public class Diagnostics {
         if (scheduler != null) {
             scheduler.shutdownNow();
         }
+
+        for (DiagnosticsPlugin plugin : pluginsMap.values()) {
+            plugin.onShutdown();
+        }
     }
 
     private class WritePluginTask implements Runnable {
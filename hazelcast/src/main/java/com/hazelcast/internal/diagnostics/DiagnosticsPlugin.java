@@ -59,5 +59,12 @@ public abstract class DiagnosticsPlugin {
 
     public abstract void onStart();
 
+    /**
+     * Called when the {@link Diagnostics} is shut down. Plugins that have resources of their own, e.g. a thread,
+     * should release them here.
+     */
+    public void onShutdown() {
+    }
+
     public abstract void run(DiagnosticsLogWriter writer);
 }
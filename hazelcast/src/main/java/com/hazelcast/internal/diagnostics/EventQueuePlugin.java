@@ -26,7 +26,10 @@ import com.hazelcast.core.EntryEventType;
 import com.hazelcast.logging.ILogger;
 import com.hazelcast.map.impl.event.EntryEventData;
 import com.hazelcast.spi.impl.NodeEngineImpl;
+import com.hazelcast.spi.impl.eventservice.impl.EventServiceImpl;
 import com.hazelcast.spi.impl.eventservice.impl.LocalEventDispatcher;
+import com.hazelcast.spi.impl.eventservice.impl.Registration;
+import com.hazelcast.spi.impl.eventservice.impl.RegistrationBuffer;
 import com.hazelcast.spi.properties.HazelcastProperties;
 import com.hazelcast.spi.properties.HazelcastProperty;
 import com.hazelcast.util.ItemCounter;
@@ -34,6 +37,7 @@ import com.hazelcast.util.executor.StripedExecutor;
 
 import java.text.NumberFormat;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 import java.util.Random;
 import java.util.Set;
@@ -48,6 +52,9 @@ import static java.util.concurrent.TimeUnit.SECONDS;
  * The EventQueuePlugin checks the event queue and samples the event types if the size is above a certain threshold.
  * <p>
  * This is very useful to figure out why the event queue is running full.
+ * <p>
+ * If the listener registrations have a {@link RegistrationBuffer}, the plugin also renders the buffers that contain
+ * events or have dropped or coalesced events, which shows the slow listeners.
  */
 public class EventQueuePlugin extends DiagnosticsPlugin {
 
@@ -80,6 +87,7 @@ public class EventQueuePlugin extends DiagnosticsPlugin {
     private final NumberFormat defaultFormat = NumberFormat.getPercentInstance();
 
     private final StripedExecutor eventExecutor;
+    private final EventServiceImpl eventService;
     private final long periodMillis;
     private final int threshold;
     private final int samples;
@@ -87,14 +95,21 @@ public class EventQueuePlugin extends DiagnosticsPlugin {
     private int eventCount;
 
     public EventQueuePlugin(NodeEngineImpl nodeEngine, StripedExecutor eventExecutor) {
-        this(nodeEngine.getLogger(EventQueuePlugin.class), eventExecutor, nodeEngine.getProperties());
+        this(nodeEngine.getLogger(EventQueuePlugin.class), eventExecutor, (EventServiceImpl) nodeEngine.getEventService(),
+                nodeEngine.getProperties());
     }
 
     public EventQueuePlugin(ILogger logger, StripedExecutor eventExecutor, HazelcastProperties props) {
+        this(logger, eventExecutor, null, props);
+    }
+
+    public EventQueuePlugin(ILogger logger, StripedExecutor eventExecutor, EventServiceImpl eventService,
+                            HazelcastProperties props) {
         super(logger);
 
         this.defaultFormat.setMinimumFractionDigits(3);
         this.eventExecutor = eventExecutor;
+        this.eventService = eventService;
 
         this.periodMillis = props.getMillis(PERIOD_SECONDS);
         this.threshold = props.getInteger(THRESHOLD);
@@ -122,6 +137,43 @@ public class EventQueuePlugin extends DiagnosticsPlugin {
         }
 
         writer.endSection();
+
+        renderRegistrationBuffers(writer);
+    }
+
+    private void renderRegistrationBuffers(DiagnosticsLogWriter writer) {
+        // the client has no member side event service, so there are no registration buffers to render
+        if (eventService == null) {
+            return;
+        }
+
+        Collection<RegistrationBuffer> buffers = eventService.getRegistrationBuffers();
+        if (buffers.isEmpty()) {
+            return;
+        }
+
+        writer.startSection("RegistrationBuffers");
+        for (RegistrationBuffer buffer : buffers) {
+            int size = buffer.size();
+            long dropped = buffer.getDroppedCount();
+            long coalesced = buffer.getCoalescedCount();
+            if (size == 0 && dropped == 0 && coalesced == 0) {
+                continue;
+            }
+
+            Registration registration = buffer.getRegistration();
+            writer.startSection(registration.getId());
+            writer.writeKeyValueEntry("service", registration.getServiceName());
+            writer.writeKeyValueEntry("topic", registration.getTopic());
+            writer.writeKeyValueEntry("size", size);
+            writer.writeKeyValueEntry("capacity", buffer.getCapacity());
+            writer.writeKeyValueEntry("overflowPolicy", buffer.getOverflowPolicy().name());
+            writer.writeKeyValueEntry("offeredCount", buffer.getOfferedCount());
+            writer.writeKeyValueEntry("droppedCount", dropped);
+            writer.writeKeyValueEntry("coalescedCount", coalesced);
+            writer.endSection();
+        }
+        writer.endSection();
     }
 
     // just for testing
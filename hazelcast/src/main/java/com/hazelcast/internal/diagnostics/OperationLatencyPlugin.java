@@ -0,0 +1,132 @@
+/*
+ * Copyright (c) 2008-2018, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.internal.diagnostics;
+
+import com.hazelcast.internal.util.counters.LatencyHistogram;
+import com.hazelcast.internal.util.counters.LatencyHistogram.IntervalReader;
+import com.hazelcast.internal.util.counters.LatencyHistogram.Snapshot;
+import com.hazelcast.internal.util.counters.LatencyHistograms;
+import com.hazelcast.logging.ILogger;
+import com.hazelcast.spi.impl.NodeEngineImpl;
+import com.hazelcast.spi.impl.operationservice.impl.OperationServiceImpl;
+import com.hazelcast.spi.properties.HazelcastProperties;
+import com.hazelcast.spi.properties.HazelcastProperty;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import static com.hazelcast.internal.diagnostics.Diagnostics.PREFIX;
+import static java.util.concurrent.TimeUnit.SECONDS;
+
+/**
+ * A {@link DiagnosticsPlugin} that renders the latency distribution of every operation type and every client message
+ * task type.
+ * <p>
+ * Every run renders the latencies recorded since the previous run.
+ * <p>
+ * Unlike the {@link SlowOperationPlugin}, which only shows the outliers, this plugin shows the percentiles of all
+ * executions, so it helps to find out which operations contribute to the tail latency. The latencies are only recorded
+ * if {@link com.hazelcast.spi.properties.GroupProperty#LATENCY_HISTOGRAMS_ENABLED} is set, otherwise the plugin is
+ * disabled.
+ * <p>
+ * The latency of an operation is the time it takes to run it on the operation thread. The latency of a client message
+ * task is the time between the task starting to run and the response being sent.
+ */
+public class OperationLatencyPlugin extends DiagnosticsPlugin {
+
+    /**
+     * The period in seconds this plugin runs.
+     * <p>
+     * If set to 0, the plugin is disabled.
+     */
+    public static final HazelcastProperty PERIOD_SECONDS
+            = new HazelcastProperty(PREFIX + ".operationLatency.period.seconds", 0, SECONDS);
+
+    private static final double[] PERCENTILES = LatencyHistograms.getPercentiles();
+    private static final String[] PERCENTILE_NAMES = LatencyHistograms.getPercentileNames();
+
+    private final LatencyHistograms operationLatencies;
+    private final LatencyHistograms clientLatencies;
+    private final ConcurrentMap<LatencyHistogram, IntervalReader> intervalReaders
+            = new ConcurrentHashMap<LatencyHistogram, IntervalReader>();
+    private final long periodMillis;
+
+    public OperationLatencyPlugin(NodeEngineImpl nodeEngine) {
+        this(nodeEngine.getLogger(OperationLatencyPlugin.class), nodeEngine.getProperties(),
+                ((OperationServiceImpl) nodeEngine.getOperationService()).getLatencyHistograms(),
+                nodeEngine.getNode().clientEngine.getLatencyHistograms());
+    }
+
+    public OperationLatencyPlugin(ILogger logger, HazelcastProperties properties, LatencyHistograms operationLatencies,
+                                  LatencyHistograms clientLatencies) {
+        super(logger);
+        this.operationLatencies = operationLatencies;
+        this.clientLatencies = clientLatencies;
+        this.periodMillis = operationLatencies == null && clientLatencies == null
+                ? DISABLED : properties.getMillis(PERIOD_SECONDS);
+    }
+
+    @Override
+    public long getPeriodMillis() {
+        return periodMillis;
+    }
+
+    @Override
+    public void onStart() {
+        logger.info("Plugin:active: period-millis:" + periodMillis);
+    }
+
+    @Override
+    public void run(DiagnosticsLogWriter writer) {
+        render(writer, "OperationLatency", operationLatencies);
+        render(writer, "ClientMessageLatency", clientLatencies);
+    }
+
+    private void render(DiagnosticsLogWriter writer, String sectionName, LatencyHistograms histograms) {
+        if (histograms == null) {
+            return;
+        }
+
+        writer.startSection(sectionName);
+        for (LatencyHistogram histogram : histograms.getHistograms()) {
+            Snapshot snapshot = getIntervalReader(histogram).read();
+            if (snapshot.getCount() == 0) {
+                continue;
+            }
+
+            writer.startSection(histogram.getName());
+            writer.writeKeyValueEntry("count", snapshot.getCount());
+            writer.writeKeyValueEntry("avg(us)", snapshot.getMeanMicros());
+            for (int k = 0; k < PERCENTILES.length; k++) {
+                writer.writeKeyValueEntry(PERCENTILE_NAMES[k] + "(us)", snapshot.getValueAtPercentile(PERCENTILES[k]));
+            }
+            writer.writeKeyValueEntry("max(us)", snapshot.getMaxMicros());
+            writer.endSection();
+        }
+        writer.endSection();
+    }
+
+    private IntervalReader getIntervalReader(LatencyHistogram histogram) {
+        IntervalReader reader = intervalReaders.get(histogram);
+        if (reader == null) {
+            reader = histogram.newIntervalReader();
+            intervalReaders.put(histogram, reader);
+        }
+        return reader;
+    }
+}
@@ -0,0 +1,317 @@
+/*
+ * Copyright (c) 2008-2018, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.internal.diagnostics;
+
+import com.hazelcast.logging.ILogger;
+import com.hazelcast.spi.impl.NodeEngineImpl;
+import com.hazelcast.spi.properties.HazelcastProperties;
+import com.hazelcast.spi.properties.HazelcastProperty;
+import com.hazelcast.util.ItemCounter;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadInfo;
+import java.lang.management.ThreadMXBean;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.locks.LockSupport;
+
+import static com.hazelcast.internal.diagnostics.Diagnostics.PREFIX;
+import static com.hazelcast.util.ThreadUtil.createThreadName;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.SECONDS;
+
+/**
+ * A {@link DiagnosticsPlugin} that continuously samples the stack traces of the partition/generic operation threads,
+ * the IO threads and the event threads, and writes them as folded stacks to the diagnostics log.
+ * <p>
+ * Every line in the 'Profiler' section looks like {@code partition-operation;Thread.run;...;Foo.bar 42}: the thread
+ * pool, the frames from the root to the leaf and the number of samples. So the lines can be fed directly to
+ * flame-graph tooling. Idle threads are recognized by their stack trace, i.e. an IO thread waiting in the selector or an
+ * operation or event thread waiting for work in a queue, and are not sampled, so they don't drown the hot spots. Threads
+ * parked or blocked on a lock are sampled, so contention shows up.
+ * <p>
+ * The stack traces are obtained through the {@link ThreadMXBean}, so the samples are taken at safepoints and code
+ * without safepoint polls (e.g. counted loops) is attributed to the nearest safepoint. Taking a sample brings all
+ * application threads to a safepoint and walks the stacks of the sampled threads, which pauses the member for tens to
+ * hundreds of microseconds depending on the number of threads and the depth of their stacks. That's why the default
+ * sample interval is a second; a shorter interval gives more precise profiles, but the pauses add to the latency of
+ * the operations. To prevent the sampling from running in lockstep with periodic activity, the interval between
+ * samples is randomized around the configured interval. All threads are sampled in a single call to reduce the number
+ * of safepoints.
+ */
+public class ProfilerPlugin extends DiagnosticsPlugin {
+
+    /**
+     * The period in seconds the aggregated samples are written to the diagnostics log.
+     * <p>
+     * If set to 0, the plugin is disabled and no samples are taken.
+     */
+    public static final HazelcastProperty PERIOD_SECONDS
+            = new HazelcastProperty(PREFIX + ".profiler.period.seconds", 0, SECONDS);
+
+    /**
+     * The average interval in milliseconds between two samples.
+     * <p>
+     * Every sample is taken at a safepoint, so it pauses all application threads. Intervals below 100 milliseconds
+     * noticeably increase the latency of the operations.
+     */
+    public static final HazelcastProperty SAMPLE_INTERVAL_MILLIS
+            = new HazelcastProperty(PREFIX + ".profiler.sample.interval.millis", 1000, MILLISECONDS);
+
+    /**
+     * The maximum number of frames of a stack trace. Deeper stacks are truncated at the root.
+     */
+    public static final HazelcastProperty MAX_DEPTH
+            = new HazelcastProperty(PREFIX + ".profiler.max.depth", 64);
+
+    // the thread pools that are sampled; the thread names are either 'hz.<instance>.<pool>.thread-<id>' or
+    // 'hz.<instance>.<pool>-<id>'
+    private static final String[] THREAD_POOLS
+            = {"partition-operation", "generic-operation", "priority-generic-operation", "IO", "event"};
+
+    // the leaf frames of threads waiting in a selector for IO
+    private static final String[] SELECTOR_WAIT_FRAMES = {
+            "sun.nio.ch.EPollArrayWrapper.epollWait",
+            "sun.nio.ch.EPoll.wait",
+            "sun.nio.ch.KQueueArrayWrapper.kevent0",
+            "sun.nio.ch.KQueue.poll",
+            "sun.nio.ch.WindowsSelectorImpl$SubSelector.poll0",
+    };
+
+    // the methods with which threads wait for work in a queue
+    private static final String[] QUEUE_WAIT_METHODS = {"take", "poll"};
+
+    // the number of samples after which the sampled threads are looked up again
+    private static final int THREAD_REFRESH_SAMPLES = 100;
+
+    private final ItemCounter<String> stacks = new ItemCounter<String>();
+    private final ThreadMXBean threadMXBean = ManagementFactory.getThreadMXBean();
+    private final String threadNamePrefix;
+    private final long periodMillis;
+    private final long sampleIntervalNanos;
+    private final int maxDepth;
+
+    private volatile SamplerThread samplerThread;
+    private int sampleCount;
+
+    public ProfilerPlugin(NodeEngineImpl nodeEngine) {
+        this(nodeEngine.getLogger(ProfilerPlugin.class), nodeEngine.getProperties(),
+                nodeEngine.getHazelcastInstance().getName());
+    }
+
+    public ProfilerPlugin(ILogger logger, HazelcastProperties properties, String hzName) {
+        super(logger);
+        this.threadNamePrefix = createThreadName(hzName, "");
+        this.periodMillis = properties.getMillis(PERIOD_SECONDS);
+        this.sampleIntervalNanos = MILLISECONDS.toNanos(properties.getMillis(SAMPLE_INTERVAL_MILLIS));
+        this.maxDepth = properties.getInteger(MAX_DEPTH);
+    }
+
+    @Override
+    public long getPeriodMillis() {
+        return periodMillis;
+    }
+
+    @Override
+    public void onStart() {
+        logger.info("Plugin:active: period-millis:" + periodMillis + " sample-interval-nanos:" + sampleIntervalNanos
+                + " max-depth:" + maxDepth);
+
+        samplerThread = new SamplerThread();
+        samplerThread.start();
+    }
+
+    @Override
+    public void onShutdown() {
+        SamplerThread thread = samplerThread;
+        if (thread != null) {
+            thread.shutdown();
+        }
+    }
+
+    @Override
+    public void run(DiagnosticsLogWriter writer) {
+        ItemCounter<String> copy = new ItemCounter<String>();
+        int samples;
+        synchronized (stacks) {
+            for (String stack : stacks.keySet()) {
+                copy.set(stack, stacks.get(stack));
+            }
+            stacks.clear();
+            samples = sampleCount;
+            sampleCount = 0;
+        }
+
+        writer.startSection("Profiler");
+        writer.writeKeyValueEntry("samples", samples);
+        writer.startSection("stacks");
+        for (String stack : copy.descendingKeys()) {
+            writer.writeEntry(stack + " " + copy.get(stack));
+        }
+        writer.endSection();
+        writer.endSection();
+    }
+
+    /**
+     * Returns the thread pool of the thread with the given name, or {@code null} if the thread should not be sampled.
+     */
+    String getThreadPool(String threadName) {
+        if (!threadName.startsWith(threadNamePrefix)) {
+            return null;
+        }
+
+        String name = threadName.substring(threadNamePrefix.length());
+        for (String threadPool : THREAD_POOLS) {
+            if (name.startsWith(threadPool + ".thread-") || name.startsWith(threadPool + "-")) {
+                return threadPool;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Checks if a thread with the given stack trace is idle: waiting in a selector for IO or waiting in a queue for work.
+     */
+    static boolean isIdle(StackTraceElement[] stackTrace) {
+        if (stackTrace.length == 0) {
+            return true;
+        }
+
+        String leafFrame = stackTrace[0].getClassName() + "." + stackTrace[0].getMethodName();
+        for (String selectorWaitFrame : SELECTOR_WAIT_FRAMES) {
+            if (leafFrame.equals(selectorWaitFrame)) {
+                return true;
+            }
+        }
+
+        for (StackTraceElement element : stackTrace) {
+            if (element.getClassName().endsWith("Queue") && isQueueWaitMethod(element.getMethodName())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean isQueueWaitMethod(String methodName) {
+        for (String queueWaitMethod : QUEUE_WAIT_METHODS) {
+            if (methodName.equals(queueWaitMethod)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Converts a stack trace to a folded stack: the thread pool followed by the frames from root to leaf, separated by
+     * semicolons.
+     */
+    static String toFoldedStack(String threadPool, StackTraceElement[] stackTrace) {
+        StringBuilder sb = new StringBuilder(threadPool);
+        for (int k = stackTrace.length - 1; k >= 0; k--) {
+            StackTraceElement element = stackTrace[k];
+            sb.append(';').append(element.getClassName()).append('.').append(element.getMethodName());
+        }
+        return sb.toString();
+    }
+
+    private final class SamplerThread extends Thread {
+
+        private final Random random = new Random();
+        private volatile boolean stopped;
+
+        private long[] threadIds = new long[0];
+        private String[] threadPools = new String[0];
+
+        private SamplerThread() {
+            super(threadNamePrefix + "DiagnosticsProfilerThread");
+            setDaemon(true);
+        }
+
+        @Override
+        public void run() {
+            int samplesUntilRefresh = 0;
+            while (!stopped) {
+                try {
+                    if (samplesUntilRefresh-- == 0) {
+                        findThreads();
+                        samplesUntilRefresh = THREAD_REFRESH_SAMPLES;
+                    }
+                    sample();
+                } catch (Throwable t) {
+                    logger.warning("Failed to sample threads", t);
+                }
+
+                // a random interval between 0.5 and 1.5 times the configured interval
+                LockSupport.parkNanos(sampleIntervalNanos / 2 + (long) (random.nextDouble() * sampleIntervalNanos));
+            }
+        }
+
+        private void shutdown() {
+            stopped = true;
+            interrupt();
+        }
+
+        private void findThreads() {
+            ThreadGroup root = Thread.currentThread().getThreadGroup();
+            while (root.getParent() != null) {
+                root = root.getParent();
+            }
+
+            Thread[] threads = new Thread[root.activeCount() * 2];
+            int threadCount = root.enumerate(threads, true);
+
+            long[] ids = new long[threadCount];
+            String[] pools = new String[threadCount];
+            int count = 0;
+            for (int k = 0; k < threadCount; k++) {
+                String threadPool = getThreadPool(threads[k].getName());
+                if (threadPool != null) {
+                    ids[count] = threads[k].getId();
+                    pools[count] = threadPool;
+                    count++;
+                }
+            }
+            threadIds = Arrays.copyOf(ids, count);
+            threadPools = Arrays.copyOf(pools, count);
+        }
+
+        private void sample() {
+            if (threadIds.length == 0) {
+                return;
+            }
+
+            // a single call, so all threads are sampled at the same safepoint
+            ThreadInfo[] threadInfos = threadMXBean.getThreadInfo(threadIds, maxDepth);
+            synchronized (stacks) {
+                sampleCount++;
+                for (int k = 0; k < threadInfos.length; k++) {
+                    ThreadInfo threadInfo = threadInfos[k];
+                    if (threadInfo == null) {
+                        // the thread has died
+                        continue;
+                    }
+
+                    StackTraceElement[] stackTrace = threadInfo.getStackTrace();
+                    if (!isIdle(stackTrace)) {
+                        stacks.add(toFoldedStack(threadPools[k], stackTrace), 1);
+                    }
+                }
+            }
+        }
+    }
+}
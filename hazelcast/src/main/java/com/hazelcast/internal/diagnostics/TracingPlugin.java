@@ -0,0 +1,110 @@
+/*
+ * Copyright (c) 2008-2018, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.internal.diagnostics;
+
+import com.hazelcast.internal.tracing.Trace;
+import com.hazelcast.internal.tracing.TraceExporter;
+import com.hazelcast.internal.tracing.Tracer;
+import com.hazelcast.logging.ILogger;
+import com.hazelcast.spi.impl.NodeEngineImpl;
+import com.hazelcast.spi.properties.HazelcastProperties;
+import com.hazelcast.spi.properties.HazelcastProperty;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static com.hazelcast.internal.diagnostics.Diagnostics.PREFIX;
+import static java.util.concurrent.TimeUnit.SECONDS;
+
+/**
+ * A {@link DiagnosticsPlugin} that writes the stage breakdown of the traced requests to the diagnostics log.
+ * <p>
+ * The requests are only traced if {@link com.hazelcast.spi.properties.GroupProperty#TRACING_SAMPLE_RATE} is set,
+ * otherwise the plugin is disabled. The completed traces are buffered until the plugin runs; if the buffer is full, the
+ * traces are dropped and only counted.
+ */
+public class TracingPlugin extends DiagnosticsPlugin implements TraceExporter {
+
+    /**
+     * The period in seconds this plugin runs.
+     * <p>
+     * If set to 0, the plugin is disabled.
+     */
+    public static final HazelcastProperty PERIOD_SECONDS
+            = new HazelcastProperty(PREFIX + ".tracing.period.seconds", 10, SECONDS);
+
+    /**
+     * The maximum number of traces that is buffered between two runs of the plugin.
+     */
+    public static final HazelcastProperty MAX_TRACES
+            = new HazelcastProperty(PREFIX + ".tracing.max.traces", 1000);
+
+    private final Tracer tracer;
+    private final long periodMillis;
+    private final BlockingQueue<Trace> traces;
+    private final AtomicLong dropped = new AtomicLong();
+
+    public TracingPlugin(NodeEngineImpl nodeEngine) {
+        this(nodeEngine.getLogger(TracingPlugin.class), nodeEngine.getProperties(), nodeEngine.getTracer());
+    }
+
+    public TracingPlugin(ILogger logger, HazelcastProperties properties, Tracer tracer) {
+        super(logger);
+        this.tracer = tracer;
+        this.periodMillis = tracer.isEnabled() ? properties.getMillis(PERIOD_SECONDS) : DISABLED;
+        this.traces = new ArrayBlockingQueue<Trace>(properties.getInteger(MAX_TRACES));
+    }
+
+    @Override
+    public long getPeriodMillis() {
+        return periodMillis;
+    }
+
+    @Override
+    public void onStart() {
+        logger.info("Plugin:active: period-millis:" + periodMillis);
+        tracer.addExporter(this);
+    }
+
+    @Override
+    public void onShutdown() {
+        tracer.removeExporter(this);
+    }
+
+    @Override
+    public void export(Trace trace) {
+        if (!traces.offer(trace)) {
+            dropped.incrementAndGet();
+        }
+    }
+
+    @Override
+    public void run(DiagnosticsLogWriter writer) {
+        writer.startSection("Traces");
+        writer.writeKeyValueEntry("dropped", dropped.getAndSet(0));
+        for (Trace trace = traces.poll(); trace != null; trace = traces.poll()) {
+            writer.startSection(trace.getId());
+            writer.writeKeyValueEntry("name", trace.getName());
+            writer.writeKeyValueEntry("total(us)", trace.getTotalMicros());
+            writer.writeKeyValueEntry("stages", trace.getBreakdown());
+            writer.endSection();
+        }
+        writer.endSection();
+    }
+}
@@ -17,7 +17,9 @@
 package com.hazelcast.internal.jmx;
 
 import com.hazelcast.client.ClientEngine;
+import com.hazelcast.client.impl.ClientEngineImpl;
 import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.internal.util.counters.LatencyHistograms;
 
 import java.util.Map;
 
@@ -49,4 +51,11 @@ public class ClientEngineMBean extends HazelcastMBean<ClientEngine> {
     public int getClientEndpointCount() {
         return managedObject.getClientEndpointCount();
     }
+
+    @ManagedAnnotation("clientMessageLatencies")
+    @ManagedDescription("The latency percentiles per client message task type, empty if latency histograms are disabled")
+    public String[] getClientMessageLatencies() {
+        LatencyHistograms latencyHistograms = ((ClientEngineImpl) managedObject).getLatencyHistograms();
+        return latencyHistograms == null ? new String[0] : latencyHistograms.getSummaries();
+    }
 }
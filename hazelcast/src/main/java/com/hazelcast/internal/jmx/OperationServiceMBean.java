@@ -17,7 +17,9 @@
 package com.hazelcast.internal.jmx;
 
 import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.internal.util.counters.LatencyHistograms;
 import com.hazelcast.spi.impl.operationservice.InternalOperationService;
+import com.hazelcast.spi.impl.operationservice.impl.OperationServiceImpl;
 
 import java.util.Map;
 
@@ -79,4 +81,11 @@ public class OperationServiceMBean extends HazelcastMBean<InternalOperationServi
     public long getOperationThreadCount() {
         return managedObject.getPartitionThreadCount();
     }
+
+    @ManagedAnnotation("operationLatencies")
+    @ManagedDescription("The latency percentiles per operation type, empty if latency histograms are disabled")
+    public String[] getOperationLatencies() {
+        LatencyHistograms latencyHistograms = ((OperationServiceImpl) managedObject).getLatencyHistograms();
+        return latencyHistograms == null ? new String[0] : latencyHistograms.getSummaries();
+    }
 }
@@ -0,0 +1,114 @@
+/*
+ * Copyright (c) 2008-2018, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.internal.memory.impl;
+
+import com.hazelcast.internal.memory.MemoryAllocator;
+import com.hazelcast.internal.metrics.Probe;
+import com.hazelcast.memory.NativeOutOfMemoryError;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import static com.hazelcast.internal.memory.impl.UnsafeUtil.UNSAFE;
+import static com.hazelcast.internal.memory.impl.UnsafeUtil.UNSAFE_AVAILABLE;
+import static com.hazelcast.util.Preconditions.checkPositive;
+
+/**
+ * {@link MemoryAllocator} that allocates native memory with {@link sun.misc.Unsafe}, so every block is a
+ * separate {@code malloc}. There is no pooling; the allocated memory is accounted and limited to a maximum size.
+ * <p/>
+ * Unlike the contract of {@link MemoryAllocator}, the allocated blocks are <b>not</b> zeroed, since the callers
+ * overwrite them anyway. A caller that relies on zeroed memory has to clear the block itself.
+ */
+public final class UnsafeMemoryAllocator implements MemoryAllocator {
+
+    private final long maxMemory;
+    private final AtomicLong usedMemory = new AtomicLong();
+
+    /**
+     * Creates an allocator which allocates at most the given number of bytes.
+     *
+     * @param maxMemory the maximum number of allocated bytes
+     * @throws IllegalStateException if {@link sun.misc.Unsafe} is not available, see {@link #isAvailable()}
+     */
+    public UnsafeMemoryAllocator(long maxMemory) {
+        if (!isAvailable()) {
+            throw new IllegalStateException("Native memory can't be allocated, sun.misc.Unsafe is not available");
+        }
+        this.maxMemory = checkPositive(maxMemory, "maxMemory should be positive");
+    }
+
+    /**
+     * Checks if native memory can be allocated on this JVM.
+     *
+     * @return {@code true} if an allocator can be created, {@code false} otherwise
+     */
+    public static boolean isAvailable() {
+        return UNSAFE_AVAILABLE;
+    }
+
+    @Probe
+    public long usedMemory() {
+        return usedMemory.get();
+    }
+
+    @Probe
+    public long maxMemory() {
+        return maxMemory;
+    }
+
+    @Override
+    public long allocate(long size) {
+        reserve(size);
+        try {
+            return UNSAFE.allocateMemory(size);
+        } catch (OutOfMemoryError e) {
+            usedMemory.addAndGet(-size);
+            throw new NativeOutOfMemoryError("Not enough native memory to allocate " + size + " bytes", e);
+        }
+    }
+
+    @Override
+    public long reallocate(long address, long currentSize, long newSize) {
+        long delta = newSize - currentSize;
+        reserve(delta);
+        try {
+            return UNSAFE.reallocateMemory(address, newSize);
+        } catch (OutOfMemoryError e) {
+            usedMemory.addAndGet(-delta);
+            throw new NativeOutOfMemoryError("Not enough native memory to reallocate " + newSize + " bytes", e);
+        }
+    }
+
+    private void reserve(long size) {
+        long used = usedMemory.addAndGet(size);
+        if (size > 0 && used > maxMemory) {
+            usedMemory.addAndGet(-size);
+            throw new NativeOutOfMemoryError("Not enough native memory to allocate " + size + " bytes, "
+                    + (used - size) + " of " + maxMemory + " bytes are already in use");
+        }
+    }
+
+    @Override
+    public void free(long address, long size) {
+        UNSAFE.freeMemory(address);
+        usedMemory.addAndGet(-size);
+    }
+
+    @Override
+    public void dispose() {
+    }
+}
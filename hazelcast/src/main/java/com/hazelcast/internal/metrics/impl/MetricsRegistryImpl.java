@@ -31,47 +31,51 @@ import com.hazelcast.util.ConcurrentReferenceHashMap;
 
 import java.util.ArrayList;
 import java.util.Collections;
-import java.util.Comparator;
+import java.util.EnumSet;
 import java.util.HashSet;
 import java.util.List;
-import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ConcurrentSkipListMap;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ScheduledThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
-import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.AtomicLong;
 
+import static com.hazelcast.util.ConcurrentReferenceHashMap.Option.IDENTITY_COMPARISONS;
+import static com.hazelcast.util.ConcurrentReferenceHashMap.ReferenceType.STRONG;
 import static com.hazelcast.util.Preconditions.checkNotNull;
 import static com.hazelcast.util.ThreadUtil.createThreadPoolName;
 import static java.lang.String.format;
 
 /**
  * The {@link MetricsRegistry} implementation.
+ *
+ * Registration and deregistration are lock-free. The probe instances are kept in a {@link ConcurrentSkipListMap}, so they
+ * are always sorted by name and rendering never needs to sort. The sorted list used for rendering is only rebuilt when the
+ * registry has been modified since it was last built. Every source has an index of its probe instances, so deregistering
+ * a source doesn't need to scan all probe instances.
  */
 public class MetricsRegistryImpl implements MetricsRegistry {
 
-    private static final Comparator<ProbeInstance> COMPARATOR = new Comparator<ProbeInstance>() {
-        @Override
-        public int compare(ProbeInstance o1, ProbeInstance o2) {
-            return o1.name.compareTo(o2.name);
-        }
-    };
-
     final ILogger logger;
     final ProbeLevel minimumLevel;
 
     private final ScheduledExecutorService scheduledExecutorService;
-    private final ConcurrentMap<String, ProbeInstance> probeInstances = new ConcurrentHashMap<String, ProbeInstance>();
+    private final ConcurrentSkipListMap<String, ProbeInstance> probeInstances
+            = new ConcurrentSkipListMap<String, ProbeInstance>();
+
+    // the probe instances per source; we rely on the identity of the source and not on its equals/hashCode
+    private final ConcurrentMap<Object, Set<ProbeInstance>> probeInstancesBySource
+            = new ConcurrentReferenceHashMap<Object, Set<ProbeInstance>>(STRONG, STRONG, EnumSet.of(IDENTITY_COMPARISONS));
 
     // use ConcurrentReferenceHashMap to allow unreferenced Class instances to be garbage collected
     private final ConcurrentMap<Class<?>, SourceMetadata> metadataMap
             = new ConcurrentReferenceHashMap<Class<?>, SourceMetadata>();
-    private final LockStripe lockStripe = new LockStripe();
 
-    private final AtomicReference<SortedProbeInstances> sortedProbeInstancesRef
-            = new AtomicReference<SortedProbeInstances>(new SortedProbeInstances(0));
+    private final AtomicLong mod = new AtomicLong();
+    private volatile SortedProbeInstances sortedProbeInstances = new SortedProbeInstances(0, new ArrayList<ProbeInstance>(0));
 
 
     /**
@@ -113,7 +117,7 @@ public class MetricsRegistryImpl implements MetricsRegistry {
     }
 
     long modCount() {
-        return sortedProbeInstancesRef.get().mod;
+        return mod.get();
     }
 
     @Override
@@ -179,32 +183,60 @@ public class MetricsRegistryImpl implements MetricsRegistry {
             return;
         }
 
-        synchronized (lockStripe.getLock(source)) {
-            ProbeInstance probeInstance = probeInstances.get(name);
+        ProbeInstance probeInstance = probeInstances.get(name);
+        if (probeInstance == null) {
+            ProbeInstance newProbeInstance = new ProbeInstance<S>(name, source, function);
+            probeInstance = probeInstances.putIfAbsent(name, newProbeInstance);
             if (probeInstance == null) {
-                probeInstance = new ProbeInstance<S>(name, source, function);
-                probeInstances.put(name, probeInstance);
-            } else {
-                logOverwrite(probeInstance);
+                indexProbeInstance(source, newProbeInstance);
+                logRegistered(name);
+                mod.incrementAndGet();
+                return;
             }
+        }
 
-            if (logger.isFinestEnabled()) {
-                logger.finest("Registered probeInstance " + name);
-            }
+        if (probeInstance.source == source && probeInstance.function == function) {
+            // the same source is registered again with the same function (e.g. by a periodic scan), so nothing changes
+            return;
+        }
 
-            probeInstance.source = source;
-            probeInstance.function = function;
+        logOverwrite(probeInstance);
+        probeInstance.source = source;
+        probeInstance.function = function;
+        if (probeInstances.get(name) != probeInstance) {
+            // the probe instance got deregistered concurrently, so we need to register a new one
+            registerInternal(source, name, probeLevel, function);
+            return;
         }
+        indexProbeInstance(source, probeInstance);
 
-        incrementMod();
+        logRegistered(name);
+        mod.incrementAndGet();
     }
 
-    private void incrementMod() {
+    private void logRegistered(String name) {
+        if (logger.isFinestEnabled()) {
+            logger.finest("Registered probeInstance " + name);
+        }
+    }
+
+    private void indexProbeInstance(Object source, ProbeInstance probeInstance) {
         for (; ; ) {
-            SortedProbeInstances current = sortedProbeInstancesRef.get();
-            SortedProbeInstances update = new SortedProbeInstances(current.mod + 1);
-            if (sortedProbeInstancesRef.compareAndSet(current, update)) {
-                break;
+            Set<ProbeInstance> sourceProbeInstances = probeInstancesBySource.get(source);
+            if (sourceProbeInstances == null) {
+                Set<ProbeInstance> newSourceProbeInstances
+                        = Collections.newSetFromMap(new ConcurrentHashMap<ProbeInstance, Boolean>());
+                sourceProbeInstances = probeInstancesBySource.putIfAbsent(source, newSourceProbeInstances);
+                if (sourceProbeInstances == null) {
+                    sourceProbeInstances = newSourceProbeInstances;
+                }
+            }
+
+            sourceProbeInstances.add(probeInstance);
+
+            // if the set got removed by a concurrent deregistration, the probe instance needs to be added to the new set
+            if (probeInstancesBySource.get(source) == sourceProbeInstances) {
+                return;
             }
         }
     }
@@ -235,34 +267,29 @@ public class MetricsRegistryImpl implements MetricsRegistry {
             return;
         }
 
-        boolean changed = false;
-        for (Map.Entry<String, ProbeInstance> entry : probeInstances.entrySet()) {
-            ProbeInstance probeInstance = entry.getValue();
+        Set<ProbeInstance> sourceProbeInstances = probeInstancesBySource.remove(source);
+        if (sourceProbeInstances == null) {
+            return;
+        }
 
-            if (probeInstance.source != source) {
+        boolean changed = false;
+        for (ProbeInstance probeInstance : sourceProbeInstances) {
+            // the probe could have been overwritten in the meantime by another source
+            if (probeInstance.source != source || !probeInstances.remove(probeInstance.name, probeInstance)) {
                 continue;
             }
 
-            String name = entry.getKey();
+            changed = true;
+            probeInstance.source = null;
+            probeInstance.function = null;
 
-            boolean destroyed = false;
-            synchronized (lockStripe.getLock(source)) {
-                if (probeInstance.source == source) {
-                    changed = true;
-                    probeInstances.remove(name);
-                    probeInstance.source = null;
-                    probeInstance.function = null;
-                    destroyed = true;
-                }
-            }
-
-            if (destroyed && logger.isFinestEnabled()) {
-                logger.finest("Destroying probeInstance " + name);
+            if (logger.isFinestEnabled()) {
+                logger.finest("Destroying probeInstance " + probeInstance.name);
             }
         }
 
         if (changed) {
-            incrementMod();
+            mod.incrementAndGet();
         }
     }
 
@@ -294,20 +321,18 @@ public class MetricsRegistryImpl implements MetricsRegistry {
     }
 
     List<ProbeInstance> getSortedProbeInstances() {
-        for (; ; ) {
-            SortedProbeInstances current = sortedProbeInstancesRef.get();
-            if (current.probeInstances != null) {
-                return current.probeInstances;
-            }
-
-            List<ProbeInstance> probeInstanceList = new ArrayList<ProbeInstance>(probeInstances.values());
-            Collections.sort(probeInstanceList, COMPARATOR);
-
-            SortedProbeInstances update = new SortedProbeInstances(current.mod, probeInstanceList);
-            if (sortedProbeInstancesRef.compareAndSet(current, update)) {
-                return update.probeInstances;
-            }
+        SortedProbeInstances current = sortedProbeInstances;
+        // the mod needs to be read before the probe instances are copied; so if there is a concurrent modification, the
+        // list is rebuilt the next time
+        long currentMod = mod.get();
+        if (current.mod == currentMod) {
+            return current.probeInstances;
         }
+
+        // the skip list is already sorted, so the list only needs to be copied
+        List<ProbeInstance> probeInstanceList = new ArrayList<ProbeInstance>(probeInstances.values());
+        sortedProbeInstances = new SortedProbeInstances(currentMod, probeInstanceList);
+        return probeInstanceList;
     }
 
     private void render(ProbeRenderer renderer, ProbeInstance probeInstance) {
@@ -342,16 +367,11 @@ public class MetricsRegistryImpl implements MetricsRegistry {
         scheduledExecutorService.shutdown();
     }
 
-    private static class SortedProbeInstances {
+    private static final class SortedProbeInstances {
         private final long mod;
         private final List<ProbeInstance> probeInstances;
 
-        private SortedProbeInstances(long mod) {
-            this.mod = mod;
-            this.probeInstances = null;
-        }
-
-        public SortedProbeInstances(long mod, List<ProbeInstance> probeInstances) {
+        private SortedProbeInstances(long mod, List<ProbeInstance> probeInstances) {
             this.mod = mod;
             this.probeInstances = probeInstances;
         }
@@ -0,0 +1,237 @@
+/*
+ * Copyright (c) 2008-2018, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.internal.metrics.renderers;
+
+import com.hazelcast.internal.util.counters.LatencyHistograms;
+
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * A {@link ProbeRenderer} that renders the probes in the Prometheus text exposition format (version 0.0.4), which is
+ * understood by Prometheus and by OpenMetrics compatible scrapers.
+ * <p>
+ * The bracketed parts of a probe name become labels named after the part in front of the brackets, all other parts are
+ * joined into the metric name. For example {@code map[orders].putCount} is rendered as
+ * {@code hazelcast_map_putCount{map="orders"}} and {@code operation.partition[3].executedCount} as
+ * {@code hazelcast_operation_partition_executedCount{partition="3"}}. A label value ends at the first closing bracket
+ * which is followed by a dot, an opening bracket or the end of the name, so a name like {@code map[a]b].size} keeps its
+ * closing bracket. Backslashes, double quotes and line feeds in label values are escaped.
+ * <p>
+ * The probes don't tell whether they are counters or gauges, so the probes of the {@link LatencyHistograms} are
+ * rendered as {@code counter} or {@code gauge} and all other metrics as {@code untyped}. The samples of the same
+ * metric are grouped below a single {@code # TYPE} line. Probes which failed or have no value are skipped.
+ * <p>
+ * Converting a probe name is relatively expensive, so the converted names are cached and reused by the subsequent
+ * renderings. The cache is cleared when most of its names belong to probes which are no longer rendered, e.g. the
+ * probes of destroyed data structures. A renderer instance is meant to be reused for every scrape, but it must not be
+ * used by multiple threads at the same time.
+ */
+public class PrometheusProbeRenderer implements ProbeRenderer {
+
+    private static final String METRIC_PREFIX = "hazelcast";
+
+    private final Map<String, MetricName> metricNames = new HashMap<String, MetricName>();
+    private final Map<String, StringBuilder> samplesByMetric = new LinkedHashMap<String, StringBuilder>();
+    private final Map<String, String> typeByMetric = new HashMap<String, String>();
+    private int renderedCount;
+
+    /**
+     * Returns the rendered probes and resets this renderer for the next rendering.
+     *
+     * @return the rendered probes
+     */
+    public String getRenderedString() {
+        int length = 0;
+        for (Map.Entry<String, StringBuilder> entry : samplesByMetric.entrySet()) {
+            length += entry.getKey().length() * 2 + entry.getValue().length();
+        }
+        StringBuilder sb = new StringBuilder(length + samplesByMetric.size() * "# TYPE  untyped\n".length());
+        boolean evictStaleNames = metricNames.size() > 2 * renderedCount;
+        Iterator<Map.Entry<String, StringBuilder>> iterator = samplesByMetric.entrySet().iterator();
+        while (iterator.hasNext()) {
+            Map.Entry<String, StringBuilder> entry = iterator.next();
+            StringBuilder samples = entry.getValue();
+            if (samples.length() == 0) {
+                if (evictStaleNames) {
+                    iterator.remove();
+                    typeByMetric.remove(entry.getKey());
+                }
+                continue;
+            }
+            sb.append("# TYPE ").append(entry.getKey()).append(' ').append(typeByMetric.get(entry.getKey())).append('\n')
+                    .append(samples);
+            // the builders are reused by the next rendering
+            samples.setLength(0);
+        }
+        if (evictStaleNames) {
+            metricNames.clear();
+        }
+        renderedCount = 0;
+        return sb.toString();
+    }
+
+    @Override
+    public void renderLong(String name, long value) {
+        samples(name).append(value).append('\n');
+    }
+
+    @Override
+    public void renderDouble(String name, double value) {
+        StringBuilder sb = samples(name);
+        if (Double.isNaN(value)) {
+            sb.append("NaN");
+        } else if (Double.isInfinite(value)) {
+            sb.append(value > 0 ? "+Inf" : "-Inf");
+        } else {
+            sb.append(value);
+        }
+        sb.append('\n');
+    }
+
+    @Override
+    public void renderException(String name, Exception e) {
+        // failed probes are not exposed
+    }
+
+    @Override
+    public void renderNoValue(String name) {
+        // probes without a value are not exposed
+    }
+
+    private StringBuilder samples(String probeName) {
+        MetricName metricName = metricNames.get(probeName);
+        if (metricName == null) {
+            metricName = toMetricName(probeName);
+            metricNames.put(probeName, metricName);
+        }
+        StringBuilder samples = samplesByMetric.get(metricName.name);
+        if (samples == null) {
+            samples = new StringBuilder();
+            samplesByMetric.put(metricName.name, samples);
+            typeByMetric.put(metricName.name, metricName.type);
+        }
+        renderedCount++;
+        return samples.append(metricName.sample).append(' ');
+    }
+
+    static MetricName toMetricName(String probeName) {
+        StringBuilder name = new StringBuilder(METRIC_PREFIX);
+        StringBuilder labels = new StringBuilder();
+        int segmentStart = 0;
+        String lastSegment = METRIC_PREFIX;
+        int index = 0;
+        while (index < probeName.length()) {
+            char c = probeName.charAt(index);
+            if (c == '.') {
+                lastSegment = appendSegment(name, probeName, segmentStart, index, lastSegment);
+                segmentStart = index + 1;
+            } else if (c == '[') {
+                lastSegment = appendSegment(name, probeName, segmentStart, index, lastSegment);
+                int end = closingBracket(probeName, index);
+                appendLabel(labels, lastSegment, probeName.substring(index + 1, end));
+                index = end;
+                segmentStart = end + 1;
+            }
+            index++;
+        }
+        appendSegment(name, probeName, segmentStart, probeName.length(), lastSegment);
+
+        String metricName = name.toString();
+        String sample = labels.length() == 0 ? metricName : metricName + "{" + labels + "}";
+        return new MetricName(metricName, sample, type(probeName));
+    }
+
+    private static int closingBracket(String probeName, int openingBracket) {
+        int end = probeName.indexOf(']', openingBracket);
+        while (end != -1) {
+            int next = end + 1;
+            if (next == probeName.length() || probeName.charAt(next) == '.' || probeName.charAt(next) == '[') {
+                return end;
+            }
+            end = probeName.indexOf(']', next);
+        }
+        return probeName.length();
+    }
+
+    private static String type(String probeName) {
+        if (LatencyHistograms.isCounterProbe(probeName)) {
+            return "counter";
+        }
+        if (LatencyHistograms.isGaugeProbe(probeName)) {
+            return "gauge";
+        }
+        return "untyped";
+    }
+
+    private static String appendSegment(StringBuilder name, String probeName, int start, int end, String lastSegment) {
+        if (start >= end) {
+            return lastSegment;
+        }
+        name.append('_');
+        for (int k = start; k < end; k++) {
+            name.append(sanitize(probeName.charAt(k)));
+        }
+        return name.substring(name.length() - (end - start));
+    }
+
+    private static void appendLabel(StringBuilder labels, String labelName, String value) {
+        String uniqueLabelName = labelName;
+        int suffix = 1;
+        while (labels.indexOf(uniqueLabelName + "=\"") == 0 || labels.indexOf("," + uniqueLabelName + "=\"") != -1) {
+            uniqueLabelName = labelName + suffix++;
+        }
+        if (labels.length() > 0) {
+            labels.append(',');
+        }
+        labels.append(uniqueLabelName).append("=\"");
+        for (int k = 0; k < value.length(); k++) {
+            char c = value.charAt(k);
+            if (c == '\\' || c == '"') {
+                labels.append('\\').append(c);
+            } else if (c == '\n') {
+                labels.append("\\n");
+            } else {
+                labels.append(c);
+            }
+        }
+        labels.append('"');
+    }
+
+    private static char sanitize(char c) {
+        boolean letter = (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z');
+        boolean digit = c >= '0' && c <= '9';
+        return letter || digit ? c : '_';
+    }
+
+    static final class MetricName {
+
+        final String name;
+        // the name including the labels
+        final String sample;
+        final String type;
+
+        MetricName(String name, String sample, String type) {
+            this.name = name;
+            this.sample = sample;
+            this.type = type;
+        }
+    }
+}
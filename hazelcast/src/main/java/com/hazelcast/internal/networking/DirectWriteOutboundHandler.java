@@ -0,0 +1,59 @@
+/*
+ * Copyright (c) 2008-2018, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.internal.networking;
+
+import java.nio.ByteBuffer;
+
+/**
+ * A {@link ChannelOutboundHandler} that can hand out the unwritten remainder of a large frame, so that it is written
+ * to the {@link Channel} directly instead of being copied into the output buffer of the channel first.
+ *
+ * The channel writer only asks for the remainder once it has flushed its output buffer completely while a frame
+ * is still pending, e.g. because the frame did not fit into the output buffer. The remainder is written with
+ * {@link Channel#write(ByteBuffer)} and the handler is notified about the written bytes using
+ * {@link #onDirectWrite(OutboundFrame, int)}. If the socket doesn't accept all bytes, the channel writer asks for the
+ * remainder again on the next write event.
+ *
+ * @param <F> the type of the frame
+ * @see ChannelOutboundHandler
+ */
+public interface DirectWriteOutboundHandler<F extends OutboundFrame> extends ChannelOutboundHandler<F> {
+
+    /**
+     * Returns a view over the bytes of the frame which have not been written yet.
+     *
+     * The frame is only written directly if the remainder is big enough to make skipping the output buffer
+     * worthwhile; a small remainder is copied into the output buffer by {@link #onWrite(OutboundFrame, ByteBuffer)}
+     * as usual.
+     *
+     * @param frame     the frame which is partially written
+     * @param minLength the minimum number of remaining bytes for a direct write
+     * @return the remaining bytes or {@code null} if fewer than {@code minLength} bytes remain or the frame can't be
+     * written directly yet, e.g. because its header has not been written.
+     */
+    ByteBuffer remainingBytes(F frame, int minLength);
+
+    /**
+     * A callback to indicate that bytes of the buffer returned by {@link #remainingBytes(OutboundFrame, int)} have been
+     * written to the channel.
+     *
+     * @param frame        the frame which is partially written
+     * @param bytesWritten the number of bytes written to the channel
+     * @return true if the frame is completely written
+     */
+    boolean onDirectWrite(F frame, int bytesWritten);
+}
@@ -19,6 +19,7 @@ package com.hazelcast.internal.networking.nio;
 import com.hazelcast.internal.metrics.Probe;
 import com.hazelcast.internal.networking.ChannelInitializer;
 import com.hazelcast.internal.networking.ChannelOutboundHandler;
+import com.hazelcast.internal.networking.DirectWriteOutboundHandler;
 import com.hazelcast.internal.networking.InitResult;
 import com.hazelcast.internal.networking.OutboundFrame;
 import com.hazelcast.internal.networking.nio.iobalancer.IOBalancer;
@@ -62,7 +63,11 @@ public final class NioChannelWriter extends AbstractHandler implements Runnable
     private final SwCounter normalFramesWritten = newSwCounter();
     @Probe(name = "priorityFramesWritten")
     private final SwCounter priorityFramesWritten = newSwCounter();
+    @Probe(name = "bytesWrittenDirectly", level = DEBUG)
+    private final SwCounter bytesWrittenDirectly = newSwCounter();
     private ChannelOutboundHandler outboundHandler;
+    // the outboundHandler if it supports writing frames without copying them to the outputBuffer
+    private DirectWriteOutboundHandler directWriteHandler;
 
     private OutboundFrame currentFrame;
     private volatile long lastWriteTime;
@@ -265,10 +270,14 @@ public final class NioChannelWriter extends AbstractHandler implements Runnable
             return;
         }
 
-        fillOutputBuffer();
+        if (!writeCurrentFrameDirectly()) {
+            fillOutputBuffer();
 
-        if (dirtyOutputBuffer()) {
-            writeOutputBufferToSocket();
+            if (dirtyOutputBuffer()) {
+                writeOutputBufferToSocket();
+            }
+
+            writeCurrentFrameDirectly();
         }
 
         if (newOwner == null) {
@@ -294,6 +303,9 @@ public final class NioChannelWriter extends AbstractHandler implements Runnable
 
         this.outputBuffer = init.getByteBuffer();
         this.outboundHandler = init.getHandler();
+        if (outboundHandler instanceof DirectWriteOutboundHandler) {
+            this.directWriteHandler = (DirectWriteOutboundHandler) outboundHandler;
+        }
         registerOp(OP_WRITE);
         return true;
     }
@@ -326,6 +338,58 @@ public final class NioChannelWriter extends AbstractHandler implements Runnable
         compactOrClear(outputBuffer);
     }
 
+    /**
+     * Writes the remainder of a partially written frame straight to the socket, bypassing the outputBuffer. This is
+     * only done when the outputBuffer is empty and the remainder of the frame wouldn't fit in it anyway, so large frames
+     * are not copied into the outputBuffer chunk by chunk.
+     *
+     * @return true if the current frame has been written directly but not completely, so there is no point in filling
+     * the outputBuffer; false otherwise.
+     */
+    @SuppressWarnings("unchecked")
+    private boolean writeCurrentFrameDirectly() throws IOException {
+        if (directWriteHandler == null || currentFrame == null || dirtyOutputBuffer()) {
+            return false;
+        }
+
+        ByteBuffer remaining = directWriteHandler.remainingBytes(currentFrame, outputBuffer.capacity());
+        if (remaining == null) {
+            return false;
+        }
+
+        int written = writeSlice(remaining);
+        bytesWritten.inc(written);
+        bytesWrittenDirectly.inc(written);
+
+        if (!directWriteHandler.onDirectWrite(currentFrame, written)) {
+            return true;
+        }
+
+        // the current frame has been written completely, so lets poll for another one.
+        currentFrame = poll();
+        return false;
+    }
+
+    /**
+     * Writes at most an outputBuffer capacity worth of bytes of the given buffer to the socket. The JDK copies a heap
+     * buffer completely into a temporary direct buffer on every write; without this bound a large frame which needs
+     * many partial writes would be copied over and over again and the cached temporary direct buffers would grow to
+     * the size of the frame.
+     */
+    private int writeSlice(ByteBuffer src) throws IOException {
+        if (src.isDirect() || src.remaining() <= outputBuffer.capacity()) {
+            return channel.write(src);
+        }
+
+        int limit = src.limit();
+        src.limit(src.position() + outputBuffer.capacity());
+        try {
+            return channel.write(src);
+        } finally {
+            src.limit(limit);
+        }
+    }
+
     /**
      * Fills the outBuffer with frames. This is done till there are no more frames or till there is no more space in the
      * outputBuffer.
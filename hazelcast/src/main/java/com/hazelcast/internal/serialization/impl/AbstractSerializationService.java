@@ -78,6 +78,8 @@ public abstract class AbstractSerializationService implements InternalSerializat
     private final ConcurrentMap<Class, SerializerAdapter> typeMap = new ConcurrentHashMap<Class, SerializerAdapter>();
     private final ConcurrentMap<Integer, SerializerAdapter> idMap = new ConcurrentHashMap<Integer, SerializerAdapter>();
     private final AtomicReference<SerializerAdapter> global = new AtomicReference<SerializerAdapter>();
+    // replaced as a whole whenever the registered serializers change
+    private volatile SerializerLookupCache lookupCache = new SerializerLookupCache();
 
     //Global serializer may override Java Serialization or not
     private boolean overrideJavaSerialization;
@@ -355,6 +357,7 @@ public abstract class AbstractSerializationService implements InternalSerializat
         idMap.clear();
         global.set(null);
         constantTypesMap.clear();
+        invalidateLookupCache();
         bufferPoolThreadLocal.clear();
     }
     //endregion Serialization Service
@@ -380,10 +383,12 @@ public abstract class AbstractSerializationService implements InternalSerializat
             throw new IllegalStateException("Global serializer is already registered!");
         }
         this.overrideJavaSerialization = overrideJavaSerialization;
+        invalidateLookupCache();
         SerializerAdapter current = idMap.putIfAbsent(serializer.getTypeId(), adapter);
         if (current != null && current.getImpl().getClass() != adapter.getImpl().getClass()) {
             global.compareAndSet(adapter, null);
             this.overrideJavaSerialization = false;
+            invalidateLookupCache();
             throw new IllegalStateException(
                     "Serializer [" + current.getImpl() + "] has been already registered for type-id: " + serializer.getTypeId());
         }
@@ -407,6 +412,19 @@ public abstract class AbstractSerializationService implements InternalSerializat
     }
 
     protected final boolean safeRegister(final Class type, final SerializerAdapter serializer) {
+        try {
+            return registerResolved(type, serializer);
+        } finally {
+            invalidateLookupCache();
+        }
+    }
+
+    /**
+     * Registers the serializer for the type without invalidating the lookup
+     * cache. Used when the serializer is the result of a lookup for the type,
+     * so the cached lookups stay valid.
+     */
+    private boolean registerResolved(final Class type, final SerializerAdapter serializer) {
         if (constantTypesMap.containsKey(type)) {
             throw new IllegalArgumentException("[" + type + "] serializer cannot be overridden!");
         }
@@ -430,12 +448,17 @@ public abstract class AbstractSerializationService implements InternalSerializat
     protected final void registerConstant(Class type, SerializerAdapter serializer) {
         constantTypesMap.put(type, serializer);
         constantTypeIds[indexForDefaultType(serializer.getTypeId())] = serializer;
+        invalidateLookupCache();
+    }
+
+    private void invalidateLookupCache() {
+        lookupCache = new SerializerLookupCache();
     }
 
     private SerializerAdapter registerFromSuperType(final Class type, final Class superType) {
         final SerializerAdapter serializer = typeMap.get(superType);
         if (serializer != null) {
-            safeRegister(type, serializer);
+            registerResolved(type, serializer);
         }
         return serializer;
     }
@@ -460,6 +483,8 @@ public abstract class AbstractSerializationService implements InternalSerializat
             3-Custom registered types by user
             4-JDK serialization ( Serializable and Externalizable ) if a global serializer with Java serialization not registered
             5-Global serializer if registered by user
+
+            The result of the search, including a failed one, is cached per class.
          */
 
         //1-NULL serializer
@@ -468,6 +493,26 @@ public abstract class AbstractSerializationService implements InternalSerializat
         }
         Class type = object.getClass();
 
+        SerializerLookupCache cache = lookupCache;
+        SerializerLookupCache.Entry cached = cache.get(type);
+        SerializerAdapter serializer;
+        if (cached != null) {
+            serializer = cached.serializer;
+        } else {
+            serializer = lookupSerializer(type);
+            cache.put(type, serializer);
+        }
+
+        if (serializer == null) {
+            if (active) {
+                throw new HazelcastSerializationException("There is no suitable serializer for " + type);
+            }
+            throw new HazelcastInstanceNotActiveException();
+        }
+        return serializer;
+    }
+
+    private SerializerAdapter lookupSerializer(Class type) {
         //2-Default serializers, Dataserializable, Portable, primitives, arrays, String and some helper Java types(BigInteger etc)
         SerializerAdapter serializer = lookupDefaultSerializer(type);
 
@@ -485,13 +530,6 @@ public abstract class AbstractSerializationService implements InternalSerializat
         if (serializer == null) {
             serializer = lookupGlobalSerializer(type);
         }
-
-        if (serializer == null) {
-            if (active) {
-                throw new HazelcastSerializationException("There is no suitable serializer for " + type);
-            }
-            throw new HazelcastInstanceNotActiveException();
-        }
         return serializer;
     }
 
@@ -541,14 +579,14 @@ public abstract class AbstractSerializationService implements InternalSerializat
         SerializerAdapter serializer = global.get();
         if (serializer != null) {
             logger.fine("Registering global serializer for: " + type.getName());
-            safeRegister(type, serializer);
+            registerResolved(type, serializer);
         }
         return serializer;
     }
 
     private SerializerAdapter lookupJavaSerializer(Class type) {
         if (Externalizable.class.isAssignableFrom(type)) {
-            if (safeRegister(type, javaExternalizableAdapter) && !Throwable.class.isAssignableFrom(type)) {
+            if (registerResolved(type, javaExternalizableAdapter) && !Throwable.class.isAssignableFrom(type)) {
                 logger.info("Performance Hint: Serialization service will use java.io.Externalizable for: " + type.getName()
                         + ". Please consider using a faster serialization option such as DataSerializable.");
             }
@@ -556,7 +594,7 @@ public abstract class AbstractSerializationService implements InternalSerializat
         }
 
         if (Serializable.class.isAssignableFrom(type)) {
-            if (safeRegister(type, javaSerializerAdapter) && !Throwable.class.isAssignableFrom(type)) {
+            if (registerResolved(type, javaSerializerAdapter) && !Throwable.class.isAssignableFrom(type)) {
                 logger.info("Performance Hint: Serialization service will use java.io.Serializable for: " + type.getName()
                         + ". Please consider using a faster serialization option such as DataSerializable.");
             }
@@ -20,6 +20,7 @@ import com.hazelcast.internal.serialization.InternalSerializationService;
 import com.hazelcast.nio.Bits;
 import com.hazelcast.nio.BufferObjectDataInput;
 import com.hazelcast.nio.serialization.Data;
+import com.hazelcast.spi.impl.SerializationServiceSupport;
 import com.hazelcast.util.collection.ArrayUtils;
 
 import java.io.EOFException;
@@ -33,7 +34,7 @@ import static com.hazelcast.nio.Bits.NULL_ARRAY_LENGTH;
 import static com.hazelcast.nio.Bits.SHORT_SIZE_IN_BYTES;
 import static com.hazelcast.version.Version.UNKNOWN;
 
-class ByteArrayObjectDataInput extends VersionedObjectDataInput implements BufferObjectDataInput {
+class ByteArrayObjectDataInput extends VersionedObjectDataInput implements BufferObjectDataInput, SerializationServiceSupport {
 
     private static final byte[] EMPTY_BYTE_ARRAY = new byte[0];
 
@@ -686,4 +687,9 @@ class ByteArrayObjectDataInput extends VersionedObjectDataInput implements Buffe
                 + ", mark=" + mark
                 + '}';
     }
+
+    @Override
+    public InternalSerializationService getSerializationService() {
+        return service;
+    }
 }
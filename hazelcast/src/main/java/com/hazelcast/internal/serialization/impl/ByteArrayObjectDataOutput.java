@@ -20,6 +20,7 @@ import com.hazelcast.internal.serialization.InternalSerializationService;
 import com.hazelcast.nio.Bits;
 import com.hazelcast.nio.BufferObjectDataOutput;
 import com.hazelcast.nio.serialization.Data;
+import com.hazelcast.spi.impl.SerializationServiceSupport;
 import com.hazelcast.util.collection.ArrayUtils;
 
 import java.io.IOException;
@@ -32,7 +33,7 @@ import static com.hazelcast.nio.Bits.NULL_ARRAY_LENGTH;
 import static com.hazelcast.nio.Bits.SHORT_SIZE_IN_BYTES;
 import static com.hazelcast.version.Version.UNKNOWN;
 
-class ByteArrayObjectDataOutput extends VersionedObjectDataOutput implements BufferObjectDataOutput {
+class ByteArrayObjectDataOutput extends VersionedObjectDataOutput implements BufferObjectDataOutput, SerializationServiceSupport {
 
     final int initialSize;
 
@@ -450,4 +451,9 @@ class ByteArrayObjectDataOutput extends VersionedObjectDataOutput implements Buf
                 + ", pos=" + pos
                 + '}';
     }
+
+    @Override
+    public InternalSerializationService getSerializationService() {
+        return service;
+    }
 }
@@ -35,6 +35,7 @@ import com.hazelcast.util.collection.Int2ObjectHashMap;
 import com.hazelcast.version.Version;
 
 import java.io.IOException;
+import java.util.Arrays;
 import java.util.Iterator;
 import java.util.Map;
 
@@ -55,8 +56,16 @@ final class DataSerializableSerializer implements StreamSerializer<DataSerializa
 
     private static final String FACTORY_ID = "com.hazelcast.DataSerializerHook";
 
+    /**
+     * Factories with IDs in the range of {@code [-FACTORY_ARRAY_OFFSET, FACTORY_ARRAY_OFFSET)}
+     * (all the internal ones and the usual user-defined ones) are looked up by
+     * indexing an array instead of a hash map lookup on every read.
+     */
+    private static final int FACTORY_ARRAY_OFFSET = 128;
+
     private final Version version = Version.of(BuildInfoProvider.getBuildInfo().getVersion());
     private final Int2ObjectHashMap<DataSerializableFactory> factories = new Int2ObjectHashMap<DataSerializableFactory>();
+    private final DataSerializableFactory[] factoriesByIndex = new DataSerializableFactory[2 * FACTORY_ARRAY_OFFSET];
 
     DataSerializableSerializer(Map<Integer, ? extends DataSerializableFactory> dataSerializableFactories,
                                ClassLoader classLoader) {
@@ -92,9 +101,23 @@ final class DataSerializableSerializer implements StreamSerializer<DataSerializa
             }
         } else {
             factories.put(factoryId, factory);
+            if (isArrayIndexed(factoryId)) {
+                factoriesByIndex[factoryId + FACTORY_ARRAY_OFFSET] = factory;
+            }
         }
     }
 
+    private DataSerializableFactory getFactory(int factoryId) {
+        if (isArrayIndexed(factoryId)) {
+            return factoriesByIndex[factoryId + FACTORY_ARRAY_OFFSET];
+        }
+        return factories.get(factoryId);
+    }
+
+    private static boolean isArrayIndexed(int factoryId) {
+        return factoryId >= -FACTORY_ARRAY_OFFSET && factoryId < FACTORY_ARRAY_OFFSET;
+    }
+
     @Override
     public int getTypeId() {
         return CONSTANT_TYPE_DATA_SERIALIZABLE;
@@ -132,7 +155,7 @@ final class DataSerializableSerializer implements StreamSerializer<DataSerializa
             // BasicOperationService::extractOperationCallId
             if (isFlagSet(header, IDS_FLAG)) {
                 factoryId = in.readInt();
-                final DataSerializableFactory dsf = factories.get(factoryId);
+                final DataSerializableFactory dsf = getFactory(factoryId);
                 if (dsf == null) {
                     throw new HazelcastSerializationException("No DataSerializerFactory registered for namespace: " + factoryId);
                 }
@@ -204,6 +227,7 @@ final class DataSerializableSerializer implements StreamSerializer<DataSerializa
     @Override
     public void destroy() {
         factories.clear();
+        Arrays.fill(factoriesByIndex, null);
     }
 
     private static void setOutputVersion(ObjectDataOutput out, Version version) {
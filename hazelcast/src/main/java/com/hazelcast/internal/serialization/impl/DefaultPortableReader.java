@@ -79,6 +79,17 @@ public class DefaultPortableReader extends ValueReader implements PortableReader
         return cd.getVersion();
     }
 
+    /**
+     * Returns the class definition of the portable being read, as found in
+     * the portable context for the factory ID, class ID and version of the
+     * serialized data.
+     *
+     * @return the class definition of the portable being read
+     */
+    public ClassDefinition getClassDefinition() {
+        return cd;
+    }
+
     @Override
     public boolean hasField(String fieldName) {
         return cd.hasField(fieldName);
@@ -19,6 +19,7 @@ package com.hazelcast.internal.serialization.impl;
 import com.hazelcast.internal.serialization.InternalSerializationService;
 import com.hazelcast.nio.Bits;
 import com.hazelcast.nio.serialization.Data;
+import com.hazelcast.spi.impl.SerializationServiceSupport;
 
 import java.io.Closeable;
 import java.io.DataInputStream;
@@ -28,7 +29,7 @@ import java.nio.ByteOrder;
 
 import static com.hazelcast.nio.Bits.NULL_ARRAY_LENGTH;
 
-public class ObjectDataInputStream extends VersionedObjectDataInput implements Closeable {
+public class ObjectDataInputStream extends VersionedObjectDataInput implements Closeable, SerializationServiceSupport {
 
     private final InternalSerializationService serializationService;
     private final DataInputStream dataInput;
@@ -365,4 +366,8 @@ public class ObjectDataInputStream extends VersionedObjectDataInput implements C
         return byteOrder == ByteOrder.BIG_ENDIAN;
     }
 
+    @Override
+    public InternalSerializationService getSerializationService() {
+        return serializationService;
+    }
 }
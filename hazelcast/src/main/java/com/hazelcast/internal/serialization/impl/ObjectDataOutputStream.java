@@ -20,6 +20,7 @@ import com.hazelcast.internal.serialization.InternalSerializationService;
 import com.hazelcast.nio.Bits;
 import com.hazelcast.nio.ObjectDataOutput;
 import com.hazelcast.nio.serialization.Data;
+import com.hazelcast.spi.impl.SerializationServiceSupport;
 
 import java.io.Closeable;
 import java.io.DataOutputStream;
@@ -30,7 +31,8 @@ import java.nio.ByteOrder;
 import static com.hazelcast.nio.Bits.NULL_ARRAY_LENGTH;
 
 @SuppressWarnings("checkstyle:methodcount")
-public class ObjectDataOutputStream extends VersionedObjectDataOutput implements ObjectDataOutput, Closeable {
+public class ObjectDataOutputStream extends VersionedObjectDataOutput
+        implements ObjectDataOutput, Closeable, SerializationServiceSupport {
 
     private final InternalSerializationService serializationService;
     private final DataOutputStream dataOut;
@@ -286,4 +288,8 @@ public class ObjectDataOutputStream extends VersionedObjectDataOutput implements
         return byteOrder == ByteOrder.BIG_ENDIAN;
     }
 
+    @Override
+    public InternalSerializationService getSerializationService() {
+        return serializationService;
+    }
 }
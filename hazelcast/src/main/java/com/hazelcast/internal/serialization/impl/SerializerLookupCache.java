@@ -0,0 +1,99 @@
+/*
+ * Copyright (c) 2008-2018, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.internal.serialization.impl;
+
+import static com.hazelcast.util.HashUtil.fastIntMix;
+
+/**
+ * Direct-mapped cache of the serializers resolved for classes.
+ * <p>
+ * Every slot holds at most one class and its resolved {@link SerializerAdapter}.
+ * Classes are mapped to the slots by their identity hash code, so a lookup is a
+ * single array read and a reference comparison. A class which collides with
+ * another one simply replaces it, the evicted class is resolved again on its
+ * next lookup.
+ * <p>
+ * Classes for which no serializer could be found are cached too (negative
+ * caching) so that failing lookups do not walk the type hierarchy again.
+ * <p>
+ * The cache is never updated in place when the registered serializers change;
+ * the owner replaces the whole cache instead. Slots are written without
+ * synchronization: the cached entries are immutable, so a racing reader either
+ * sees a complete entry or misses the cache and resolves the serializer itself.
+ */
+final class SerializerLookupCache {
+
+    static final int DEFAULT_CAPACITY = 256;
+
+    private final Entry[] entries;
+    private final int mask;
+
+    SerializerLookupCache() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * @param capacity the number of slots, must be a power of two
+     */
+    SerializerLookupCache(int capacity) {
+        if (capacity <= 0 || Integer.bitCount(capacity) != 1) {
+            throw new IllegalArgumentException("Capacity must be a positive power of two! Current: " + capacity);
+        }
+        this.entries = new Entry[capacity];
+        this.mask = capacity - 1;
+    }
+
+    /**
+     * Returns the cached entry for the given class.
+     *
+     * @param type the class to look up
+     * @return the cached entry or {@code null} if the class is not cached
+     */
+    Entry get(Class type) {
+        Entry entry = entries[indexFor(type)];
+        return entry != null && entry.type == type ? entry : null;
+    }
+
+    /**
+     * Caches the serializer resolved for the given class.
+     *
+     * @param type       the class
+     * @param serializer the resolved serializer or {@code null} if there is no
+     *                   serializer for the class
+     */
+    void put(Class type, SerializerAdapter serializer) {
+        entries[indexFor(type)] = new Entry(type, serializer);
+    }
+
+    private int indexFor(Class type) {
+        return fastIntMix(System.identityHashCode(type)) & mask;
+    }
+
+    /**
+     * An immutable cached lookup result.
+     */
+    static final class Entry {
+
+        final Class type;
+        final SerializerAdapter serializer;
+
+        Entry(Class type, SerializerAdapter serializer) {
+            this.type = type;
+            this.serializer = serializer;
+        }
+    }
+}
@@ -0,0 +1,128 @@
+/*
+ * Copyright (c) 2008-2018, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.internal.tracing;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+
+/**
+ * The timestamps of the stages of a single sampled request.
+ * <p>
+ * The stages can be marked by different threads, e.g. the IO thread, the operation thread and the response thread.
+ * If a stage is passed multiple times, e.g. when an invocation is retried, the last time is kept.
+ */
+public final class Trace {
+
+    private static final TraceStage[] STAGES = TraceStage.values();
+
+    private final String id;
+    private final String name;
+    private final AtomicLongArray timestamps = new AtomicLongArray(STAGES.length);
+
+    Trace(String id, String name) {
+        this.id = id;
+        this.name = name;
+    }
+
+    /**
+     * Returns the id of the trace. The id is derived from the identity of the request, e.g. the UUID of the client and
+     * the correlation id, so the traces recorded by the client and the member for the same request have the same id.
+     */
+    public String getId() {
+        return id;
+    }
+
+    /**
+     * Returns the name of the request, e.g. the type of the message task or the operation.
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Records that the request has passed the given stage.
+     *
+     * @param stage the stage
+     */
+    public void mark(TraceStage stage) {
+        timestamps.set(stage.ordinal(), System.nanoTime());
+    }
+
+    /**
+     * Returns the time in nanos the request passed the given stage, or 0 if it didn't pass it.
+     */
+    public long getTimestampNanos(TraceStage stage) {
+        return timestamps.get(stage.ordinal());
+    }
+
+    /**
+     * Returns the time in micros between the first and the last stage that has been passed.
+     */
+    public long getTotalMicros() {
+        long first = Long.MAX_VALUE;
+        long last = Long.MIN_VALUE;
+        for (int k = 0; k < STAGES.length; k++) {
+            long timestamp = timestamps.get(k);
+            if (timestamp != 0) {
+                first = Math.min(first, timestamp);
+                last = Math.max(last, timestamp);
+            }
+        }
+        return first == Long.MAX_VALUE ? 0 : NANOSECONDS.toMicros(last - first);
+    }
+
+    /**
+     * Returns the stage breakdown: every stage that has been passed, in the order of time, with the time in micros
+     * since the previous stage, e.g. {@code MESSAGE_RECEIVED=+0us MESSAGE_TASK_STARTED=+35us ...}.
+     */
+    public String getBreakdown() {
+        long[] copy = new long[STAGES.length];
+        for (int k = 0; k < copy.length; k++) {
+            copy[k] = timestamps.get(k);
+        }
+
+        StringBuilder sb = new StringBuilder();
+        long previous = 0;
+        for (; ; ) {
+            int next = -1;
+            for (int k = 0; k < copy.length; k++) {
+                if (copy[k] != 0 && (next == -1 || copy[k] < copy[next])) {
+                    next = k;
+                }
+            }
+            if (next == -1) {
+                return sb.toString();
+            }
+
+            long timestamp = copy[next];
+            copy[next] = 0;
+            if (sb.length() > 0) {
+                sb.append(' ');
+            }
+            sb.append(STAGES[next]).append("=+")
+              .append(previous == 0 ? 0 : NANOSECONDS.toMicros(timestamp - previous)).append("us");
+            previous = timestamp;
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "Trace{id=" + id + ", name=" + name + ", total=" + getTotalMicros() + "us, stages=[" + getBreakdown() + "]}";
+    }
+}
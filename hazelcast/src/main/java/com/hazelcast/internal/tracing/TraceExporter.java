@@ -0,0 +1,34 @@
+/*
+ * Copyright (c) 2008-2018, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.internal.tracing;
+
+/**
+ * Receives the completed {@link Trace} instances of a {@link Tracer}.
+ * <p>
+ * The {@link #export(Trace)} method is called by the thread that completes the request, e.g. an operation thread, so
+ * it should not block.
+ */
+public interface TraceExporter {
+
+    /**
+     * Exports a completed trace.
+     *
+     * @param trace the trace
+     */
+    void export(Trace trace);
+}
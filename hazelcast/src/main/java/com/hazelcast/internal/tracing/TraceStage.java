@@ -0,0 +1,84 @@
+/*
+ * Copyright (c) 2008-2018, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.internal.tracing;
+
+/**
+ * The stages of a request that are timestamped by a {@link Trace}.
+ * <p>
+ * The stages are declared in the order a request normally passes through them; a trace only contains the stages that
+ * the request actually passed on the side where it was recorded.
+ */
+public enum TraceStage {
+
+    /**
+     * The client has registered the invocation and is about to send the request.
+     */
+    CLIENT_INVOKED,
+    /**
+     * The client has handed the request to the connection.
+     */
+    CLIENT_WRITTEN,
+    /**
+     * The client has received the response.
+     */
+    CLIENT_RESPONSE_RECEIVED,
+    /**
+     * The client has completed the future of the invocation.
+     */
+    CLIENT_COMPLETED,
+    /**
+     * The member has received the client message on the IO thread.
+     */
+    MESSAGE_RECEIVED,
+    /**
+     * The message task has started to run, so it is no longer waiting in a queue.
+     */
+    MESSAGE_TASK_STARTED,
+    /**
+     * The invocation of the operation has started.
+     */
+    INVOCATION_STARTED,
+    /**
+     * The operation has been sent to a remote member.
+     */
+    OPERATION_SENT,
+    /**
+     * The operation has been offered to the local operation executor.
+     */
+    OPERATION_QUEUED,
+    /**
+     * The operation has started to run on the operation thread.
+     */
+    OPERATION_STARTED,
+    /**
+     * The operation has completed on the operation thread.
+     */
+    OPERATION_COMPLETED,
+    /**
+     * The invocation has received the response of the operation.
+     */
+    RESPONSE_RECEIVED,
+    /**
+     * The invocation has completed; for a backup-aware operation this includes waiting for the backup acks.
+     */
+    INVOCATION_COMPLETED,
+    /**
+     * The message task has handed the response to the client connection.
+     */
+    RESPONSE_SENT
+}
@@ -0,0 +1,129 @@
+/*
+ * Copyright (c) 2008-2018, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.internal.tracing;
+
+import com.hazelcast.logging.ILogger;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static java.lang.Math.max;
+import static java.lang.Math.round;
+
+/**
+ * Decides which requests are traced and passes the completed traces to the {@link TraceExporter} instances.
+ * <p>
+ * The sampling is deterministic: a request is traced if its id (e.g. the correlation id of a client message or the
+ * call id of an operation) is a multiple of the sampling interval, which is derived from the sample rate. So if the
+ * client and the members are configured with the same sample rate, they trace the same client requests and their traces
+ * can be correlated by the trace id, without sending anything extra over the wire.
+ * <p>
+ * The trace that is being processed by a thread can be made available to code further down the call stack using
+ * {@link #setCurrentTrace(Trace)}, e.g. a message task makes its trace available to the invocations it creates. Such a
+ * trace is only used as the parent of the traces of the invocations: every invocation has its own trace, identified by
+ * the id of the parent trace followed by the call id of the invocation.
+ */
+public class Tracer {
+
+    private final long samplingInterval;
+    private final List<TraceExporter> exporters = new CopyOnWriteArrayList<TraceExporter>();
+    private final ThreadLocal<Trace> currentTrace = new ThreadLocal<Trace>();
+    private final ILogger logger;
+
+    /**
+     * Creates a Tracer.
+     *
+     * @param sampleRate the fraction of the requests to trace, e.g. 0.01 for 1%. If 0 or smaller, tracing is disabled.
+     * @param logger     the logger used to log failing exporters
+     */
+    public Tracer(double sampleRate, ILogger logger) {
+        this.samplingInterval = sampleRate <= 0 ? 0 : max(1, round(1 / sampleRate));
+        this.logger = logger;
+    }
+
+    /**
+     * Checks if tracing is enabled. If tracing is disabled, no request is sampled.
+     */
+    public boolean isEnabled() {
+        return samplingInterval > 0;
+    }
+
+    /**
+     * Checks if the request with the given id should be traced.
+     *
+     * @param requestId the id of the request
+     * @return {@code true} if the request should be traced
+     */
+    public boolean isSampled(long requestId) {
+        return samplingInterval > 0 && requestId % samplingInterval == 0;
+    }
+
+    /**
+     * Starts a trace.
+     *
+     * @param id   the id of the trace
+     * @param name the name of the request
+     * @return the started trace
+     */
+    public Trace startTrace(String id, String name) {
+        return new Trace(id, name);
+    }
+
+    /**
+     * Passes the completed trace to all exporters.
+     *
+     * @param trace the completed trace
+     */
+    public void finishTrace(Trace trace) {
+        for (TraceExporter exporter : exporters) {
+            try {
+                exporter.export(trace);
+            } catch (Exception e) {
+                logger.warning("Failed to export " + trace, e);
+            }
+        }
+    }
+
+    public void addExporter(TraceExporter exporter) {
+        exporters.add(exporter);
+    }
+
+    public void removeExporter(TraceExporter exporter) {
+        exporters.remove(exporter);
+    }
+
+    /**
+     * Returns the trace of the request the current thread is processing, or {@code null} if there is none.
+     */
+    public Trace getCurrentTrace() {
+        return samplingInterval > 0 ? currentTrace.get() : null;
+    }
+
+    /**
+     * Sets the trace of the request the current thread is processing.
+     *
+     * @param trace the trace, or {@code null} to clear it
+     */
+    public void setCurrentTrace(Trace trace) {
+        if (trace == null) {
+            currentTrace.remove();
+        } else {
+            currentTrace.set(trace);
+        }
+    }
+}
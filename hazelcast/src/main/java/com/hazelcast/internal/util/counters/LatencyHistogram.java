@@ -0,0 +1,320 @@
+/*
+ * Copyright (c) 2008-2018, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.internal.util.counters;
+
+import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import static java.lang.Long.numberOfLeadingZeros;
+import static java.lang.Math.ceil;
+import static java.lang.Math.min;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+
+/**
+ * A histogram of latencies in the style of the HdrHistogram.
+ * <p>
+ * The latencies are recorded in microseconds into log-linear buckets: every
+ * power of two is split into {@value #SUB_BUCKET_COUNT} linear sub-buckets,
+ * so the value at any percentile is reported with a relative error of at most
+ * 1/{@value #SUB_BUCKET_COUNT}. Latencies exceeding the highest trackable value
+ * (about 18 minutes) are recorded into the last bucket.
+ * <p>
+ * Every recording thread gets its own set of buckets which only that thread
+ * writes to. This makes recording cheap since there is no contention and no
+ * need for atomic read-modify-write instructions; the buckets of all threads
+ * are only aggregated when a {@link Snapshot} is taken. A snapshot is taken
+ * concurrently with the recording threads, so it isn't guaranteed to contain
+ * the most recently recorded latencies. The buckets of a thread which has
+ * terminated are merged into a retired total when the next snapshot is taken
+ * or the next thread starts recording, so thread churn doesn't accumulate
+ * buckets.
+ * <p>
+ * A {@link #snapshot()} contains all latencies recorded since the histogram
+ * was created. The latencies of an interval are read with an
+ * {@link IntervalReader}, which swaps the snapshot it has taken for the one it
+ * takes on its next read and returns the difference, so the recording threads
+ * never have to reset their buckets.
+ */
+public final class LatencyHistogram {
+
+    static final int SUB_BUCKET_BITS = 4;
+    static final int SUB_BUCKET_COUNT = 1 << SUB_BUCKET_BITS;
+    // latencies up to 2^30 microseconds are tracked
+    static final int MAX_MAGNITUDE = 30;
+    static final int BUCKET_COUNT = (MAX_MAGNITUDE - SUB_BUCKET_BITS + 1) * SUB_BUCKET_COUNT;
+
+    private static final double PERCENT = 100;
+
+    private final String name;
+    private final ThreadLocal<Recorder> threadRecorder = new ThreadLocal<Recorder>();
+    // the recorders of the threads which have not been seen terminated yet, guarded by this
+    private final List<Recorder> recorders = new ArrayList<Recorder>();
+    // the latencies recorded by the threads which have terminated, guarded by this
+    private final Snapshot retired = new Snapshot();
+
+    public LatencyHistogram(String name) {
+        this.name = name;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Records a latency.
+     *
+     * @param latencyNanos the latency in nanoseconds
+     */
+    public void recordNanos(long latencyNanos) {
+        Recorder recorder = threadRecorder.get();
+        if (recorder == null) {
+            recorder = newRecorder();
+            threadRecorder.set(recorder);
+        }
+        recorder.record(NANOSECONDS.toMicros(latencyNanos));
+    }
+
+    /**
+     * Creates a reader of the latencies recorded between its reads. Every
+     * consumer of intervals needs its own reader, since a read starts a new
+     * interval.
+     *
+     * @return the interval reader
+     */
+    public IntervalReader newIntervalReader() {
+        return new IntervalReader(this);
+    }
+
+    /**
+     * Aggregates the latencies recorded by all threads so far.
+     *
+     * @return the snapshot of the recorded latencies
+     */
+    public synchronized Snapshot snapshot() {
+        retireTerminatedRecorders();
+        Snapshot snapshot = new Snapshot();
+        snapshot.add(retired);
+        for (Recorder recorder : recorders) {
+            recorder.addTo(snapshot);
+        }
+        return snapshot;
+    }
+
+    private synchronized Recorder newRecorder() {
+        retireTerminatedRecorders();
+        Recorder recorder = new Recorder(Thread.currentThread());
+        recorders.add(recorder);
+        return recorder;
+    }
+
+    // the owner of a retired recorder has terminated, so it won't record again and all its writes are visible
+    private void retireTerminatedRecorders() {
+        Iterator<Recorder> iterator = recorders.iterator();
+        while (iterator.hasNext()) {
+            Recorder recorder = iterator.next();
+            if (!recorder.owner.isAlive()) {
+                recorder.addTo(retired);
+                iterator.remove();
+            }
+        }
+    }
+
+    // just for testing
+    synchronized int getRecorderCount() {
+        return recorders.size();
+    }
+
+    static int bucketIndex(long micros) {
+        if (micros < SUB_BUCKET_COUNT) {
+            return micros < 0 ? 0 : (int) micros;
+        }
+        int magnitude = Long.SIZE - 1 - numberOfLeadingZeros(micros);
+        if (magnitude >= MAX_MAGNITUDE) {
+            return BUCKET_COUNT - 1;
+        }
+        int shift = magnitude - SUB_BUCKET_BITS;
+        int subBucket = (int) (micros >>> shift) & (SUB_BUCKET_COUNT - 1);
+        return (shift + 1) * SUB_BUCKET_COUNT + subBucket;
+    }
+
+    /**
+     * Returns the highest latency in microseconds recorded into the bucket
+     * with the given index.
+     */
+    static long bucketHighestValue(int index) {
+        int exponent = index / SUB_BUCKET_COUNT;
+        int subBucket = index % SUB_BUCKET_COUNT;
+        if (exponent == 0) {
+            return subBucket;
+        }
+        int shift = exponent - 1;
+        return ((long) (SUB_BUCKET_COUNT + subBucket + 1) << shift) - 1;
+    }
+
+    /**
+     * Reads the latencies recorded by a {@link LatencyHistogram} since the
+     * previous read.
+     */
+    public static final class IntervalReader {
+
+        private final LatencyHistogram histogram;
+        private Snapshot previous = new Snapshot();
+
+        private IntervalReader(LatencyHistogram histogram) {
+            this.histogram = histogram;
+        }
+
+        /**
+         * Returns the latencies recorded since the previous read, or since
+         * the histogram was created on the first read.
+         *
+         * @return the snapshot of the interval
+         */
+        public synchronized Snapshot read() {
+            Snapshot current = histogram.snapshot();
+            Snapshot interval = current.since(previous);
+            previous = current;
+            return interval;
+        }
+    }
+
+    /**
+     * The buckets of a single recording thread.
+     * <p>
+     * Only the owning thread writes, so the updates are plain increments
+     * published with a lazySet.
+     */
+    private static final class Recorder {
+
+        private final Thread owner;
+        private final AtomicLongArray buckets = new AtomicLongArray(BUCKET_COUNT);
+        private volatile long totalMicros;
+        private volatile long maxMicros;
+
+        Recorder(Thread owner) {
+            this.owner = owner;
+        }
+
+        @SuppressFBWarnings(value = "VO_VOLATILE_INCREMENT", justification = "single-writer, many-reader")
+        void record(long micros) {
+            int index = bucketIndex(micros);
+            buckets.lazySet(index, buckets.get(index) + 1);
+            totalMicros += micros;
+            if (micros > maxMicros) {
+                maxMicros = micros;
+            }
+        }
+
+        void addTo(Snapshot snapshot) {
+            for (int k = 0; k < BUCKET_COUNT; k++) {
+                long bucketCount = buckets.get(k);
+                snapshot.buckets[k] += bucketCount;
+                snapshot.count += bucketCount;
+            }
+            snapshot.totalMicros += totalMicros;
+            snapshot.maxMicros = Math.max(snapshot.maxMicros, maxMicros);
+        }
+    }
+
+    /**
+     * The latencies recorded by a {@link LatencyHistogram} at some point in time.
+     */
+    public static final class Snapshot {
+
+        private final long[] buckets = new long[BUCKET_COUNT];
+        private long count;
+        private long totalMicros;
+        private long maxMicros;
+
+        Snapshot() {
+        }
+
+        void add(Snapshot other) {
+            for (int k = 0; k < BUCKET_COUNT; k++) {
+                buckets[k] += other.buckets[k];
+            }
+            count += other.count;
+            totalMicros += other.totalMicros;
+            maxMicros = Math.max(maxMicros, other.maxMicros);
+        }
+
+        /**
+         * Returns the latencies recorded between the given earlier snapshot
+         * and this one. The maximum of the interval is derived from its
+         * highest non-empty bucket, so it has the same relative error as the
+         * percentiles.
+         */
+        Snapshot since(Snapshot previous) {
+            Snapshot interval = new Snapshot();
+            int highestIndex = -1;
+            for (int k = 0; k < BUCKET_COUNT; k++) {
+                long bucketCount = buckets[k] - previous.buckets[k];
+                interval.buckets[k] = bucketCount;
+                interval.count += bucketCount;
+                if (bucketCount > 0) {
+                    highestIndex = k;
+                }
+            }
+            interval.totalMicros = totalMicros - previous.totalMicros;
+            interval.maxMicros = highestIndex < 0 ? 0 : min(bucketHighestValue(highestIndex), maxMicros);
+            return interval;
+        }
+
+        public long getCount() {
+            return count;
+        }
+
+        public long getTotalMicros() {
+            return totalMicros;
+        }
+
+        public long getMaxMicros() {
+            return maxMicros;
+        }
+
+        public long getMeanMicros() {
+            return count == 0 ? 0 : totalMicros / count;
+        }
+
+        /**
+         * Returns the latency below or equal to which the given percentage
+         * of the recorded latencies fall.
+         *
+         * @param percentile the percentile between 0 and 100, e.g. 99.9
+         * @return the latency in microseconds, 0 if no latencies were recorded
+         */
+        public long getValueAtPercentile(double percentile) {
+            long rank = (long) ceil(min(percentile, PERCENT) / PERCENT * count);
+            if (rank < 1) {
+                rank = 1;
+            }
+            long seen = 0;
+            for (int k = 0; k < BUCKET_COUNT; k++) {
+                seen += buckets[k];
+                if (seen >= rank) {
+                    return min(bucketHighestValue(k), maxMicros);
+                }
+            }
+            return maxMicros;
+        }
+    }
+}
@@ -0,0 +1,264 @@
+/*
+ * Copyright (c) 2008-2018, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.internal.util.counters;
+
+import com.hazelcast.internal.metrics.LongProbeFunction;
+import com.hazelcast.internal.metrics.MetricsRegistry;
+import com.hazelcast.internal.metrics.ProbeLevel;
+import com.hazelcast.internal.util.counters.LatencyHistogram.Snapshot;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import static com.hazelcast.util.Preconditions.checkTrue;
+
+/**
+ * The {@link LatencyHistogram}s of a family of tasks keyed by the class of
+ * the task, e.g. the latencies of every operation type.
+ * <p>
+ * Every histogram is registered in the {@link MetricsRegistry} when it is
+ * created, under the name {@code <prefix>[<class name>]}, with probes for the
+ * count, the total, the average, the maximum and the 50th, 90th, 99th, 99.9th
+ * and 99.99th percentiles of the latencies in microseconds recorded since the
+ * histogram was created. The count and the total only ever increase, so every
+ * consumer of the metrics derives the rate and the average latency of its own
+ * intervals from their deltas without disturbing the other consumers.
+ */
+public final class LatencyHistograms {
+
+    private static final double[] PERCENTILES = {50, 90, 99, 99.9, 99.99};
+
+    private static final String[] PERCENTILE_NAMES = {"p50", "p90", "p99", "p999", "p9999"};
+
+    // the probes which only ever increase
+    private static final String[] COUNTER_PROBE_NAMES = {"count", "totalMicros"};
+    private static final String[] GAUGE_PROBE_NAMES = {"avgMicros", "maxMicros", "p50Micros", "p90Micros", "p99Micros",
+            "p999Micros", "p9999Micros", };
+    // the last segment of the prefix of every latency histogram, e.g. operation.latency
+    private static final String FAMILY = "latency";
+
+    private static final int COUNT_PROBE = 0;
+    private static final int TOTAL_PROBE = 1;
+    private static final int AVG_PROBE = 2;
+    private static final int MAX_PROBE = 3;
+    private static final int PERCENTILE_PROBES = 4;
+
+    private final ConcurrentMap<Class, LatencyHistogram> histograms = new ConcurrentHashMap<Class, LatencyHistogram>();
+    private final String prefix;
+    private final MetricsRegistry metricsRegistry;
+
+    /**
+     * @param prefix          the prefix of the probe names, ending with {@code latency}, e.g. {@code operation.latency}
+     * @param metricsRegistry the registry to register the probes of the histograms in
+     */
+    public LatencyHistograms(String prefix, MetricsRegistry metricsRegistry) {
+        checkTrue(prefix.endsWith(FAMILY), "the prefix of latency histograms must end with " + FAMILY);
+        this.prefix = prefix;
+        this.metricsRegistry = metricsRegistry;
+    }
+
+    public String getPrefix() {
+        return prefix;
+    }
+
+    /**
+     * Gets the histogram for the given type, creating and registering it
+     * if it doesn't exist yet.
+     *
+     * @param type the class of the task
+     * @return the histogram
+     */
+    public LatencyHistogram getHistogram(Class type) {
+        LatencyHistogram histogram = histograms.get(type);
+        if (histogram != null) {
+            return histogram;
+        }
+
+        LatencyHistogram newHistogram = new LatencyHistogram(type.getName());
+        LatencyHistogram found = histograms.putIfAbsent(type, newHistogram);
+        if (found != null) {
+            return found;
+        }
+        register(newHistogram);
+        return newHistogram;
+    }
+
+    /**
+     * Returns the percentiles reported for every histogram, e.g. 99.9.
+     */
+    public static double[] getPercentiles() {
+        return PERCENTILES.clone();
+    }
+
+    /**
+     * Returns the names of the {@link #getPercentiles() percentiles}, e.g.
+     * {@code p999} for the 99.9th percentile. They are used by the metrics as
+     * well as by the diagnostics, so the same percentile has the same name
+     * everywhere.
+     */
+    public static String[] getPercentileNames() {
+        return PERCENTILE_NAMES.clone();
+    }
+
+    /**
+     * Checks if the probe with the given name is the count or the total of a
+     * latency histogram, which only ever increase.
+     *
+     * @param probeName the name of the probe
+     * @return {@code true} if the probe is a counter of a latency histogram
+     */
+    public static boolean isCounterProbe(String probeName) {
+        return isHistogramProbe(probeName, COUNTER_PROBE_NAMES);
+    }
+
+    /**
+     * Checks if the probe with the given name is one of the probes of a latency
+     * histogram which may decrease, e.g. a percentile.
+     *
+     * @param probeName the name of the probe
+     * @return {@code true} if the probe is a gauge of a latency histogram
+     */
+    public static boolean isGaugeProbe(String probeName) {
+        return isHistogramProbe(probeName, GAUGE_PROBE_NAMES);
+    }
+
+    private static boolean isHistogramProbe(String probeName, String[] names) {
+        int end = probeName.lastIndexOf("].");
+        int start = end == -1 ? -1 : probeName.lastIndexOf('[', end);
+        if (start == -1 || !probeName.startsWith(FAMILY, start - FAMILY.length())) {
+            return false;
+        }
+        for (String name : names) {
+            if (probeName.length() - end - 2 == name.length() && probeName.endsWith(name)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public Collection<LatencyHistogram> getHistograms() {
+        return histograms.values();
+    }
+
+    /**
+     * Returns a one line summary of every histogram which recorded latencies.
+     */
+    public String[] getSummaries() {
+        List<String> summaries = new ArrayList<String>(histograms.size());
+        for (LatencyHistogram histogram : histograms.values()) {
+            Snapshot snapshot = histogram.snapshot();
+            if (snapshot.getCount() == 0) {
+                continue;
+            }
+            StringBuilder sb = new StringBuilder(histogram.getName())
+                    .append(" count=").append(snapshot.getCount())
+                    .append(" avg(us)=").append(snapshot.getMeanMicros());
+            for (int k = 0; k < PERCENTILES.length; k++) {
+                sb.append(' ').append(PERCENTILE_NAMES[k]).append("(us)=")
+                        .append(snapshot.getValueAtPercentile(PERCENTILES[k]));
+            }
+            sb.append(" max(us)=").append(snapshot.getMaxMicros());
+            summaries.add(sb.toString());
+        }
+        return summaries.toArray(new String[0]);
+    }
+
+    private void register(LatencyHistogram histogram) {
+        String name = prefix + "[" + histogram.getName() + "].";
+        HistogramProbes probes = new HistogramProbes(histogram);
+        metricsRegistry.register(probes, name + "count", ProbeLevel.MANDATORY, new LongProbeFunction<HistogramProbes>() {
+            @Override
+            public long get(HistogramProbes source) {
+                return source.snapshot(COUNT_PROBE).getCount();
+            }
+        });
+        metricsRegistry.register(probes, name + "totalMicros", ProbeLevel.MANDATORY, new LongProbeFunction<HistogramProbes>() {
+            @Override
+            public long get(HistogramProbes source) {
+                return source.snapshot(TOTAL_PROBE).getTotalMicros();
+            }
+        });
+        metricsRegistry.register(probes, name + "avgMicros", ProbeLevel.MANDATORY, new LongProbeFunction<HistogramProbes>() {
+            @Override
+            public long get(HistogramProbes source) {
+                return source.snapshot(AVG_PROBE).getMeanMicros();
+            }
+        });
+        metricsRegistry.register(probes, name + "maxMicros", ProbeLevel.MANDATORY, new LongProbeFunction<HistogramProbes>() {
+            @Override
+            public long get(HistogramProbes source) {
+                return source.snapshot(MAX_PROBE).getMaxMicros();
+            }
+        });
+        for (int k = 0; k < PERCENTILES.length; k++) {
+            metricsRegistry.register(probes, name + PERCENTILE_NAMES[k] + "Micros", ProbeLevel.MANDATORY,
+                    new PercentileProbe(PERCENTILE_PROBES + k, PERCENTILES[k]));
+        }
+    }
+
+    /**
+     * The source of the probes of a histogram.
+     * <p>
+     * All probes of a histogram render the same snapshot, so a single snapshot
+     * is taken per render cycle. A new snapshot is taken as soon as a probe
+     * which has already rendered the current one is rendered again, which is
+     * the case in the next render cycle regardless of the order the probes are
+     * rendered in. Since a snapshot contains all latencies recorded so far,
+     * concurrent render cycles only cause additional snapshots.
+     */
+    private static final class HistogramProbes {
+
+        private final LatencyHistogram histogram;
+        private Snapshot snapshot;
+        // the bit of every probe which has rendered the current snapshot, all set to take the first snapshot
+        private int renderedProbes = -1;
+
+        HistogramProbes(LatencyHistogram histogram) {
+            this.histogram = histogram;
+        }
+
+        synchronized Snapshot snapshot(int probe) {
+            int probeBit = 1 << probe;
+            if ((renderedProbes & probeBit) != 0) {
+                snapshot = histogram.snapshot();
+                renderedProbes = 0;
+            }
+            renderedProbes |= probeBit;
+            return snapshot;
+        }
+    }
+
+    private static final class PercentileProbe implements LongProbeFunction<HistogramProbes> {
+
+        private final int probe;
+        private final double percentile;
+
+        PercentileProbe(int probe, double percentile) {
+            this.probe = probe;
+            this.percentile = percentile;
+        }
+
+        @Override
+        public long get(HistogramProbes source) {
+            return source.snapshot(probe).getValueAtPercentile(percentile);
+        }
+    }
+}
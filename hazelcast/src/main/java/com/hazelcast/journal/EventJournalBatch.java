@@ -0,0 +1,44 @@
+/*
+ * Copyright (c) 2008-2018, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.journal;
+
+import com.hazelcast.ringbuffer.ReadResultSet;
+
+/**
+ * The events read from the event journal of a single partition by an {@link EventJournalBatchReader}.
+ *
+ * @param <T> the type of the (projected) journal event
+ * @since 3.10
+ */
+public interface EventJournalBatch<T> extends ReadResultSet<T> {
+
+    /**
+     * Returns the sequence to continue reading the event journal of this partition from. This is the sequence after
+     * the last event that has been read, including the events that didn't pass the predicate.
+     *
+     * @return the sequence of the next event to read
+     */
+    long getNextSequence();
+
+    /**
+     * Returns the number of events between the requested start sequence and the oldest event in the event journal.
+     * These events have been overwritten before they could be read.
+     *
+     * @return the number of lost events
+     */
+    long getLostCount();
+}
@@ -0,0 +1,61 @@
+/*
+ * Copyright (c) 2008-2018, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.journal;
+
+import com.hazelcast.projection.Projection;
+import com.hazelcast.util.function.Predicate;
+
+import java.util.Map;
+
+/**
+ * Reads the event journal of many partitions at once. Instead of an invocation per partition, a single operation is
+ * sent to every member which reads all requested partitions owned by that member, so a consumer of all partitions
+ * of a data structure doesn't need a reader per partition.
+ * <p>
+ * The read never waits for events: a partition without new events returns an empty batch. A start sequence of an
+ * event that has already been overwritten continues with the oldest event in the event journal and a start sequence
+ * after the newest event continues with the next event to be added; so unlike
+ * {@link EventJournalReader#readFromEventJournal} no {@link com.hazelcast.ringbuffer.StaleSequenceException} is thrown.
+ *
+ * @param <E> journal event type
+ * @since 3.10
+ */
+public interface EventJournalBatchReader<E> {
+
+    /**
+     * Reads from the event journal of the given partitions. The predicate and projection are applied on the members.
+     *
+     * @param partitionIds   the IDs of the partitions to read
+     * @param startSequences the sequence of the first event to read, by index in {@code partitionIds}
+     * @param maxSize        the maximum number of events to return per partition
+     * @param predicate      the predicate which the events must pass to be included in the response.
+     *                       May be {@code null} in which case all events pass the predicate
+     * @param projection     the projection which is applied to the events before returning.
+     *                       May be {@code null} in which case the event is returned without being projected
+     * @param <T>            the return type of the projection. It is equal to the journal event type
+     *                       if the projection is {@code null} or it is the identity projection
+     * @return the batch read from each partition, by partition ID
+     * @throws IllegalArgumentException      if there isn't a start sequence for every partition
+     * @throws UnsupportedOperationException if the cluster version is lower than 3.10 or there is no event journal
+     *                                       configured for this data structure
+     */
+    <T> Map<Integer, EventJournalBatch<T>> readFromEventJournal(int[] partitionIds,
+                                                               long[] startSequences,
+                                                               int maxSize,
+                                                               Predicate<? super E> predicate,
+                                                               Projection<? super E, T> projection);
+}
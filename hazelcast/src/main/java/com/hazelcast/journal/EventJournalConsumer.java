@@ -0,0 +1,399 @@
+/*
+ * Copyright (c) 2008-2018, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.journal;
+
+import com.hazelcast.core.ExecutionCallback;
+import com.hazelcast.logging.ILogger;
+import com.hazelcast.logging.Logger;
+import com.hazelcast.projection.Projection;
+import com.hazelcast.ringbuffer.ReadResultSet;
+import com.hazelcast.ringbuffer.StaleSequenceException;
+import com.hazelcast.spi.AbstractDistributedObject;
+import com.hazelcast.spi.ExecutionService;
+import com.hazelcast.spi.TaskScheduler;
+import com.hazelcast.spi.impl.executionservice.impl.DelegatingTaskScheduler;
+import com.hazelcast.util.executor.ExecutorType;
+import com.hazelcast.util.function.Predicate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.ReentrantLock;
+
+import static com.hazelcast.util.ExceptionUtil.peel;
+import static com.hazelcast.util.Preconditions.checkNotNull;
+import static com.hazelcast.util.Preconditions.checkPositive;
+import static com.hazelcast.util.Preconditions.checkTrue;
+import static java.lang.Math.min;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+
+/**
+ * Consumes the event journal of all partitions of a data structure and passes the events to an
+ * {@link EventJournalListener}. Unlike a regular listener, no events are missed when the connection to a member is
+ * lost or a member fails: the consumer tracks the sequence of the next event to read for every partition and
+ * simply continues reading from that sequence once the event journal is available again.
+ * <p>
+ * Every partition has a single outstanding read, which waits on the member until at least one event is available
+ * and returns up to {@code batchSize} events. The sequence of a partition is only advanced after the listener
+ * has processed the event, so each event is passed exactly once, unless the event has been overwritten in the
+ * event journal before it could be read; in that case the consumer continues with the oldest available event and
+ * logs the number of lost events.
+ * <p>
+ * The sequences can be retrieved with {@link #getSequences()} and passed to {@link #start(long[])} of a new
+ * consumer, so a consumer can resume where a previous one stopped.
+ * <p>
+ * The reads of all partitions are handled one at a time. When the reader is a proxy of a member, they run on an
+ * executor of the member's {@link ExecutionService} which uses at most one of its threads at a time; otherwise, e.g.
+ * for a client proxy, the consumer starts a thread of its own.
+ * <p>
+ * The consumer works with any {@link EventJournalReader}, e.g. the {@link com.hazelcast.core.IMap} or
+ * {@link javax.cache.Cache} proxies of a member or a client:
+ * <pre>{@code
+ * EventJournalReader<EventJournalMapEvent<String, Integer>> reader
+ *         = (EventJournalReader<EventJournalMapEvent<String, Integer>>) hz.getMap("map");
+ * int partitionCount = hz.getPartitionService().getPartitions().size();
+ * EventJournalConsumer<EventJournalMapEvent<String, Integer>, EventJournalMapEvent<String, Integer>> consumer
+ *         = new EventJournalConsumer<...>(reader, partitionCount, null, null, 100, listener);
+ * consumer.start();
+ * }</pre>
+ *
+ * @param <E> the type of the journal event
+ * @param <T> the type of the projected journal event
+ * @since 3.10
+ */
+public class EventJournalConsumer<E, T> {
+
+    private static final long INITIAL_RETRY_DELAY_MILLIS = 10;
+    private static final long MAX_RETRY_DELAY_MILLIS = 1000;
+    private static final AtomicInteger CONSUMER_ID = new AtomicInteger();
+
+    private final ILogger logger = Logger.getLogger(EventJournalConsumer.class);
+    private final EventJournalReader<E> reader;
+    private final Predicate<? super E> predicate;
+    private final Projection<? super E, T> projection;
+    private final int batchSize;
+    private final EventJournalListener<? super T> listener;
+    private final AtomicLongArray sequences;
+    private final List<PartitionReader> partitionReaders;
+    // held while an event is passed to the listener
+    private final ReentrantLock deliveryLock = new ReentrantLock();
+    private final TaskScheduler executor;
+    // the member's execution service running the executor, null if the consumer runs a thread of its own
+    private final ExecutionService executionService;
+    private final String executorName;
+    private final ScheduledThreadPoolExecutor consumerThread;
+
+    private volatile boolean running;
+
+    /**
+     * Creates a consumer. The consumer doesn't read any events until it is started.
+     *
+     * @param reader         the reader of the event journal
+     * @param partitionCount the number of partitions
+     * @param predicate      the predicate the events must pass, or {@code null} to pass all events
+     * @param projection     the projection applied to the events, or {@code null} to pass the events as is
+     * @param batchSize      the maximum number of events to read from the journal of a partition at once
+     * @param listener       the listener the events are passed to
+     */
+    public EventJournalConsumer(EventJournalReader<E> reader, int partitionCount, Predicate<? super E> predicate,
+                                Projection<? super E, T> projection, int batchSize, EventJournalListener<? super T> listener) {
+        this.reader = checkNotNull(reader, "reader can't be null");
+        this.predicate = predicate;
+        this.projection = projection;
+        this.batchSize = checkPositive(batchSize, "batchSize should be positive");
+        this.listener = checkNotNull(listener, "listener can't be null");
+        this.sequences = new AtomicLongArray(checkPositive(partitionCount, "partitionCount should be positive"));
+        this.partitionReaders = new ArrayList<PartitionReader>(partitionCount);
+        for (int partitionId = 0; partitionId < partitionCount; partitionId++) {
+            partitionReaders.add(new PartitionReader(partitionId));
+        }
+        this.executorName = "hz:event-journal-consumer-" + CONSUMER_ID.incrementAndGet();
+        if (reader instanceof AbstractDistributedObject) {
+            this.executionService = ((AbstractDistributedObject) reader).getNodeEngine().getExecutionService();
+            this.consumerThread = null;
+            executionService.register(executorName, 1, Integer.MAX_VALUE, ExecutorType.CACHED);
+            this.executor = executionService.getTaskScheduler(executorName);
+        } else {
+            this.executionService = null;
+            this.consumerThread = new ScheduledThreadPoolExecutor(1, new ConsumerThreadFactory(executorName));
+            this.executor = new DelegatingTaskScheduler(consumerThread, consumerThread);
+        }
+    }
+
+    /**
+     * Starts consuming the events that are added to the event journal from now on.
+     */
+    public void start() {
+        markRunning();
+        for (PartitionReader partitionReader : partitionReaders) {
+            partitionReader.subscribe(SubscribeMode.NEWEST);
+        }
+    }
+
+    /**
+     * Starts consuming from the oldest event available in the event journal.
+     */
+    public void startFromOldest() {
+        markRunning();
+        for (PartitionReader partitionReader : partitionReaders) {
+            partitionReader.subscribe(SubscribeMode.OLDEST);
+        }
+    }
+
+    /**
+     * Starts consuming from the given sequences, e.g. the sequences of a consumer that has been stopped.
+     *
+     * @param sequences the sequence of the next event to read, by partition ID
+     * @see #getSequences()
+     */
+    public void start(long[] sequences) {
+        checkTrue(sequences.length == partitionReaders.size(), "there should be a sequence for every partition");
+        markRunning();
+        for (int partitionId = 0; partitionId < sequences.length; partitionId++) {
+            this.sequences.set(partitionId, sequences[partitionId]);
+        }
+        for (PartitionReader partitionReader : partitionReaders) {
+            partitionReader.submitRead();
+        }
+    }
+
+    private void markRunning() {
+        checkTrue(!running, "consumer is already started");
+        running = true;
+    }
+
+    /**
+     * Stops the consumer. No events are passed to the listener after this method returns. When it is called by the
+     * listener itself, no further events are passed once the listener returns.
+     */
+    public void stop() {
+        running = false;
+        if (!deliveryLock.isHeldByCurrentThread()) {
+            // waits for the event being passed to the listener, if any; the next one sees that the consumer stopped
+            deliveryLock.lock();
+            deliveryLock.unlock();
+        }
+        if (executionService != null) {
+            executionService.shutdownExecutor(executorName);
+        } else {
+            consumerThread.shutdownNow();
+        }
+    }
+
+    /**
+     * Returns the sequence of the next event to read, by partition ID.
+     *
+     * @return the sequences
+     */
+    public long[] getSequences() {
+        long[] result = new long[sequences.length()];
+        for (int partitionId = 0; partitionId < result.length; partitionId++) {
+            result[partitionId] = sequences.get(partitionId);
+        }
+        return result;
+    }
+
+    private enum SubscribeMode {
+        /** continue with the newest event */
+        NEWEST,
+        /** continue with the oldest event */
+        OLDEST,
+        /** continue with the current sequence, but move it into the range of available events */
+        RESYNC
+    }
+
+    /**
+     * Reads the event journal of a single partition. All methods are called by the executor of the consumer, one at
+     * a time.
+     */
+    private final class PartitionReader implements ExecutionCallback<ReadResultSet<T>>, Runnable {
+
+        private final int partitionId;
+        private long retryDelayMillis = INITIAL_RETRY_DELAY_MILLIS;
+
+        PartitionReader(int partitionId) {
+            this.partitionId = partitionId;
+        }
+
+        void submitRead() {
+            executor.execute(this);
+        }
+
+        @Override
+        public void run() {
+            if (running) {
+                reader.readFromEventJournal(sequences.get(partitionId), 1, batchSize, partitionId, predicate, projection)
+                      .andThen(this, executor);
+            }
+        }
+
+        @Override
+        public void onResponse(ReadResultSet<T> resultSet) {
+            long startSequence = sequences.get(partitionId);
+            for (int k = 0; k < resultSet.size(); k++) {
+                if (!deliver(resultSet.getSequence(k), resultSet.get(k))) {
+                    return;
+                }
+            }
+            // the events that didn't pass the predicate are skipped as well
+            sequences.set(partitionId, startSequence + resultSet.readCount());
+            retryDelayMillis = INITIAL_RETRY_DELAY_MILLIS;
+            run();
+        }
+
+        @Override
+        public void onFailure(Throwable t) {
+            if (!running) {
+                return;
+            }
+
+            Throwable cause = peel(t);
+            if (cause instanceof StaleSequenceException || cause instanceof IllegalArgumentException) {
+                // the sequence is no longer (or not yet) in the event journal
+                retry(new Runnable() {
+                    @Override
+                    public void run() {
+                        subscribe(SubscribeMode.RESYNC);
+                    }
+                });
+            } else if (cause instanceof UnsupportedOperationException) {
+                logger.severe("Can't read the event journal of partition " + partitionId, cause);
+            } else {
+                if (logger.isFineEnabled()) {
+                    logger.fine("Failed to read the event journal of partition " + partitionId + ", retrying", cause);
+                }
+                retry(this);
+            }
+        }
+
+        private boolean deliver(long sequence, T event) {
+            deliveryLock.lock();
+            try {
+                if (!running) {
+                    return false;
+                }
+                try {
+                    listener.onEvent(partitionId, sequence, event);
+                } catch (Exception e) {
+                    logger.warning("Listener failed to process event " + sequence + " of partition " + partitionId, e);
+                }
+                sequences.set(partitionId, sequence + 1);
+                return true;
+            } finally {
+                deliveryLock.unlock();
+            }
+        }
+
+        void subscribe(final SubscribeMode mode) {
+            executor.execute(new Runnable() {
+                @Override
+                public void run() {
+                    if (running) {
+                        reader.subscribeToEventJournal(partitionId)
+                              .andThen(new SubscribeCallback(PartitionReader.this, mode), executor);
+                    }
+                }
+            });
+        }
+
+        void onSubscribed(EventJournalInitialSubscriberState state, SubscribeMode mode) {
+            long sequence = sequences.get(partitionId);
+            switch (mode) {
+                case OLDEST:
+                    sequence = state.getOldestSequence();
+                    break;
+                case NEWEST:
+                    sequence = state.getNewestSequence() + 1;
+                    break;
+                default:
+                    if (sequence < state.getOldestSequence()) {
+                        logger.warning("Lost " + (state.getOldestSequence() - sequence) + " events of partition "
+                                + partitionId + ", they have been overwritten in the event journal");
+                        sequence = state.getOldestSequence();
+                    } else if (sequence > state.getNewestSequence() + 1) {
+                        logger.warning("The event journal of partition " + partitionId + " is behind sequence " + sequence
+                                + ", continuing with sequence " + (state.getNewestSequence() + 1));
+                        sequence = state.getNewestSequence() + 1;
+                    }
+            }
+            sequences.set(partitionId, sequence);
+            run();
+        }
+
+        void retry(Runnable task) {
+            if (!running) {
+                return;
+            }
+            executor.schedule(task, retryDelayMillis, MILLISECONDS);
+            retryDelayMillis = min(retryDelayMillis * 2, MAX_RETRY_DELAY_MILLIS);
+        }
+    }
+
+    private final class SubscribeCallback implements ExecutionCallback<EventJournalInitialSubscriberState> {
+
+        private final PartitionReader partitionReader;
+        private final SubscribeMode mode;
+
+        SubscribeCallback(PartitionReader partitionReader, SubscribeMode mode) {
+            this.partitionReader = partitionReader;
+            this.mode = mode;
+        }
+
+        @Override
+        public void onResponse(EventJournalInitialSubscriberState state) {
+            if (running) {
+                partitionReader.onSubscribed(state, mode);
+            }
+        }
+
+        @Override
+        public void onFailure(Throwable t) {
+            if (!running) {
+                return;
+            }
+            if (peel(t) instanceof UnsupportedOperationException) {
+                logger.severe("Can't subscribe to the event journal of partition " + partitionReader.partitionId, t);
+                return;
+            }
+            partitionReader.retry(new Runnable() {
+                @Override
+                public void run() {
+                    partitionReader.subscribe(mode);
+                }
+            });
+        }
+    }
+
+    private static final class ConsumerThreadFactory implements ThreadFactory {
+
+        private final String name;
+
+        ConsumerThreadFactory(String name) {
+            this.name = name;
+        }
+
+        @Override
+        public Thread newThread(Runnable target) {
+            Thread thread = new Thread(target, name);
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}
@@ -0,0 +1,37 @@
+/*
+ * Copyright (c) 2008-2018, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.journal;
+
+/**
+ * Listener for the events read by an {@link EventJournalConsumer}.
+ *
+ * @param <T> the type of the (projected) journal event
+ * @since 3.10
+ */
+public interface EventJournalListener<T> {
+
+    /**
+     * Invoked for every event read from the event journal. The events of a partition are passed in the order of
+     * their sequence. All events are passed on the same thread, so the listener doesn't need to be thread-safe, but
+     * it should not block for a long time, since it delays the events of all partitions.
+     *
+     * @param partitionId the partition ID of the event
+     * @param sequence    the sequence of the event in the event journal of the partition
+     * @param event       the event
+     */
+    void onEvent(int partitionId, long sequence, T event);
+}
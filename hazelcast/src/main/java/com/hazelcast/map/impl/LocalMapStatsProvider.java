@@ -186,6 +186,7 @@ public class LocalMapStatsProvider {
 
         onDemandStats.incrementLockedEntryCount(recordStore.getLockedEntryCount());
         onDemandStats.incrementHits(stats.getHits());
+        onDemandStats.incrementLoadHits(stats.getLoadHits());
         onDemandStats.incrementDirtyEntryCount(recordStore.getMapDataStore().notFinishedOperationsCount());
         onDemandStats.incrementOwnedEntryMemoryCost(recordStore.getOwnedEntryCost());
         if (NATIVE  != recordStore.getMapContainer().getMapConfig().getInMemoryFormat()) {
@@ -301,6 +302,7 @@ public class LocalMapStatsProvider {
 
         private int backupCount;
         private long hits;
+        private long loadHits;
         private long ownedEntryCount;
         private long backupEntryCount;
         private long ownedEntryMemoryCost;
@@ -320,6 +322,10 @@ public class LocalMapStatsProvider {
             this.hits += hits;
         }
 
+        public void incrementLoadHits(long loadHits) {
+            this.loadHits += loadHits;
+        }
+
         public void incrementOwnedEntryCount(long ownedEntryCount) {
             this.ownedEntryCount += ownedEntryCount;
         }
@@ -351,6 +357,7 @@ public class LocalMapStatsProvider {
         public LocalMapStatsImpl updateAndGet(LocalMapStatsImpl stats) {
             stats.setBackupCount(backupCount);
             stats.setHits(hits);
+            stats.setLoadHits(loadHits);
             stats.setOwnedEntryCount(ownedEntryCount);
             stats.setBackupEntryCount(backupEntryCount);
             stats.setOwnedEntryMemoryCost(ownedEntryMemoryCost);
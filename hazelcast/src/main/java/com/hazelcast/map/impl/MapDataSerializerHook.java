@@ -27,6 +27,9 @@ import com.hazelcast.map.impl.iterator.MapEntriesWithCursor;
 import com.hazelcast.map.impl.iterator.MapKeysWithCursor;
 import com.hazelcast.map.impl.journal.DeserializingEventJournalMapEvent;
 import com.hazelcast.map.impl.journal.InternalEventJournalMapEvent;
+import com.hazelcast.map.impl.journal.MapEventJournalBatchImpl;
+import com.hazelcast.map.impl.journal.MapEventJournalBatchReadOperation;
+import com.hazelcast.map.impl.journal.MapEventJournalBatchReadOperationFactory;
 import com.hazelcast.map.impl.journal.MapEventJournalReadOperation;
 import com.hazelcast.map.impl.journal.MapEventJournalReadResultSetImpl;
 import com.hazelcast.map.impl.journal.MapEventJournalSubscribeOperation;
@@ -122,6 +125,7 @@ import com.hazelcast.map.impl.query.QueryPartitionOperation;
 import com.hazelcast.map.impl.query.QueryResult;
 import com.hazelcast.map.impl.query.QueryResultRow;
 import com.hazelcast.map.impl.query.ResultSegment;
+import com.hazelcast.map.impl.query.SerializedEntryProjection;
 import com.hazelcast.map.impl.query.Target;
 import com.hazelcast.map.impl.querycache.subscriber.operation.DestroyQueryCacheOperation;
 import com.hazelcast.map.impl.querycache.subscriber.operation.MadePublishableOperation;
@@ -304,8 +308,12 @@ public final class MapDataSerializerHook implements DataSerializerHook {
     public static final int EVENT_JOURNAL_DESERIALIZING_MAP_EVENT = 143;
     public static final int EVENT_JOURNAL_INTERNAL_MAP_EVENT = 144;
     public static final int EVENT_JOURNAL_READ_RESULT_SET = 145;
+    public static final int SERIALIZED_ENTRY_PROJECTION = 146;
+    public static final int EVENT_JOURNAL_BATCH = 147;
+    public static final int EVENT_JOURNAL_BATCH_READ = 148;
+    public static final int EVENT_JOURNAL_BATCH_READ_FACTORY = 149;
 
-    private static final int LEN = EVENT_JOURNAL_READ_RESULT_SET + 1;
+    private static final int LEN = EVENT_JOURNAL_BATCH_READ_FACTORY + 1;
 
     @Override
     public int getFactoryId() {
@@ -1026,6 +1034,26 @@ public final class MapDataSerializerHook implements DataSerializerHook {
                 return new MapEventJournalReadResultSetImpl<Object, Object, Object>();
             }
         };
+        constructors[SERIALIZED_ENTRY_PROJECTION] = new ConstructorFunction<Integer, IdentifiedDataSerializable>() {
+            public IdentifiedDataSerializable createNew(Integer arg) {
+                return new SerializedEntryProjection<Object>();
+            }
+        };
+        constructors[EVENT_JOURNAL_BATCH] = new ConstructorFunction<Integer, IdentifiedDataSerializable>() {
+            public IdentifiedDataSerializable createNew(Integer arg) {
+                return new MapEventJournalBatchImpl<Object, Object, Object>();
+            }
+        };
+        constructors[EVENT_JOURNAL_BATCH_READ] = new ConstructorFunction<Integer, IdentifiedDataSerializable>() {
+            public IdentifiedDataSerializable createNew(Integer arg) {
+                return new MapEventJournalBatchReadOperation<Object, Object, Object>();
+            }
+        };
+        constructors[EVENT_JOURNAL_BATCH_READ_FACTORY] = new ConstructorFunction<Integer, IdentifiedDataSerializable>() {
+            public IdentifiedDataSerializable createNew(Integer arg) {
+                return new MapEventJournalBatchReadOperationFactory<Object, Object, Object>();
+            }
+        };
 
         return new ArrayDataSerializableFactory(constructors);
     }
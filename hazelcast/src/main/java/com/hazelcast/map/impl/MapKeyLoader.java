@@ -38,6 +38,7 @@ import com.hazelcast.spi.impl.AbstractCompletableFuture;
 import com.hazelcast.spi.partition.IPartition;
 import com.hazelcast.spi.partition.IPartitionService;
 import com.hazelcast.spi.properties.GroupProperty;
+import com.hazelcast.util.Clock;
 import com.hazelcast.util.FutureUtil;
 import com.hazelcast.util.StateMachine;
 import com.hazelcast.util.scheduler.CoalescingDelayedTrigger;
@@ -97,6 +98,13 @@ public class MapKeyLoader {
      * @see GroupProperty#MAP_LOAD_CHUNK_SIZE
      */
     private int maxBatch;
+    /**
+     * The number of key chunks which are serialized and grouped by partition
+     * in parallel while dispatching the loaded keys
+     *
+     * @see GroupProperty#MAP_LOAD_KEYS_DISPATCH_PARALLELISM
+     */
+    private int dispatchParallelism = 1;
     private int mapNamePartition;
     private int partitionId;
     private boolean hasBackup;
@@ -428,25 +436,21 @@ public class MapKeyLoader {
         int clusterSize = partitionService.getMemberPartitionsMap().size();
         Iterator<Object> keys = null;
         Throwable loadError = null;
+        long startMillis = Clock.currentTimeMillis();
 
         try {
             Iterable<Object> allKeys = mapStoreContext.loadAllKeys();
             keys = allKeys.iterator();
-            Iterator<Data> dataKeys = map(keys, toData);
+            Iterator<Object> limitedKeys = keys;
             int mapMaxSize = clusterSize * maxSizePerNode;
 
             if (mapMaxSize > 0) {
-                dataKeys = limit(dataKeys, mapMaxSize);
+                limitedKeys = limit(limitedKeys, mapMaxSize);
             }
 
-            Iterator<Entry<Integer, Data>> partitionsAndKeys = map(dataKeys, toPartition(partitionService));
-            Iterator<Map<Integer, List<Data>>> batches = toBatches(partitionsAndKeys, maxBatch);
-
-            List<Future> futures = new ArrayList<Future>();
-            while (batches.hasNext()) {
-                Map<Integer, List<Data>> batch = batches.next();
-                futures.addAll(sendBatch(batch, replaceExistingValues));
-            }
+            List<Future> futures = dispatchParallelism > 1
+                    ? sendKeysInParallel(limitedKeys, replaceExistingValues)
+                    : sendKeysSequentially(limitedKeys, replaceExistingValues);
 
             // This acts as a barrier to prevent re-ordering of key distribution operations (LoadAllOperation)
             // and LoadStatusOperation(s) which indicates all keys were already loaded.
@@ -455,6 +459,10 @@ public class MapKeyLoader {
             // See https://github.com/hazelcast/hazelcast/issues/4024 for additional details
             FutureUtil.waitForever(futures);
 
+            if (logger.isFineEnabled()) {
+                logger.fine("Dispatched keys of map '" + mapName + "' in " + futures.size() + " batches in "
+                        + (Clock.currentTimeMillis() - startMillis) + " ms");
+            }
         } catch (Exception caught) {
             loadError = caught;
         } finally {
@@ -466,6 +474,50 @@ public class MapKeyLoader {
         }
     }
 
+    /**
+     * Serializes the keys and groups them by partition on the calling thread
+     * and sends the key batches to the partition owners for value loading.
+     *
+     * @param keys                  the keys loaded by the map loader
+     * @param replaceExistingValues if the existing entries for the loaded keys should be replaced
+     * @return a list of futures representing pending completion of the value offloading task
+     */
+    private List<Future> sendKeysSequentially(Iterator<Object> keys, boolean replaceExistingValues) {
+        Iterator<Data> dataKeys = map(keys, toData);
+        Iterator<Entry<Integer, Data>> partitionsAndKeys = map(dataKeys, toPartition(partitionService));
+        Iterator<Map<Integer, List<Data>>> batches = toBatches(partitionsAndKeys, maxBatch);
+
+        List<Future> futures = new ArrayList<Future>();
+        while (batches.hasNext()) {
+            Map<Integer, List<Data>> batch = batches.next();
+            futures.addAll(sendBatch(batch, replaceExistingValues));
+        }
+        return futures;
+    }
+
+    /**
+     * Serializes the keys and groups them by partition in parallel on the
+     * {@link ExecutionService#MAP_LOAD_ALL_KEYS_EXECUTOR} executor and sends
+     * every full partition batch to the partition owner for value loading as
+     * soon as it is available.
+     *
+     * @param keys                  the keys loaded by the map loader
+     * @param replaceExistingValues if the existing entries for the loaded keys should be replaced
+     * @return a list of futures representing pending completion of the value offloading task
+     * @see ParallelKeyDispatcher
+     */
+    private List<Future> sendKeysInParallel(Iterator<Object> keys, final boolean replaceExistingValues) {
+        ParallelKeyDispatcher dispatcher = new ParallelKeyDispatcher(execService, MAP_LOAD_ALL_KEYS_EXECUTOR, toData,
+                partitionService, dispatchParallelism, maxBatch);
+        return dispatcher.dispatch(keys, new ParallelKeyDispatcher.KeyBatchSender() {
+            @Override
+            public Future send(int partitionId, List<Data> partitionKeys) {
+                MapOperation op = operationProvider.createLoadAllOperation(mapName, partitionKeys, replaceExistingValues);
+                return opService.invokeOnPartition(SERVICE_NAME, op, partitionId);
+            }
+        });
+    }
+
     /**
      * Sends the key batches to the partition owners for value loading.
      * The returned futures represent pending offloading of the value loading on the
@@ -549,6 +601,17 @@ public class MapKeyLoader {
         this.maxBatch = maxBatch;
     }
 
+    /**
+     * Sets the number of key chunks which are serialized and grouped
+     * by partition in parallel while dispatching the loaded keys.
+     *
+     * @param dispatchParallelism the key dispatch parallelism, values
+     *                            smaller than 2 dispatch sequentially
+     */
+    public void setDispatchParallelism(int dispatchParallelism) {
+        this.dispatchParallelism = dispatchParallelism;
+    }
+
     /**
      * Sets the configured maximum entry count per node.
      *
@@ -0,0 +1,190 @@
+/*
+ * Copyright (c) 2008-2018, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.map.impl;
+
+import com.hazelcast.core.IFunction;
+import com.hazelcast.nio.serialization.Data;
+import com.hazelcast.spi.ExecutionService;
+import com.hazelcast.spi.partition.IPartitionService;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
+
+import static com.hazelcast.util.CollectionUtil.addToValueList;
+import static com.hazelcast.util.EmptyStatement.ignore;
+import static com.hazelcast.util.ExceptionUtil.rethrow;
+import static com.hazelcast.util.Preconditions.checkNotNull;
+
+/**
+ * Dispatches keys loaded by {@link com.hazelcast.core.MapLoader#loadAllKeys()}
+ * to the partition owners while serializing them in parallel.
+ * <p>
+ * The calling thread is the only one reading from the key iterator since the
+ * iterator returned by the map loader is not required to be thread-safe. It
+ * cuts the keys into chunks and up to {@code parallelism} chunks are converted
+ * to {@link Data} and grouped by partition ID on the given executor at the same
+ * time. The calling thread then merges the grouped keys and hands every partition
+ * batch which reaches {@code maxBatch} keys to the {@link KeyBatchSender}.
+ * <p>
+ * When a converting task has not been picked up by the executor by the time
+ * its result is needed, it is run on the calling thread. This keeps the sender
+ * making progress even when the executor is saturated by other loading maps.
+ */
+class ParallelKeyDispatcher {
+
+    private final ExecutionService execService;
+    private final String executorName;
+    private final IFunction<Object, Data> toData;
+    private final IPartitionService partitionService;
+    private final int parallelism;
+    private final int maxBatch;
+
+    private final LinkedList<FutureTask<Map<Integer, List<Data>>>> inFlight
+            = new LinkedList<FutureTask<Map<Integer, List<Data>>>>();
+    private final Map<Integer, List<Data>> pendingBatches = new HashMap<Integer, List<Data>>();
+
+    ParallelKeyDispatcher(ExecutionService execService, String executorName, IFunction<Object, Data> toData,
+                          IPartitionService partitionService, int parallelism, int maxBatch) {
+        this.execService = execService;
+        this.executorName = executorName;
+        this.toData = toData;
+        this.partitionService = partitionService;
+        this.parallelism = parallelism;
+        this.maxBatch = maxBatch;
+    }
+
+    /**
+     * Reads all keys from the provided iterator and dispatches them in
+     * per-partition batches of at most {@code maxBatch} keys.
+     *
+     * @param keys   the keys loaded by the map loader
+     * @param sender the sender of the partition batches
+     * @return the futures returned by the {@code sender} for every dispatched batch
+     */
+    List<Future> dispatch(Iterator<Object> keys, KeyBatchSender sender) {
+        List<Future> futures = new ArrayList<Future>();
+        while (keys.hasNext()) {
+            inFlight.addLast(submit(nextChunk(keys)));
+            if (inFlight.size() >= parallelism) {
+                merge(inFlight.removeFirst(), sender, futures);
+            }
+        }
+        while (!inFlight.isEmpty()) {
+            merge(inFlight.removeFirst(), sender, futures);
+        }
+        for (Map.Entry<Integer, List<Data>> entry : pendingBatches.entrySet()) {
+            send(entry.getKey(), entry.getValue(), sender, futures);
+        }
+        pendingBatches.clear();
+        return futures;
+    }
+
+    private List<Object> nextChunk(Iterator<Object> keys) {
+        List<Object> chunk = new ArrayList<Object>(maxBatch);
+        while (keys.hasNext() && chunk.size() < maxBatch) {
+            chunk.add(keys.next());
+        }
+        return chunk;
+    }
+
+    private FutureTask<Map<Integer, List<Data>>> submit(List<Object> chunk) {
+        FutureTask<Map<Integer, List<Data>>> task = new FutureTask<Map<Integer, List<Data>>>(new ConvertTask(chunk));
+        try {
+            execService.execute(executorName, task);
+        } catch (RejectedExecutionException e) {
+            // the task will be run by the calling thread when merged
+            ignore(e);
+        }
+        return task;
+    }
+
+    private void merge(FutureTask<Map<Integer, List<Data>>> task, KeyBatchSender sender, List<Future> futures) {
+        // no-op if the task has already been started by the executor
+        task.run();
+
+        Map<Integer, List<Data>> keysByPartition;
+        try {
+            keysByPartition = task.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw rethrow(e);
+        } catch (ExecutionException e) {
+            throw rethrow(e.getCause());
+        }
+
+        for (Map.Entry<Integer, List<Data>> entry : keysByPartition.entrySet()) {
+            Integer partitionId = entry.getKey();
+            for (Data key : entry.getValue()) {
+                List<Data> batch = addToValueList(pendingBatches, partitionId, key);
+                if (batch.size() >= maxBatch) {
+                    pendingBatches.remove(partitionId);
+                    send(partitionId, batch, sender, futures);
+                }
+            }
+        }
+    }
+
+    private void send(int partitionId, List<Data> batch, KeyBatchSender sender, List<Future> futures) {
+        futures.add(sender.send(partitionId, batch));
+    }
+
+    /**
+     * Sends a batch of keys to the owner of a partition for value loading.
+     */
+    interface KeyBatchSender {
+
+        /**
+         * @param partitionId the partition ID of all keys in the batch
+         * @param keys        the keys to load the values for
+         * @return the future representing pending completion of the dispatch
+         */
+        Future send(int partitionId, List<Data> keys);
+    }
+
+    /**
+     * Converts a chunk of keys to {@link Data} and groups them by partition ID.
+     */
+    private final class ConvertTask implements Callable<Map<Integer, List<Data>>> {
+
+        private final List<Object> keys;
+
+        ConvertTask(List<Object> keys) {
+            this.keys = keys;
+        }
+
+        @Override
+        public Map<Integer, List<Data>> call() {
+            Map<Integer, List<Data>> keysByPartition = new HashMap<Integer, List<Data>>();
+            for (Object key : keys) {
+                Data dataKey = toData.apply(key);
+                // Null-pointer here, in case of null key loaded by MapLoader
+                checkNotNull(dataKey, "Key loaded by a MapLoader cannot be null.");
+                addToValueList(keysByPartition, partitionService.getPartitionId(dataKey), dataKey);
+            }
+            return keysByPartition;
+        }
+    }
+}
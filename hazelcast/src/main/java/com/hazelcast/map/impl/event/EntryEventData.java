@@ -16,11 +16,13 @@
 
 package com.hazelcast.map.impl.event;
 
+import com.hazelcast.core.EntryEventType;
 import com.hazelcast.nio.Address;
 import com.hazelcast.nio.ObjectDataInput;
 import com.hazelcast.nio.ObjectDataOutput;
 import com.hazelcast.nio.serialization.Data;
 import com.hazelcast.nio.serialization.BinaryInterface;
+import com.hazelcast.spi.impl.eventservice.CoalescableEvent;
 
 import java.io.IOException;
 
@@ -28,7 +30,7 @@ import java.io.IOException;
  * An entry's event data.
  */
 @BinaryInterface
-public class EntryEventData extends AbstractEventData {
+public class EntryEventData extends AbstractEventData implements CoalescableEvent {
 
     protected Data dataKey;
     protected Data dataNewValue;
@@ -71,6 +73,15 @@ public class EntryEventData extends AbstractEventData {
         return dataMergingValue;
     }
 
+    /**
+     * Returns the key of the entry for an update event, so only the latest update of an entry is delivered when
+     * the events are coalesced. Other events, e.g. the addition or removal of an entry, are never coalesced.
+     */
+    @Override
+    public Object getCoalescingKey() {
+        return getEventType() == EntryEventType.UPDATED.getType() ? dataKey : null;
+    }
+
     @Override
     public void writeData(ObjectDataOutput out) throws IOException {
         super.writeData(out);
@@ -88,6 +88,12 @@ import static java.util.concurrent.TimeUnit.SECONDS;
  * {@value com.hazelcast.map.impl.eviction.ExpirationManager#PROP_PRIMARY_DRIVES_BACKUP}: Used to enable/disable
  * management of backup expiration from primary. This can only be used with max idle seconds expiration.
  * </li>
+ * <li>
+ * {@value com.hazelcast.map.impl.eviction.ExpirationManager#PROP_INDEX_ENABLED}: Used to enable/disable
+ * the per record store expiration index. When enabled, a round visits only the entries which are due to
+ * expire instead of scanning a percentage of all entries.
+ * Default value is {@value com.hazelcast.map.impl.eviction.ExpirationManager#DEFAULT_INDEX_ENABLED}.
+ * </li>
  * </ul>
  * <p>
  * These parameters can be set node-wide or system-wide
@@ -117,10 +123,12 @@ public final class ExpirationManager implements OperationResponseHandler, Lifecy
     public static final String PROP_TASK_PERIOD_SECONDS = "hazelcast.internal.map.expiration.task.period.seconds";
     public static final String PROP_CLEANUP_PERCENTAGE = "hazelcast.internal.map.expiration.cleanup.percentage";
     public static final String PROP_CLEANUP_OPERATION_COUNT = "hazelcast.internal.map.expiration.cleanup.operation.count";
+    public static final String PROP_INDEX_ENABLED = "hazelcast.internal.map.expiration.index.enabled";
 
     public static final boolean DEFAULT_PRIMARY_DRIVES_BACKUP = true;
     public static final int DEFAULT_TASK_PERIOD_SECONDS = 5;
     public static final int DEFAULT_CLEANUP_PERCENTAGE = 10;
+    public static final boolean DEFAULT_INDEX_ENABLED = false;
     public static final int MAX_EXPIRED_KEY_COUNT_IN_BATCH = 100;
     public static final int DIFFERENCE_BETWEEN_TWO_SUBSEQUENT_PARTITION_CLEANUP_MILLIS = 1000;
 
@@ -132,8 +140,11 @@ public final class ExpirationManager implements OperationResponseHandler, Lifecy
             = new HazelcastProperty(PROP_CLEANUP_PERCENTAGE, DEFAULT_CLEANUP_PERCENTAGE);
     public static final HazelcastProperty CLEANUP_OPERATION_COUNT
             = new HazelcastProperty(PROP_CLEANUP_OPERATION_COUNT);
+    public static final HazelcastProperty INDEX_ENABLED
+            = new HazelcastProperty(PROP_INDEX_ENABLED, DEFAULT_INDEX_ENABLED);
 
     private final boolean primaryDrivesEviction;
+    private final boolean indexEnabled;
     private final int taskPeriodSeconds;
     private final int partitionCount;
     private final int cleanupPercentage;
@@ -180,6 +191,7 @@ public final class ExpirationManager implements OperationResponseHandler, Lifecy
                 = calculateCleanupOperationCount(properties, partitionCount, operationService.getPartitionThreadCount());
         checkPositive(cleanupOperationCount, "cleanupOperationCount should be a positive number");
         this.primaryDrivesEviction = properties.getBoolean(PRIMARY_DRIVES_BACKUP);
+        this.indexEnabled = properties.getBoolean(INDEX_ENABLED);
         this.nodeEngine.getHazelcastInstance().getLifecycleService().addLifecycleListener(this);
     }
 
@@ -472,6 +484,14 @@ public final class ExpirationManager implements OperationResponseHandler, Lifecy
         }
     }
 
+    /**
+     * @return {@code true} if record stores should track their expirable
+     * entries in an expiration index, otherwise {@code false}
+     */
+    public boolean isIndexEnabled() {
+        return indexEnabled;
+    }
+
     public boolean canPrimaryDriveExpiration() {
         if (!primaryDrivesEviction) {
             return false;
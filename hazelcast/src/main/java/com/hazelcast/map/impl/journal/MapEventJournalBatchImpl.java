@@ -0,0 +1,309 @@
+/*
+ * Copyright (c) 2008-2018, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.map.impl.journal;
+
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.core.HazelcastInstanceAware;
+import com.hazelcast.journal.EventJournalBatch;
+import com.hazelcast.map.impl.MapDataSerializerHook;
+import com.hazelcast.map.journal.EventJournalMapEvent;
+import com.hazelcast.nio.ObjectDataInput;
+import com.hazelcast.nio.ObjectDataOutput;
+import com.hazelcast.nio.serialization.Data;
+import com.hazelcast.nio.serialization.IdentifiedDataSerializable;
+import com.hazelcast.projection.Projection;
+import com.hazelcast.ringbuffer.impl.ReadResultSetImpl;
+import com.hazelcast.spi.impl.SerializationServiceSupport;
+import com.hazelcast.spi.serialization.SerializationService;
+import com.hazelcast.util.function.Predicate;
+
+import java.io.IOException;
+import java.util.AbstractList;
+import java.util.Arrays;
+
+import static java.lang.Math.max;
+import static java.lang.Math.min;
+
+/**
+ * The result of a {@link MapEventJournalBatchReadOperation}. The events are stored in columns (sequences, event types,
+ * keys, new values and old values) which hold the serialized key and values as they are stored in the event journal,
+ * so an event is neither deserialized nor serialized again unless the predicate or projection needs it. If a projection
+ * is set, only the serialized projected events are stored.
+ * <p>
+ * The event journal hands out the events through a {@link ReadResultSetImpl}, so the batch is filled through the
+ * {@link #resultSet()} view and keeps none of the state of a {@link ReadResultSetImpl} itself.
+ *
+ * @param <K> the key type
+ * @param <V> the value type
+ * @param <T> the return type of the projection
+ */
+public class MapEventJournalBatchImpl<K, V, T> extends AbstractList<T>
+        implements EventJournalBatch<T>, IdentifiedDataSerializable, HazelcastInstanceAware {
+
+    private static final int INITIAL_CAPACITY = 16;
+
+    private transient SerializationService serializationService;
+    private transient int maxSize;
+    private transient Predicate<? super EventJournalMapEvent<K, V>> predicate;
+    private transient Projection<? super EventJournalMapEvent<K, V>, T> projection;
+
+    private boolean projected;
+    private int size;
+    private int readCount;
+    private long nextSequence;
+    private long lostCount;
+    private long[] sequences = new long[0];
+    private int[] eventTypes;
+    private Data[] keys;
+    private Data[] newValues;
+    private Data[] oldValues;
+    private Data[] items;
+
+    public MapEventJournalBatchImpl() {
+    }
+
+    MapEventJournalBatchImpl(int maxSize, SerializationService serializationService,
+                             Predicate<? super EventJournalMapEvent<K, V>> predicate,
+                             Projection<? super EventJournalMapEvent<K, V>, T> projection) {
+        this.maxSize = maxSize;
+        this.serializationService = serializationService;
+        this.predicate = predicate;
+        this.projection = projection;
+        this.projected = projection != null;
+    }
+
+    /**
+     * Returns the view through which the event journal adds the events it reads to this batch.
+     */
+    ReadResultSetImpl<InternalEventJournalMapEvent, T> resultSet() {
+        return new BatchResultSet();
+    }
+
+    @Override
+    public void setHazelcastInstance(HazelcastInstance hz) {
+        setSerializationService(((SerializationServiceSupport) hz).getSerializationService());
+    }
+
+    public void setSerializationService(SerializationService serializationService) {
+        this.serializationService = serializationService;
+    }
+
+    void addItem(long seq, Object item) {
+        assert size < maxSize;
+        readCount++;
+
+        // the event journal ringbuffer keeps the events either as objects or as
+        // serialized data, depending on the configured in-memory format
+        InternalEventJournalMapEvent event = serializationService.toObject(item);
+        if (predicate == null && projection == null) {
+            addEvent(seq, event);
+            return;
+        }
+
+        // the key and values are only deserialized when the predicate or projection asks for them
+        DeserializingEventJournalMapEvent<K, V> deserializingEvent
+                = new DeserializingEventJournalMapEvent<K, V>(serializationService, event);
+        if (predicate != null && !predicate.test(deserializingEvent)) {
+            return;
+        }
+        if (projection == null) {
+            addEvent(seq, event);
+        } else {
+            ensureCapacity();
+            items[size] = serializationService.toData(projection.transform(deserializingEvent));
+            sequences[size++] = seq;
+        }
+    }
+
+    private void addEvent(long seq, InternalEventJournalMapEvent event) {
+        ensureCapacity();
+        eventTypes[size] = event.getEventType();
+        keys[size] = event.getDataKey();
+        newValues[size] = event.getDataNewValue();
+        oldValues[size] = event.getDataOldValue();
+        sequences[size++] = seq;
+    }
+
+    private void ensureCapacity() {
+        if (size < sequences.length) {
+            return;
+        }
+        int capacity = min(maxSize, max(INITIAL_CAPACITY, sequences.length * 2));
+        sequences = Arrays.copyOf(sequences, capacity);
+        if (projected) {
+            items = items == null ? new Data[capacity] : Arrays.copyOf(items, capacity);
+        } else {
+            eventTypes = eventTypes == null ? new int[capacity] : Arrays.copyOf(eventTypes, capacity);
+            keys = keys == null ? new Data[capacity] : Arrays.copyOf(keys, capacity);
+            newValues = newValues == null ? new Data[capacity] : Arrays.copyOf(newValues, capacity);
+            oldValues = oldValues == null ? new Data[capacity] : Arrays.copyOf(oldValues, capacity);
+        }
+    }
+
+    boolean isMaxSizeReached() {
+        return size == maxSize;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public T get(int index) {
+        rangeCheck(index);
+        if (projected) {
+            return serializationService.toObject(items[index]);
+        }
+        InternalEventJournalMapEvent event
+                = new InternalEventJournalMapEvent(keys[index], newValues[index], oldValues[index], eventTypes[index]);
+        return (T) new DeserializingEventJournalMapEvent<K, V>(serializationService, event);
+    }
+
+    @Override
+    public long getSequence(int index) {
+        rangeCheck(index);
+        return sequences[index];
+    }
+
+    private void rangeCheck(int index) {
+        if (index < 0 || index >= size) {
+            throw new IllegalArgumentException("index=" + index + ", size=" + size);
+        }
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public int readCount() {
+        return readCount;
+    }
+
+    @Override
+    public long getNextSequence() {
+        return nextSequence;
+    }
+
+    void setNextSequence(long nextSequence) {
+        this.nextSequence = nextSequence;
+    }
+
+    @Override
+    public long getLostCount() {
+        return lostCount;
+    }
+
+    void setLostCount(long lostCount) {
+        this.lostCount = lostCount;
+    }
+
+    @Override
+    public int getFactoryId() {
+        return MapDataSerializerHook.F_ID;
+    }
+
+    @Override
+    public int getId() {
+        return MapDataSerializerHook.EVENT_JOURNAL_BATCH;
+    }
+
+    @Override
+    public void writeData(ObjectDataOutput out) throws IOException {
+        out.writeInt(readCount);
+        out.writeLong(nextSequence);
+        out.writeLong(lostCount);
+        out.writeBoolean(projected);
+        out.writeInt(size);
+        for (int k = 0; k < size; k++) {
+            out.writeLong(sequences[k]);
+        }
+        if (projected) {
+            writeColumn(out, items);
+            return;
+        }
+        for (int k = 0; k < size; k++) {
+            out.writeInt(eventTypes[k]);
+        }
+        writeColumn(out, keys);
+        writeColumn(out, newValues);
+        writeColumn(out, oldValues);
+    }
+
+    private void writeColumn(ObjectDataOutput out, Data[] column) throws IOException {
+        for (int k = 0; k < size; k++) {
+            out.writeData(column[k]);
+        }
+    }
+
+    @Override
+    public void readData(ObjectDataInput in) throws IOException {
+        readCount = in.readInt();
+        nextSequence = in.readLong();
+        lostCount = in.readLong();
+        projected = in.readBoolean();
+        size = in.readInt();
+        sequences = new long[size];
+        for (int k = 0; k < size; k++) {
+            sequences[k] = in.readLong();
+        }
+        if (projected) {
+            items = readColumn(in);
+            return;
+        }
+        eventTypes = new int[size];
+        for (int k = 0; k < size; k++) {
+            eventTypes[k] = in.readInt();
+        }
+        keys = readColumn(in);
+        newValues = readColumn(in);
+        oldValues = readColumn(in);
+    }
+
+    private Data[] readColumn(ObjectDataInput in) throws IOException {
+        Data[] column = new Data[size];
+        for (int k = 0; k < size; k++) {
+            column[k] = in.readData();
+        }
+        return column;
+    }
+
+    /**
+     * Adds the events read from the event journal to the enclosing batch. None of the state of the
+     * {@link ReadResultSetImpl} itself is used.
+     */
+    private final class BatchResultSet extends ReadResultSetImpl<InternalEventJournalMapEvent, T> {
+
+        BatchResultSet() {
+            super(0, 0, null, null);
+        }
+
+        @Override
+        public void addItem(long seq, Object item) {
+            MapEventJournalBatchImpl.this.addItem(seq, item);
+        }
+
+        @Override
+        public boolean isMaxSizeReached() {
+            return MapEventJournalBatchImpl.this.isMaxSizeReached();
+        }
+
+        @Override
+        public boolean isMinSizeReached() {
+            // the batch read never waits for events
+            return true;
+        }
+    }
+}
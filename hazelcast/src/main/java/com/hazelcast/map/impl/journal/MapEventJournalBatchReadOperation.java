@@ -0,0 +1,134 @@
+/*
+ * Copyright (c) 2008-2018, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.map.impl.journal;
+
+import com.hazelcast.internal.cluster.Versions;
+import com.hazelcast.map.impl.MapDataSerializerHook;
+import com.hazelcast.map.impl.operation.MapOperation;
+import com.hazelcast.map.journal.EventJournalMapEvent;
+import com.hazelcast.nio.ObjectDataInput;
+import com.hazelcast.nio.ObjectDataOutput;
+import com.hazelcast.projection.Projection;
+import com.hazelcast.spi.ObjectNamespace;
+import com.hazelcast.spi.PartitionAwareOperation;
+import com.hazelcast.spi.ReadonlyOperation;
+import com.hazelcast.util.function.Predicate;
+import com.hazelcast.version.Version;
+
+import java.io.IOException;
+
+/**
+ * Reads a batch from the map event journal of a single partition without waiting for events. A start sequence
+ * outside of the range of available events is moved into that range instead of failing the read.
+ * <p>
+ * Created by the {@link MapEventJournalBatchReadOperationFactory}, so the partitions of a member are read by a
+ * single invocation.
+ *
+ * @param <T> the return type of the projection
+ * @since 3.10
+ */
+public class MapEventJournalBatchReadOperation<K, V, T> extends MapOperation
+        implements PartitionAwareOperation, ReadonlyOperation {
+
+    private long startSequence;
+    private int maxSize;
+    private Predicate<? super EventJournalMapEvent<K, V>> predicate;
+    private Projection<? super EventJournalMapEvent<K, V>, T> projection;
+
+    private transient ObjectNamespace namespace;
+    private transient MapEventJournalBatchImpl<K, V, T> batch;
+
+    public MapEventJournalBatchReadOperation() {
+    }
+
+    public MapEventJournalBatchReadOperation(String name, long startSequence, int maxSize,
+                                             Predicate<? super EventJournalMapEvent<K, V>> predicate,
+                                             Projection<? super EventJournalMapEvent<K, V>, T> projection) {
+        super(name);
+        this.startSequence = startSequence;
+        this.maxSize = maxSize;
+        this.predicate = predicate;
+        this.projection = projection;
+    }
+
+    @Override
+    public void beforeRun() throws Exception {
+        super.beforeRun();
+
+        final Version clusterVersion = getNodeEngine().getClusterService().getClusterVersion();
+        if (clusterVersion.isLessThan(Versions.V3_10)) {
+            throw new UnsupportedOperationException(
+                    "Event journal batch reads are not available when cluster version is " + clusterVersion);
+        }
+        namespace = getServiceNamespace();
+        if (!mapServiceContext.getEventJournal().hasEventJournal(namespace)) {
+            throw new UnsupportedOperationException(
+                    "Cannot read the event journal because it is either not configured or disabled for map " + name);
+        }
+    }
+
+    @Override
+    public void run() {
+        final MapEventJournal eventJournal = mapServiceContext.getEventJournal();
+        final int partitionId = getPartitionId();
+        eventJournal.cleanup(namespace, partitionId);
+
+        batch = new MapEventJournalBatchImpl<K, V, T>(
+                maxSize, getNodeEngine().getSerializationService(), predicate, projection);
+        final long oldestSequence = eventJournal.oldestSequence(namespace, partitionId);
+        final long newestSequence = eventJournal.newestSequence(namespace, partitionId);
+        long sequence = startSequence;
+        if (sequence < oldestSequence) {
+            batch.setLostCount(oldestSequence - sequence);
+            sequence = oldestSequence;
+        } else if (sequence > newestSequence + 1) {
+            sequence = newestSequence + 1;
+        }
+        if (sequence <= newestSequence) {
+            sequence = eventJournal.readMany(namespace, partitionId, sequence, batch.resultSet());
+        }
+        batch.setNextSequence(sequence);
+    }
+
+    @Override
+    public MapEventJournalBatchImpl<K, V, T> getResponse() {
+        return batch;
+    }
+
+    @Override
+    public int getId() {
+        return MapDataSerializerHook.EVENT_JOURNAL_BATCH_READ;
+    }
+
+    @Override
+    protected void writeInternal(ObjectDataOutput out) throws IOException {
+        super.writeInternal(out);
+        out.writeLong(startSequence);
+        out.writeInt(maxSize);
+        out.writeObject(predicate);
+        out.writeObject(projection);
+    }
+
+    @Override
+    protected void readInternal(ObjectDataInput in) throws IOException {
+        super.readInternal(in);
+        startSequence = in.readLong();
+        maxSize = in.readInt();
+        predicate = in.readObject();
+        projection = in.readObject();
+    }
+}
@@ -0,0 +1,146 @@
+/*
+ * Copyright (c) 2008-2018, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.map.impl.journal;
+
+import com.hazelcast.map.impl.MapDataSerializerHook;
+import com.hazelcast.map.journal.EventJournalMapEvent;
+import com.hazelcast.nio.ObjectDataInput;
+import com.hazelcast.nio.ObjectDataOutput;
+import com.hazelcast.projection.Projection;
+import com.hazelcast.spi.NodeEngine;
+import com.hazelcast.spi.Operation;
+import com.hazelcast.spi.impl.operationservice.impl.operations.PartitionAwareOperationFactory;
+import com.hazelcast.util.function.Predicate;
+import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+
+import java.io.IOException;
+import java.util.Arrays;
+
+import static java.lang.Math.max;
+
+/**
+ * Reads the map event journal of all partitions of a member via locally invoked
+ * {@link MapEventJournalBatchReadOperation}s.
+ * <p>
+ * Used to read the event journal of many partitions with a single invocation per member.
+ *
+ * @param <T> the return type of the projection
+ */
+public class MapEventJournalBatchReadOperationFactory<K, V, T> extends PartitionAwareOperationFactory {
+
+    private String name;
+    private long[] startSequences;
+    private int maxSize;
+    private Predicate<? super EventJournalMapEvent<K, V>> predicate;
+    private Projection<? super EventJournalMapEvent<K, V>, T> projection;
+
+    /**
+     * The index of each partition ID in {@link #partitions}, or {@code -1} if the partition is not read.
+     */
+    private transient int[] partitionIndexes;
+
+    public MapEventJournalBatchReadOperationFactory() {
+    }
+
+    @SuppressFBWarnings("EI_EXPOSE_REP2")
+    public MapEventJournalBatchReadOperationFactory(String name, int[] partitions, long[] startSequences, int maxSize,
+                                                    Predicate<? super EventJournalMapEvent<K, V>> predicate,
+                                                    Projection<? super EventJournalMapEvent<K, V>, T> projection) {
+        this.name = name;
+        this.partitions = partitions;
+        this.startSequences = startSequences;
+        this.maxSize = maxSize;
+        this.predicate = predicate;
+        this.projection = projection;
+    }
+
+    /**
+     * {@inheritDoc}
+     * The factory is sent to all members, so each member should only read the partitions it has been invoked on.
+     */
+    @Override
+    public int[] getPartitions() {
+        return null;
+    }
+
+    @Override
+    public PartitionAwareOperationFactory createFactoryOnRunner(NodeEngine nodeEngine) {
+        MapEventJournalBatchReadOperationFactory<K, V, T> factory = new MapEventJournalBatchReadOperationFactory<K, V, T>(
+                name, partitions, startSequences, maxSize, predicate, projection);
+        factory.partitionIndexes = indexPartitions(nodeEngine.getPartitionService().getPartitionCount());
+        return factory;
+    }
+
+    @Override
+    public Operation createPartitionOperation(int partitionId) {
+        if (partitionIndexes == null) {
+            partitionIndexes = indexPartitions(maxPartitionId() + 1);
+        }
+        int index = partitionId >= 0 && partitionId < partitionIndexes.length ? partitionIndexes[partitionId] : -1;
+        if (index < 0) {
+            throw new IllegalArgumentException("Unknown partitionId " + partitionId + " (" + Arrays.toString(partitions) + ")");
+        }
+        return new MapEventJournalBatchReadOperation<K, V, T>(name, startSequences[index], maxSize, predicate, projection);
+    }
+
+    private int[] indexPartitions(int partitionCount) {
+        int[] indexes = new int[max(partitionCount, maxPartitionId() + 1)];
+        Arrays.fill(indexes, -1);
+        for (int i = 0; i < partitions.length; i++) {
+            indexes[partitions[i]] = i;
+        }
+        return indexes;
+    }
+
+    private int maxPartitionId() {
+        int maxPartitionId = -1;
+        for (int partitionId : partitions) {
+            maxPartitionId = max(maxPartitionId, partitionId);
+        }
+        return maxPartitionId;
+    }
+
+    @Override
+    public void writeData(ObjectDataOutput out) throws IOException {
+        out.writeUTF(name);
+        out.writeIntArray(partitions);
+        out.writeLongArray(startSequences);
+        out.writeInt(maxSize);
+        out.writeObject(predicate);
+        out.writeObject(projection);
+    }
+
+    @Override
+    public void readData(ObjectDataInput in) throws IOException {
+        name = in.readUTF();
+        partitions = in.readIntArray();
+        startSequences = in.readLongArray();
+        maxSize = in.readInt();
+        predicate = in.readObject();
+        projection = in.readObject();
+    }
+
+    @Override
+    public int getFactoryId() {
+        return MapDataSerializerHook.F_ID;
+    }
+
+    @Override
+    public int getId() {
+        return MapDataSerializerHook.EVENT_JOURNAL_BATCH_READ_FACTORY;
+    }
+}
@@ -47,8 +47,9 @@ public class MapEventJournalReadResultSetImpl<K, V, T> extends ReadResultSetImpl
 
     @Override
     public void addItem(long seq, Object item) {
-        // the event journal ringbuffer supports only OBJECT format for now
-        final InternalEventJournalMapEvent e = (InternalEventJournalMapEvent) item;
+        // the event journal ringbuffer keeps the events either as objects or as
+        // serialized data, depending on the configured in-memory format
+        final InternalEventJournalMapEvent e = serializationService.toObject(item);
         final DeserializingEventJournalMapEvent<K, V> deserialisingEvent
                 = new DeserializingEventJournalMapEvent<K, V>(serializationService, e);
         super.addItem(seq, deserialisingEvent);
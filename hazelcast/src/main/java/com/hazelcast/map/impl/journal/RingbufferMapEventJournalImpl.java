@@ -17,7 +17,6 @@
 package com.hazelcast.map.impl.journal;
 
 import com.hazelcast.config.EventJournalConfig;
-import com.hazelcast.config.InMemoryFormat;
 import com.hazelcast.config.RingbufferConfig;
 import com.hazelcast.core.EntryEventType;
 import com.hazelcast.internal.cluster.Versions;
@@ -150,7 +149,7 @@ public class RingbufferMapEventJournalImpl implements MapEventJournal {
         return new RingbufferConfig()
                 .setAsyncBackupCount(0)
                 .setBackupCount(0)
-                .setInMemoryFormat(InMemoryFormat.OBJECT)
+                .setInMemoryFormat(config.getInMemoryFormat())
                 .setCapacity(config.getCapacity() / partitionCount)
                 .setTimeToLiveSeconds(config.getTimeToLiveSeconds());
     }
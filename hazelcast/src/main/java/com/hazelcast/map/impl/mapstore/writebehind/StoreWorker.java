@@ -17,6 +17,7 @@
 package com.hazelcast.map.impl.mapstore.writebehind;
 
 import com.hazelcast.config.MapStoreConfig;
+import com.hazelcast.logging.ILogger;
 import com.hazelcast.map.impl.MapServiceContext;
 import com.hazelcast.map.impl.PartitionContainer;
 import com.hazelcast.map.impl.mapstore.MapDataStore;
@@ -33,9 +34,14 @@ import com.hazelcast.util.Clock;
 
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
 
+import static com.hazelcast.spi.ExecutionService.MAP_WRITE_BEHIND_EXECUTOR;
 import static com.hazelcast.util.CollectionUtil.isEmpty;
 import static java.lang.Thread.currentThread;
 import static java.util.concurrent.TimeUnit.SECONDS;
@@ -45,7 +51,10 @@ import static java.util.concurrent.TimeUnit.SECONDS;
  * That thread uses this runnable task to process write-behind-queues. This task collects entries from
  * write behind queues and passes them to {@link #writeBehindProcessor}.
  * <p/>
- * Only one {@link StoreWorker} task is created for a map on a member.
+ * Only one {@link StoreWorker} task is created for a map on a member. When
+ * {@link GroupProperty#MAP_WRITE_BEHIND_FLUSH_PARALLELISM} is bigger than 1, entries of owned partitions
+ * are grouped by partition ranges and each group is stored concurrently on the
+ * {@link com.hazelcast.spi.ExecutionService#MAP_WRITE_BEHIND_EXECUTOR}.
  */
 public class StoreWorker implements Runnable {
 
@@ -54,12 +63,17 @@ public class StoreWorker implements Runnable {
     private final IPartitionService partitionService;
     private final ExecutionService executionService;
     private final WriteBehindProcessor writeBehindProcessor;
+    private final ILogger logger;
     /**
      * Run on backup nodes after this interval.
      */
     private final long backupDelayMillis;
     private final long writeDelayMillis;
     private final int partitionCount;
+    /**
+     * Number of partition groups which are flushed in parallel.
+     */
+    private final int flushParallelism;
     /**
      * Entries are fetched from write-behind-queues according to highestStoreTime. If an entry
      * has a store-time which is smaller than or equal to the highestStoreTime, it will be processed.
@@ -76,10 +90,12 @@ public class StoreWorker implements Runnable {
         this.partitionService = nodeEngine.getPartitionService();
         this.executionService = nodeEngine.getExecutionService();
         this.writeBehindProcessor = writeBehindProcessor;
+        this.logger = nodeEngine.getLogger(getClass());
         this.backupDelayMillis = getReplicaWaitTimeMillis();
         this.lastHighestStoreTime = Clock.currentTimeMillis();
         this.writeDelayMillis = SECONDS.toMillis(getWriteDelaySeconds(mapStoreContext));
         this.partitionCount = partitionService.getPartitionCount();
+        this.flushParallelism = getFlushParallelism(partitionCount);
     }
 
 
@@ -145,9 +161,7 @@ public class StoreWorker implements Runnable {
         }
 
         if (!isEmpty(ownersList)) {
-            Map<Integer, List<DelayedEntry>> failuresPerPartition = writeBehindProcessor.process(ownersList);
-            removeFinishedStoreOperationsFromQueues(mapName, ownersList);
-            reAddFailedStoreOperationsToQueues(mapName, failuresPerPartition);
+            doInOwner(ownersList);
         }
 
         if (!isEmpty(backupsList)) {
@@ -158,6 +172,93 @@ public class StoreWorker implements Runnable {
 
     }
 
+    private void doInOwner(List<DelayedEntry> delayedEntries) {
+        Map<Integer, List<DelayedEntry>> failuresPerPartition = flushParallelism > 1
+                ? processInParallel(delayedEntries) : writeBehindProcessor.process(delayedEntries);
+        removeFinishedStoreOperationsFromQueues(mapName, delayedEntries);
+        reAddFailedStoreOperationsToQueues(mapName, failuresPerPartition);
+    }
+
+    /**
+     * Groups entries by partition ranges and stores each group concurrently. Since a key is always
+     * in the same partition, store order of operations on a key is preserved in its group.
+     *
+     * @param entries entries of owned partitions to be stored.
+     * @return not-stored entries per partition.
+     */
+    private Map<Integer, List<DelayedEntry>> processInParallel(List<DelayedEntry> entries) {
+        List<List<DelayedEntry>> groups = groupByPartitionRange(entries);
+        List<Future<Map<Integer, List<DelayedEntry>>>> futures
+                = new ArrayList<Future<Map<Integer, List<DelayedEntry>>>>(groups.size());
+        for (final List<DelayedEntry> group : groups) {
+            futures.add(executionService.submit(MAP_WRITE_BEHIND_EXECUTOR, new Callable<Map<Integer, List<DelayedEntry>>>() {
+                @Override
+                public Map<Integer, List<DelayedEntry>> call() throws Exception {
+                    return writeBehindProcessor.process(group);
+                }
+            }));
+        }
+
+        Map<Integer, List<DelayedEntry>> failuresPerPartition = new HashMap<Integer, List<DelayedEntry>>();
+        boolean interrupted = false;
+        for (int i = 0; i < futures.size(); i++) {
+            List<DelayedEntry> group = groups.get(i);
+            if (interrupted) {
+                addAllToFailures(group, failuresPerPartition);
+                continue;
+            }
+            try {
+                // groups do not share partitions, so failures of a group can be merged as is.
+                failuresPerPartition.putAll(futures.get(i).get());
+            } catch (InterruptedException e) {
+                interrupted = true;
+                addAllToFailures(group, failuresPerPartition);
+            } catch (ExecutionException e) {
+                logger.severe("Write-behind flush of " + group.size() + " entries failed for map '" + mapName
+                        + "', Hazelcast will retry to store them", e.getCause());
+                addAllToFailures(group, failuresPerPartition);
+            }
+        }
+
+        if (interrupted) {
+            currentThread().interrupt();
+        }
+        return failuresPerPartition;
+    }
+
+    private List<List<DelayedEntry>> groupByPartitionRange(List<DelayedEntry> entries) {
+        List<DelayedEntry>[] groupsByIndex = new List[flushParallelism];
+        for (DelayedEntry entry : entries) {
+            int groupIndex = (int) ((long) entry.getPartitionId() * flushParallelism / partitionCount);
+            List<DelayedEntry> group = groupsByIndex[groupIndex];
+            if (group == null) {
+                group = new ArrayList<DelayedEntry>();
+                groupsByIndex[groupIndex] = group;
+            }
+            group.add(entry);
+        }
+
+        List<List<DelayedEntry>> groups = new ArrayList<List<DelayedEntry>>(flushParallelism);
+        for (List<DelayedEntry> group : groupsByIndex) {
+            if (group != null) {
+                groups.add(group);
+            }
+        }
+        return groups;
+    }
+
+    private static void addAllToFailures(List<DelayedEntry> entries, Map<Integer, List<DelayedEntry>> failuresPerPartition) {
+        for (DelayedEntry entry : entries) {
+            int partitionId = entry.getPartitionId();
+            List<DelayedEntry> failures = failuresPerPartition.get(partitionId);
+            if (failures == null) {
+                failures = new ArrayList<DelayedEntry>();
+                failuresPerPartition.put(partitionId, failures);
+            }
+            failures.add(entry);
+        }
+    }
+
     private static List<DelayedEntry> initListIfNull(List<DelayedEntry> list, int capacity) {
         if (list == null) {
             list = new ArrayList<DelayedEntry>(capacity);
@@ -292,6 +393,12 @@ public class StoreWorker implements Runnable {
         return writeBehindStore.getSequenceToFlush();
     }
 
+    private int getFlushParallelism(int partitionCount) {
+        HazelcastProperties hazelcastProperties = mapServiceContext.getNodeEngine().getProperties();
+        int parallelism = hazelcastProperties.getInteger(GroupProperty.MAP_WRITE_BEHIND_FLUSH_PARALLELISM);
+        return Math.max(1, Math.min(parallelism, partitionCount));
+    }
+
     private static int getWriteDelaySeconds(MapStoreContext mapStoreContext) {
         MapStoreConfig mapStoreConfig = mapStoreContext.getMapStoreConfig();
         return mapStoreConfig.getWriteDelaySeconds();
@@ -28,6 +28,8 @@ import com.hazelcast.core.ICompletableFuture;
 import com.hazelcast.core.IMap;
 import com.hazelcast.core.ManagedContext;
 import com.hazelcast.internal.cluster.Versions;
+import com.hazelcast.journal.EventJournalBatch;
+import com.hazelcast.journal.EventJournalBatchReader;
 import com.hazelcast.journal.EventJournalInitialSubscriberState;
 import com.hazelcast.journal.EventJournalReader;
 import com.hazelcast.map.EntryProcessor;
@@ -37,6 +39,8 @@ import com.hazelcast.map.impl.MapService;
 import com.hazelcast.map.impl.SimpleEntryView;
 import com.hazelcast.map.impl.iterator.MapPartitionIterator;
 import com.hazelcast.map.impl.iterator.MapQueryPartitionIterator;
+import com.hazelcast.map.impl.journal.MapEventJournalBatchImpl;
+import com.hazelcast.map.impl.journal.MapEventJournalBatchReadOperationFactory;
 import com.hazelcast.map.impl.journal.MapEventJournalReadOperation;
 import com.hazelcast.map.impl.journal.MapEventJournalSubscribeOperation;
 import com.hazelcast.map.impl.query.AggregationResult;
@@ -92,6 +96,7 @@ import static com.hazelcast.config.InMemoryFormat.NATIVE;
 import static com.hazelcast.map.impl.MapService.SERVICE_NAME;
 import static com.hazelcast.map.impl.query.QueryResultUtils.transformToSet;
 import static com.hazelcast.map.impl.querycache.subscriber.QueryCacheRequests.newQueryCacheRequest;
+import static com.hazelcast.util.ExceptionUtil.rethrow;
 import static com.hazelcast.util.MapUtil.createHashMap;
 import static com.hazelcast.util.Preconditions.checkNoNullInside;
 import static com.hazelcast.util.Preconditions.checkNotInstanceOf;
@@ -109,7 +114,8 @@ import static java.util.Collections.emptyMap;
  * @param <V> the value type of map.
  */
 @SuppressWarnings("checkstyle:classfanoutcomplexity")
-public class MapProxyImpl<K, V> extends MapProxySupport<K, V> implements EventJournalReader<EventJournalMapEvent<K, V>> {
+public class MapProxyImpl<K, V> extends MapProxySupport<K, V>
+        implements EventJournalReader<EventJournalMapEvent<K, V>>, EventJournalBatchReader<EventJournalMapEvent<K, V>> {
 
     public MapProxyImpl(String name, MapService mapService, NodeEngine nodeEngine, MapConfig mapConfig) {
         super(name, mapService, nodeEngine, mapConfig);
@@ -1001,6 +1007,42 @@ public class MapProxyImpl<K, V> extends MapProxySupport<K, V> implements EventJo
         return operationService.invokeOnPartition(op);
     }
 
+    /**
+     * {@inheritDoc}
+     *
+     * This implementation will skip cloning of the predicate and projection
+     * for performance reasons, see {@link #readFromEventJournal(long, int, int, int,
+     * com.hazelcast.util.function.Predicate, Projection)}.
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> Map<Integer, EventJournalBatch<T>> readFromEventJournal(
+            int[] partitionIds,
+            long[] startSequences,
+            int maxSize,
+            com.hazelcast.util.function.Predicate<? super EventJournalMapEvent<K, V>> predicate,
+            Projection<? super EventJournalMapEvent<K, V>, T> projection) {
+        checkTrue(partitionIds.length == startSequences.length, "there should be a start sequence for every partition");
+        checkPositive(maxSize, "maxSize should be positive");
+        final ManagedContext context = serializationService.getManagedContext();
+        context.initialize(predicate);
+        context.initialize(projection);
+        final MapEventJournalBatchReadOperationFactory<K, V, T> factory = new MapEventJournalBatchReadOperationFactory<K, V, T>(
+                name, partitionIds, startSequences, maxSize, predicate, projection);
+        try {
+            final Map<Integer, Object> results = operationService.invokeOnPartitions(SERVICE_NAME, factory, partitionIds);
+            final Map<Integer, EventJournalBatch<T>> batches = createHashMap(results.size());
+            for (Map.Entry<Integer, Object> entry : results.entrySet()) {
+                final MapEventJournalBatchImpl<K, V, T> batch = (MapEventJournalBatchImpl<K, V, T>) entry.getValue();
+                batch.setSerializationService(serializationService);
+                batches.put(entry.getKey(), batch);
+            }
+            return batches;
+        } catch (Throwable t) {
+            throw rethrow(t);
+        }
+    }
+
     @Override
     public String toString() {
         return "IMap{name='" + name + '\'' + '}';
@@ -0,0 +1,91 @@
+/*
+ * Copyright (c) 2008-2018, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.map.impl.query;
+
+import com.hazelcast.map.impl.MapDataSerializerHook;
+import com.hazelcast.nio.ObjectDataInput;
+import com.hazelcast.nio.ObjectDataOutput;
+import com.hazelcast.nio.serialization.IdentifiedDataSerializable;
+import com.hazelcast.projection.Projection;
+import com.hazelcast.query.impl.QueryableEntry;
+import com.hazelcast.util.IterationType;
+
+import java.io.IOException;
+
+import static com.hazelcast.util.Preconditions.checkNotNull;
+
+/**
+ * Projection which returns the serialized form of a queried entry without
+ * deserializing its key or value.
+ * <p>
+ * Depending on the iteration type the projection returns the key
+ * {@link com.hazelcast.nio.serialization.Data}, the value
+ * {@link com.hazelcast.nio.serialization.Data} or a {@link QueryResultRow}
+ * containing both. It is used to fetch the results of a predicate query
+ * in chunks by iterating over the partitions.
+ *
+ * @param <I> type of the input
+ */
+public final class SerializedEntryProjection<I> extends Projection<I, Object> implements IdentifiedDataSerializable {
+
+    private IterationType iterationType;
+
+    public SerializedEntryProjection() {
+    }
+
+    public SerializedEntryProjection(IterationType iterationType) {
+        this.iterationType = checkNotNull(iterationType, "iterationType cannot be null");
+    }
+
+    @Override
+    public Object transform(I input) {
+        if (!(input instanceof QueryableEntry)) {
+            throw new IllegalArgumentException("The given map entry is not a queryable entry");
+        }
+        QueryableEntry entry = (QueryableEntry) input;
+        switch (iterationType) {
+            case KEY:
+                return entry.getKeyData();
+            case VALUE:
+                return entry.getValueData();
+            case ENTRY:
+                return new QueryResultRow(entry.getKeyData(), entry.getValueData());
+            default:
+                throw new IllegalStateException("Unknown iterationType:" + iterationType);
+        }
+    }
+
+    @Override
+    public int getFactoryId() {
+        return MapDataSerializerHook.F_ID;
+    }
+
+    @Override
+    public int getId() {
+        return MapDataSerializerHook.SERIALIZED_ENTRY_PROJECTION;
+    }
+
+    @Override
+    public void writeData(ObjectDataOutput out) throws IOException {
+        out.writeByte(iterationType.getId());
+    }
+
+    @Override
+    public void readData(ObjectDataInput in) throws IOException {
+        iterationType = IterationType.getById(in.readByte());
+    }
+}
@@ -34,6 +34,7 @@ import com.hazelcast.spi.properties.HazelcastProperties;
 import java.util.Collection;
 import java.util.Iterator;
 import java.util.LinkedList;
+import java.util.List;
 import java.util.NoSuchElementException;
 
 import static com.hazelcast.core.EntryEventType.EVICTED;
@@ -46,6 +47,8 @@ import static com.hazelcast.map.impl.ExpirationTimeSetter.getLifeStartTime;
 import static com.hazelcast.map.impl.ExpirationTimeSetter.setExpirationTime;
 import static com.hazelcast.map.impl.MapService.SERVICE_NAME;
 import static com.hazelcast.map.impl.eviction.Evictor.NULL_EVICTOR;
+import static java.lang.Math.max;
+import static java.lang.Math.min;
 
 
 /**
@@ -53,6 +56,11 @@ import static com.hazelcast.map.impl.eviction.Evictor.NULL_EVICTOR;
  */
 abstract class AbstractEvictableRecordStore extends AbstractRecordStore {
 
+    /**
+     * Width of the time buckets of the {@link #expirationIndex}.
+     */
+    private static final long EXPIRATION_INDEX_BUCKET_MILLIS = 1000;
+
     protected final long expiryDelayMillis;
     protected final EventService eventService;
     protected final MapEventPublisher mapEventPublisher;
@@ -64,7 +72,18 @@ abstract class AbstractEvictableRecordStore extends AbstractRecordStore {
      * Used in expiration logic for traversing entries. Initializes lazily.
      */
     protected Iterator<Record> expirationIterator;
+    /**
+     * Keys of the expirable entries by the time they are due to be checked
+     * for expiration. Used instead of the {@link #expirationIterator} when
+     * the expiration index is enabled, otherwise {@code null}.
+     */
+    protected final ExpirationIndex expirationIndex;
     protected volatile boolean hasEntryWithCustomTTL;
+    /**
+     * Whether the last expiration round over the {@link #expirationIndex}
+     * ran on a backup replica.
+     */
+    private boolean expirationIndexOnBackup;
 
     protected AbstractEvictableRecordStore(MapContainer mapContainer, int partitionId) {
         super(mapContainer, partitionId);
@@ -75,6 +94,8 @@ abstract class AbstractEvictableRecordStore extends AbstractRecordStore {
         mapEventPublisher = mapServiceContext.getMapEventPublisher();
         thisAddress = nodeEngine.getThisAddress();
         expirationManager = mapServiceContext.getExpirationManager();
+        expirationIndex = expirationManager.isIndexEnabled()
+                ? new ExpirationIndex(EXPIRATION_INDEX_BUCKET_MILLIS) : null;
     }
 
     /**
@@ -92,6 +113,12 @@ abstract class AbstractEvictableRecordStore extends AbstractRecordStore {
         long now = getNow();
         int size = size();
         int maxIterationCount = getMaxIterationCount(size, percentage);
+        if (expirationIndex != null) {
+            evictIndexedExpiredEntries(maxIterationCount, now, backup);
+            accumulateOrSendExpiredKey(null);
+            return;
+        }
+
         int maxRetry = 3;
         int loop = 0;
         int evictedEntryCount = 0;
@@ -154,6 +181,78 @@ abstract class AbstractEvictableRecordStore extends AbstractRecordStore {
         return evictedEntryCount;
     }
 
+    /**
+     * Checks only the entries which are due to expire according to the
+     * {@link #expirationIndex}. The ones which have not expired yet, because
+     * they were accessed or updated in the meantime or are locked, are indexed
+     * again at their next possible expiration time.
+     */
+    private void evictIndexedExpiredEntries(int maxIterationCount, long now, boolean backup) {
+        if (expirationIndexOnBackup && !backup) {
+            // entries which can only expire by idleness are not tracked on
+            // backup replicas when primary drives expiration, so after a
+            // promotion all entries have to be indexed again
+            for (Record record : storage.values()) {
+                addToExpirationIndex(record);
+            }
+        }
+        expirationIndexOnBackup = backup;
+
+        List<Data> keys = new LinkedList<Data>();
+        expirationIndex.drainExpired(now, maxIterationCount, keys);
+        for (Data key : keys) {
+            Record record = storage.get(key);
+            if (record != null && getOrNullIfExpired(record, now, backup) != null) {
+                expirationIndex.add(key, max(getExpirationCheckTime(record, backup), now));
+            }
+        }
+    }
+
+    /**
+     * Adds the record to the expiration index, if the index is enabled.
+     * Should be called when a record is created or its TTL is set.
+     */
+    protected void addToExpirationIndex(Record record) {
+        if (expirationIndex != null) {
+            expirationIndex.add(record.getKey(), getExpirationCheckTime(record, false));
+        }
+    }
+
+    protected void clearExpirationIndex() {
+        if (expirationIndex != null) {
+            expirationIndex.clear();
+        }
+    }
+
+    /**
+     * Returns the earliest time the record can be found expired by
+     * {@link #isExpired(Record, long, boolean)} unless it is accessed or
+     * updated before, or {@link Long#MAX_VALUE} if it never expires.
+     */
+    private long getExpirationCheckTime(Record record, boolean backup) {
+        long ttlExpirationTime = Long.MAX_VALUE;
+        long ttl = record.getTtl();
+        if (ttl > 0L && ttl != Long.MAX_VALUE) {
+            ttlExpirationTime = sumForExpiration(getLifeStartTime(record),
+                    calculateExpirationWithDelay(ttl, expiryDelayMillis, backup));
+        }
+
+        long idleExpirationTime = Long.MAX_VALUE;
+        long maxIdleMillis = calculateMaxIdleMillis(mapContainer.getMapConfig());
+        if (maxIdleMillis != Long.MAX_VALUE && !(backup && expirationManager.canPrimaryDriveExpiration())) {
+            idleExpirationTime = sumForExpiration(getIdlenessStartTime(record),
+                    calculateExpirationWithDelay(maxIdleMillis, expiryDelayMillis, backup));
+        }
+
+        return min(ttlExpirationTime, idleExpirationTime);
+    }
+
+    private static long sumForExpiration(long startTime, long millis) {
+        long expirationTime = startTime + millis;
+        // detect potential overflow
+        return expirationTime < 0L ? Long.MAX_VALUE : expirationTime;
+    }
+
     private void initExpirationIterator() {
         if (expirationIterator == null || !expirationIterator.hasNext()) {
             expirationIterator = storage.mutationTolerantIterator();
@@ -220,4 +220,8 @@ abstract class AbstractRecordStore implements RecordStore<Record> {
         stats.setLastAccessTime(now);
         stats.increaseHits();
     }
+
+    protected void updateStatsOnLoad(long loadHits) {
+        stats.increaseLoadHits(loadHits);
+    }
 }
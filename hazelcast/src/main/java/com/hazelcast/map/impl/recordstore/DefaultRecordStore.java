@@ -150,6 +150,7 @@ public class DefaultRecordStore extends AbstractEvictableRecordStore {
     public void putRecord(Data key, Record record) {
         markRecordStoreExpirable(record.getTtl());
         storage.put(key, record);
+        addToExpirationIndex(record);
         eventJournal.writeAddEvent(mapContainer.getEventJournalConfig(), mapContainer.getObjectNamespace(), partitionId,
                 key, record.getValue());
         updateStatsOnPut(record.getHits());
@@ -169,6 +170,7 @@ public class DefaultRecordStore extends AbstractEvictableRecordStore {
         if (record == null) {
             record = createRecord(value, ttl, now);
             storage.put(key, record);
+            addToExpirationIndex(record);
             eventJournal.writeAddEvent(mapContainer.getEventJournalConfig(), mapContainer.getObjectNamespace(), partitionId,
                     key, record.getValue());
         } else {
@@ -242,6 +244,7 @@ public class DefaultRecordStore extends AbstractEvictableRecordStore {
         } else {
             storage.clear(false);
         }
+        clearExpirationIndex();
     }
 
     /**
@@ -354,10 +357,12 @@ public class DefaultRecordStore extends AbstractEvictableRecordStore {
         if (value != null) {
             record = createRecord(value, DEFAULT_TTL, getNow());
             storage.put(key, record);
+            addToExpirationIndex(record);
             eventJournal.writeAddEvent(mapContainer.getEventJournalConfig(), mapContainer.getObjectNamespace(), partitionId,
                     key, record.getValue());
             if (!backup) {
                 saveIndex(record, null);
+                updateStatsOnLoad(1);
             }
             evictEntries(key);
         }
@@ -435,6 +440,7 @@ public class DefaultRecordStore extends AbstractEvictableRecordStore {
     public void reset() {
         mapDataStore.reset();
         storage.clear(false);
+        clearExpirationIndex();
         eventJournal.destroy(mapContainer.getObjectNamespace(), partitionId);
         stats.reset();
     }
@@ -619,6 +625,7 @@ public class DefaultRecordStore extends AbstractEvictableRecordStore {
             putFromLoad(key, value);
 
         }
+        updateStatsOnLoad(resultMap.size());
 
         if (hasQueryCache()) {
             for (Data key : resultMap.keySet()) {
@@ -707,11 +714,13 @@ public class DefaultRecordStore extends AbstractEvictableRecordStore {
         if (record == null) {
             record = createRecord(value, ttl, now);
             storage.put(key, record);
+            addToExpirationIndex(record);
             eventJournal.writeAddEvent(mapContainer.getEventJournalConfig(), mapContainer.getObjectNamespace(), partitionId,
                     record.getKey(), record.getValue());
         } else {
             updateRecord(key, record, value, now);
             setTTLAndUpdateExpiryTime(ttl, record, mapContainer.getMapConfig(), false);
+            addToExpirationIndex(record);
         }
 
         saveIndex(record, oldValue);
@@ -738,6 +747,7 @@ public class DefaultRecordStore extends AbstractEvictableRecordStore {
             record = createRecord(newValue, DEFAULT_TTL, now);
             mergeRecordExpiration(record, mergingEntry);
             storage.put(key, record);
+            addToExpirationIndex(record);
             eventJournal.writeUpdateEvent(mapContainer.getEventJournalConfig(), mapContainer.getObjectNamespace(), partitionId,
                     key, null, record.getValue());
         } else {
@@ -757,6 +767,7 @@ public class DefaultRecordStore extends AbstractEvictableRecordStore {
             }
             if (newValue == mergingEntry.getValue()) {
                 mergeRecordExpiration(record, mergingEntry);
+                addToExpirationIndex(record);
             }
             // same with the existing entry so no need to map-store etc operations.
             if (recordComparator.isEqual(newValue, oldValue)) {
@@ -827,6 +838,7 @@ public class DefaultRecordStore extends AbstractEvictableRecordStore {
             value = mapServiceContext.interceptPut(name, null, value);
             record = createRecord(value, ttl, now);
             storage.put(key, record);
+            addToExpirationIndex(record);
             eventJournal.writeAddEvent(mapContainer.getEventJournalConfig(), mapContainer.getObjectNamespace(), partitionId,
                     record.getKey(), record.getValue());
         } else {
@@ -834,6 +846,7 @@ public class DefaultRecordStore extends AbstractEvictableRecordStore {
             value = mapServiceContext.interceptPut(name, oldValue, value);
             updateRecord(key, record, value, now);
             setTTLAndUpdateExpiryTime(ttl, record, mapContainer.getMapConfig(), false);
+            addToExpirationIndex(record);
         }
         saveIndex(record, oldValue);
         mapDataStore.addTransient(key, now);
@@ -873,6 +886,7 @@ public class DefaultRecordStore extends AbstractEvictableRecordStore {
             value = mapServiceContext.interceptPut(name, null, value);
             record = createRecord(value, ttl, now);
             storage.put(key, record);
+            addToExpirationIndex(record);
             eventJournal.writeAddEvent(mapContainer.getEventJournalConfig(), mapContainer.getObjectNamespace(), partitionId,
                     record.getKey(), record.getValue());
         } else {
@@ -880,6 +894,7 @@ public class DefaultRecordStore extends AbstractEvictableRecordStore {
             value = mapServiceContext.interceptPut(name, oldValue, value);
             updateRecord(key, record, value, now);
             setTTLAndUpdateExpiryTime(ttl, record, mapContainer.getMapConfig(), false);
+            addToExpirationIndex(record);
         }
         if (!backup) {
             saveIndex(record, oldValue);
@@ -920,6 +935,7 @@ public class DefaultRecordStore extends AbstractEvictableRecordStore {
             if (oldValue != null) {
                 record = createRecord(oldValue, DEFAULT_TTL, now);
                 storage.put(key, record);
+                addToExpirationIndex(record);
                 eventJournal.writeAddEvent(mapContainer.getEventJournalConfig(), mapContainer.getObjectNamespace(), partitionId,
                         record.getKey(), record.getValue());
             }
@@ -936,6 +952,7 @@ public class DefaultRecordStore extends AbstractEvictableRecordStore {
             eventJournal.writeAddEvent(mapContainer.getEventJournalConfig(), mapContainer.getObjectNamespace(), partitionId,
                     record.getKey(), record.getValue());
             setTTLAndUpdateExpiryTime(ttl, record, mapContainer.getMapConfig(), false);
+            addToExpirationIndex(record);
         }
         saveIndex(record, oldValue);
         return oldValue;
@@ -0,0 +1,133 @@
+/*
+ * Copyright (c) 2008-2018, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.map.impl.recordstore;
+
+import com.hazelcast.nio.serialization.Data;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+import static com.hazelcast.util.Preconditions.checkPositive;
+
+/**
+ * Bucketed index of keys by the time they are expected to expire.
+ * <p>
+ * Keys are grouped into buckets of {@code bucketMillis} width so that the keys
+ * which may have expired by a given time can be drained without scanning the
+ * whole record store. The index is maintained lazily: it only records when a
+ * key has to be checked next, it is not updated when an entry is accessed,
+ * updated or removed. Callers are expected to re-check every drained key
+ * against its record and to re-add the keys which have not expired yet.
+ * <p>
+ * A key is indexed at most once: adding a key which is already indexed
+ * in an earlier bucket is a no-op since the key will be checked (and
+ * re-added) by then anyway.
+ * <p>
+ * This class is not thread-safe, it is confined to the partition thread
+ * of its record store.
+ */
+final class ExpirationIndex {
+
+    private final long bucketMillis;
+    private final TreeMap<Long, Set<Data>> buckets = new TreeMap<Long, Set<Data>>();
+    private final Map<Data, Long> bucketByKey = new HashMap<Data, Long>();
+
+    ExpirationIndex(long bucketMillis) {
+        this.bucketMillis = checkPositive(bucketMillis, "bucketMillis should be a positive number");
+    }
+
+    /**
+     * Indexes the key to be checked at the given expiration time.
+     *
+     * @param key            the key to index
+     * @param expirationTime the time in millis at which the entry is expected
+     *                       to expire, {@link Long#MAX_VALUE} if it never expires
+     */
+    void add(Data key, long expirationTime) {
+        if (expirationTime == Long.MAX_VALUE) {
+            return;
+        }
+
+        Long bucket = expirationTime / bucketMillis;
+        Long existingBucket = bucketByKey.get(key);
+        if (existingBucket != null) {
+            if (existingBucket <= bucket) {
+                return;
+            }
+            removeFromBucket(existingBucket, key);
+        }
+
+        Set<Data> keys = buckets.get(bucket);
+        if (keys == null) {
+            keys = new HashSet<Data>();
+            buckets.put(bucket, keys);
+        }
+        keys.add(key);
+        bucketByKey.put(key, bucket);
+    }
+
+    /**
+     * Removes the keys of all buckets which ended before {@code now} from this
+     * index and adds them to the supplied collection.
+     *
+     * @param now      current time in millis
+     * @param maxCount maximum number of keys to drain
+     * @param drained  the collection to add the drained keys to
+     * @return the number of drained keys
+     */
+    int drainExpired(long now, int maxCount, Collection<Data> drained) {
+        long currentBucket = now / bucketMillis;
+        int count = 0;
+        while (count < maxCount && !buckets.isEmpty() && buckets.firstKey() < currentBucket) {
+            Set<Data> keys = buckets.firstEntry().getValue();
+            Iterator<Data> iterator = keys.iterator();
+            while (count < maxCount && iterator.hasNext()) {
+                Data key = iterator.next();
+                iterator.remove();
+                bucketByKey.remove(key);
+                drained.add(key);
+                count++;
+            }
+            if (keys.isEmpty()) {
+                buckets.pollFirstEntry();
+            }
+        }
+        return count;
+    }
+
+    int size() {
+        return bucketByKey.size();
+    }
+
+    void clear() {
+        buckets.clear();
+        bucketByKey.clear();
+    }
+
+    private void removeFromBucket(Long bucket, Data key) {
+        Set<Data> keys = buckets.get(bucket);
+        keys.remove(key);
+        if (keys.isEmpty()) {
+            buckets.remove(bucket);
+        }
+    }
+}
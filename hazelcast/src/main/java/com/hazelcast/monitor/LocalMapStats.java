@@ -92,6 +92,17 @@ public interface LocalMapStats extends LocalInstanceStats {
      */
     long getHits();
 
+    /**
+     * Returns the number of reads of locally owned entries which missed the in-memory
+     * entries and were served by loading the entry from the configured
+     * {@link com.hazelcast.core.MapLoader}. Reads are {@code get}, {@code getAll},
+     * {@code containsKey} and transactional {@code getForUpdate} calls; every entry
+     * loaded by a {@code getAll} counts as one read.
+     *
+     * @return number of reads of the locally owned entries served by the map loader.
+     */
+    long getLoadHits();
+
     /**
      * Returns the number of currently locked locally owned keys.
      *
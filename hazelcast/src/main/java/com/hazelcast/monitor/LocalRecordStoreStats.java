@@ -25,6 +25,14 @@ public interface LocalRecordStoreStats {
      */
     long getHits();
 
+    /**
+     * Returns the number of reads of this partition which missed the in-memory entries
+     * and were served by loading the entry from the configured {@link com.hazelcast.core.MapLoader}.
+     *
+     * @return number of reads of this partition served by the map loader.
+     */
+    long getLoadHits();
+
     /**
      * Returns the last access (read) time of the locally owned entries of this partition.
      *
@@ -49,6 +57,11 @@ public interface LocalRecordStoreStats {
      */
     void increaseHits(long hits);
 
+    /**
+     * Increases the number of reads of this partition served by the map loader.
+     */
+    void increaseLoadHits(long loadHits);
+
     /**
      * Decreases the number of hits of the locally owned entries of this partition.
      */
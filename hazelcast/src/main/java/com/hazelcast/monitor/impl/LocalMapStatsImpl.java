@@ -73,6 +73,11 @@ public class LocalMapStatsImpl implements LocalMapStats {
     private volatile long lastUpdateTime;
     @Probe
     private volatile long hits;
+    /**
+     * Reads which missed the in-memory entries and were served by the {@link com.hazelcast.core.MapLoader}.
+     */
+    @Probe
+    private volatile long loadHits;
     @Probe
     private volatile long numberOfOtherOperations;
     @Probe
@@ -195,6 +200,15 @@ public class LocalMapStatsImpl implements LocalMapStats {
         this.hits = hits;
     }
 
+    @Override
+    public long getLoadHits() {
+        return loadHits;
+    }
+
+    public void setLoadHits(long loadHits) {
+        this.loadHits = loadHits;
+    }
+
     @Override
     public long getLockedEntryCount() {
         return lockedEntryCount;
@@ -342,6 +356,7 @@ public class LocalMapStatsImpl implements LocalMapStats {
         root.add("lastAccessTime", lastAccessTime);
         root.add("lastUpdateTime", lastUpdateTime);
         root.add("hits", hits);
+        root.add("loadHits", loadHits);
         root.add("ownedEntryCount", ownedEntryCount);
         root.add("backupEntryCount", backupEntryCount);
         root.add("backupCount", backupCount);
@@ -385,6 +400,7 @@ public class LocalMapStatsImpl implements LocalMapStats {
         maxRemoveLatency = MILLISECONDS.toNanos(getLong(json, "maxRemoveLatency", -1L));
 
         hits = getLong(json, "hits", -1L);
+        loadHits = getLong(json, "loadHits", -1L);
         ownedEntryCount = getLong(json, "ownedEntryCount", -1L);
         backupEntryCount = getLong(json, "backupEntryCount", -1L);
         backupCount = getInt(json, "backupCount", -1);
@@ -407,6 +423,7 @@ public class LocalMapStatsImpl implements LocalMapStats {
                 + "lastAccessTime=" + lastAccessTime
                 + ", lastUpdateTime=" + lastUpdateTime
                 + ", hits=" + hits
+                + ", loadHits=" + loadHits
                 + ", numberOfOtherOperations=" + numberOfOtherOperations
                 + ", numberOfEvents=" + numberOfEvents
                 + ", getCount=" + getCount
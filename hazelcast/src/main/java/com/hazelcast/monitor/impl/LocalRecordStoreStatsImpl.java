@@ -20,6 +20,7 @@ import com.hazelcast.monitor.LocalRecordStoreStats;
 
 public class LocalRecordStoreStatsImpl implements LocalRecordStoreStats {
     private long hits;
+    private long loadHits;
     private long lastAccess;
     private long lastUpdate;
 
@@ -28,6 +29,11 @@ public class LocalRecordStoreStatsImpl implements LocalRecordStoreStats {
         return hits;
     }
 
+    @Override
+    public long getLoadHits() {
+        return loadHits;
+    }
+
     @Override
     public long getLastAccessTime() {
         return lastAccess;
@@ -48,6 +54,11 @@ public class LocalRecordStoreStatsImpl implements LocalRecordStoreStats {
         this.hits += hits;
     }
 
+    @Override
+    public void increaseLoadHits(long loadHits) {
+        this.loadHits += loadHits;
+    }
+
     @Override
     public void decreaseHits(long hits) {
         this.hits -= hits;
@@ -65,6 +76,7 @@ public class LocalRecordStoreStatsImpl implements LocalRecordStoreStats {
 
     public void reset() {
         this.hits = 0;
+        this.loadHits = 0;
         this.lastAccess = 0;
         this.lastUpdate = 0;
     }
@@ -63,6 +63,8 @@ public interface IOService {
 
     boolean isHealthcheckEnabled();
 
+    boolean isMetricsEnabled();
+
     void removeEndpoint(Address endpoint);
 
     void onSuccessfulConnection(Address address);
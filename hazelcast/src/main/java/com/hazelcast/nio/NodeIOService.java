@@ -128,6 +128,11 @@ public class NodeIOService implements IOService {
         return node.getProperties().getBoolean(GroupProperty.HTTP_HEALTHCHECK_ENABLED);
     }
 
+    @Override
+    public boolean isMetricsEnabled() {
+        return node.getProperties().getBoolean(GroupProperty.HTTP_METRICS_ENABLED);
+    }
+
     @Override
     public void removeEndpoint(final Address endPoint) {
         nodeEngine.getExecutionService().execute(ExecutionService.IO_EXECUTOR, new Runnable() {
@@ -74,6 +74,46 @@ public class PacketIOHelper {
         }
     }
 
+    /**
+     * Returns a view over the part of the packet value which has not been written yet, so it can be written to the
+     * socket without copying it into a buffer first. Once (some of) the bytes have been written,
+     * {@link #onValueWritten(int)} should be called.
+     *
+     * @param packet    the packet being written
+     * @param minLength the minimum number of remaining bytes
+     * @return the remaining bytes of the value, or {@code null} if the header has not been written yet or less than
+     * {@code minLength} bytes remain.
+     */
+    public ByteBuffer remainingValue(Packet packet, int minLength) {
+        if (!headerComplete) {
+            return null;
+        }
+
+        int bytesNeeded = size - valueOffset;
+        if (bytesNeeded == 0 || bytesNeeded < minLength) {
+            return null;
+        }
+
+        return ByteBuffer.wrap(packet.toByteArray(), valueOffset, bytesNeeded);
+    }
+
+    /**
+     * Advances the write position within the packet value by the given number of bytes.
+     *
+     * @param bytesWritten the number of value bytes written out of the buffer returned by
+     *                     {@link #remainingValue(Packet, int)}
+     * @return {@code true} if all the packet's data is now written out; {@code false} otherwise.
+     */
+    public boolean onValueWritten(int bytesWritten) {
+        valueOffset += bytesWritten;
+        if (valueOffset < size) {
+            return false;
+        }
+
+        reset();
+        return true;
+    }
+
     private boolean writeValue(Packet packet, ByteBuffer dst) {
         if (size > 0) {
             // the number of bytes that can be written to the bb.
@@ -103,6 +103,7 @@ public class TextChannelInboundHandler implements ChannelInboundHandler {
     private final boolean restEnabled;
     private final boolean memcacheEnabled;
     private final boolean healthcheckEnabled;
+    private final boolean metricsEnabled;
     private boolean connectionTypeSet;
     private long requestIdGen;
     private final ILogger logger;
@@ -116,6 +117,7 @@ public class TextChannelInboundHandler implements ChannelInboundHandler {
         this.memcacheEnabled = ioService.isMemcacheEnabled();
         this.restEnabled = ioService.isRestEnabled();
         this.healthcheckEnabled = ioService.isHealthcheckEnabled();
+        this.metricsEnabled = ioService.isMetricsEnabled();
         this.logger = ioService.getLoggingService().getLogger(getClass());
     }
 
@@ -212,11 +214,7 @@ public class TextChannelInboundHandler implements ChannelInboundHandler {
         if (!connectionTypeSet) {
             if (command instanceof HttpCommand) {
                 String uri = ((HttpCommand) command).getURI();
-                boolean isMancenterRequest = uri.startsWith(HttpCommandProcessor.URI_MANCENTER_CHANGE_URL);
-                boolean isClusterManagementRequest = uri.startsWith(HttpCommandProcessor.URI_CLUSTER_MANAGEMENT_BASE_URL);
-                boolean isHealthCheck = healthcheckEnabled && uri.startsWith(HttpCommandProcessor.URI_HEALTH_URL);
-                boolean forceRequestHandling = isClusterManagementRequest || isMancenterRequest || isHealthCheck;
-                if (!restEnabled && !forceRequestHandling) {
+                if (!restEnabled && !isForcedRequest(uri)) {
                     String msg = sslEnabled ? "REST not enabled" : "REST or SSL not enabled";
                     connection.close(msg, null);
                     return false;
@@ -235,6 +233,14 @@ public class TextChannelInboundHandler implements ChannelInboundHandler {
         return true;
     }
 
+    private boolean isForcedRequest(String uri) {
+        boolean isMancenterRequest = uri.startsWith(HttpCommandProcessor.URI_MANCENTER_CHANGE_URL);
+        boolean isClusterManagementRequest = uri.startsWith(HttpCommandProcessor.URI_CLUSTER_MANAGEMENT_BASE_URL);
+        boolean isHealthCheck = healthcheckEnabled && uri.startsWith(HttpCommandProcessor.URI_HEALTH_URL);
+        boolean isMetrics = metricsEnabled && uri.equals(HttpCommandProcessor.URI_METRICS_URL);
+        return isClusterManagementRequest || isMancenterRequest || isHealthCheck || isMetrics;
+    }
+
     private void processCmd(String cmd) {
         try {
             int space = cmd.indexOf(' ');
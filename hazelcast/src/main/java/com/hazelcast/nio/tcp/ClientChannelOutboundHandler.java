@@ -18,16 +18,37 @@ package com.hazelcast.nio.tcp;
 
 import com.hazelcast.client.impl.protocol.ClientMessage;
 import com.hazelcast.internal.networking.ChannelOutboundHandler;
+import com.hazelcast.internal.networking.DirectWriteOutboundHandler;
 
 import java.nio.ByteBuffer;
 
 /**
  * A {@link ChannelOutboundHandler} for the new-client. It writes ClientMessages to the ByteBuffer.
+ * <p>
+ * Messages marked as {@link ClientMessage#markRecyclable() recyclable} are recycled as soon as they are
+ * completely written.
  */
-public class ClientChannelOutboundHandler implements ChannelOutboundHandler<ClientMessage> {
+public class ClientChannelOutboundHandler implements DirectWriteOutboundHandler<ClientMessage> {
 
     @Override
     public boolean onWrite(ClientMessage message, ByteBuffer dst) throws Exception {
-        return message.writeTo(dst);
+        return recycleIfComplete(message, message.writeTo(dst));
+    }
+
+    @Override
+    public ByteBuffer remainingBytes(ClientMessage message, int minLength) {
+        return message.remainingBytes(minLength);
+    }
+
+    @Override
+    public boolean onDirectWrite(ClientMessage message, int bytesWritten) {
+        return recycleIfComplete(message, message.onBytesWritten(bytesWritten));
+    }
+
+    private static boolean recycleIfComplete(ClientMessage message, boolean complete) {
+        if (complete) {
+            message.recycle();
+        }
+        return complete;
     }
 }
@@ -17,6 +17,7 @@
 package com.hazelcast.nio.tcp;
 
 import com.hazelcast.internal.networking.ChannelOutboundHandler;
+import com.hazelcast.internal.networking.DirectWriteOutboundHandler;
 import com.hazelcast.nio.Packet;
 import com.hazelcast.nio.PacketIOHelper;
 
@@ -30,9 +31,12 @@ import java.nio.ByteBuffer;
  * It makes use of a flyweight to allow the sharing of a packet-instance over multiple connections. The flyweight contains
  * the actual 'position' state of what has been written.
  *
+ * Once the header of a large packet has been written, the rest of its value is written to the socket directly from
+ * the packet's byte-array, see {@link DirectWriteOutboundHandler}.
+ *
  * @see MemberChannelInboundHandler
  */
-public class MemberChannelOutboundHandler implements ChannelOutboundHandler<Packet> {
+public class MemberChannelOutboundHandler implements DirectWriteOutboundHandler<Packet> {
 
    private final PacketIOHelper packetWriter = new PacketIOHelper();
 
@@ -40,4 +44,14 @@ public class MemberChannelOutboundHandler implements ChannelOutboundHandler<Pack
     public boolean onWrite(Packet packet, ByteBuffer dst) {
         return packetWriter.writeTo(packet, dst);
     }
+
+    @Override
+    public ByteBuffer remainingBytes(Packet packet, int minLength) {
+        return packetWriter.remainingValue(packet, minLength);
+    }
+
+    @Override
+    public boolean onDirectWrite(Packet packet, int bytesWritten) {
+        return packetWriter.onValueWritten(bytesWritten);
+    }
 }
@@ -22,7 +22,6 @@ import com.hazelcast.internal.serialization.impl.DefaultPortableReader;
 import com.hazelcast.nio.serialization.ClassDefinition;
 import com.hazelcast.nio.serialization.Data;
 import com.hazelcast.nio.serialization.FieldDefinition;
-import com.hazelcast.nio.serialization.PortableReader;
 
 final class PortableGetter extends Getter {
 
@@ -37,12 +36,13 @@ final class PortableGetter extends Getter {
     Object getValue(Object target, String fieldPath) throws Exception {
         Data data = (Data) target;
         PortableContext context = serializationService.getPortableContext();
-        PortableReader reader = serializationService.createPortableReader(data);
-        ClassDefinition classDefinition = context.lookupClassDefinition(data);
+        DefaultPortableReader reader = (DefaultPortableReader) serializationService.createPortableReader(data);
+        // the reader has already resolved the class definition, no need to parse the data header again
+        ClassDefinition classDefinition = reader.getClassDefinition();
         FieldDefinition fieldDefinition = context.getFieldDefinition(classDefinition, fieldPath);
 
         if (fieldDefinition != null) {
-            return ((DefaultPortableReader) reader).read(fieldPath);
+            return reader.read(fieldPath);
         } else {
             return null;
         }
@@ -0,0 +1,221 @@
+/*
+ * Copyright (c) 2008-2018, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.ringbuffer.impl;
+
+import com.hazelcast.internal.memory.MemoryAccessor;
+import com.hazelcast.internal.memory.MemoryAllocator;
+import com.hazelcast.internal.serialization.impl.HeapData;
+import com.hazelcast.nio.Disposable;
+import com.hazelcast.nio.serialization.Data;
+import com.hazelcast.ringbuffer.StaleSequenceException;
+import com.hazelcast.spi.exception.DistributedObjectDestroyedException;
+
+import static com.hazelcast.internal.memory.MemoryAllocator.NULL_ADDRESS;
+
+/**
+ * A {@link Ringbuffer} that stores the serialized items outside of the Java heap, so a ringbuffer with millions of
+ * items doesn't put any pressure on the garbage collector.
+ * <p/>
+ * The ring is a fixed off-heap slot table with an entry of {@link #SLOT_SIZE} bytes per slot: the address of the
+ * block holding the bytes of the item and the length of the item. A slot without an item has the
+ * {@link MemoryAllocator#NULL_ADDRESS}. Every item has its own block, so an item can be set or overwritten at any
+ * sequence, e.g. by a backup or the expiration policy, without moving other items.
+ * <p/>
+ * Like the {@link ArrayRingbuffer}, this ringbuffer is only accessed by the partition thread. The native memory is
+ * released by {@link #dispose()}; reading or setting an item afterwards fails with a
+ * {@link DistributedObjectDestroyedException}.
+ */
+public class NativeRingbuffer implements Ringbuffer<Data>, Disposable {
+
+    static final int SLOT_SIZE = 16;
+    private static final int LENGTH_OFFSET = 8;
+
+    private final MemoryAccessor mem;
+    private final MemoryAllocator malloc;
+    private final int capacity;
+    private long slotTableAddress;
+    private long usedMemory;
+    private long tailSequence = -1;
+    private long headSequence = tailSequence + 1;
+
+    public NativeRingbuffer(int capacity, MemoryAccessor mem, MemoryAllocator malloc) {
+        this.capacity = capacity;
+        this.mem = mem;
+        this.malloc = malloc;
+        this.slotTableAddress = malloc.allocate(slotTableSize());
+        // the allocator doesn't zero the blocks, but an empty slot has to have the NULL_ADDRESS
+        mem.setMemory(slotTableAddress, slotTableSize(), (byte) 0);
+    }
+
+    private long slotTableSize() {
+        return (long) capacity * SLOT_SIZE;
+    }
+
+    @Override
+    public long tailSequence() {
+        return tailSequence;
+    }
+
+    @Override
+    public long peekNextTailSequence() {
+        return tailSequence + 1;
+    }
+
+    @Override
+    public void setTailSequence(long sequence) {
+        this.tailSequence = sequence;
+    }
+
+    @Override
+    public long headSequence() {
+        return headSequence;
+    }
+
+    @Override
+    public void setHeadSequence(long sequence) {
+        this.headSequence = sequence;
+    }
+
+    @Override
+    public long getCapacity() {
+        return capacity;
+    }
+
+    @Override
+    public long size() {
+        return tailSequence - headSequence + 1;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    @Override
+    public long add(Data item) {
+        // the item is stored first, so the ring is unchanged if there is not enough native memory
+        set(tailSequence + 1, item);
+
+        tailSequence++;
+
+        if (tailSequence - capacity == headSequence) {
+            headSequence++;
+        }
+
+        return tailSequence;
+    }
+
+    @Override
+    public Data read(long sequence) {
+        checkReadSequence(sequence);
+
+        long slotAddress = slotAddress(sequence);
+        long itemAddress = mem.getLong(slotAddress);
+        if (itemAddress == NULL_ADDRESS) {
+            return null;
+        }
+        byte[] bytes = new byte[mem.getInt(slotAddress + LENGTH_OFFSET)];
+        mem.copyToByteArray(itemAddress, bytes, 0, bytes.length);
+        return new HeapData(bytes);
+    }
+
+    @Override
+    public void checkBlockableReadSequence(long readSequence) {
+        if (readSequence > tailSequence + 1) {
+            throw new IllegalArgumentException("sequence:" + readSequence
+                    + " is too large. The current tailSequence is:" + tailSequence);
+        }
+
+        if (readSequence < headSequence) {
+            throw new StaleSequenceException("sequence:" + readSequence
+                    + " is too small. The current headSequence is:" + headSequence
+                    + " tailSequence is:" + tailSequence, headSequence);
+        }
+    }
+
+    @Override
+    public void checkReadSequence(long sequence) {
+        if (sequence > tailSequence) {
+            throw new IllegalArgumentException("sequence:" + sequence
+                    + " is too large. The current tailSequence is:" + tailSequence);
+        }
+
+        if (sequence < headSequence) {
+            throw new StaleSequenceException("sequence:" + sequence
+                    + " is too small. The current headSequence is:" + headSequence
+                    + " tailSequence is:" + tailSequence, headSequence);
+        }
+    }
+
+    @Override
+    public void set(long seq, Data data) {
+        long slotAddress = slotAddress(seq);
+        if (data == null) {
+            freeItem(slotAddress);
+            return;
+        }
+
+        byte[] bytes = data.toByteArray();
+        long itemAddress = malloc.allocate(bytes.length);
+        mem.copyFromByteArray(bytes, 0, itemAddress, bytes.length);
+        freeItem(slotAddress);
+        mem.putLong(slotAddress, itemAddress);
+        mem.putInt(slotAddress + LENGTH_OFFSET, bytes.length);
+        usedMemory += bytes.length;
+    }
+
+    private void freeItem(long slotAddress) {
+        long itemAddress = mem.getLong(slotAddress);
+        if (itemAddress == NULL_ADDRESS) {
+            return;
+        }
+        int length = mem.getInt(slotAddress + LENGTH_OFFSET);
+        malloc.free(itemAddress, length);
+        mem.putLong(slotAddress, NULL_ADDRESS);
+        mem.putInt(slotAddress + LENGTH_OFFSET, 0);
+        usedMemory -= length;
+    }
+
+    private long slotAddress(long sequence) {
+        if (slotTableAddress == NULL_ADDRESS) {
+            // a stale container reference, e.g. of an operation that outlived the destroy of the ringbuffer
+            throw new DistributedObjectDestroyedException("Ringbuffer is already destroyed");
+        }
+        return slotTableAddress + (sequence % capacity) * SLOT_SIZE;
+    }
+
+    /**
+     * Returns the number of bytes used by the items, excluding the slot table.
+     *
+     * @return the used native memory in bytes
+     */
+    long getUsedMemory() {
+        return usedMemory;
+    }
+
+    @Override
+    public void dispose() {
+        if (slotTableAddress == NULL_ADDRESS) {
+            return;
+        }
+        for (int slot = 0; slot < capacity; slot++) {
+            freeItem(slotTableAddress + (long) slot * SLOT_SIZE);
+        }
+        malloc.free(slotTableAddress, slotTableSize());
+        slotTableAddress = NULL_ADDRESS;
+    }
+}
@@ -19,6 +19,9 @@ package com.hazelcast.ringbuffer.impl;
 import com.hazelcast.config.InMemoryFormat;
 import com.hazelcast.config.RingbufferConfig;
 import com.hazelcast.core.HazelcastException;
+import com.hazelcast.internal.memory.MemoryAllocator;
+import com.hazelcast.memory.NativeOutOfMemoryError;
+import com.hazelcast.nio.Disposable;
 import com.hazelcast.nio.ObjectDataInput;
 import com.hazelcast.nio.ObjectDataOutput;
 import com.hazelcast.nio.VersionAware;
@@ -34,10 +37,12 @@ import com.hazelcast.spi.serialization.SerializationService;
 
 import java.io.IOException;
 
-import static com.hazelcast.config.InMemoryFormat.BINARY;
+import static com.hazelcast.config.InMemoryFormat.NATIVE;
 import static com.hazelcast.config.InMemoryFormat.OBJECT;
 import static com.hazelcast.config.InMemoryFormat.values;
 import static com.hazelcast.internal.cluster.Versions.V3_9;
+import static com.hazelcast.internal.memory.GlobalMemoryAccessorRegistry.MEM;
+import static com.hazelcast.internal.memory.GlobalMemoryAccessorRegistry.MEM_AVAILABLE;
 import static java.util.concurrent.TimeUnit.SECONDS;
 
 /**
@@ -104,10 +109,26 @@ public class RingbufferContainer<T> implements IdentifiedDataSerializable, Notif
     public RingbufferContainer(ObjectNamespace namespace, RingbufferConfig config,
                                SerializationService serializationService,
                                ClassLoader configClassLoader, int partitionId) {
+        this(namespace, config, serializationService, configClassLoader, partitionId, null);
+    }
+
+    /**
+     * Constructs a fully initialized ring buffer that can be used immediately. If the ring buffer is configured with the
+     * {@link InMemoryFormat#NATIVE} format, the items are stored in native memory allocated by the given allocator.
+     *
+     * @param namespace            the namespace of the ring buffer container
+     * @param config               the configuration of the ring buffer
+     * @param serializationService the serialization service
+     * @param configClassLoader    the class loader for which the ring buffer store classes will be loaded
+     * @param malloc               the allocator of the native memory, {@code null} to store the items on the heap
+     */
+    public RingbufferContainer(ObjectNamespace namespace, RingbufferConfig config,
+                               SerializationService serializationService,
+                               ClassLoader configClassLoader, int partitionId, MemoryAllocator malloc) {
         this(namespace, partitionId);
 
         this.inMemoryFormat = config.getInMemoryFormat();
-        this.ringbuffer = new ArrayRingbuffer(config.getCapacity());
+        this.ringbuffer = createRingbuffer(inMemoryFormat, config.getCapacity(), malloc);
 
         final long ttlMs = SECONDS.toMillis(config.getTimeToLiveSeconds());
         if (ttlMs != TTL_DISABLED) {
@@ -116,6 +137,46 @@ public class RingbufferContainer<T> implements IdentifiedDataSerializable, Notif
         init(config, serializationService, configClassLoader);
     }
 
+    /**
+     * Creates the ring for the given in-memory format. The {@link InMemoryFormat#NATIVE} ring stores the items outside of
+     * the Java heap; if there is no allocator or native memory can't be accessed on this JVM, the serialized items are
+     * stored on the heap instead.
+     */
+    private static Ringbuffer createRingbuffer(InMemoryFormat inMemoryFormat, int capacity, MemoryAllocator malloc) {
+        if (inMemoryFormat == NATIVE && malloc != null && MEM_AVAILABLE) {
+            return new NativeRingbuffer(capacity, MEM, malloc);
+        }
+        return new ArrayRingbuffer(capacity);
+    }
+
+    /**
+     * Moves the items of a {@link InMemoryFormat#NATIVE} ring buffer from the heap to native memory. A replicated
+     * container is read by {@link #readData(ObjectDataInput)} without access to the allocator of this member, so it
+     * keeps its items on the heap until it is added to the {@link RingbufferService}.
+     *
+     * @param malloc the allocator of the native memory, {@code null} to keep the items on the heap
+     */
+    public void moveToNativeMemory(MemoryAllocator malloc) {
+        if (!(ringbuffer instanceof ArrayRingbuffer)) {
+            return;
+        }
+        Ringbuffer nativeRingbuffer = createRingbuffer(inMemoryFormat, (int) ringbuffer.getCapacity(), malloc);
+        if (nativeRingbuffer instanceof ArrayRingbuffer) {
+            return;
+        }
+        nativeRingbuffer.setTailSequence(ringbuffer.tailSequence());
+        nativeRingbuffer.setHeadSequence(ringbuffer.headSequence());
+        try {
+            for (long seq = ringbuffer.headSequence(); seq <= ringbuffer.tailSequence(); seq++) {
+                nativeRingbuffer.set(seq, ringbuffer.read(seq));
+            }
+        } catch (NativeOutOfMemoryError e) {
+            ((Disposable) nativeRingbuffer).dispose();
+            throw e;
+        }
+        ringbuffer = nativeRingbuffer;
+    }
+
     /**
      * Initializes the ring buffer with references to other services, the ring buffer store and the config. This is because
      * on a replication operation the container is only partially constructed. The init method finishes the configuration
@@ -522,10 +583,10 @@ public class RingbufferContainer<T> implements IdentifiedDataSerializable, Notif
 
         // we only write the actual content of the ringbuffer. So we don't write empty slots.
         for (long seq = ringbuffer.headSequence(); seq <= ringbuffer.tailSequence(); seq++) {
-            if (inMemoryFormat == BINARY) {
-                out.writeData((Data) ringbuffer.read(seq));
-            } else {
+            if (inMemoryFormat == OBJECT) {
                 out.writeObject(ringbuffer.read(seq));
+            } else {
+                out.writeData((Data) ringbuffer.read(seq));
             }
 
             // we write the time difference compared to now. Because the clock on the receiving side
@@ -564,10 +625,10 @@ public class RingbufferContainer<T> implements IdentifiedDataSerializable, Notif
 
         long now = System.currentTimeMillis();
         for (long seq = headSequence; seq <= tailSequence; seq++) {
-            if (inMemoryFormat == BINARY) {
-                ringbuffer.set(seq, in.readData());
-            } else {
+            if (inMemoryFormat == OBJECT) {
                 ringbuffer.set(seq, in.readObject());
+            } else {
+                ringbuffer.set(seq, in.readData());
             }
 
             if (ttlEnabled) {
@@ -581,6 +642,16 @@ public class RingbufferContainer<T> implements IdentifiedDataSerializable, Notif
         return versionAware.getVersion().isGreaterOrEqual(V3_9);
     }
 
+    /**
+     * Releases the native memory held by the ring buffer, if any. Reading or setting an item afterwards fails with a
+     * {@link com.hazelcast.spi.exception.DistributedObjectDestroyedException}.
+     */
+    public void dispose() {
+        if (ringbuffer instanceof Disposable) {
+            ((Disposable) ringbuffer).dispose();
+        }
+    }
+
     Ringbuffer getRingbuffer() {
         return ringbuffer;
     }
@@ -17,9 +17,11 @@
 package com.hazelcast.ringbuffer.impl;
 
 import com.hazelcast.config.Config;
+import com.hazelcast.config.NativeMemoryConfig;
 import com.hazelcast.config.RingbufferConfig;
 import com.hazelcast.core.DistributedObject;
 import com.hazelcast.internal.cluster.Versions;
+import com.hazelcast.internal.memory.impl.UnsafeMemoryAllocator;
 import com.hazelcast.nio.serialization.Data;
 import com.hazelcast.partition.strategy.StringPartitioningStrategy;
 import com.hazelcast.quorum.QuorumService;
@@ -37,28 +39,37 @@ import com.hazelcast.spi.QuorumAwareService;
 import com.hazelcast.spi.RemoteService;
 import com.hazelcast.spi.ServiceNamespace;
 import com.hazelcast.spi.impl.NodeEngineImpl;
+import com.hazelcast.spi.impl.PartitionSpecificRunnable;
+import com.hazelcast.spi.impl.operationservice.InternalOperationService;
 import com.hazelcast.spi.serialization.SerializationService;
 import com.hazelcast.util.ConstructorFunction;
 import com.hazelcast.util.ContextMutexFactory;
 import com.hazelcast.version.Version;
 
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Properties;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.CountDownLatch;
 
+import static com.hazelcast.config.InMemoryFormat.NATIVE;
+import static com.hazelcast.internal.config.ConfigValidator.checkRingbufferConfig;
 import static com.hazelcast.spi.partition.MigrationEndpoint.DESTINATION;
 import static com.hazelcast.spi.partition.MigrationEndpoint.SOURCE;
 import static com.hazelcast.util.ConcurrencyUtil.getOrPutSynchronized;
 import static com.hazelcast.util.MapUtil.isNullOrEmpty;
 import static com.hazelcast.util.Preconditions.checkNotNull;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.SECONDS;
 
 /**
  * The SPI Service that deals with the {@link com.hazelcast.ringbuffer.Ringbuffer}.
@@ -76,6 +87,7 @@ public class RingbufferService implements ManagedService, RemoteService, Fragmen
     public static final String SERVICE_NAME = "hz:impl:ringbufferService";
 
     private static final Object NULL_OBJECT = new Object();
+    private static final long DISPOSE_TIMEOUT_MILLIS = SECONDS.toMillis(10);
 
     /**
      * Map from namespace to actual ringbuffer containers. The namespace defines the service and object name which
@@ -90,6 +102,12 @@ public class RingbufferService implements ManagedService, RemoteService, Fragmen
 
     private final QuorumService quorumService;
 
+    /**
+     * The allocator of the native memory of the {@link com.hazelcast.config.InMemoryFormat#NATIVE} ringbuffers, {@code null}
+     * if native memory is not enabled or not available on this JVM.
+     */
+    private final UnsafeMemoryAllocator nativeMemoryAllocator;
+
     private final ConcurrentMap<String, Object> quorumConfigCache = new ConcurrentHashMap<String, Object>();
     private final ContextMutexFactory quorumConfigCacheMutexFactory = new ContextMutexFactory();
     private final ConstructorFunction<String, Object> quorumConfigConstructor = new ConstructorFunction<String, Object>() {
@@ -106,6 +124,13 @@ public class RingbufferService implements ManagedService, RemoteService, Fragmen
     public RingbufferService(NodeEngineImpl nodeEngine) {
         this.nodeEngine = checkNotNull(nodeEngine, "nodeEngine can't be null");
         this.quorumService = nodeEngine.getQuorumService();
+        NativeMemoryConfig nativeMemoryConfig = nodeEngine.getConfig().getNativeMemoryConfig();
+        if (nativeMemoryConfig.isEnabled() && UnsafeMemoryAllocator.isAvailable()) {
+            this.nativeMemoryAllocator = new UnsafeMemoryAllocator(nativeMemoryConfig.getSize().bytes());
+            nodeEngine.getMetricsRegistry().scanAndRegister(nativeMemoryAllocator, "ringbuffer.nativeMemory");
+        } else {
+            this.nativeMemoryAllocator = null;
+        }
     }
 
     private static String getConfigName(String name) {
@@ -120,9 +145,15 @@ public class RingbufferService implements ManagedService, RemoteService, Fragmen
         return containers;
     }
 
+    // just for testing
+    UnsafeMemoryAllocator getNativeMemoryAllocator() {
+        return nativeMemoryAllocator;
+    }
+
     @Override
     public DistributedObject createDistributedObject(String objectName) {
         final RingbufferConfig ringbufferConfig = getRingbufferConfig(objectName);
+        checkRingbufferConfig(ringbufferConfig, nodeEngine.getConfig().getNativeMemoryConfig());
         return new RingbufferProxy(nodeEngine, this, objectName, ringbufferConfig);
     }
 
@@ -138,7 +169,55 @@ public class RingbufferService implements ManagedService, RemoteService, Fragmen
         if (partitionContainers == null) {
             return;
         }
-        partitionContainers.remove(namespace);
+        final RingbufferContainer container = partitionContainers.remove(namespace);
+        if (container != null) {
+            disposeOnPartitionThread(partitionId, container);
+        }
+    }
+
+    /**
+     * Releases the native memory of a removed container. This is done on the partition thread, so the memory isn't
+     * freed while an operation is still using the container.
+     */
+    private void disposeOnPartitionThread(int partitionId, RingbufferContainer container) {
+        if (isNative(container)) {
+            new DisposeTask(partitionId, Collections.singletonList(container)).execute(nodeEngine);
+        }
+    }
+
+    /**
+     * Releases the native memory of all containers and waits until it's released. The memory is released on the
+     * partition threads, so it isn't freed while an operation is still using a container. If a partition thread doesn't
+     * get to it in time, the memory is left to that partition thread: freeing it from the calling thread could pull it
+     * from under a running operation, since the partition threads still run while the services are shut down.
+     */
+    private void disposeAllAndWait() {
+        List<DisposeTask> tasks = new ArrayList<DisposeTask>();
+        for (Entry<Integer, Map<ObjectNamespace, RingbufferContainer>> entry : containers.entrySet()) {
+            List<RingbufferContainer> nativeContainers = new ArrayList<RingbufferContainer>();
+            for (RingbufferContainer container : entry.getValue().values()) {
+                if (isNative(container)) {
+                    nativeContainers.add(container);
+                }
+            }
+            if (!nativeContainers.isEmpty()) {
+                DisposeTask task = new DisposeTask(entry.getKey(), nativeContainers);
+                tasks.add(task);
+                task.execute(nodeEngine);
+            }
+        }
+
+        long deadline = System.currentTimeMillis() + DISPOSE_TIMEOUT_MILLIS;
+        for (DisposeTask task : tasks) {
+            if (!task.await(deadline - System.currentTimeMillis())) {
+                nodeEngine.getLogger(getClass()).warning("The native memory of the ringbuffers of partition "
+                        + task.getPartitionId() + " was not released within " + DISPOSE_TIMEOUT_MILLIS + " ms");
+            }
+        }
+    }
+
+    private static boolean isNative(RingbufferContainer container) {
+        return container.getConfig() != null && container.getConfig().getInMemoryFormat() == NATIVE;
     }
 
     @Override
@@ -148,6 +227,7 @@ public class RingbufferService implements ManagedService, RemoteService, Fragmen
 
     @Override
     public void reset() {
+        disposeAllAndWait();
         containers.clear();
     }
 
@@ -189,11 +269,12 @@ public class RingbufferService implements ManagedService, RemoteService, Fragmen
             return ringbuffer;
         }
 
+        checkRingbufferConfig(config, nodeEngine.getConfig().getNativeMemoryConfig());
         ringbuffer = new RingbufferContainer<T>(
                 namespace,
                 config,
                 nodeEngine.getSerializationService(),
-                nodeEngine.getConfigClassLoader(), partitionId);
+                nodeEngine.getConfigClassLoader(), partitionId, nativeMemoryAllocator);
         ringbuffer.getStore().instrument(nodeEngine);
         partitionContainers.put(namespace, ringbuffer);
         return ringbuffer;
@@ -242,8 +323,13 @@ public class RingbufferService implements ManagedService, RemoteService, Fragmen
         checkNotNull(ringbuffer, "ringbuffer can't be null");
         final SerializationService serializationService = nodeEngine.getSerializationService();
         ringbuffer.init(config, serializationService, nodeEngine.getConfigClassLoader());
+        ringbuffer.moveToNativeMemory(nativeMemoryAllocator);
         ringbuffer.getStore().instrument(nodeEngine);
-        getOrCreateRingbufferContainers(partitionId).put(ringbuffer.getNamespace(), ringbuffer);
+        final RingbufferContainer previous
+                = getOrCreateRingbufferContainers(partitionId).put(ringbuffer.getNamespace(), ringbuffer);
+        if (previous != null) {
+            disposeOnPartitionThread(partitionId, previous);
+        }
     }
 
     @Override
@@ -304,6 +390,7 @@ public class RingbufferService implements ManagedService, RemoteService, Fragmen
             final RingbufferContainer container = entry.getValue();
             if (thresholdReplicaIndex < 0 || container.getConfig().getTotalBackupCount() < thresholdReplicaIndex) {
                 iterator.remove();
+                disposeOnPartitionThread(partitionId, container);
             }
         }
     }
@@ -346,4 +433,46 @@ public class RingbufferService implements ManagedService, RemoteService, Fragmen
         quorumService.ensureQuorumPresent(getQuorumName(distributedObjectName), requiredQuorumPermissionType);
     }
 
+
+    /**
+     * Releases the native memory of the containers of a partition. The task runs at most once, either on the partition
+     * thread or on the thread which gave up waiting for it.
+     */
+    private static final class DisposeTask implements PartitionSpecificRunnable {
+
+        private final int partitionId;
+        private final Collection<RingbufferContainer> containers;
+        private final CountDownLatch done = new CountDownLatch(1);
+
+        DisposeTask(int partitionId, Collection<RingbufferContainer> containers) {
+            this.partitionId = partitionId;
+            this.containers = containers;
+        }
+
+        @Override
+        public void run() {
+            for (RingbufferContainer container : containers) {
+                container.dispose();
+            }
+            done.countDown();
+        }
+
+        @Override
+        public int getPartitionId() {
+            return partitionId;
+        }
+
+        void execute(NodeEngine nodeEngine) {
+            ((InternalOperationService) nodeEngine.getOperationService()).execute(this);
+        }
+
+        boolean await(long timeoutMillis) {
+            try {
+                return done.await(timeoutMillis, MILLISECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return false;
+            }
+        }
+    }
 }
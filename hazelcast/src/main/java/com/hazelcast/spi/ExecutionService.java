@@ -91,6 +91,16 @@ public interface ExecutionService {
      */
     String MAP_LOAD_ALL_KEYS_EXECUTOR = "hz:map-loadAllKeys";
 
+    /**
+     * Name of the executor that runs parallel write-behind flushes when
+     * {@link com.hazelcast.spi.properties.GroupProperty#MAP_WRITE_BEHIND_FLUSH_PARALLELISM}
+     * is bigger than 1. This is the executor you want to configure when
+     * you want to store more data to the database in parallel.
+     *
+     * @see com.hazelcast.core.MapStore#storeAll(java.util.Map)
+     */
+    String MAP_WRITE_BEHIND_EXECUTOR = "hz:map-write-behind";
+
     ManagedExecutorService register(String name, int poolSize, int queueCapacity, ExecutorType type);
 
     ManagedExecutorService getExecutor(String name);
@@ -38,6 +38,7 @@ import com.hazelcast.internal.metrics.metricsets.StatisticsAwareMetricsSet;
 import com.hazelcast.internal.metrics.metricsets.ThreadMetricSet;
 import com.hazelcast.internal.partition.InternalPartitionService;
 import com.hazelcast.internal.partition.MigrationInfo;
+import com.hazelcast.internal.tracing.Tracer;
 import com.hazelcast.internal.usercodedeployment.UserCodeDeploymentClassLoader;
 import com.hazelcast.internal.usercodedeployment.UserCodeDeploymentService;
 import com.hazelcast.logging.ILogger;
@@ -81,6 +82,7 @@ import java.util.LinkedList;
 
 import static com.hazelcast.internal.diagnostics.Diagnostics.METRICS_DISTRIBUTED_DATASTRUCTURES;
 import static com.hazelcast.internal.diagnostics.Diagnostics.METRICS_LEVEL;
+import static com.hazelcast.spi.properties.GroupProperty.TRACING_SAMPLE_RATE;
 import static java.lang.System.currentTimeMillis;
 
 /**
@@ -114,6 +116,7 @@ public class NodeEngineImpl implements NodeEngine {
     private final PacketHandler packetDispatcher;
     private final QuorumServiceImpl quorumService;
     private final Diagnostics diagnostics;
+    private final Tracer tracer;
     private final SplitBrainMergePolicyProvider splitBrainMergePolicyProvider;
 
     @SuppressWarnings("checkstyle:executablestatementcount")
@@ -123,6 +126,7 @@ public class NodeEngineImpl implements NodeEngine {
         this.loggingService = node.loggingService;
         this.logger = node.getLogger(NodeEngine.class.getName());
         this.metricsRegistry = newMetricRegistry(node);
+        this.tracer = new Tracer(node.getProperties().getFloat(TRACING_SAMPLE_RATE), node.getLogger(Tracer.class));
         this.proxyService = new ProxyServiceImpl(this);
         this.serviceManager = new ServiceManagerImpl(this);
         this.executionService = new ExecutionServiceImpl(this);
@@ -211,6 +215,10 @@ public class NodeEngineImpl implements NodeEngine {
         return diagnostics;
     }
 
+    public Tracer getTracer() {
+        return tracer;
+    }
+
     public ClusterWideConfigurationService getConfigurationService() {
         return configurationService;
     }
@@ -0,0 +1,192 @@
+/*
+ * Copyright (c) 2008-2018, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.spi.impl;
+
+import com.hazelcast.internal.serialization.InternalSerializationService;
+import com.hazelcast.nio.BufferObjectDataInput;
+import com.hazelcast.nio.BufferObjectDataOutput;
+import com.hazelcast.nio.ObjectDataInput;
+import com.hazelcast.nio.ObjectDataOutput;
+import com.hazelcast.nio.serialization.HazelcastSerializationException;
+
+import java.io.IOException;
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.RandomAccess;
+
+import static com.hazelcast.nio.IOUtil.closeResource;
+import static com.hazelcast.util.Preconditions.checkNotNull;
+
+/**
+ * An {@link UnmodifiableLazyList} which keeps the serialized form of its elements when it is read: reading it copies
+ * the serialized elements as a single block and an element is deserialized only when it is accessed. As long as no
+ * element was accessed, writing the list again writes the block it was read from.
+ * <p>
+ * It can only be serialized with the {@link ObjectDataOutput} and {@link ObjectDataInput} instances provided by
+ * Hazelcast. This class is not thread-safe.
+ *
+ * @param <E> the type of the elements
+ */
+public class SerializedLazyList<E> extends UnmodifiableLazyList<E> implements RandomAccess {
+
+    private final SerializedElements elements;
+
+    public SerializedLazyList() {
+        this(new SerializedElements(new Object[0]));
+    }
+
+    public SerializedLazyList(Collection<? extends E> collection) {
+        this(new SerializedElements(checkNotNull(collection, "collection can't be null").toArray()));
+    }
+
+    private SerializedLazyList(SerializedElements elements) {
+        super(elements, null);
+        this.elements = elements;
+    }
+
+    /**
+     * Checks if the element at the given index has been deserialized.
+     *
+     * @param index the index of the element
+     * @return {@code true} if the element has been deserialized or was not serialized in the first place
+     */
+    public boolean isDeserialized(int index) {
+        return elements.isDeserialized(index);
+    }
+
+    @Override
+    public void writeData(ObjectDataOutput out) throws IOException {
+        elements.writeData(out);
+    }
+
+    @Override
+    public void readData(ObjectDataInput in) throws IOException {
+        elements.readData(in);
+    }
+
+    @Override
+    public int getId() {
+        return SpiDataSerializerHook.SERIALIZED_LAZY_LIST;
+    }
+
+    private static InternalSerializationService getSerializationService(Object dataInputOrOutput) {
+        if (!(dataInputOrOutput instanceof SerializationServiceSupport)) {
+            throw new HazelcastSerializationException("SerializedLazyList can't be serialized with " + dataInputOrOutput);
+        }
+        return (InternalSerializationService) ((SerializationServiceSupport) dataInputOrOutput).getSerializationService();
+    }
+
+    /**
+     * The backing list of a {@link SerializedLazyList}. Once serialized or read, it deserializes an element from the
+     * serialized block on its first access.
+     */
+    private static final class SerializedElements extends AbstractList<Object> implements RandomAccess {
+
+        // marks the elements which have not been deserialized yet, null is a valid element
+        private static final Object NOT_DESERIALIZED = new Object();
+
+        private Object[] elements;
+        // offsets of the serialized elements within the serialized block, null until serialized or read
+        private int[] offsets;
+        private byte[] serializedElements;
+        private InternalSerializationService serializationService;
+        private BufferObjectDataInput elementInput;
+
+        SerializedElements(Object[] elements) {
+            this.elements = elements;
+        }
+
+        @Override
+        public int size() {
+            return elements.length;
+        }
+
+        @Override
+        public Object get(int index) {
+            if (index < 0 || index >= elements.length) {
+                throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + elements.length);
+            }
+            Object element = elements[index];
+            if (element == NOT_DESERIALIZED) {
+                element = deserialize(index);
+                elements[index] = element;
+            }
+            return element;
+        }
+
+        boolean isDeserialized(int index) {
+            return elements[index] != NOT_DESERIALIZED;
+        }
+
+        void writeData(ObjectDataOutput out) throws IOException {
+            if (serializedElements == null) {
+                serialize(getSerializationService(out));
+            }
+            out.writeIntArray(offsets);
+            out.writeByteArray(serializedElements);
+        }
+
+        void readData(ObjectDataInput in) throws IOException {
+            InternalSerializationService service = getSerializationService(in);
+            int[] elementOffsets = in.readIntArray();
+            byte[] serialized = in.readByteArray();
+            closeElementInput();
+            Object[] deserialized = new Object[elementOffsets.length];
+            Arrays.fill(deserialized, NOT_DESERIALIZED);
+            this.serializationService = service;
+            this.offsets = elementOffsets;
+            this.serializedElements = serialized;
+            this.elements = deserialized;
+        }
+
+        private void serialize(InternalSerializationService service) throws IOException {
+            BufferObjectDataOutput out = service.createObjectDataOutput();
+            try {
+                int[] elementOffsets = new int[elements.length];
+                for (int i = 0; i < elementOffsets.length; i++) {
+                    elementOffsets[i] = out.position();
+                    out.writeObject(elements[i]);
+                }
+                this.serializationService = service;
+                this.offsets = elementOffsets;
+                this.serializedElements = out.toByteArray();
+            } finally {
+                closeResource(out);
+            }
+        }
+
+        private Object deserialize(int index) {
+            if (serializationService == null) {
+                throw new IllegalStateException("SerializedLazyList has no serialization service to deserialize element "
+                        + index);
+            }
+            if (elementInput == null) {
+                elementInput = serializationService.createObjectDataInput(serializedElements);
+            }
+            elementInput.position(offsets[index]);
+            return serializationService.readObject(elementInput);
+        }
+
+        private void closeElementInput() {
+            if (elementInput != null) {
+                closeResource(elementInput);
+                elementInput = null;
+            }
+        }
+    }
+}
@@ -22,6 +22,7 @@ import com.hazelcast.nio.serialization.DataSerializableFactory;
 import com.hazelcast.nio.serialization.IdentifiedDataSerializable;
 import com.hazelcast.spi.OperationControl;
 import com.hazelcast.spi.DistributedObjectNamespace;
+import com.hazelcast.spi.impl.eventservice.impl.EventBatch;
 import com.hazelcast.spi.impl.eventservice.impl.EventEnvelope;
 import com.hazelcast.spi.impl.eventservice.impl.TrueEventFilter;
 import com.hazelcast.spi.impl.eventservice.impl.operations.DeregistrationOperation;
@@ -67,6 +68,8 @@ public final class SpiDataSerializerHook implements DataSerializerHook {
     public static final int UNMODIFIABLE_LAZY_LIST = 18;
     public static final int OPERATION_CONTROL = 19;
     public static final int DISTRIBUTED_OBJECT_NS = 20;
+    public static final int SERIALIZED_LAZY_LIST = 21;
+    public static final int EVENT_BATCH = 22;
 
     private static final DataSerializableFactory FACTORY = createFactoryInternal();
 
@@ -122,6 +125,10 @@ public final class SpiDataSerializerHook implements DataSerializerHook {
                         return new OperationControl();
                     case DISTRIBUTED_OBJECT_NS:
                         return new DistributedObjectNamespace();
+                    case SERIALIZED_LAZY_LIST:
+                        return new SerializedLazyList();
+                    case EVENT_BATCH:
+                        return new EventBatch();
                     default:
                         return null;
                 }
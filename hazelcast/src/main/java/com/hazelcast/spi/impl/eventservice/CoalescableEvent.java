@@ -0,0 +1,33 @@
+/*
+ * Copyright (c) 2008-2018, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.spi.impl.eventservice;
+
+/**
+ * An event that can be replaced by a later event with the same coalescing key while the events are batched.
+ *
+ * @see com.hazelcast.spi.properties.GroupProperty#EVENT_COALESCING_ENABLED
+ */
+public interface CoalescableEvent {
+
+    /**
+     * Returns the key that identifies the events that can replace each other, e.g. the key of a map entry, or
+     * {@code null} if this event can't be replaced and always needs to be delivered.
+     *
+     * @return the coalescing key or {@code null}
+     */
+    Object getCoalescingKey();
+}
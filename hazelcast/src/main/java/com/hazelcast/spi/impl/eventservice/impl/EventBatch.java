@@ -0,0 +1,83 @@
+/*
+ * Copyright (c) 2008-2018, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.spi.impl.eventservice.impl;
+
+import com.hazelcast.nio.ObjectDataInput;
+import com.hazelcast.nio.ObjectDataOutput;
+import com.hazelcast.nio.serialization.Data;
+import com.hazelcast.nio.serialization.IdentifiedDataSerializable;
+import com.hazelcast.spi.impl.SpiDataSerializerHook;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A batch of events for a single listener registration. The batch is published as the event of an
+ * {@link EventEnvelope}; the events are dispatched to the listener in the order of the batch.
+ * <p>
+ * A batch that is sent to a remote subscriber only contains serialized events.
+ *
+ * @see EventBatcher
+ */
+public final class EventBatch implements IdentifiedDataSerializable {
+
+    private List<Object> events;
+
+    public EventBatch() {
+    }
+
+    EventBatch(List<Object> events) {
+        this.events = events;
+    }
+
+    public List<Object> getEvents() {
+        return events;
+    }
+
+    @Override
+    public int getFactoryId() {
+        return SpiDataSerializerHook.F_ID;
+    }
+
+    @Override
+    public int getId() {
+        return SpiDataSerializerHook.EVENT_BATCH;
+    }
+
+    @Override
+    public void writeData(ObjectDataOutput out) throws IOException {
+        out.writeInt(events.size());
+        for (Object event : events) {
+            out.writeData((Data) event);
+        }
+    }
+
+    @Override
+    public void readData(ObjectDataInput in) throws IOException {
+        int size = in.readInt();
+        events = new ArrayList<Object>(size);
+        for (int k = 0; k < size; k++) {
+            events.add(in.readData());
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "EventBatch{size=" + events.size() + '}';
+    }
+}
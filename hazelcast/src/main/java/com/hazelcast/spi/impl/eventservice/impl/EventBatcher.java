@@ -0,0 +1,227 @@
+/*
+ * Copyright (c) 2008-2018, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.spi.impl.eventservice.impl;
+
+import com.hazelcast.spi.impl.eventservice.CoalescableEvent;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Collects the published events per listener registration and order key and hands them to the
+ * {@link EventServiceImpl} as a single {@link EventBatch}. Keeping the batches per order key makes sure the events
+ * with the same order key stay ordered. A batch is handed to the event executor or the connection while holding the
+ * lock of its pending batch, so a full batch and a batch delivered by the periodic {@link #run()} can't overtake each
+ * other.
+ * <p>
+ * A batch is delivered as soon as it is full, or else by the periodic {@link #run()}. A batch that has been empty for
+ * a whole period is removed. The pending events of a deregistered registration are dropped instead of delivered.
+ * <p>
+ * If coalescing is enabled, an event in a batch is removed when a later event with the same
+ * {@link CoalescableEvent#getCoalescingKey() coalescing key} is added; the later event is added at the end of the
+ * batch, so it is still delivered after the events that were published before it.
+ */
+final class EventBatcher implements Runnable {
+
+    private final EventServiceImpl eventService;
+    private final int maxBatchSize;
+    private final boolean coalescing;
+    private final ConcurrentMap<BatchKey, PendingBatch> batches = new ConcurrentHashMap<BatchKey, PendingBatch>();
+
+    EventBatcher(EventServiceImpl eventService, int maxBatchSize, boolean coalescing) {
+        this.eventService = eventService;
+        this.maxBatchSize = maxBatchSize;
+        this.coalescing = coalescing;
+    }
+
+    /**
+     * Returns the coalescing key for the event, or {@code null} if the event can't be coalesced or coalescing
+     * is disabled.
+     */
+    Object getCoalescingKey(Object event) {
+        return coalescing && event instanceof CoalescableEvent ? ((CoalescableEvent) event).getCoalescingKey() : null;
+    }
+
+    /**
+     * Adds the event to the batch of the registration and order key.
+     *
+     * @param registration  the registration the event is published to
+     * @param event         the event; serialized if the registration is not local
+     * @param coalescingKey the coalescing key of the event or {@code null}
+     * @param orderKey      the order key of the event
+     */
+    void add(Registration registration, Object event, Object coalescingKey, int orderKey) {
+        BatchKey key = new BatchKey(registration.getId(), orderKey);
+        for (; ; ) {
+            PendingBatch batch = batches.get(key);
+            if (batch == null) {
+                batch = new PendingBatch(key, registration);
+                PendingBatch found = batches.putIfAbsent(key, batch);
+                if (found != null) {
+                    batch = found;
+                }
+            }
+
+            if (batch.add(event, coalescingKey)) {
+                return;
+            }
+            // the batch has been removed concurrently; so we try again with a new one
+            batches.remove(key, batch);
+        }
+    }
+
+    /**
+     * Delivers all non-empty batches.
+     */
+    @Override
+    public void run() {
+        for (PendingBatch batch : batches.values()) {
+            if (!batch.flush()) {
+                batches.remove(batch.key, batch);
+            }
+        }
+    }
+
+    void clear() {
+        batches.clear();
+    }
+
+    // just for testing
+    int getBatchCount() {
+        return batches.size();
+    }
+
+    private static final class BatchKey {
+
+        private final String registrationId;
+        private final int orderKey;
+
+        BatchKey(String registrationId, int orderKey) {
+            this.registrationId = registrationId;
+            this.orderKey = orderKey;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof BatchKey)) {
+                return false;
+            }
+            BatchKey that = (BatchKey) o;
+            return orderKey == that.orderKey && registrationId.equals(that.registrationId);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * registrationId.hashCode() + orderKey;
+        }
+    }
+
+    private final class PendingBatch {
+
+        private final BatchKey key;
+        private final Registration registration;
+        private List<Object> events = new ArrayList<Object>();
+        // the index of an event in the events list by its coalescing key
+        private Map<Object, Integer> coalescingIndex;
+        private boolean removed;
+
+        PendingBatch(BatchKey key, Registration registration) {
+            this.key = key;
+            this.registration = registration;
+        }
+
+        /**
+         * Adds the event to the batch and delivers the batch if it is full.
+         *
+         * @return {@code false} if the batch has been removed, so the event has not been added
+         */
+        synchronized boolean add(Object event, Object coalescingKey) {
+            if (removed) {
+                return false;
+            }
+
+            if (coalescingKey != null) {
+                if (coalescingIndex == null) {
+                    coalescingIndex = new HashMap<Object, Integer>();
+                }
+                Integer previous = coalescingIndex.put(coalescingKey, events.size());
+                if (previous != null) {
+                    // the slot of the replaced event is left empty, so the indices of the other events stay valid
+                    events.set(previous, null);
+                }
+            }
+            events.add(event);
+
+            if (events.size() >= maxBatchSize) {
+                publish();
+            }
+            return true;
+        }
+
+        /**
+         * Delivers the events of the batch.
+         *
+         * @return {@code false} if the batch was empty or its registration has been deregistered, so the batch has
+         * been marked as removed
+         */
+        synchronized boolean flush() {
+            if (!removed && !events.isEmpty()) {
+                publish();
+            } else {
+                removed = true;
+            }
+            return !removed;
+        }
+
+        // called while holding the lock of this batch, so the batches of the same key are delivered in order
+        private void publish() {
+            List<Object> taken = take();
+            if (eventService.isRegistered(registration)) {
+                eventService.publishBatch(registration, new EventBatch(taken), key.orderKey);
+            } else {
+                removed = true;
+            }
+        }
+
+        private List<Object> take() {
+            List<Object> taken = events;
+            events = new ArrayList<Object>(taken.size());
+            if (coalescingIndex != null) {
+                coalescingIndex.clear();
+                taken = removeEmptySlots(taken);
+            }
+            return taken;
+        }
+
+        private List<Object> removeEmptySlots(List<Object> events) {
+            List<Object> result = new ArrayList<Object>(events.size());
+            for (Object event : events) {
+                if (event != null) {
+                    result.add(event);
+                }
+            }
+            return result;
+        }
+    }
+}
@@ -0,0 +1,50 @@
+/*
+ * Copyright (c) 2008-2018, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.spi.impl.eventservice.impl;
+
+/**
+ * Determines what happens when an event is published to a listener registration whose {@link RegistrationBuffer}
+ * is full.
+ *
+ * @see com.hazelcast.spi.properties.GroupProperty#EVENT_REGISTRATION_OVERFLOW_POLICY
+ */
+public enum EventOverflowPolicy {
+
+    /**
+     * The oldest event in the buffer is dropped to make room for the new event.
+     */
+    DROP_OLDEST,
+
+    /**
+     * The buffered event with the same {@link com.hazelcast.spi.impl.eventservice.CoalescableEvent coalescing key}
+     * as the new event is replaced by the new event. If there is no such event, the oldest event is dropped.
+     */
+    COALESCE,
+
+    /**
+     * The publisher waits for the listener to catch up, at most
+     * {@link com.hazelcast.spi.properties.GroupProperty#EVENT_QUEUE_TIMEOUT_MILLIS}; if the buffer is still full after
+     * the timeout, the new event is dropped. An event thread never waits, since it may be the thread which dispatches
+     * the buffered events; the oldest event is dropped instead, as with {@link #DROP_OLDEST}.
+     */
+    BLOCK,
+
+    /**
+     * The listener is deregistered and the buffered events are dropped.
+     */
+    DEREGISTER
+}
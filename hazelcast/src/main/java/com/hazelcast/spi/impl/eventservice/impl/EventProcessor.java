@@ -51,14 +51,47 @@ public class EventProcessor implements StripedRunnable {
      * @see EventPublishingService#dispatchEvent(Object, Object)
      */
     void process(EventEnvelope envelope) {
-        Object event = getEvent(envelope);
         String serviceName = envelope.getServiceName();
         EventPublishingService<Object, Object> service = eventService.nodeEngine.getService(serviceName);
         Registration registration = getRegistration(envelope, serviceName);
         if (registration == null) {
             return;
         }
-        service.dispatchEvent(event, registration.getListener());
+        RegistrationBuffer buffer = registration.getBuffer();
+        if (buffer != null) {
+            offer(envelope, buffer);
+        } else if (envelope.getEvent() instanceof EventBatch) {
+            processBatch((EventBatch) envelope.getEvent(), service, registration.getListener());
+        } else {
+            service.dispatchEvent(getEvent(envelope), registration.getListener());
+        }
+    }
+
+    /**
+     * Offers the event, or each event of a batch, to the buffer of the registration.
+     */
+    private void offer(EventEnvelope envelope, RegistrationBuffer buffer) {
+        if (envelope.getEvent() instanceof EventBatch) {
+            for (Object event : ((EventBatch) envelope.getEvent()).getEvents()) {
+                buffer.offer(eventService.nodeEngine.toObject(event), orderKey);
+            }
+        } else {
+            buffer.offer(getEvent(envelope), orderKey);
+        }
+    }
+
+    /**
+     * Dispatches the events of the batch in order. An event that fails to be dispatched is logged, so it doesn't
+     * prevent the other events in the batch from being dispatched.
+     */
+    private void processBatch(EventBatch batch, EventPublishingService<Object, Object> service, Object listener) {
+        for (Object event : batch.getEvents()) {
+            try {
+                service.dispatchEvent(eventService.nodeEngine.toObject(event), listener);
+            } catch (Exception e) {
+                eventService.logger.warning("Error while processing event " + event, e);
+            }
+        }
     }
 
 
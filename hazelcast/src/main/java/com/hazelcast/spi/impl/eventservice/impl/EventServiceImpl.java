@@ -30,6 +30,7 @@ import com.hazelcast.nio.Connection;
 import com.hazelcast.nio.Packet;
 import com.hazelcast.nio.serialization.Data;
 import com.hazelcast.spi.EventFilter;
+import com.hazelcast.spi.EventPublishingService;
 import com.hazelcast.spi.EventRegistration;
 import com.hazelcast.spi.EventService;
 import com.hazelcast.spi.Operation;
@@ -56,14 +57,23 @@ import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.Future;
 import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledFuture;
 import java.util.logging.Level;
 
+import static com.hazelcast.internal.cluster.Versions.V3_10;
 import static com.hazelcast.internal.cluster.Versions.V3_9;
 import static com.hazelcast.internal.metrics.ProbeLevel.MANDATORY;
 import static com.hazelcast.internal.util.InvocationUtil.invokeOnStableClusterSerial;
 import static com.hazelcast.internal.util.counters.MwCounter.newMwCounter;
+import static com.hazelcast.spi.ExecutionService.ASYNC_EXECUTOR;
+import static com.hazelcast.spi.properties.GroupProperty.EVENT_BATCH_ENABLED;
+import static com.hazelcast.spi.properties.GroupProperty.EVENT_BATCH_MAX_DELAY_MILLIS;
+import static com.hazelcast.spi.properties.GroupProperty.EVENT_BATCH_MAX_SIZE;
+import static com.hazelcast.spi.properties.GroupProperty.EVENT_COALESCING_ENABLED;
 import static com.hazelcast.spi.properties.GroupProperty.EVENT_QUEUE_CAPACITY;
 import static com.hazelcast.spi.properties.GroupProperty.EVENT_QUEUE_TIMEOUT_MILLIS;
+import static com.hazelcast.spi.properties.GroupProperty.EVENT_REGISTRATION_BUFFER_CAPACITY;
+import static com.hazelcast.spi.properties.GroupProperty.EVENT_REGISTRATION_OVERFLOW_POLICY;
 import static com.hazelcast.spi.properties.GroupProperty.EVENT_SYNC_TIMEOUT_MILLIS;
 import static com.hazelcast.spi.properties.GroupProperty.EVENT_THREAD_COUNT;
 import static com.hazelcast.util.ExceptionUtil.rethrow;
@@ -92,6 +102,13 @@ import static java.util.concurrent.TimeUnit.MILLISECONDS;
  * This order can still be broken in some cases. This is possible because remote events are asynchronous
  * and we don't wait for the response before publishing the next event. The previously published
  * event can be retransmitted causing it to be received by the target node at a later time.
+ * <p>
+ * If {@link com.hazelcast.spi.properties.GroupProperty#EVENT_BATCH_ENABLED} is set, the events are collected per
+ * registration and order key by an {@link EventBatcher} and are processed and sent as an {@link EventBatch}.
+ * <p>
+ * If {@link com.hazelcast.spi.properties.GroupProperty#EVENT_REGISTRATION_BUFFER_CAPACITY} is set, every local
+ * registration gets a {@link RegistrationBuffer} and its events are offered to that buffer instead of being
+ * submitted to the executor one by one.
  */
 @SuppressWarnings("checkstyle:classfanoutcomplexity")
 public class EventServiceImpl implements InternalEventService, MetricsProvider {
@@ -163,6 +180,12 @@ public class EventServiceImpl implements InternalEventService, MetricsProvider {
 
     private final InternalSerializationService serializationService;
     private final int eventSyncFrequency;
+    /** Collects the events into batches; {@code null} if batching is disabled */
+    private final EventBatcher eventBatcher;
+    private final ScheduledFuture<?> eventBatcherFuture;
+    /** The capacity of the buffer of a local registration; 0 if the registrations don't have buffers */
+    private final int registrationBufferCapacity;
+    private final EventOverflowPolicy registrationOverflowPolicy;
 
     public EventServiceImpl(NodeEngineImpl nodeEngine) {
         this.nodeEngine = nodeEngine;
@@ -174,6 +197,9 @@ public class EventServiceImpl implements InternalEventService, MetricsProvider {
         this.eventQueueTimeoutMs = hazelcastProperties.getMillis(EVENT_QUEUE_TIMEOUT_MILLIS);
         this.sendEventSyncTimeoutMillis = hazelcastProperties.getInteger(EVENT_SYNC_TIMEOUT_MILLIS);
         this.eventSyncFrequency = loadEventSyncFrequency();
+        this.registrationBufferCapacity = hazelcastProperties.getInteger(EVENT_REGISTRATION_BUFFER_CAPACITY);
+        this.registrationOverflowPolicy = EventOverflowPolicy.valueOf(
+                hazelcastProperties.getString(EVENT_REGISTRATION_OVERFLOW_POLICY));
 
         this.eventExecutor = new StripedExecutor(
                 nodeEngine.getNode().getLogger(EventServiceImpl.class),
@@ -181,6 +207,17 @@ public class EventServiceImpl implements InternalEventService, MetricsProvider {
                 eventThreadCount,
                 eventQueueCapacity);
         this.segments = new ConcurrentHashMap<String, EventServiceSegment>();
+
+        if (hazelcastProperties.getBoolean(EVENT_BATCH_ENABLED)) {
+            this.eventBatcher = new EventBatcher(this, hazelcastProperties.getInteger(EVENT_BATCH_MAX_SIZE),
+                    hazelcastProperties.getBoolean(EVENT_COALESCING_ENABLED));
+            long maxDelayMillis = hazelcastProperties.getMillis(EVENT_BATCH_MAX_DELAY_MILLIS);
+            this.eventBatcherFuture = nodeEngine.getExecutionService()
+                    .scheduleWithRepetition(eventBatcher, maxDelayMillis, maxDelayMillis, MILLISECONDS);
+        } else {
+            this.eventBatcher = null;
+            this.eventBatcherFuture = null;
+        }
     }
 
 
@@ -283,6 +320,10 @@ public class EventServiceImpl implements InternalEventService, MetricsProvider {
         EventServiceSegment segment = getSegment(serviceName, true);
         String id = UuidUtil.newUnsecureUuidString();
         Registration reg = new Registration(id, serviceName, topic, filter, nodeEngine.getThisAddress(), listener, localOnly);
+        if (registrationBufferCapacity > 0) {
+            reg.setBuffer(new RegistrationBuffer(this, reg, registrationBufferCapacity, registrationOverflowPolicy,
+                    eventQueueTimeoutMs, eventThreadCount));
+        }
         if (!segment.addRegistration(topic, reg)) {
             return null;
         }
@@ -399,10 +440,9 @@ public class EventServiceImpl implements InternalEventService, MetricsProvider {
         }
 
         if (isLocal(registration)) {
-            executeLocal(serviceName, event, registration, orderKey);
+            publishLocal(serviceName, (Registration) registration, event, orderKey);
         } else {
-            EventEnvelope eventEnvelope = new EventEnvelope(registration.getId(), serviceName, event);
-            sendEvent(registration.getSubscriber(), eventEnvelope, orderKey);
+            publishRemote(serviceName, (Registration) registration, event, event, orderKey);
         }
     }
 
@@ -414,15 +454,14 @@ public class EventServiceImpl implements InternalEventService, MetricsProvider {
                 throw new IllegalArgumentException();
             }
             if (isLocal(registration)) {
-                executeLocal(serviceName, event, registration, orderKey);
+                publishLocal(serviceName, (Registration) registration, event, orderKey);
                 continue;
             }
 
             if (eventData == null) {
                 eventData = serializationService.toData(event);
             }
-            EventEnvelope eventEnvelope = new EventEnvelope(registration.getId(), serviceName, eventData);
-            sendEvent(registration.getSubscriber(), eventEnvelope, orderKey);
+            publishRemote(serviceName, (Registration) registration, event, eventData, orderKey);
         }
     }
 
@@ -448,7 +487,71 @@ public class EventServiceImpl implements InternalEventService, MetricsProvider {
             if (isLocal(registration)) {
                 continue;
             }
-            EventEnvelope eventEnvelope = new EventEnvelope(registration.getId(), serviceName, eventData);
+            publishRemote(serviceName, (Registration) registration, event, eventData, orderKey);
+        }
+    }
+
+    private void publishLocal(String serviceName, Registration registration, Object event, int orderKey) {
+        if (eventBatcher == null) {
+            executeLocal(serviceName, event, registration, orderKey);
+        } else {
+            eventBatcher.add(registration, event, eventBatcher.getCoalescingKey(event), orderKey);
+        }
+    }
+
+    /**
+     * Publishes the event to a remote registration.
+     *
+     * @param serviceName  the name of the service responsible for this event
+     * @param registration the remote registration
+     * @param event        the event object, used to determine the coalescing key
+     * @param eventPayload the event object or the serialized event, which is sent to the subscriber
+     * @param orderKey     the order key of the event
+     */
+    private void publishRemote(String serviceName, Registration registration, Object event, Object eventPayload,
+                               int orderKey) {
+        if (eventBatcher == null || !isEventBatchSupported()) {
+            EventEnvelope eventEnvelope = new EventEnvelope(registration.getId(), serviceName, eventPayload);
+            sendEvent(registration.getSubscriber(), eventEnvelope, orderKey);
+        } else {
+            Data eventData = eventPayload instanceof Data ? (Data) eventPayload : serializationService.toData(eventPayload);
+            eventBatcher.add(registration, eventData, eventBatcher.getCoalescingKey(event), orderKey);
+        }
+    }
+
+    /**
+     * Checks if the events can be sent as an {@link EventBatch} to the other members. Members before 3.10 can't
+     * process event batches.
+     */
+    private boolean isEventBatchSupported() {
+        return nodeEngine.getClusterService().getClusterVersion().isGreaterOrEqual(V3_10);
+    }
+
+    /**
+     * Checks if the registration is still registered, e.g. to drop the events collected for a deregistered
+     * registration.
+     *
+     * @param registration the registration
+     * @return {@code true} if the registration has not been deregistered
+     */
+    boolean isRegistered(Registration registration) {
+        EventServiceSegment segment = getSegment(registration.getServiceName(), false);
+        return segment != null && segment.getRegistrationIdMap().containsKey(registration.getId());
+    }
+
+    /**
+     * Processes or sends a batch of events collected by the {@link EventBatcher}.
+     *
+     * @param registration the registration the events have been published to
+     * @param batch        the batch of events
+     * @param orderKey     the order key of the events
+     */
+    void publishBatch(Registration registration, EventBatch batch, int orderKey) {
+        String serviceName = registration.getServiceName();
+        if (isLocal(registration)) {
+            executeLocal(serviceName, batch, registration, orderKey);
+        } else {
+            EventEnvelope eventEnvelope = new EventEnvelope(registration.getId(), serviceName, batch);
             sendEvent(registration.getSubscriber(), eventEnvelope, orderKey);
         }
     }
@@ -470,6 +573,10 @@ public class EventServiceImpl implements InternalEventService, MetricsProvider {
         }
 
         Registration reg = (Registration) registration;
+        if (reg.getBuffer() != null) {
+            reg.getBuffer().offer(event, orderKey);
+            return;
+        }
         try {
             if (reg.getListener() != null) {
                 eventExecutor.execute(new LocalEventDispatcher(this, serviceName, event, reg.getListener()
@@ -487,6 +594,79 @@ public class EventServiceImpl implements InternalEventService, MetricsProvider {
         }
     }
 
+    /**
+     * Dispatches an event, or each event of an {@link EventBatch}, to a local listener.
+     *
+     * @param serviceName the name of the service responsible for the event
+     * @param event       the event
+     * @param listener    the listener
+     */
+    void dispatchLocal(String serviceName, Object event, Object listener) {
+        EventPublishingService<Object, Object> service = nodeEngine.getService(serviceName);
+        if (!(event instanceof EventBatch)) {
+            service.dispatchEvent(event, listener);
+            return;
+        }
+
+        // an event that fails to be dispatched shouldn't prevent the other events in the batch from being dispatched
+        for (Object batchedEvent : ((EventBatch) event).getEvents()) {
+            try {
+                service.dispatchEvent(batchedEvent, listener);
+            } catch (Exception e) {
+                logger.warning("Error while processing event " + batchedEvent, e);
+            }
+        }
+    }
+
+    /**
+     * Deregisters the listener of a registration whose buffer has overflowed with the
+     * {@link EventOverflowPolicy#DEREGISTER} policy. The deregistration is done asynchronously, since it can't be
+     * done on the thread publishing the event.
+     *
+     * @param registration the registration to deregister
+     */
+    void deregisterOverflowed(final Registration registration) {
+        logger.warning("The event buffer of " + registration + " is full, the listener is deregistered");
+        nodeEngine.getExecutionService().execute(ASYNC_EXECUTOR, new Runnable() {
+            @Override
+            public void run() {
+                deregisterListener(registration.getServiceName(), registration.getTopic(), registration.getId());
+            }
+        });
+    }
+
+    void onRejected(RegistrationBuffer buffer) {
+        rejectedCount.inc();
+
+        if (eventExecutor.isLive()) {
+            logFailure("EventQueue overloaded! Failed to schedule %s", buffer);
+        }
+    }
+
+    // just for testing
+    EventBatcher getEventBatcher() {
+        return eventBatcher;
+    }
+
+    /**
+     * Returns the buffers of all local registrations; empty if the registrations don't have buffers.
+     */
+    public Collection<RegistrationBuffer> getRegistrationBuffers() {
+        Collection<RegistrationBuffer> buffers = new LinkedList<RegistrationBuffer>();
+        if (registrationBufferCapacity == 0) {
+            return buffers;
+        }
+        for (EventServiceSegment segment : segments.values()) {
+            for (Object registration : segment.getRegistrationIdMap().values()) {
+                RegistrationBuffer buffer = ((Registration) registration).getBuffer();
+                if (buffer != null) {
+                    buffers.add(buffer);
+                }
+            }
+        }
+        return buffers;
+    }
+
     /**
      * Sends a remote event to the {@code subscriber}.
      * Each event segment keeps track of the published event count. On every {@link #eventSyncFrequency} the event will
@@ -639,6 +819,10 @@ public class EventServiceImpl implements InternalEventService, MetricsProvider {
 
     public void shutdown() {
         logger.finest("Stopping event executor...");
+        if (eventBatcher != null) {
+            eventBatcherFuture.cancel(false);
+            eventBatcher.clear();
+        }
         eventExecutor.shutdown();
         for (EventServiceSegment segment : segments.values()) {
             segment.clear();
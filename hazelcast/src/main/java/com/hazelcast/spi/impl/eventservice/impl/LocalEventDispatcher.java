@@ -60,8 +60,7 @@ public final class LocalEventDispatcher implements StripedRunnable, TimeoutRunna
 
     @Override
     public void run() {
-        final EventPublishingService<Object, Object> service = eventService.nodeEngine.getService(serviceName);
-        service.dispatchEvent(event, listener);
+        eventService.dispatchLocal(serviceName, event, listener);
     }
 
     @Override
@@ -40,6 +40,7 @@ public class Registration implements EventRegistration {
     private Address subscriber;
     private transient boolean localOnly;
     private transient Object listener;
+    private transient RegistrationBuffer buffer;
 
     public Registration() {
     }
@@ -87,6 +88,18 @@ public class Registration implements EventRegistration {
         return listener;
     }
 
+    /**
+     * Returns the buffer for the events of this registration, or {@code null} if the registration is not local
+     * or the registrations don't have buffers.
+     */
+    RegistrationBuffer getBuffer() {
+        return buffer;
+    }
+
+    void setBuffer(RegistrationBuffer buffer) {
+        this.buffer = buffer;
+    }
+
     // Registration equals() and hashCode() relies on the ID field only,
     // because the registration ID is unique in the cluster
     @Override
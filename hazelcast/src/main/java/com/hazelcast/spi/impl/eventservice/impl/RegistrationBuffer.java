@@ -0,0 +1,330 @@
+/*
+ * Copyright (c) 2008-2018, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.spi.impl.eventservice.impl;
+
+import com.hazelcast.internal.util.counters.MwCounter;
+import com.hazelcast.spi.impl.eventservice.CoalescableEvent;
+import com.hazelcast.util.executor.StripedRunnable;
+
+import java.util.ArrayDeque;
+import java.util.Iterator;
+import java.util.concurrent.RejectedExecutionException;
+
+import static com.hazelcast.internal.util.counters.MwCounter.newMwCounter;
+import static com.hazelcast.util.HashUtil.hashToIndex;
+import static java.lang.System.currentTimeMillis;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+
+/**
+ * A bounded buffer for the events of a single local listener registration.
+ * <p>
+ * The buffer is split into stripes by the order key of the events, one stripe per event thread. A stripe dispatches
+ * its events itself: it is scheduled on the event executor when its first event is added and dispatches the events
+ * in the order they have been added. So the events with the same order key stay ordered, while the events with
+ * different order keys are still dispatched by different event threads.
+ * <p>
+ * Since at most a single task per stripe is in the event queue, a slow listener can only fill its own buffer and
+ * doesn't cause the events of other listeners to be rejected. If the buffer is full, the {@link EventOverflowPolicy}
+ * is applied. If the event queue rejects a stripe, the stripe is retried after a short delay, so its events aren't
+ * stranded until the next event is offered.
+ *
+ * @see com.hazelcast.spi.properties.GroupProperty#EVENT_REGISTRATION_BUFFER_CAPACITY
+ */
+public final class RegistrationBuffer {
+
+    /**
+     * The maximum number of events dispatched before a stripe is rescheduled, so the other tasks on the same
+     * event thread get a turn.
+     */
+    private static final int MAX_DISPATCH_COUNT = 100;
+
+    /**
+     * The delay before a stripe rejected by the event executor is scheduled again.
+     */
+    private static final long RESCHEDULE_DELAY_MILLIS = 10;
+
+    private final EventServiceImpl eventService;
+    private final Registration registration;
+    private final int capacity;
+    private final EventOverflowPolicy overflowPolicy;
+    private final long blockTimeoutMillis;
+    private final Stripe[] stripes;
+    private final MwCounter offeredCount = newMwCounter();
+    private final MwCounter droppedCount = newMwCounter();
+    private final MwCounter coalescedCount = newMwCounter();
+
+    // the number of events in all stripes
+    private int size;
+    // the sequence of the next offered event, to find the oldest event among the stripes
+    private long sequence;
+    private boolean closed;
+
+    RegistrationBuffer(EventServiceImpl eventService, Registration registration, int capacity,
+                       EventOverflowPolicy overflowPolicy, long blockTimeoutMillis, int stripeCount) {
+        this.eventService = eventService;
+        this.registration = registration;
+        this.capacity = capacity;
+        this.overflowPolicy = overflowPolicy;
+        this.blockTimeoutMillis = blockTimeoutMillis;
+        this.stripes = new Stripe[stripeCount];
+        for (int k = 0; k < stripeCount; k++) {
+            stripes[k] = new Stripe(k);
+        }
+    }
+
+    /**
+     * Adds the event to the buffer and schedules the stripe of the order key if it isn't scheduled yet.
+     *
+     * @param event    the event to dispatch to the listener of the registration
+     * @param orderKey the order key of the event
+     */
+    void offer(Object event, int orderKey) {
+        Stripe stripe = stripes[hashToIndex(orderKey, stripes.length)];
+        synchronized (this) {
+            offeredCount.inc();
+            if (closed || (size >= capacity && !makeRoom(event, stripe))) {
+                droppedCount.inc();
+                return;
+            }
+
+            stripe.events.add(new BufferedEvent(sequence++, event));
+            size++;
+            if (stripe.scheduled) {
+                return;
+            }
+            stripe.scheduled = true;
+        }
+        schedule(stripe);
+    }
+
+    /**
+     * Applies the overflow policy to make room for the event.
+     *
+     * @return {@code true} if the event can be added, {@code false} if it needs to be dropped
+     */
+    private boolean makeRoom(Object event, Stripe stripe) {
+        switch (overflowPolicy) {
+            case COALESCE:
+                if (removeCoalesced(event, stripe)) {
+                    coalescedCount.inc();
+                    return true;
+                }
+                dropOldest();
+                return true;
+            case BLOCK:
+                // an event thread must not wait, since it may be the one which dispatches the buffered events
+                if (eventService.getEventExecutor().isWorkerThread()) {
+                    dropOldest();
+                    return true;
+                }
+                return awaitRoom();
+            case DEREGISTER:
+                closed = true;
+                droppedCount.inc(size);
+                for (Stripe s : stripes) {
+                    s.events.clear();
+                }
+                size = 0;
+                eventService.deregisterOverflowed(registration);
+                return false;
+            default:
+                dropOldest();
+                return true;
+        }
+    }
+
+    private void dropOldest() {
+        Stripe oldest = null;
+        for (Stripe stripe : stripes) {
+            BufferedEvent head = stripe.events.peek();
+            if (head != null && (oldest == null || head.sequence < oldest.events.peek().sequence)) {
+                oldest = stripe;
+            }
+        }
+        oldest.events.poll();
+        size--;
+        droppedCount.inc();
+    }
+
+    /**
+     * Removes the event with the same coalescing key as the given event. Such an event has the same order key, so it
+     * can only be in the same stripe.
+     */
+    private boolean removeCoalesced(Object event, Stripe stripe) {
+        if (!(event instanceof CoalescableEvent)) {
+            return false;
+        }
+        Object coalescingKey = ((CoalescableEvent) event).getCoalescingKey();
+        if (coalescingKey == null) {
+            return false;
+        }
+        Iterator<BufferedEvent> it = stripe.events.iterator();
+        while (it.hasNext()) {
+            Object buffered = it.next().event;
+            if (buffered instanceof CoalescableEvent
+                    && coalescingKey.equals(((CoalescableEvent) buffered).getCoalescingKey())) {
+                it.remove();
+                size--;
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private boolean awaitRoom() {
+        long deadline = currentTimeMillis() + blockTimeoutMillis;
+        try {
+            for (long remaining = blockTimeoutMillis; remaining > 0; remaining = deadline - currentTimeMillis()) {
+                wait(remaining);
+                if (size < capacity) {
+                    return true;
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return false;
+    }
+
+    private void schedule(final Stripe stripe) {
+        try {
+            eventService.getEventExecutor().execute(stripe);
+            return;
+        } catch (RejectedExecutionException e) {
+            eventService.onRejected(this);
+        }
+
+        if (eventService.getEventExecutor().isLive()) {
+            try {
+                eventService.nodeEngine.getExecutionService().schedule(new Runnable() {
+                    @Override
+                    public void run() {
+                        schedule(stripe);
+                    }
+                }, RESCHEDULE_DELAY_MILLIS, MILLISECONDS);
+                return;
+            } catch (RejectedExecutionException e) {
+                eventService.onRejected(this);
+            }
+        }
+
+        // the event service is shutting down, so the events won't be dispatched anymore
+        synchronized (this) {
+            droppedCount.inc(stripe.events.size());
+            size -= stripe.events.size();
+            stripe.events.clear();
+            stripe.scheduled = false;
+        }
+    }
+
+    public Registration getRegistration() {
+        return registration;
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    public EventOverflowPolicy getOverflowPolicy() {
+        return overflowPolicy;
+    }
+
+    public synchronized int size() {
+        return size;
+    }
+
+    /** Returns the number of events that have been offered to the buffer. */
+    public long getOfferedCount() {
+        return offeredCount.get();
+    }
+
+    /** Returns the number of events that have been dropped because the buffer was full. */
+    public long getDroppedCount() {
+        return droppedCount.get();
+    }
+
+    /** Returns the number of events that have been replaced by a later event for the same key. */
+    public long getCoalescedCount() {
+        return coalescedCount.get();
+    }
+
+    @Override
+    public String toString() {
+        return "RegistrationBuffer{registration=" + registration.getId() + ", size=" + size() + '}';
+    }
+
+    private static final class BufferedEvent {
+
+        private final long sequence;
+        private final Object event;
+
+        BufferedEvent(long sequence, Object event) {
+            this.sequence = sequence;
+            this.event = event;
+        }
+    }
+
+    /**
+     * The events of the order keys which map to the same event thread. Guarded by the lock of the buffer.
+     */
+    private final class Stripe implements StripedRunnable {
+
+        private final int index;
+        private final ArrayDeque<BufferedEvent> events = new ArrayDeque<BufferedEvent>();
+        private boolean scheduled;
+
+        Stripe(int index) {
+            this.index = index;
+        }
+
+        @Override
+        public void run() {
+            for (int k = 0; k < MAX_DISPATCH_COUNT; k++) {
+                Object event;
+                synchronized (RegistrationBuffer.this) {
+                    BufferedEvent buffered = events.poll();
+                    if (buffered == null) {
+                        scheduled = false;
+                        return;
+                    }
+                    size--;
+                    if (overflowPolicy == EventOverflowPolicy.BLOCK) {
+                        RegistrationBuffer.this.notifyAll();
+                    }
+                    event = buffered.event;
+                }
+
+                try {
+                    eventService.dispatchLocal(registration.getServiceName(), event, registration.getListener());
+                } catch (Exception e) {
+                    eventService.logger.warning("Error while processing event " + event, e);
+                }
+            }
+            schedule(this);
+        }
+
+        @Override
+        public int getKey() {
+            return index;
+        }
+
+        @Override
+        public String toString() {
+            return "RegistrationBuffer.Stripe{registration=" + registration.getId() + ", index=" + index + '}';
+        }
+    }
+}
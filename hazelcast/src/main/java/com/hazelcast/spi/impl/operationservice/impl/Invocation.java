@@ -27,6 +27,9 @@ import com.hazelcast.internal.cluster.ClusterClock;
 import com.hazelcast.internal.cluster.ClusterService;
 import com.hazelcast.internal.partition.InternalPartitionService;
 import com.hazelcast.internal.serialization.InternalSerializationService;
+import com.hazelcast.internal.tracing.Trace;
+import com.hazelcast.internal.tracing.TraceStage;
+import com.hazelcast.internal.tracing.Tracer;
 import com.hazelcast.internal.util.counters.MwCounter;
 import com.hazelcast.logging.ILogger;
 import com.hazelcast.nio.Address;
@@ -61,6 +64,11 @@ import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
 import java.util.logging.Level;
 
 import static com.hazelcast.cluster.memberselector.MemberSelectors.DATA_MEMBER_SELECTOR;
+import static com.hazelcast.internal.tracing.TraceStage.INVOCATION_COMPLETED;
+import static com.hazelcast.internal.tracing.TraceStage.INVOCATION_STARTED;
+import static com.hazelcast.internal.tracing.TraceStage.OPERATION_COMPLETED;
+import static com.hazelcast.internal.tracing.TraceStage.OPERATION_QUEUED;
+import static com.hazelcast.internal.tracing.TraceStage.OPERATION_SENT;
 import static com.hazelcast.spi.OperationAccessor.hasActiveInvocation;
 import static com.hazelcast.spi.OperationAccessor.setCallTimeout;
 import static com.hazelcast.spi.OperationAccessor.setCallerAddress;
@@ -161,6 +169,12 @@ public abstract class Invocation implements OperationResponseHandler {
      */
     int memberListVersion;
 
+    /**
+     * The trace of this invocation, or {@code null} if it isn't traced. Every invocation has a trace of its own, so
+     * the invocations created by a traced client message task don't overwrite the stages of each other.
+     */
+    Trace trace;
+
     final Context context;
     final InvocationFuture future;
     final int tryCount;
@@ -172,6 +186,9 @@ public abstract class Invocation implements OperationResponseHandler {
      */
     private final Runnable taskDoneCallback;
 
+    // the trace of the client message task which created this invocation, null if there is none
+    private final Trace parentTrace;
+
     Invocation(Context context, Operation op, Runnable taskDoneCallback, int tryCount, long tryPauseMillis,
                long callTimeoutMillis, boolean deserialize) {
         this.context = context;
@@ -181,10 +198,14 @@ public abstract class Invocation implements OperationResponseHandler {
         this.tryPauseMillis = tryPauseMillis;
         this.callTimeoutMillis = getCallTimeoutMillis(callTimeoutMillis);
         this.future = new InvocationFuture(this, deserialize);
+        this.parentTrace = context.operationService.tracer.getCurrentTrace();
     }
 
     @Override
     public void sendResponse(Operation op, Object response) {
+        if (trace != null) {
+            trace.mark(OPERATION_COMPLETED);
+        }
         if (!RESPONSE_RECEIVED.compareAndSet(this, FALSE, TRUE)) {
             throw new ResponseAlreadySentException("NormalResponse already responseReceived for callback: " + this
                     + ", current-response: " + response);
@@ -287,6 +308,10 @@ public abstract class Invocation implements OperationResponseHandler {
     }
 
     void notifyNormalResponse(Object value, int expectedBackups) {
+        if (trace != null) {
+            trace.mark(TraceStage.RESPONSE_RECEIVED);
+        }
+
         // if a regular response comes and there are backups, we need to wait for the backups
         // when the backups complete, the response will be send by the last backup or backup-timeout-handle mechanism kicks on
 
@@ -543,6 +568,8 @@ public abstract class Invocation implements OperationResponseHandler {
             return;
         }
 
+        markInvocationStarted();
+
         if (initializationFailure != null) {
             notifyError(initializationFailure);
             return;
@@ -555,6 +582,24 @@ public abstract class Invocation implements OperationResponseHandler {
         }
     }
 
+    private void markInvocationStarted() {
+        // the call id is only known once the invocation is registered; a retried invocation keeps its first trace
+        Tracer tracer = context.operationService.tracer;
+        if (trace == null) {
+            long callId = op.getCallId();
+            String operationName = op.getClass().getSimpleName();
+            if (parentTrace != null) {
+                // the id of the parent trace as prefix correlates the trace with the one of the client message
+                trace = tracer.startTrace(parentTrace.getId() + "/" + callId, operationName);
+            } else if (tracer.isSampled(callId)) {
+                trace = tracer.startTrace(context.node.getThisUuid() + "/" + callId, operationName);
+            }
+        }
+        if (trace != null) {
+            trace.mark(INVOCATION_STARTED);
+        }
+    }
+
     private void doInvokeLocal(boolean isAsync) {
         if (op.getCallerUuid() == null) {
             op.setCallerUuid(context.node.getThisUuid());
@@ -563,6 +608,9 @@ public abstract class Invocation implements OperationResponseHandler {
         responseReceived = FALSE;
         op.setOperationResponseHandler(this);
 
+        if (trace != null) {
+            trace.mark(OPERATION_QUEUED);
+        }
         if (isAsync) {
             context.operationExecutor.execute(op);
         } else {
@@ -571,6 +619,9 @@ public abstract class Invocation implements OperationResponseHandler {
     }
 
     private void doInvokeRemote() {
+        if (trace != null) {
+            trace.mark(OPERATION_SENT);
+        }
         if (!context.outboundOperationHandler.send(op, invTarget)) {
             notifyError(new RetryableIOException("Packet not sent to -> " + invTarget));
         }
@@ -629,9 +680,17 @@ public abstract class Invocation implements OperationResponseHandler {
     // This is an idempotent operation
     // because both invocationRegistry.deregister() and future.complete() are idempotent.
     private void complete(Object value) {
+        if (trace != null) {
+            trace.mark(INVOCATION_COMPLETED);
+        }
         future.complete(value);
-        if (context.invocationRegistry.deregister(this) && taskDoneCallback != null) {
-            context.asyncExecutor.execute(taskDoneCallback);
+        if (context.invocationRegistry.deregister(this)) {
+            if (trace != null) {
+                context.operationService.tracer.finishTrace(trace);
+            }
+            if (taskDoneCallback != null) {
+                context.asyncExecutor.execute(taskDoneCallback);
+            }
         }
     }
 
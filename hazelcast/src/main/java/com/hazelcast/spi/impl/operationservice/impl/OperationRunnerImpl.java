@@ -29,7 +29,9 @@ import com.hazelcast.internal.metrics.MetricsRegistry;
 import com.hazelcast.internal.metrics.Probe;
 import com.hazelcast.internal.partition.InternalPartition;
 import com.hazelcast.internal.serialization.impl.SerializationServiceV1;
+import com.hazelcast.internal.tracing.Trace;
 import com.hazelcast.internal.util.counters.Counter;
+import com.hazelcast.internal.util.counters.LatencyHistograms;
 import com.hazelcast.logging.ILogger;
 import com.hazelcast.nio.Address;
 import com.hazelcast.nio.Connection;
@@ -63,6 +65,7 @@ import java.io.IOException;
 import java.util.logging.Level;
 
 import static com.hazelcast.internal.metrics.ProbeLevel.DEBUG;
+import static com.hazelcast.internal.tracing.TraceStage.OPERATION_STARTED;
 import static com.hazelcast.internal.util.counters.MwCounter.newMwCounter;
 import static com.hazelcast.internal.util.counters.SwCounter.newSwCounter;
 import static com.hazelcast.spi.OperationAccessor.setCallerAddress;
@@ -105,6 +108,9 @@ class OperationRunnerImpl extends OperationRunner implements MetricsProvider {
     private InternalPartition internalPartition;
 
     private final OutboundResponseHandler outboundResponseHandler;
+    // null if latency histograms are disabled
+    private final LatencyHistograms latencyHistograms;
+    private final boolean tracingEnabled;
 
     // When partitionId >= 0, it is a partition specific
     // when partitionId = -1, it is generic
@@ -123,6 +129,8 @@ class OperationRunnerImpl extends OperationRunner implements MetricsProvider {
         this.staleReadOnMigrationEnabled = !node.getProperties().getBoolean(DISABLE_STALE_READ_ON_PARTITION_MIGRATION);
         this.failedBackupsCounter = failedBackupsCounter;
         this.backupHandler = operationService.backupHandler;
+        this.latencyHistograms = operationService.latencyHistograms;
+        this.tracingEnabled = operationService.tracer.isEnabled();
         // only a ad-hoc operation runner will be called concurrently
         this.executedOperationsCounter = partitionId == AD_HOC_PARTITION_ID ? newMwCounter() : newSwCounter();
     }
@@ -175,6 +183,8 @@ class OperationRunnerImpl extends OperationRunner implements MetricsProvider {
             currentTask = op;
         }
 
+        long startNanos = latencyHistograms == null ? 0 : System.nanoTime();
+        markOperationStarted(op);
         try {
             checkNodeState(op);
 
@@ -195,6 +205,24 @@ class OperationRunnerImpl extends OperationRunner implements MetricsProvider {
             if (publishCurrentTask) {
                 currentTask = null;
             }
+            if (latencyHistograms != null) {
+                latencyHistograms.getHistogram(op.getClass()).recordNanos(System.nanoTime() - startNanos);
+            }
+        }
+    }
+
+    private void markOperationStarted(Operation op) {
+        if (!tracingEnabled) {
+            return;
+        }
+
+        // only a local invocation is the response handler of its operation
+        OperationResponseHandler responseHandler = op.getOperationResponseHandler();
+        if (responseHandler instanceof Invocation) {
+            Trace trace = ((Invocation) responseHandler).trace;
+            if (trace != null) {
+                trace.mark(OPERATION_STARTED);
+            }
         }
     }
 
@@ -27,8 +27,10 @@ import com.hazelcast.internal.metrics.MetricsRegistry;
 import com.hazelcast.internal.metrics.Probe;
 import com.hazelcast.internal.partition.InternalPartitionService;
 import com.hazelcast.internal.serialization.InternalSerializationService;
+import com.hazelcast.internal.tracing.Tracer;
 import com.hazelcast.internal.util.RuntimeAvailableProcessors;
 import com.hazelcast.internal.util.counters.Counter;
+import com.hazelcast.internal.util.counters.LatencyHistograms;
 import com.hazelcast.internal.util.counters.MwCounter;
 import com.hazelcast.logging.ILogger;
 import com.hazelcast.nio.Address;
@@ -67,6 +69,7 @@ import static com.hazelcast.spi.InvocationBuilder.DEFAULT_DESERIALIZE_RESULT;
 import static com.hazelcast.spi.InvocationBuilder.DEFAULT_REPLICA_INDEX;
 import static com.hazelcast.spi.impl.operationutil.Operations.isJoinOperation;
 import static com.hazelcast.spi.properties.GroupProperty.FAIL_ON_INDETERMINATE_OPERATION_STATE;
+import static com.hazelcast.spi.properties.GroupProperty.LATENCY_HISTOGRAMS_ENABLED;
 import static com.hazelcast.spi.properties.GroupProperty.OPERATION_CALL_TIMEOUT_MILLIS;
 import static com.hazelcast.util.CollectionUtil.toIntegerList;
 import static com.hazelcast.util.MapUtil.createHashMap;
@@ -121,6 +124,9 @@ public final class OperationServiceImpl implements InternalOperationService, Met
     final BackpressureRegulator backpressureRegulator;
     final OutboundResponseHandler outboundResponseHandler;
     final OutboundOperationHandler outboundOperationHandler;
+    // null if latency histograms are disabled
+    final LatencyHistograms latencyHistograms;
+    final Tracer tracer;
     volatile Invocation.Context invocationContext;
 
     private final InvocationMonitor invocationMonitor;
@@ -138,6 +144,7 @@ public final class OperationServiceImpl implements InternalOperationService, Met
     private final Set<Operation> asyncOperations
             = newSetFromMap(new ConcurrentHashMap<Operation, Boolean>());
 
+    @SuppressWarnings("checkstyle:executablestatementcount")
     public OperationServiceImpl(NodeEngineImpl nodeEngine) {
         this.nodeEngine = nodeEngine;
         this.node = nodeEngine.getNode();
@@ -166,6 +173,11 @@ public final class OperationServiceImpl implements InternalOperationService, Met
 
         this.backupHandler = new OperationBackupHandler(this, outboundOperationHandler);
 
+        this.latencyHistograms = node.getProperties().getBoolean(LATENCY_HISTOGRAMS_ENABLED)
+                ? new LatencyHistograms("operation.latency", nodeEngine.getMetricsRegistry())
+                : null;
+        this.tracer = nodeEngine.getTracer();
+
         String hzName = nodeEngine.getHazelcastInstance().getName();
         this.inboundResponseHandler = new InboundResponseHandler(
                 node.getLogger(InboundResponseHandler.class), node.getSerializationService(), invocationRegistry, nodeEngine);
@@ -195,6 +207,15 @@ public final class OperationServiceImpl implements InternalOperationService, Met
         return invocationMonitor;
     }
 
+    /**
+     * Returns the latency histograms of the operations per operation type.
+     *
+     * @return the latency histograms or {@code null} if {@link GroupProperty#LATENCY_HISTOGRAMS_ENABLED} is disabled
+     */
+    public LatencyHistograms getLatencyHistograms() {
+        return latencyHistograms;
+    }
+
     @Override
     public List<SlowOperationDTO> getSlowOperationDTOs() {
         return slowOperationDetector.getSlowOperationDTOs();
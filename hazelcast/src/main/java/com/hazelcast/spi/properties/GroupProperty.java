@@ -151,6 +151,60 @@ public final class GroupProperty {
     public static final HazelcastProperty EVENT_SYNC_TIMEOUT_MILLIS
             = new HazelcastProperty("hazelcast.event.sync.timeout.millis", 5000, MILLISECONDS);
 
+    /**
+     * If the events published for a listener registration should be delivered in batches instead of one by one.
+     * The events are collected per registration and order key (e.g. the partition of the key) and are delivered as a
+     * single event task, and in case of a remote registration, as a single event packet. This reduces the number of
+     * tasks and packets significantly for listeners that receive many events, at the price of the events being delayed
+     * by at most {@link #EVENT_BATCH_MAX_DELAY_MILLIS}.
+     * <p>
+     * The events to other members are only sent in batches once the cluster version is 3.10 or higher, since older
+     * members can't process event batches.
+     */
+    public static final HazelcastProperty EVENT_BATCH_ENABLED
+            = new HazelcastProperty("hazelcast.event.batch.enabled", false);
+
+    /**
+     * The maximum number of events in a batch. When a batch is full, it is delivered immediately.
+     */
+    public static final HazelcastProperty EVENT_BATCH_MAX_SIZE
+            = new HazelcastProperty("hazelcast.event.batch.max.size", 100);
+
+    /**
+     * The maximum time in milliseconds an event is kept in a batch before the batch is delivered.
+     */
+    public static final HazelcastProperty EVENT_BATCH_MAX_DELAY_MILLIS
+            = new HazelcastProperty("hazelcast.event.batch.max.delay.millis", 10, MILLISECONDS);
+
+    /**
+     * If an event in a batch should be replaced by a later event for the same key. Only events that can be coalesced,
+     * e.g. the update events of a map entry, are replaced; so a listener gets only the latest update of a key within a
+     * batch. Only has an effect if {@link #EVENT_BATCH_ENABLED} is set.
+     */
+    public static final HazelcastProperty EVENT_COALESCING_ENABLED
+            = new HazelcastProperty("hazelcast.event.coalescing.enabled", false);
+
+    /**
+     * The capacity of the buffer every local listener registration gets. The events for a registration are
+     * buffered and dispatched by at most a single task per event thread, so a slow listener fills up its own buffer
+     * instead of the event queue that is shared by all listeners. What happens if the buffer is full is
+     * determined by {@link #EVENT_REGISTRATION_OVERFLOW_POLICY}.
+     * <p>
+     * The events for a registration with a buffer and the same order key (e.g. the partition of the key) are
+     * dispatched in the order they were published.
+     * <p>
+     * The default is 0, which means that the registrations don't have a buffer.
+     */
+    public static final HazelcastProperty EVENT_REGISTRATION_BUFFER_CAPACITY
+            = new HazelcastProperty("hazelcast.event.registration.buffer.capacity", 0);
+
+    /**
+     * The {@link com.hazelcast.spi.impl.eventservice.impl.EventOverflowPolicy} that is applied if the buffer of a
+     * listener registration is full. Only has an effect if {@link #EVENT_REGISTRATION_BUFFER_CAPACITY} is set.
+     */
+    public static final HazelcastProperty EVENT_REGISTRATION_OVERFLOW_POLICY
+            = new HazelcastProperty("hazelcast.event.registration.overflow.policy", "DROP_OLDEST");
+
 
     public static final HazelcastProperty HEALTH_MONITORING_LEVEL
             = new HazelcastProperty("hazelcast.health.monitoring.level", HealthMonitorLevel.SILENT.toString());
@@ -218,6 +272,13 @@ public final class GroupProperty {
     public static final HazelcastProperty HTTP_HEALTHCHECK_ENABLED
             = new HazelcastProperty("hazelcast.http.healthcheck.enabled", false);
 
+    /**
+     * Enables the {@code /hazelcast/metrics} HTTP endpoint, which renders the metrics of the member in the Prometheus
+     * text format, even if REST is not enabled.
+     */
+    public static final HazelcastProperty HTTP_METRICS_ENABLED
+            = new HazelcastProperty("hazelcast.http.metrics.enabled", false);
+
     /**
      * The maximum size of the key batch sent to the partition owners for value loading
      * and the maximum size of a key batch for which values are loaded in a single partition.
@@ -225,6 +286,21 @@ public final class GroupProperty {
     public static final HazelcastProperty MAP_LOAD_CHUNK_SIZE
             = new HazelcastProperty("hazelcast.map.load.chunk.size", 1000);
 
+    /**
+     * The number of key chunks that the member loading the keys of a map via
+     * {@link com.hazelcast.core.MapLoader#loadAllKeys()} serializes and groups
+     * by partition in parallel before dispatching them to the partition owners.
+     * <p>
+     * Keys are still read from the map loader by a single thread. When this is
+     * bigger than 1, serialization is done on the
+     * {@link com.hazelcast.spi.ExecutionService#MAP_LOAD_ALL_KEYS_EXECUTOR} and every
+     * partition batch is dispatched as soon as it reaches
+     * {@link #MAP_LOAD_CHUNK_SIZE} keys. Value loading parallelism on each member is
+     * controlled by the pool size of the {@link com.hazelcast.spi.ExecutionService#MAP_LOADER_EXECUTOR}.
+     */
+    public static final HazelcastProperty MAP_LOAD_KEYS_DISPATCH_PARALLELISM
+            = new HazelcastProperty("hazelcast.map.load.keys.dispatch.parallelism", 1);
+
     /**
      * The delay until the first run of the {@link com.hazelcast.internal.cluster.impl.SplitBrainHandler}
      */
@@ -553,6 +629,26 @@ public final class GroupProperty {
     public static final HazelcastProperty GRACEFUL_SHUTDOWN_MAX_WAIT
             = new HazelcastProperty("hazelcast.graceful.shutdown.max.wait", 600, SECONDS);
 
+    /**
+     * Enables recording the latency distribution of every operation type and every client message task type.
+     * <p>
+     * The latencies are exposed as percentiles in the metrics, the JMX beans of the operation service and the client
+     * engine and by the {@link com.hazelcast.internal.diagnostics.OperationLatencyPlugin}.
+     */
+    public static final HazelcastProperty LATENCY_HISTOGRAMS_ENABLED
+            = new HazelcastProperty("hazelcast.latency.histograms.enabled", false);
+
+    /**
+     * The fraction of the client requests and invocations that is traced, e.g. 0.01 to trace 1 in 100 requests.
+     * <p>
+     * A traced request records when it passes every stage, e.g. the IO thread, the operation queue and the operation
+     * thread. The traces are exported by the {@link com.hazelcast.internal.diagnostics.TracingPlugin} and by the exporters
+     * added to the {@link com.hazelcast.internal.tracing.Tracer}. If the client is configured with the same sample rate,
+     * it traces the same requests. The default is 0, so tracing is disabled.
+     */
+    public static final HazelcastProperty TRACING_SAMPLE_RATE
+            = new HazelcastProperty("hazelcast.tracing.sample.rate", "0");
+
     /**
      * Enables or disables the {@link com.hazelcast.spi.impl.operationexecutor.slowoperationdetector.SlowOperationDetector}.
      */
@@ -616,6 +712,19 @@ public final class GroupProperty {
     public static final HazelcastProperty MAP_WRITE_BEHIND_QUEUE_CAPACITY
             = new HazelcastProperty("hazelcast.map.write.behind.queue.capacity", 50000);
 
+    /**
+     * Number of partition groups a write-behind map store flushes in parallel on a member.
+     * <p/>
+     * Partitions are split into this many contiguous ranges and the entries of each range are passed to
+     * the map store concurrently on the {@link com.hazelcast.spi.ExecutionService#MAP_WRITE_BEHIND_EXECUTOR}.
+     * Per-key ordering is preserved since a key always belongs to a single partition, but the configured
+     * {@link com.hazelcast.core.MapStore} implementation must be thread-safe when this is bigger than 1.
+     * <p/>
+     * The default value 1 flushes all partitions sequentially from a single worker.
+     */
+    public static final HazelcastProperty MAP_WRITE_BEHIND_FLUSH_PARALLELISM
+            = new HazelcastProperty("hazelcast.map.write.behind.flush.parallelism", 1);
+
     /**
      * Defines cache invalidation event batch sending is enabled or not.
      */
@@ -123,6 +123,21 @@ public final class StripedExecutor implements Executor {
         return live;
     }
 
+    /**
+     * Checks if the current thread is one of the worker threads of this StripedExecutor.
+     *
+     * @return {@code true} if the current thread is a worker thread, {@code false} otherwise
+     */
+    public boolean isWorkerThread() {
+        Thread currentThread = Thread.currentThread();
+        for (Worker worker : workers) {
+            if (worker == currentThread) {
+                return true;
+            }
+        }
+        return false;
+    }
+
     @Override
     public void execute(Runnable command) {
         if (command == null) {
@@ -0,0 +1,97 @@
+/*
+ * Copyright (c) 2008-2018, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.client.impl.protocol.util;
+
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.HazelcastTestSupport;
+import com.hazelcast.test.annotation.ParallelTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelTest.class})
+public class ClientMessageBufferPoolTest extends HazelcastTestSupport {
+
+    private ClientMessageBufferPool pool;
+
+    @Before
+    public void setup() {
+        pool = new ClientMessageBufferPool(64, 1024, 2);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testConstructor_whenSizeNotPowerOfTwo() {
+        new ClientMessageBufferPool(63, 1024, 2);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testConstructor_whenMinSizeLargerThanMaxSize() {
+        new ClientMessageBufferPool(2048, 1024, 2);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testConstructor_whenArraysPerSizeClassNotPositive() {
+        new ClientMessageBufferPool(64, 1024, 0);
+    }
+
+    @Test
+    public void testTake_roundsUpToSizeClass() {
+        assertEquals(64, pool.take(1).length);
+        assertEquals(64, pool.take(64).length);
+        assertEquals(128, pool.take(65).length);
+        assertEquals(1024, pool.take(1000).length);
+    }
+
+    @Test
+    public void testTake_whenLargerThanMaxPooledSize() {
+        assertEquals(1025, pool.take(1025).length);
+    }
+
+    @Test
+    public void testTake_returnsOfferedArray() {
+        byte[] array = new byte[128];
+
+        assertTrue(pool.offer(array));
+
+        assertNotSame(array, pool.take(64));
+        assertSame(array, pool.take(100));
+        assertNotSame(array, pool.take(100));
+    }
+
+    @Test
+    public void testOffer_whenSizeClassFull() {
+        assertTrue(pool.offer(new byte[256]));
+        assertTrue(pool.offer(new byte[256]));
+        assertFalse(pool.offer(new byte[256]));
+    }
+
+    @Test
+    public void testOffer_whenNotPooledSize() {
+        assertFalse(pool.offer(new byte[32]));
+        assertFalse(pool.offer(new byte[100]));
+        assertFalse(pool.offer(new byte[2048]));
+    }
+}
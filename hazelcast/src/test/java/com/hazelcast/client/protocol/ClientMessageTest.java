@@ -38,7 +38,11 @@ import java.nio.ByteBuffer;
 import static org.hamcrest.core.Is.is;
 import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
 
 /**
  * ClientMessage Tests of Flyweight functionality
@@ -410,6 +414,41 @@ public class ClientMessageTest {
 
     }
 
+    @Test
+    public void testRemainingBytes_writtenDirectly() {
+        byte[] payload = new byte[10000];
+        for (int i = 0; i < payload.length; i++) {
+            payload[i] = (byte) i;
+        }
+        ClientMessage cmEncode = ClientMessage.createForEncode(ClientMessage.HEADER_SIZE + 4 + payload.length);
+        cmEncode.setMessageType(7).setVersion((short) 3).addFlag(ClientMessage.BEGIN_AND_END_FLAGS)
+                .setCorrelationId(66).setPartitionId(77);
+        cmEncode.set(payload);
+        cmEncode.updateFrameLength();
+        int frameLength = cmEncode.getFrameLength();
+
+        ByteBuffer bb = ByteBuffer.allocate(100);
+        assertFalse(cmEncode.writeTo(bb));
+        assertNull(cmEncode.remainingBytes(frameLength));
+
+        ByteBuffer remaining = cmEncode.remainingBytes(100);
+        assertNotNull(remaining);
+        assertEquals(frameLength - 100, remaining.remaining());
+        ByteBuffer wire = ByteBuffer.allocate(frameLength);
+        bb.flip();
+        wire.put(bb);
+        wire.put(remaining);
+        assertTrue(cmEncode.onBytesWritten(frameLength - 100));
+
+        ClientMessage cmDecode = ClientMessage.createForDecode(new SafeBuffer(wire.array()), 0);
+        assertEquals(66, cmDecode.getCorrelationId());
+        assertArrayEquals(payload, cmDecode.getByteArray());
+
+        // the message can be written again from the start
+        assertNull(cmEncode.remainingBytes(frameLength + 1));
+        assertNotNull(cmEncode.remainingBytes(frameLength));
+    }
+
     @Test(expected = MaxMessageSizeExceeded.class)
     public void testMessageSizeOverflow()
             throws Exception {
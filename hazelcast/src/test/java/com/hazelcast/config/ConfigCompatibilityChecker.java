@@ -239,7 +239,8 @@ class ConfigCompatibilityChecker {
                     && nullSafeEqual(c1.getMapName(), c2.getMapName())
                     && nullSafeEqual(c1.getCacheName(), c2.getCacheName())
                     && nullSafeEqual(c1.getCapacity(), c2.getCapacity())
-                    && nullSafeEqual(c1.getTimeToLiveSeconds(), c2.getTimeToLiveSeconds()));
+                    && nullSafeEqual(c1.getTimeToLiveSeconds(), c2.getTimeToLiveSeconds())
+                    && nullSafeEqual(c1.getInMemoryFormat(), c2.getInMemoryFormat()));
         }
     }
 
@@ -507,7 +507,8 @@ public class ConfigXmlGeneratorTest {
                 .setMapName(mapName)
                 .setEnabled(true)
                 .setCapacity(123)
-                .setTimeToLiveSeconds(321);
+                .setTimeToLiveSeconds(321)
+                .setInMemoryFormat(InMemoryFormat.NATIVE);
         Config config = new Config().addEventJournalConfig(journalConfig);
         Config xmlConfig = getNewConfigViaXMLGenerator(config);
 
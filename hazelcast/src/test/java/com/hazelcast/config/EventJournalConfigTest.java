@@ -55,6 +55,11 @@ public class EventJournalConfigTest {
         getReadOnlyConfig().setTimeToLiveSeconds(20);
     }
 
+    @Test(expected = UnsupportedOperationException.class)
+    public void testReadOnlyClass_setInMemoryFormat_throwsException() {
+        getReadOnlyConfig().setInMemoryFormat(InMemoryFormat.NATIVE);
+    }
+
     @Test
     public void testEqualsAndHashCode() {
         EqualsVerifier.forClass(EventJournalConfig.class)
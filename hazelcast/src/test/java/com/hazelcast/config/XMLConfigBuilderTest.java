@@ -1057,6 +1057,7 @@ public class XMLConfigBuilderTest extends HazelcastTestSupport {
                 + "    <mapName>" + journalName + "</mapName>\n"
                 + "    <capacity>120</capacity>\n"
                 + "    <time-to-live-seconds>20</time-to-live-seconds>\n"
+                + "    <in-memory-format>NATIVE</in-memory-format>\n"
                 + "</event-journal>"
                 + HAZELCAST_END_TAG;
 
@@ -1066,6 +1067,7 @@ public class XMLConfigBuilderTest extends HazelcastTestSupport {
         assertTrue(journalConfig.isEnabled());
         assertEquals(120, journalConfig.getCapacity());
         assertEquals(20, journalConfig.getTimeToLiveSeconds());
+        assertEquals(InMemoryFormat.NATIVE, journalConfig.getInMemoryFormat());
     }
 
     @Test
@@ -1085,6 +1087,7 @@ public class XMLConfigBuilderTest extends HazelcastTestSupport {
         assertTrue(journalConfig.isEnabled());
         assertEquals(120, journalConfig.getCapacity());
         assertEquals(20, journalConfig.getTimeToLiveSeconds());
+        assertEquals(EventJournalConfig.DEFAULT_IN_MEMORY_FORMAT, journalConfig.getInMemoryFormat());
     }
 
     @Test
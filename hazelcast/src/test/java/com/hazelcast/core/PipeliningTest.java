@@ -0,0 +1,134 @@
+/*
+ * Copyright (c) 2008-2018, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.core;
+
+import com.hazelcast.spi.impl.AbstractCompletableFuture;
+import com.hazelcast.test.AssertTask;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.HazelcastTestSupport;
+import com.hazelcast.test.annotation.ParallelTest;
+import com.hazelcast.test.annotation.QuickTest;
+import com.hazelcast.util.executor.CompletedFuture;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+
+import static org.junit.Assert.assertEquals;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelTest.class})
+public class PipeliningTest extends HazelcastTestSupport {
+
+    private HazelcastInstance hz;
+
+    @Before
+    public void setup() {
+        hz = createHazelcastInstance();
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testConstructor_whenNegativeDepth() {
+        new Pipelining<String>(0);
+    }
+
+    @Test(expected = NullPointerException.class)
+    public void testAdd_whenNull() throws InterruptedException {
+        Pipelining<String> pipelining = new Pipelining<String>(1);
+        pipelining.add(null);
+    }
+
+    @Test
+    public void testResults() throws Exception {
+        IMap<Integer, String> map = hz.getMap("map");
+        for (int i = 0; i < 100; i++) {
+            map.put(i, "" + i);
+        }
+
+        Pipelining<String> pipelining = new Pipelining<String>(10);
+        for (int i = 0; i < 100; i++) {
+            pipelining.add(map.getAsync(i));
+        }
+
+        List<String> results = pipelining.results();
+        assertEquals(100, results.size());
+        for (int i = 0; i < 100; i++) {
+            assertEquals("" + i, results.get(i));
+        }
+    }
+
+    @Test(expected = ExecutionException.class)
+    public void testResults_whenFailed() throws Exception {
+        Pipelining<String> pipelining = new Pipelining<String>(1);
+        pipelining.add(new CompletedFuture<String>(null, new IllegalStateException(), new CallerRuns()));
+
+        pipelining.results();
+    }
+
+    @Test
+    public void testAdd_blocksWhenDepthReached() throws Exception {
+        final Pipelining<String> pipelining = new Pipelining<String>(1);
+        TestFuture first = new TestFuture();
+        pipelining.add(first);
+
+        final CountDownLatch added = new CountDownLatch(1);
+        spawn(new Runnable() {
+            @Override
+            public void run() {
+                try {
+                    pipelining.add(new CompletedFuture<String>(null, "second", new CallerRuns()));
+                    added.countDown();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        });
+
+        assertTrueDelayed(1, new AssertTask() {
+            @Override
+            public void run() {
+                assertEquals(1, added.getCount());
+            }
+        });
+
+        first.complete("first");
+        assertOpenEventually(added);
+    }
+
+    private static class TestFuture extends AbstractCompletableFuture<String> {
+
+        TestFuture() {
+            super(new CallerRuns(), null);
+        }
+
+        void complete(String value) {
+            setResult(value);
+        }
+    }
+
+    private static class CallerRuns implements Executor {
+        @Override
+        public void execute(Runnable command) {
+            command.run();
+        }
+    }
+}
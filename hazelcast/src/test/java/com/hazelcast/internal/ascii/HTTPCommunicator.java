@@ -126,6 +126,12 @@ public class HTTPCommunicator {
         return doGet(url).response;
     }
 
+    public String getMetrics() throws IOException {
+        String baseAddress = instance.getCluster().getLocalMember().getSocketAddress().toString();
+        String url = "http:/" + baseAddress + HttpCommandProcessor.URI_METRICS_URL;
+        return doGet(url).response;
+    }
+
     public int getFailingClusterHealthWithTrailingGarbage() throws IOException {
         String baseAddress = instance.getCluster().getLocalMember().getSocketAddress().toString();
         String url = "http:/" + baseAddress + HttpCommandProcessor.URI_HEALTH_URL + "garbage";
@@ -25,6 +25,8 @@ import com.hazelcast.core.LifecycleEvent;
 import com.hazelcast.core.LifecycleListener;
 import com.hazelcast.instance.BuildInfoProvider;
 import com.hazelcast.instance.HazelcastInstanceFactory;
+import com.hazelcast.internal.diagnostics.Diagnostics;
+import com.hazelcast.internal.metrics.ProbeLevel;
 import com.hazelcast.spi.properties.GroupProperty;
 import com.hazelcast.test.AssertTask;
 import com.hazelcast.test.HazelcastSerialClassRunner;
@@ -251,6 +253,26 @@ public class RestClusterTest extends HazelcastTestSupport {
         communicator.getClusterHealth();
     }
 
+    @Test
+    public void testMetrics() throws Exception {
+        config.setProperty(GroupProperty.HTTP_METRICS_ENABLED.getName(), "true");
+        config.setProperty(Diagnostics.METRICS_LEVEL.getName(), ProbeLevel.DEBUG.name());
+        HazelcastInstance instance = Hazelcast.newHazelcastInstance(config);
+        HTTPCommunicator communicator = new HTTPCommunicator(instance);
+
+        String result = communicator.getMetrics();
+
+        assertContains(result, "# TYPE hazelcast_runtime_availableProcessors untyped\n");
+        assertContains(result, "hazelcast_operation_partition_executedOperationsCounter{partition=\"0\"} ");
+    }
+
+    @Test(expected = NoHttpResponseException.class)
+    public void fail_with_deactivatedMetrics() throws Exception {
+        HazelcastInstance instance = Hazelcast.newHazelcastInstance();
+        HTTPCommunicator communicator = new HTTPCommunicator(instance);
+        communicator.getMetrics();
+    }
+
     @Test
     public void fail_on_healthcheck_url_with_garbage() throws Exception {
         HazelcastInstance instance = Hazelcast.newHazelcastInstance(config);
@@ -0,0 +1,75 @@
+/*
+ * Copyright (c) 2008-2018, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.internal.diagnostics;
+
+import com.hazelcast.config.Config;
+import com.hazelcast.core.EntryEvent;
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.core.IMap;
+import com.hazelcast.map.impl.MapService;
+import com.hazelcast.map.listener.EntryAddedListener;
+import com.hazelcast.spi.impl.NodeEngineImpl;
+import com.hazelcast.spi.impl.eventservice.impl.EventServiceImpl;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.annotation.ParallelTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.util.concurrent.CountDownLatch;
+
+import static com.hazelcast.spi.properties.GroupProperty.EVENT_REGISTRATION_BUFFER_CAPACITY;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelTest.class})
+public class EventQueuePluginRegistrationBufferTest extends AbstractDiagnosticsPluginTest {
+
+    @Test
+    public void testRun() {
+        Config config = new Config()
+                .setProperty(EVENT_REGISTRATION_BUFFER_CAPACITY.getName(), "1");
+        HazelcastInstance hz = createHazelcastInstance(config);
+        NodeEngineImpl nodeEngine = getNodeEngineImpl(hz);
+        EventServiceImpl eventService = (EventServiceImpl) nodeEngine.getEventService();
+        EventQueuePlugin plugin = new EventQueuePlugin(nodeEngine, eventService.getEventExecutor());
+
+        final CountDownLatch latch = new CountDownLatch(1);
+        String mapName = randomMapName();
+        IMap<Integer, Integer> map = hz.getMap(mapName);
+        map.addEntryListener(new EntryAddedListener<Integer, Integer>() {
+            @Override
+            public void entryAdded(EntryEvent<Integer, Integer> event) {
+                assertOpenEventually(latch);
+            }
+        }, true);
+        for (int i = 0; i < 10; i++) {
+            map.put(i, i);
+        }
+
+        plugin.run(logWriter);
+        latch.countDown();
+
+        assertContains("RegistrationBuffers");
+        assertContains("service=" + MapService.SERVICE_NAME);
+        assertContains("topic=" + mapName);
+        assertContains("capacity=1");
+        assertContains("overflowPolicy=DROP_OLDEST");
+        assertContains("offeredCount=");
+        assertContains("droppedCount=");
+    }
+}
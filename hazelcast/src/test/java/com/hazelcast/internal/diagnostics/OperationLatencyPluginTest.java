@@ -0,0 +1,105 @@
+/*
+ * Copyright (c) 2008-2018, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.internal.diagnostics;
+
+import com.hazelcast.config.Config;
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.core.IMap;
+import com.hazelcast.internal.metrics.MetricsRegistry;
+import com.hazelcast.internal.util.counters.LatencyHistogram;
+import com.hazelcast.map.impl.operation.PutOperation;
+import com.hazelcast.spi.impl.NodeEngineImpl;
+import com.hazelcast.test.AssertTask;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.annotation.ParallelTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import static com.hazelcast.spi.properties.GroupProperty.LATENCY_HISTOGRAMS_ENABLED;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelTest.class})
+public class OperationLatencyPluginTest extends AbstractDiagnosticsPluginTest {
+
+    @Test
+    public void testGetPeriodMillis_whenHistogramsDisabled() {
+        Config config = new Config()
+                .setProperty(OperationLatencyPlugin.PERIOD_SECONDS.getName(), "1");
+        HazelcastInstance hz = createHazelcastInstance(config);
+
+        OperationLatencyPlugin plugin = new OperationLatencyPlugin(getNodeEngineImpl(hz));
+
+        assertEquals(0, plugin.getPeriodMillis());
+    }
+
+    @Test
+    public void testRun() {
+        Config config = new Config()
+                .setProperty(LATENCY_HISTOGRAMS_ENABLED.getName(), "true")
+                .setProperty(OperationLatencyPlugin.PERIOD_SECONDS.getName(), "1");
+        HazelcastInstance hz = createHazelcastInstance(config);
+        NodeEngineImpl nodeEngine = getNodeEngineImpl(hz);
+        OperationLatencyPlugin plugin = new OperationLatencyPlugin(nodeEngine);
+        plugin.onStart();
+
+        IMap<Integer, Integer> map = hz.getMap(randomMapName());
+        for (int i = 0; i < 100; i++) {
+            map.put(i, i);
+        }
+
+        // the latency is recorded after the response has been sent, so the last put may not have been recorded yet
+        final LatencyHistogram histogram = getOperationServiceImpl(hz).getLatencyHistograms().getHistogram(PutOperation.class);
+        assertTrueEventually(new AssertTask() {
+            @Override
+            public void run() throws Exception {
+                assertEquals(100, histogram.snapshot().getCount());
+            }
+        });
+        MetricsRegistry metricsRegistry = nodeEngine.getMetricsRegistry();
+        String prefix = "operation.latency[" + PutOperation.class.getName() + "].";
+        assertTrue(metricsRegistry.getNames().contains(prefix + "p999Micros"));
+
+        plugin.run(logWriter);
+
+        assertEquals(1000, plugin.getPeriodMillis());
+        assertContains("OperationLatency");
+        assertContains(PutOperation.class.getName());
+        assertContains("count=100");
+        assertContains("avg(us)=");
+        assertContains("p999(us)=");
+        assertContains("max(us)=");
+
+        // the next run only renders the latencies recorded since the previous run
+        map.put(0, 0);
+        assertTrueEventually(new AssertTask() {
+            @Override
+            public void run() throws Exception {
+                assertEquals(101, histogram.snapshot().getCount());
+            }
+        });
+        reset();
+        plugin.run(logWriter);
+
+        assertContains("count=1");
+        assertNotContains("count=100");
+    }
+}
@@ -0,0 +1,143 @@
+/*
+ * Copyright (c) 2008-2018, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.internal.diagnostics;
+
+import com.hazelcast.config.Config;
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.core.IMap;
+import com.hazelcast.spi.impl.operationexecutor.impl.OperationThread;
+import com.hazelcast.test.AssertTask;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.annotation.ParallelTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelTest.class})
+public class ProfilerPluginTest extends AbstractDiagnosticsPluginTest {
+
+    private HazelcastInstance hz;
+    private ProfilerPlugin plugin;
+
+    @Before
+    public void setup() {
+        Config config = new Config()
+                .setProperty(ProfilerPlugin.PERIOD_SECONDS.getName(), "1")
+                .setProperty(ProfilerPlugin.SAMPLE_INTERVAL_MILLIS.getName(), "1");
+        hz = createHazelcastInstance(config);
+        plugin = new ProfilerPlugin(getNodeEngineImpl(hz));
+    }
+
+    @After
+    public void tearDown() {
+        plugin.onShutdown();
+    }
+
+    @Test
+    public void testGetPeriodMillis() {
+        assertEquals(1000, plugin.getPeriodMillis());
+    }
+
+    @Test
+    public void testGetThreadPool() {
+        String prefix = "hz." + hz.getName() + ".";
+
+        assertEquals("partition-operation", plugin.getThreadPool(prefix + "partition-operation.thread-1"));
+        assertEquals("generic-operation", plugin.getThreadPool(prefix + "generic-operation.thread-0"));
+        assertEquals("priority-generic-operation", plugin.getThreadPool(prefix + "priority-generic-operation.thread-0"));
+        assertEquals("IO", plugin.getThreadPool(prefix + "IO.thread-in-0"));
+        assertEquals("event", plugin.getThreadPool(prefix + "event-3"));
+        assertNull(plugin.getThreadPool(prefix + "cached.thread-1"));
+        assertNull(plugin.getThreadPool("hz.someOtherInstance.partition-operation.thread-1"));
+    }
+
+    @Test
+    public void testToFoldedStack() {
+        StackTraceElement[] stackTrace = {
+                new StackTraceElement("Foo", "leaf", "Foo.java", 10),
+                new StackTraceElement("Bar", "root", "Bar.java", 20),
+        };
+
+        assertEquals("IO;Bar.root;Foo.leaf", ProfilerPlugin.toFoldedStack("IO", stackTrace));
+    }
+
+    @Test
+    public void testIsIdle_whenWaitingInSelector() {
+        StackTraceElement[] stackTrace = {
+                new StackTraceElement("sun.nio.ch.EPollArrayWrapper", "epollWait", null, -2),
+                new StackTraceElement("sun.nio.ch.EPollSelectorImpl", "doSelect", null, 79),
+        };
+
+        assertTrue(ProfilerPlugin.isIdle(stackTrace));
+    }
+
+    @Test
+    public void testIsIdle_whenWaitingForWork() {
+        StackTraceElement[] stackTrace = {
+                new StackTraceElement("sun.misc.Unsafe", "park", null, -2),
+                new StackTraceElement("java.util.concurrent.locks.LockSupport", "park", null, 175),
+                new StackTraceElement("java.util.concurrent.LinkedBlockingQueue", "take", null, 442),
+                new StackTraceElement("com.hazelcast.util.executor.StripedExecutor$Worker", "run", null, 207),
+        };
+
+        assertTrue(ProfilerPlugin.isIdle(stackTrace));
+    }
+
+    @Test
+    public void testIsIdle_whenParkedOnLock() {
+        StackTraceElement[] stackTrace = {
+                new StackTraceElement("sun.misc.Unsafe", "park", null, -2),
+                new StackTraceElement("java.util.concurrent.locks.LockSupport", "park", null, 175),
+                new StackTraceElement("java.util.concurrent.locks.ReentrantLock$NonfairSync", "lock", null, 209),
+                new StackTraceElement("Foo", "bar", null, 10),
+        };
+
+        assertFalse(ProfilerPlugin.isIdle(stackTrace));
+    }
+
+    @Test
+    public void testRun() {
+        plugin.onStart();
+
+        final IMap<Integer, Integer> map = hz.getMap(randomMapName());
+        assertTrueEventually(new AssertTask() {
+            @Override
+            public void run() throws Exception {
+                for (int i = 0; i < 1000; i++) {
+                    map.put(i, i);
+                }
+
+                reset();
+                plugin.run(logWriter);
+
+                assertContains("Profiler");
+                assertContains("samples=");
+                assertContains("partition-operation;" + OperationThread.class.getName() + ".run;");
+            }
+        });
+    }
+}
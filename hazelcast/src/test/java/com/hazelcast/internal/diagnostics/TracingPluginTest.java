@@ -0,0 +1,96 @@
+/*
+ * Copyright (c) 2008-2018, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.internal.diagnostics;
+
+import com.hazelcast.config.Config;
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.internal.tracing.Tracer;
+import com.hazelcast.map.impl.operation.PutOperation;
+import com.hazelcast.test.AssertTask;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.annotation.ParallelTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import static com.hazelcast.spi.properties.GroupProperty.TRACING_SAMPLE_RATE;
+import static org.junit.Assert.assertEquals;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelTest.class})
+public class TracingPluginTest extends AbstractDiagnosticsPluginTest {
+
+    @Test
+    public void testGetPeriodMillis_whenTracingDisabled() {
+        Config config = new Config()
+                .setProperty(TracingPlugin.PERIOD_SECONDS.getName(), "1");
+        HazelcastInstance hz = createHazelcastInstance(config);
+
+        TracingPlugin plugin = new TracingPlugin(getNodeEngineImpl(hz));
+
+        assertEquals(0, plugin.getPeriodMillis());
+    }
+
+    @Test
+    public void testRun() {
+        Config config = new Config()
+                .setProperty(TRACING_SAMPLE_RATE.getName(), "1")
+                .setProperty(TracingPlugin.PERIOD_SECONDS.getName(), "1");
+        HazelcastInstance hz = createHazelcastInstance(config);
+        final TracingPlugin plugin = new TracingPlugin(getNodeEngineImpl(hz));
+        plugin.onStart();
+
+        hz.getMap(randomMapName()).put(1, 1);
+
+        assertEquals(1000, plugin.getPeriodMillis());
+        // the trace is exported when the invocation completes, which can be after the put has returned
+        assertTrueEventually(new AssertTask() {
+            @Override
+            public void run() throws Exception {
+                reset();
+                plugin.run(logWriter);
+                assertContains(PutOperation.class.getSimpleName());
+            }
+        });
+        assertContains("Traces");
+        assertContains("total(us)=");
+        assertContains("INVOCATION_STARTED=+0us");
+        assertContains("OPERATION_QUEUED=+");
+        assertContains("OPERATION_STARTED=+");
+        assertContains("OPERATION_COMPLETED=+");
+        assertContains("INVOCATION_COMPLETED=+");
+    }
+
+    @Test
+    public void testRun_whenBufferFull() {
+        Config config = new Config()
+                .setProperty(TRACING_SAMPLE_RATE.getName(), "1")
+                .setProperty(TracingPlugin.MAX_TRACES.getName(), "1");
+        HazelcastInstance hz = createHazelcastInstance(config);
+        TracingPlugin plugin = new TracingPlugin(getNodeEngineImpl(hz));
+
+        Tracer tracer = getNodeEngineImpl(hz).getTracer();
+        plugin.export(tracer.startTrace("id-1", "first"));
+        plugin.export(tracer.startTrace("id-2", "second"));
+        plugin.run(logWriter);
+
+        assertContains("dropped=1");
+        assertContains("id-1");
+        assertContains("first");
+    }
+}
@@ -31,9 +31,11 @@ import java.util.HashSet;
 import java.util.Set;
 
 import static com.hazelcast.internal.metrics.ProbeLevel.INFO;
+import static java.util.Collections.singleton;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
 
 @RunWith(HazelcastSerialClassRunner.class)
 @Category(QuickTest.class)
@@ -62,6 +64,72 @@ public class MetricsRegistryImplTest extends HazelcastTestSupport {
         assertEquals(modCount + 2, metricsRegistry.modCount());
     }
 
+    @Test
+    public void modCount_whenSameSourceAndFunctionRegisteredAgain() {
+        LongProbeFunction function = new LongProbeFunction() {
+            @Override
+            public long get(Object obj) throws Exception {
+                return 1;
+            }
+        };
+        metricsRegistry.register(this, "foo", ProbeLevel.MANDATORY, function);
+        long modCount = metricsRegistry.modCount();
+
+        metricsRegistry.register(this, "foo", ProbeLevel.MANDATORY, function);
+
+        assertEquals(modCount, metricsRegistry.modCount());
+    }
+
+    // ================ deregister ======================
+
+    @Test
+    public void deregister_onlyRemovesProbesOfSource() {
+        Object source1 = new Object();
+        Object source2 = new Object();
+        LongProbeFunction function = new LongProbeFunction() {
+            @Override
+            public long get(Object obj) throws Exception {
+                return 1;
+            }
+        };
+        metricsRegistry.register(source1, "foo1", ProbeLevel.MANDATORY, function);
+        metricsRegistry.register(source1, "bar1", ProbeLevel.MANDATORY, function);
+        metricsRegistry.register(source2, "foo2", ProbeLevel.MANDATORY, function);
+
+        metricsRegistry.deregister(source1);
+
+        assertEquals(singleton("foo2"), metricsRegistry.getNames());
+    }
+
+    @Test
+    public void deregister_whenProbeOverwrittenByOtherSource() {
+        Object source1 = new Object();
+        Object source2 = new Object();
+        LongProbeFunction function = new LongProbeFunction() {
+            @Override
+            public long get(Object obj) throws Exception {
+                return 1;
+            }
+        };
+        metricsRegistry.register(source1, "foo", ProbeLevel.MANDATORY, function);
+        metricsRegistry.register(source2, "foo", ProbeLevel.MANDATORY, function);
+        long modCount = metricsRegistry.modCount();
+
+        metricsRegistry.deregister(source1);
+
+        assertEquals(modCount, metricsRegistry.modCount());
+        assertSame(source2, metricsRegistry.getProbeInstance("foo").source);
+    }
+
+    @Test
+    public void deregister_whenUnknownSource() {
+        long modCount = metricsRegistry.modCount();
+
+        metricsRegistry.deregister(new Object());
+
+        assertEquals(modCount, metricsRegistry.modCount());
+    }
+
     // ================ newLongGauge ======================
 
     @Test(expected = NullPointerException.class)
@@ -0,0 +1,162 @@
+/*
+ * Copyright (c) 2008-2018, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.internal.metrics.renderers;
+
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.HazelcastTestSupport;
+import com.hazelcast.test.annotation.ParallelTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import static org.junit.Assert.assertEquals;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelTest.class})
+public class PrometheusProbeRendererTest extends HazelcastTestSupport {
+
+    private PrometheusProbeRenderer renderer;
+
+    @Before
+    public void setup() {
+        renderer = new PrometheusProbeRenderer();
+    }
+
+    @Test
+    public void testRenderLong() {
+        renderer.renderLong("runtime.usedMemory", 10);
+
+        assertEquals("# TYPE hazelcast_runtime_usedMemory untyped\n"
+                + "hazelcast_runtime_usedMemory 10\n", renderer.getRenderedString());
+    }
+
+    @Test
+    public void testRenderDouble() {
+        renderer.renderDouble("os.systemLoadAverage", 1.5);
+        renderer.renderDouble("os.processCpuLoad", Double.NaN);
+        renderer.renderDouble("os.max", Double.POSITIVE_INFINITY);
+
+        assertEquals("# TYPE hazelcast_os_systemLoadAverage untyped\n"
+                + "hazelcast_os_systemLoadAverage 1.5\n"
+                + "# TYPE hazelcast_os_processCpuLoad untyped\n"
+                + "hazelcast_os_processCpuLoad NaN\n"
+                + "# TYPE hazelcast_os_max untyped\n"
+                + "hazelcast_os_max +Inf\n", renderer.getRenderedString());
+    }
+
+    @Test
+    public void testLabels_areGroupedByMetric() {
+        renderer.renderLong("map[orders].putCount", 1);
+        renderer.renderLong("map[orders].getCount", 2);
+        renderer.renderLong("map[customers].putCount", 3);
+
+        assertEquals("# TYPE hazelcast_map_putCount untyped\n"
+                + "hazelcast_map_putCount{map=\"orders\"} 1\n"
+                + "hazelcast_map_putCount{map=\"customers\"} 3\n"
+                + "# TYPE hazelcast_map_getCount untyped\n"
+                + "hazelcast_map_getCount{map=\"orders\"} 2\n", renderer.getRenderedString());
+    }
+
+    @Test
+    public void testLabels_nested() {
+        renderer.renderLong("operation.partition[3].executedCount", 5);
+
+        assertEquals("# TYPE hazelcast_operation_partition_executedCount untyped\n"
+                + "hazelcast_operation_partition_executedCount{partition=\"3\"} 5\n", renderer.getRenderedString());
+    }
+
+    @Test
+    public void testLabels_duplicateLabelName() {
+        renderer.renderLong("tcp.connection[a].connection[b].count", 1);
+
+        assertEquals("# TYPE hazelcast_tcp_connection_connection_count untyped\n"
+                + "hazelcast_tcp_connection_connection_count{connection=\"a\",connection1=\"b\"} 1\n",
+                renderer.getRenderedString());
+    }
+
+    @Test
+    public void testLabelValue_isEscaped() {
+        renderer.renderLong("map[a\"b\\c].size", 1);
+
+        assertEquals("# TYPE hazelcast_map_size untyped\n"
+                + "hazelcast_map_size{map=\"a\\\"b\\\\c\"} 1\n", renderer.getRenderedString());
+    }
+
+    @Test
+    public void testLabelValue_withClosingBracket() {
+        renderer.renderLong("map[a]b].size", 1);
+        renderer.renderLong("map[c]].size", 2);
+
+        assertEquals("# TYPE hazelcast_map_size untyped\n"
+                + "hazelcast_map_size{map=\"a]b\"} 1\n"
+                + "hazelcast_map_size{map=\"c]\"} 2\n", renderer.getRenderedString());
+    }
+
+    @Test
+    public void testLabelValue_withLineFeed() {
+        renderer.renderLong("map[a\nb].size", 1);
+
+        assertEquals("# TYPE hazelcast_map_size untyped\n"
+                + "hazelcast_map_size{map=\"a\\nb\"} 1\n", renderer.getRenderedString());
+    }
+
+    @Test
+    public void testType_ofLatencyHistogramProbes() {
+        renderer.renderLong("operation.latency[com.hazelcast.Op].count", 3);
+        renderer.renderLong("operation.latency[com.hazelcast.Op].totalMicros", 30);
+        renderer.renderLong("operation.latency[com.hazelcast.Op].p99Micros", 12);
+        renderer.renderLong("tcp.connection.count", 2);
+
+        assertEquals("# TYPE hazelcast_operation_latency_count counter\n"
+                + "hazelcast_operation_latency_count{latency=\"com.hazelcast.Op\"} 3\n"
+                + "# TYPE hazelcast_operation_latency_totalMicros counter\n"
+                + "hazelcast_operation_latency_totalMicros{latency=\"com.hazelcast.Op\"} 30\n"
+                + "# TYPE hazelcast_operation_latency_p99Micros gauge\n"
+                + "hazelcast_operation_latency_p99Micros{latency=\"com.hazelcast.Op\"} 12\n"
+                + "# TYPE hazelcast_tcp_connection_count untyped\n"
+                + "hazelcast_tcp_connection_count 2\n", renderer.getRenderedString());
+    }
+
+    @Test
+    public void testMetricName_invalidCharactersReplaced() {
+        renderer.renderLong("gc.minor-count", 1);
+
+        assertEquals("# TYPE hazelcast_gc_minor_count untyped\n"
+                + "hazelcast_gc_minor_count 1\n", renderer.getRenderedString());
+    }
+
+    @Test
+    public void testFailedProbes_areSkipped() {
+        renderer.renderException("foo", new Exception());
+        renderer.renderNoValue("bar");
+
+        assertEquals("", renderer.getRenderedString());
+    }
+
+    @Test
+    public void testReuse() {
+        renderer.renderLong("map[orders].size", 1);
+        renderer.getRenderedString();
+        renderer.renderLong("map[customers].size", 2);
+
+        assertEquals("# TYPE hazelcast_map_size untyped\n"
+                + "hazelcast_map_size{map=\"customers\"} 2\n", renderer.getRenderedString());
+    }
+}
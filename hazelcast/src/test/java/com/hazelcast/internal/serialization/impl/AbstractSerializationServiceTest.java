@@ -46,8 +46,11 @@ import java.io.ObjectInput;
 import java.io.ObjectOutput;
 import java.io.Serializable;
 
+import static com.hazelcast.util.EmptyStatement.ignore;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.fail;
 
 @RunWith(HazelcastParallelClassRunner.class)
 @Category({QuickTest.class, ParallelTest.class})
@@ -221,6 +224,38 @@ public class AbstractSerializationServiceTest {
         abstractSerializationService.serializerFor(new CustomSerializationTest.Foo());
     }
 
+    @Test
+    public void testSerializerFor_registeredAfterFailedLookup() {
+        CustomSerializationTest.Foo foo = new CustomSerializationTest.Foo("foo");
+        assertNoSuitableSerializer(foo);
+        assertNoSuitableSerializer(foo);
+
+        abstractSerializationService.register(CustomSerializationTest.Foo.class, new CustomSerializationTest.FooXmlSerializer());
+
+        CustomSerializationTest.Foo deserialized = abstractSerializationService.toObject(abstractSerializationService.toData(foo));
+        assertEquals(foo.getFoo(), deserialized.getFoo());
+    }
+
+    @Test
+    public void testSerializerFor_globalRegisteredAfterFailedLookup() {
+        CustomSerializationTest.Foo foo = new CustomSerializationTest.Foo("foo");
+        assertNoSuitableSerializer(foo);
+
+        CustomSerializationTest.FooXmlSerializer serializer = new CustomSerializationTest.FooXmlSerializer();
+        abstractSerializationService.registerGlobal(serializer);
+
+        assertSame(serializer, abstractSerializationService.serializerFor(foo).getImpl());
+    }
+
+    private void assertNoSuitableSerializer(Object object) {
+        try {
+            abstractSerializationService.serializerFor(object);
+            fail("There should be no serializer for " + object.getClass());
+        } catch (HazelcastSerializationException expected) {
+            ignore(expected);
+        }
+    }
+
     @Test
     public void testDeserializationForSpecificType() {
         BaseClass baseObject = new BaseClass(5, "abc");
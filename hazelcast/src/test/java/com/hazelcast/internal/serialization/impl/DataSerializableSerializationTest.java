@@ -17,10 +17,12 @@
 package com.hazelcast.internal.serialization.impl;
 
 import com.hazelcast.internal.serialization.InternalSerializationService;
+import com.hazelcast.internal.serialization.SerializationServiceBuilder;
 import com.hazelcast.nio.ObjectDataInput;
 import com.hazelcast.nio.ObjectDataOutput;
 import com.hazelcast.nio.serialization.DataSerializable;
 import com.hazelcast.nio.serialization.DataSerializableFactory;
+import com.hazelcast.nio.serialization.HazelcastSerializationException;
 import com.hazelcast.nio.serialization.IdentifiedDataSerializable;
 import com.hazelcast.nio.serialization.impl.VersionedDataSerializableFactory;
 import com.hazelcast.spi.serialization.SerializationService;
@@ -84,6 +86,34 @@ public class DataSerializableSerializationTest {
         assertEquals(person.name, deserialized.name);
     }
 
+    @Test
+    public void serializeAndDeserialize_IdentifiedDataSerializable_factoryIdsAroundArrayIndexedRange() {
+        int[] factoryIds = {-129, -128, 127, 128, 1000, Integer.MIN_VALUE, Integer.MAX_VALUE};
+        SerializationServiceBuilder builder = new DefaultSerializationServiceBuilder()
+                .setVersion(InternalSerializationService.VERSION_1);
+        for (int factoryId : factoryIds) {
+            builder.addDataSerializableFactory(factoryId, new IDSPersonFactory());
+        }
+        SerializationService ss = builder.build();
+
+        for (int factoryId : factoryIds) {
+            IDSPerson person = new IDSPerson("James Bond", factoryId);
+
+            IDSPerson deserialized = ss.toObject(ss.toData(person));
+
+            assertEquals(person.name, deserialized.name);
+        }
+    }
+
+    @Test(expected = HazelcastSerializationException.class)
+    public void deserialize_IdentifiedDataSerializable_unknownFactoryId() {
+        SerializationService ss = new DefaultSerializationServiceBuilder()
+                .addDataSerializableFactory(1, new IDSPersonFactory())
+                .setVersion(InternalSerializationService.VERSION_1)
+                .build();
+
+        ss.toObject(ss.toData(new IDSPerson("James Bond", 2)));
+    }
 
     private static class DSPerson implements DataSerializable {
 
@@ -110,6 +140,7 @@ public class DataSerializableSerializationTest {
     private static class IDSPerson implements IdentifiedDataSerializable {
 
         private String name;
+        private int factoryId = 1;
 
         IDSPerson() {
         }
@@ -118,6 +149,11 @@ public class DataSerializableSerializationTest {
             this.name = name;
         }
 
+        IDSPerson(String name, int factoryId) {
+            this.name = name;
+            this.factoryId = factoryId;
+        }
+
         @Override
         public void writeData(ObjectDataOutput out) throws IOException {
             out.writeUTF(name);
@@ -130,7 +166,7 @@ public class DataSerializableSerializationTest {
 
         @Override
         public int getFactoryId() {
-            return 1;
+            return factoryId;
         }
 
         @Override
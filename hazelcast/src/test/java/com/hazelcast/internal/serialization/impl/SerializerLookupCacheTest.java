@@ -0,0 +1,84 @@
+/*
+ * Copyright (c) 2008-2018, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.internal.serialization.impl;
+
+import com.hazelcast.nio.serialization.StreamSerializer;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.annotation.ParallelTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.mockito.Mockito.mock;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelTest.class})
+public class SerializerLookupCacheTest {
+
+    private final SerializerLookupCache cache = new SerializerLookupCache();
+    private final SerializerAdapter serializer = new StreamSerializerAdapter(null, mock(StreamSerializer.class));
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testConstructor_whenCapacityNotPowerOfTwo() {
+        new SerializerLookupCache(100);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testConstructor_whenCapacityZero() {
+        new SerializerLookupCache(0);
+    }
+
+    @Test
+    public void testGet_whenNotCached() {
+        assertNull(cache.get(String.class));
+    }
+
+    @Test
+    public void testGet_whenCached() {
+        cache.put(String.class, serializer);
+
+        SerializerLookupCache.Entry entry = cache.get(String.class);
+
+        assertNotNull(entry);
+        assertSame(String.class, entry.type);
+        assertSame(serializer, entry.serializer);
+    }
+
+    @Test
+    public void testGet_whenNegativeCached() {
+        cache.put(String.class, null);
+
+        SerializerLookupCache.Entry entry = cache.get(String.class);
+
+        assertNotNull(entry);
+        assertNull(entry.serializer);
+    }
+
+    @Test
+    public void testGet_whenCollidingClassCached() {
+        SerializerLookupCache singleSlotCache = new SerializerLookupCache(1);
+        singleSlotCache.put(String.class, serializer);
+        singleSlotCache.put(Integer.class, null);
+
+        assertNull(singleSlotCache.get(String.class));
+        assertNotNull(singleSlotCache.get(Integer.class));
+    }
+}
@@ -0,0 +1,142 @@
+/*
+ * Copyright (c) 2008-2018, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.internal.tracing;
+
+import com.hazelcast.logging.Logger;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.HazelcastTestSupport;
+import com.hazelcast.test.annotation.ParallelTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.hazelcast.internal.tracing.TraceStage.INVOCATION_COMPLETED;
+import static com.hazelcast.internal.tracing.TraceStage.INVOCATION_STARTED;
+import static com.hazelcast.internal.tracing.TraceStage.OPERATION_STARTED;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelTest.class})
+public class TracerTest extends HazelcastTestSupport {
+
+    @Test
+    public void testDisabled() {
+        Tracer tracer = new Tracer(0, Logger.getLogger(TracerTest.class));
+
+        assertFalse(tracer.isEnabled());
+        assertFalse(tracer.isSampled(0));
+        assertFalse(tracer.isSampled(100));
+    }
+
+    @Test
+    public void testIsSampled() {
+        Tracer tracer = new Tracer(0.1, Logger.getLogger(TracerTest.class));
+
+        assertTrue(tracer.isEnabled());
+        int sampled = 0;
+        for (int requestId = 0; requestId < 1000; requestId++) {
+            if (tracer.isSampled(requestId)) {
+                sampled++;
+            }
+        }
+        assertEquals(100, sampled);
+    }
+
+    @Test
+    public void testIsSampled_whenRateAboveOne() {
+        Tracer tracer = new Tracer(5, Logger.getLogger(TracerTest.class));
+
+        assertTrue(tracer.isSampled(1));
+        assertTrue(tracer.isSampled(2));
+    }
+
+    @Test
+    public void testFinishTrace() {
+        Tracer tracer = new Tracer(1, Logger.getLogger(TracerTest.class));
+        CollectingExporter exporter = new CollectingExporter();
+        tracer.addExporter(new TraceExporter() {
+            @Override
+            public void export(Trace trace) {
+                throw new RuntimeException("expected");
+            }
+        });
+        tracer.addExporter(exporter);
+
+        Trace trace = tracer.startTrace("id", "name");
+        tracer.finishTrace(trace);
+
+        assertEquals(1, exporter.traces.size());
+        assertSame(trace, exporter.traces.get(0));
+
+        tracer.removeExporter(exporter);
+        tracer.finishTrace(trace);
+
+        assertEquals(1, exporter.traces.size());
+    }
+
+    @Test
+    public void testCurrentTrace() {
+        Tracer tracer = new Tracer(1, Logger.getLogger(TracerTest.class));
+        Trace trace = tracer.startTrace("id", "name");
+
+        tracer.setCurrentTrace(trace);
+        assertSame(trace, tracer.getCurrentTrace());
+
+        tracer.setCurrentTrace(null);
+        assertNull(tracer.getCurrentTrace());
+    }
+
+    @Test
+    public void testBreakdown() {
+        Tracer tracer = new Tracer(1, Logger.getLogger(TracerTest.class));
+        Trace trace = tracer.startTrace("id", "name");
+
+        assertEquals("", trace.getBreakdown());
+        assertEquals(0, trace.getTotalMicros());
+
+        trace.mark(INVOCATION_STARTED);
+        sleepMillis(1);
+        trace.mark(OPERATION_STARTED);
+        sleepMillis(1);
+        trace.mark(INVOCATION_COMPLETED);
+
+        String breakdown = trace.getBreakdown();
+        assertTrue(breakdown, breakdown.startsWith("INVOCATION_STARTED=+0us OPERATION_STARTED=+"));
+        assertTrue(breakdown, breakdown.contains(" INVOCATION_COMPLETED=+"));
+        assertTrue(trace.getTotalMicros() >= 2000);
+        assertTrue(trace.getTimestampNanos(OPERATION_STARTED) > 0);
+        assertEquals(0, trace.getTimestampNanos(TraceStage.OPERATION_SENT));
+    }
+
+    private static class CollectingExporter implements TraceExporter {
+
+        private final List<Trace> traces = new ArrayList<Trace>();
+
+        @Override
+        public void export(Trace trace) {
+            traces.add(trace);
+        }
+    }
+}
@@ -0,0 +1,195 @@
+/*
+ * Copyright (c) 2008-2018, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.internal.util.counters;
+
+import com.hazelcast.internal.util.counters.LatencyHistogram.Snapshot;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.HazelcastTestSupport;
+import com.hazelcast.test.annotation.ParallelTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import static com.hazelcast.internal.util.counters.LatencyHistogram.BUCKET_COUNT;
+import static com.hazelcast.internal.util.counters.LatencyHistogram.SUB_BUCKET_COUNT;
+import static com.hazelcast.internal.util.counters.LatencyHistogram.bucketHighestValue;
+import static com.hazelcast.internal.util.counters.LatencyHistogram.bucketIndex;
+import static java.util.concurrent.TimeUnit.MICROSECONDS;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelTest.class})
+public class LatencyHistogramTest extends HazelcastTestSupport {
+
+    private LatencyHistogram histogram;
+
+    @Before
+    public void setup() {
+        histogram = new LatencyHistogram("test");
+    }
+
+    @Test
+    public void testBucketIndex_linearRange() {
+        for (int micros = 0; micros < SUB_BUCKET_COUNT; micros++) {
+            assertEquals(micros, bucketIndex(micros));
+            assertEquals(micros, bucketHighestValue(micros));
+        }
+    }
+
+    @Test
+    public void testBucketIndex_containsValue() {
+        for (long micros = 0; micros < 10000000; micros += 7) {
+            int index = bucketIndex(micros);
+            assertTrue(micros <= bucketHighestValue(index));
+            if (index > 0) {
+                assertTrue(micros > bucketHighestValue(index - 1));
+            }
+        }
+    }
+
+    @Test
+    public void testBucketIndex_relativeError() {
+        for (int index = SUB_BUCKET_COUNT; index < BUCKET_COUNT; index++) {
+            long lowest = bucketHighestValue(index - 1) + 1;
+            long highest = bucketHighestValue(index);
+            assertTrue((highest - lowest) * SUB_BUCKET_COUNT <= lowest);
+        }
+    }
+
+    @Test
+    public void testBucketIndex_exceedingMaxValue() {
+        assertEquals(BUCKET_COUNT - 1, bucketIndex(Long.MAX_VALUE));
+    }
+
+    @Test
+    public void testSnapshot_empty() {
+        Snapshot snapshot = histogram.snapshot();
+
+        assertEquals(0, snapshot.getCount());
+        assertEquals(0, snapshot.getMeanMicros());
+        assertEquals(0, snapshot.getMaxMicros());
+        assertEquals(0, snapshot.getValueAtPercentile(99));
+    }
+
+    @Test
+    public void testSnapshot() {
+        for (int micros = 1; micros <= 1000; micros++) {
+            histogram.recordNanos(MICROSECONDS.toNanos(micros));
+        }
+
+        Snapshot snapshot = histogram.snapshot();
+
+        assertEquals(1000, snapshot.getCount());
+        assertEquals(500500, snapshot.getTotalMicros());
+        assertEquals(500, snapshot.getMeanMicros());
+        assertEquals(1000, snapshot.getMaxMicros());
+        assertWithinRelativeError(500, snapshot.getValueAtPercentile(50));
+        assertWithinRelativeError(990, snapshot.getValueAtPercentile(99));
+        assertEquals(1000, snapshot.getValueAtPercentile(100));
+    }
+
+    @Test
+    public void testSnapshot_aggregatesThreads() throws Exception {
+        Thread[] threads = new Thread[4];
+        for (int k = 0; k < threads.length; k++) {
+            threads[k] = new Thread() {
+                @Override
+                public void run() {
+                    for (int i = 0; i < 1000; i++) {
+                        histogram.recordNanos(MICROSECONDS.toNanos(100));
+                    }
+                }
+            };
+            threads[k].start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        Snapshot snapshot = histogram.snapshot();
+
+        assertEquals(4000, snapshot.getCount());
+        assertEquals(100, snapshot.getMaxMicros());
+        assertEquals(100, snapshot.getValueAtPercentile(99.9));
+    }
+
+    @Test
+    public void testSnapshot_whenThreadsTerminated_thenRecordersRetired() throws Exception {
+        for (int k = 0; k < 4; k++) {
+            Thread thread = new Thread() {
+                @Override
+                public void run() {
+                    histogram.recordNanos(MICROSECONDS.toNanos(10));
+                }
+            };
+            thread.start();
+            thread.join();
+        }
+        histogram.recordNanos(MICROSECONDS.toNanos(1000));
+
+        Snapshot snapshot = histogram.snapshot();
+
+        assertEquals(1, histogram.getRecorderCount());
+        assertEquals(5, snapshot.getCount());
+        assertEquals(1040, snapshot.getTotalMicros());
+        assertEquals(1000, snapshot.getMaxMicros());
+        assertEquals(10, snapshot.getValueAtPercentile(80));
+    }
+
+    @Test
+    public void testIntervalReader() {
+        LatencyHistogram.IntervalReader reader = histogram.newIntervalReader();
+        histogram.recordNanos(MICROSECONDS.toNanos(1000));
+        histogram.recordNanos(MICROSECONDS.toNanos(10));
+
+        Snapshot first = reader.read();
+
+        assertEquals(2, first.getCount());
+        assertEquals(1010, first.getTotalMicros());
+        assertEquals(1000, first.getMaxMicros());
+
+        histogram.recordNanos(MICROSECONDS.toNanos(10));
+        Snapshot second = reader.read();
+
+        assertEquals(1, second.getCount());
+        assertEquals(10, second.getTotalMicros());
+        assertEquals(10, second.getMaxMicros());
+        assertEquals(10, second.getValueAtPercentile(99));
+
+        assertEquals(0, reader.read().getCount());
+        assertEquals(3, histogram.snapshot().getCount());
+    }
+
+    @Test
+    public void testIntervalReader_readersAreIndependent() {
+        LatencyHistogram.IntervalReader reader1 = histogram.newIntervalReader();
+        LatencyHistogram.IntervalReader reader2 = histogram.newIntervalReader();
+        histogram.recordNanos(MICROSECONDS.toNanos(10));
+
+        assertEquals(1, reader1.read().getCount());
+        assertEquals(1, reader2.read().getCount());
+    }
+
+    private static void assertWithinRelativeError(long expected, long actual) {
+        assertTrue("expected " + expected + " but was " + actual,
+                Math.abs(actual - expected) * SUB_BUCKET_COUNT <= expected);
+    }
+}
@@ -0,0 +1,123 @@
+/*
+ * Copyright (c) 2008-2018, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.internal.util.counters;
+
+import com.hazelcast.internal.metrics.impl.MetricsRegistryImpl;
+import com.hazelcast.internal.metrics.renderers.ProbeRenderer;
+import com.hazelcast.logging.Logger;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.annotation.ParallelTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static com.hazelcast.internal.metrics.ProbeLevel.INFO;
+import static java.util.concurrent.TimeUnit.MICROSECONDS;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelTest.class})
+public class LatencyHistogramsTest {
+
+    private static final String PREFIX = "test.latency[" + String.class.getName() + "].";
+
+    private MetricsRegistryImpl metricsRegistry;
+    private LatencyHistograms histograms;
+
+    @Before
+    public void setup() {
+        metricsRegistry = new MetricsRegistryImpl(Logger.getLogger(MetricsRegistryImpl.class), INFO);
+        histograms = new LatencyHistograms("test.latency", metricsRegistry);
+    }
+
+    @Test
+    public void testRender_rendersLatenciesSinceCreation() {
+        LatencyHistogram histogram = histograms.getHistogram(String.class);
+        histogram.recordNanos(MICROSECONDS.toNanos(10));
+        histogram.recordNanos(MICROSECONDS.toNanos(14));
+
+        Map<String, Long> first = render();
+
+        assertEquals(2, (long) first.get(PREFIX + "count"));
+        assertEquals(24, (long) first.get(PREFIX + "totalMicros"));
+        assertEquals(12, (long) first.get(PREFIX + "avgMicros"));
+        assertEquals(14, (long) first.get(PREFIX + "maxMicros"));
+        assertEquals(14, (long) first.get(PREFIX + "p9999Micros"));
+
+        histogram.recordNanos(MICROSECONDS.toNanos(2));
+        Map<String, Long> second = render();
+
+        assertEquals(3, (long) second.get(PREFIX + "count"));
+        assertEquals(26, (long) second.get(PREFIX + "totalMicros"));
+        assertEquals(8, (long) second.get(PREFIX + "avgMicros"));
+        assertEquals(14, (long) second.get(PREFIX + "maxMicros"));
+        assertEquals(10, (long) second.get(PREFIX + "p50Micros"));
+    }
+
+    @Test
+    public void testRender_whenRenderedByAnotherConsumer_thenValuesNotConsumed() {
+        LatencyHistogram histogram = histograms.getHistogram(String.class);
+        histogram.recordNanos(MICROSECONDS.toNanos(100));
+
+        Map<String, Long> first = render();
+        Map<String, Long> second = render();
+
+        assertEquals(first, second);
+        assertEquals(1, (long) second.get(PREFIX + "count"));
+    }
+
+    @Test
+    public void testGetSummaries() {
+        histograms.getHistogram(String.class).recordNanos(MICROSECONDS.toNanos(100));
+        render();
+
+        String[] summaries = histograms.getSummaries();
+
+        assertEquals(1, summaries.length);
+        assertTrue(summaries[0], summaries[0].contains("count=1 avg(us)=100"));
+        assertTrue(summaries[0], summaries[0].contains("p999(us)=100"));
+    }
+
+    private Map<String, Long> render() {
+        final Map<String, Long> values = new HashMap<String, Long>();
+        metricsRegistry.render(new ProbeRenderer() {
+            @Override
+            public void renderLong(String name, long value) {
+                values.put(name, value);
+            }
+
+            @Override
+            public void renderDouble(String name, double value) {
+            }
+
+            @Override
+            public void renderException(String name, Exception e) {
+            }
+
+            @Override
+            public void renderNoValue(String name) {
+            }
+        });
+        return values;
+    }
+}
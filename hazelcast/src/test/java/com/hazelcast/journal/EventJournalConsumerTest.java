@@ -0,0 +1,291 @@
+/*
+ * Copyright (c) 2008-2018, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.journal;
+
+import com.hazelcast.config.Config;
+import com.hazelcast.config.EventJournalConfig;
+import com.hazelcast.core.EntryEventType;
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.core.IMap;
+import com.hazelcast.map.journal.EventJournalMapEvent;
+import com.hazelcast.test.AssertTask;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.HazelcastTestSupport;
+import com.hazelcast.test.annotation.ParallelTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelTest.class})
+public class EventJournalConsumerTest extends HazelcastTestSupport {
+
+    protected HazelcastInstance[] instances;
+
+    private final List<EventJournalConsumer<EventJournalMapEvent<Integer, Integer>, EventJournalMapEvent<Integer, Integer>>>
+            consumers = new ArrayList<EventJournalConsumer<EventJournalMapEvent<Integer, Integer>,
+            EventJournalMapEvent<Integer, Integer>>>();
+    private String mapName;
+
+    @Before
+    public void setup() {
+        instances = createInstances();
+        mapName = randomMapName();
+    }
+
+    @After
+    public void tearDown() {
+        for (EventJournalConsumer<?, ?> consumer : consumers) {
+            consumer.stop();
+        }
+    }
+
+    protected HazelcastInstance[] createInstances() {
+        return createHazelcastInstanceFactory(2).newInstances(getConfig());
+    }
+
+    /**
+     * Returns the instance the consumer reads with.
+     */
+    protected HazelcastInstance getConsumerInstance() {
+        return instances[0];
+    }
+
+    @Override
+    protected Config getConfig() {
+        EventJournalConfig eventJournalConfig = new EventJournalConfig()
+                .setEnabled(true)
+                .setMapName("default")
+                .setCapacity(100000);
+        return super.getConfig().addEventJournalConfig(eventJournalConfig);
+    }
+
+    @Test
+    public void testStart_whenNewEventsOnly() {
+        IMap<Integer, Integer> map = instances[0].getMap(mapName);
+        map.put(0, 0);
+
+        CollectingListener listener = new CollectingListener();
+        final EventJournalConsumer<?, ?> consumer = newConsumer(listener);
+        consumer.start();
+        final int partitionId = instances[0].getPartitionService().getPartition(0).getPartitionId();
+        assertTrueEventually(new AssertTask() {
+            @Override
+            public void run() throws Exception {
+                assertEquals(1, consumer.getSequences()[partitionId]);
+            }
+        });
+
+        map.put(0, 1);
+
+        assertEventsEventually(listener, "UPDATED 0=1");
+    }
+
+    @Test
+    public void testStartFromOldest() {
+        IMap<Integer, Integer> map = instances[0].getMap(mapName);
+        for (int key = 0; key < 100; key++) {
+            map.put(key, 0);
+            map.put(key, 1);
+        }
+
+        CollectingListener listener = new CollectingListener();
+        newConsumer(listener).startFromOldest();
+
+        assertEventsEventually(listener, expectedEvents(0, 100));
+        listener.assertInOrder();
+    }
+
+    @Test
+    public void testStart_whenResumedFromSequences() {
+        IMap<Integer, Integer> map = instances[0].getMap(mapName);
+        CollectingListener listener = new CollectingListener();
+        EventJournalConsumer<?, ?> consumer = newConsumer(listener);
+        consumer.startFromOldest();
+        for (int key = 0; key < 50; key++) {
+            map.put(key, 0);
+            map.put(key, 1);
+        }
+        assertEventsEventually(listener, expectedEvents(0, 50));
+        consumer.stop();
+        long[] sequences = consumer.getSequences();
+
+        for (int key = 50; key < 100; key++) {
+            map.put(key, 0);
+            map.put(key, 1);
+        }
+        CollectingListener resumedListener = new CollectingListener();
+        newConsumer(resumedListener).start(sequences);
+
+        assertEventsEventually(resumedListener, expectedEvents(50, 100));
+    }
+
+    @Test
+    public void testStop_whenEventBeingPassed_thenWaitsForListener() throws Exception {
+        final CountDownLatch eventPassed = new CountDownLatch(1);
+        final CountDownLatch releaseListener = new CountDownLatch(1);
+        final AtomicInteger eventCount = new AtomicInteger();
+        final EventJournalConsumer<?, ?> consumer = newConsumer(new EventJournalListener<EventJournalMapEvent<Integer, Integer>>() {
+            @Override
+            public void onEvent(int partitionId, long sequence, EventJournalMapEvent<Integer, Integer> event) {
+                eventCount.incrementAndGet();
+                eventPassed.countDown();
+                assertOpenEventually(releaseListener);
+            }
+        });
+        IMap<Integer, Integer> map = instances[0].getMap(mapName);
+        map.put(0, 0);
+        consumer.startFromOldest();
+        assertOpenEventually(eventPassed);
+
+        Future stopped = spawn(new Runnable() {
+            @Override
+            public void run() {
+                consumer.stop();
+            }
+        });
+        map.put(0, 1);
+        map.put(1, 1);
+        assertTrueAllTheTime(new AssertTask() {
+            @Override
+            public void run() {
+                assertFalse(stopped.isDone());
+            }
+        }, 2);
+
+        releaseListener.countDown();
+        stopped.get();
+        assertTrueAllTheTime(new AssertTask() {
+            @Override
+            public void run() {
+                assertEquals(1, eventCount.get());
+            }
+        }, 2);
+    }
+
+    @Test
+    public void testMemberFailure() {
+        IMap<Integer, Integer> map = instances[0].getMap(mapName);
+        CollectingListener listener = new CollectingListener();
+        newConsumer(listener).startFromOldest();
+        for (int key = 0; key < 50; key++) {
+            map.put(key, 0);
+            map.put(key, 1);
+        }
+
+        instances[1].getLifecycleService().terminate();
+        for (int key = 50; key < 100; key++) {
+            map.put(key, 0);
+            map.put(key, 1);
+        }
+
+        assertEventsEventually(listener, expectedEvents(0, 100));
+        listener.assertInOrder();
+    }
+
+    private EventJournalConsumer<?, ?> newConsumer(EventJournalListener<EventJournalMapEvent<Integer, Integer>> listener) {
+        HazelcastInstance hz = getConsumerInstance();
+        @SuppressWarnings("unchecked")
+        EventJournalReader<EventJournalMapEvent<Integer, Integer>> reader
+                = (EventJournalReader<EventJournalMapEvent<Integer, Integer>>) hz.getMap(mapName);
+        int partitionCount = hz.getPartitionService().getPartitions().size();
+        EventJournalConsumer<EventJournalMapEvent<Integer, Integer>, EventJournalMapEvent<Integer, Integer>> consumer
+                = new EventJournalConsumer<EventJournalMapEvent<Integer, Integer>, EventJournalMapEvent<Integer, Integer>>(
+                reader, partitionCount, null, null, 10, listener);
+        consumers.add(consumer);
+        return consumer;
+    }
+
+    private static String[] expectedEvents(int fromKey, int toKey) {
+        List<String> events = new ArrayList<String>();
+        for (int key = fromKey; key < toKey; key++) {
+            events.add("ADDED " + key + "=0");
+            events.add("UPDATED " + key + "=1");
+        }
+        return events.toArray(new String[0]);
+    }
+
+    private static void assertEventsEventually(final CollectingListener listener, final String... expected) {
+        assertTrueEventually(new AssertTask() {
+            @Override
+            public void run() throws Exception {
+                assertEquals(expected.length, listener.getEvents().size());
+            }
+        });
+        // no event is passed twice
+        List<String> events = listener.getEvents();
+        assertEquals(expected.length, new HashSet<String>(events).size());
+        for (String event : expected) {
+            assertTrue(event + " not found in " + events, events.contains(event));
+        }
+    }
+
+    private static class CollectingListener implements EventJournalListener<EventJournalMapEvent<Integer, Integer>> {
+
+        private final List<String> events = new ArrayList<String>();
+        private final List<Long> sequences = new ArrayList<Long>();
+        private final List<Integer> partitionIds = new ArrayList<Integer>();
+
+        @Override
+        public synchronized void onEvent(int partitionId, long sequence, EventJournalMapEvent<Integer, Integer> event) {
+            events.add(event.getType() + " " + event.getKey() + "=" + event.getNewValue());
+            sequences.add(sequence);
+            partitionIds.add(partitionId);
+        }
+
+        synchronized List<String> getEvents() {
+            return new ArrayList<String>(events);
+        }
+
+        /**
+         * Asserts that the events of each partition have increasing sequences and that the ADDED event of a key
+         * is passed before its UPDATED event.
+         */
+        synchronized void assertInOrder() {
+            long[] lastSequences = new long[10000];
+            Set<Integer> addedKeys = new HashSet<Integer>();
+            for (int k = 0; k < events.size(); k++) {
+                int partitionId = partitionIds.get(k);
+                assertTrue(sequences.get(k) >= lastSequences[partitionId]);
+                lastSequences[partitionId] = sequences.get(k) + 1;
+
+                String event = events.get(k);
+                int key = Integer.parseInt(event.substring(event.indexOf(' ') + 1, event.indexOf('=')));
+                if (event.startsWith(EntryEventType.ADDED.name())) {
+                    addedKeys.add(key);
+                } else {
+                    assertTrue("UPDATED before ADDED for key " + key, addedKeys.contains(key));
+                }
+            }
+        }
+    }
+}
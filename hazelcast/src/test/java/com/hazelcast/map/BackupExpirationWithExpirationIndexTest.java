@@ -0,0 +1,69 @@
+/*
+ * Copyright (c) 2008-2018, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.map;
+
+import com.hazelcast.config.Config;
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.core.IMap;
+import com.hazelcast.test.AssertTask;
+import com.hazelcast.test.HazelcastParametersRunnerFactory;
+import com.hazelcast.test.annotation.ParallelTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+
+import static com.hazelcast.map.impl.eviction.ExpirationManager.PROP_INDEX_ENABLED;
+import static com.hazelcast.map.impl.eviction.ExpirationManager.PROP_TASK_PERIOD_SECONDS;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.junit.Assert.assertEquals;
+
+@RunWith(Parameterized.class)
+@Parameterized.UseParametersRunnerFactory(HazelcastParametersRunnerFactory.class)
+@Category({QuickTest.class, ParallelTest.class})
+public class BackupExpirationWithExpirationIndexTest extends BackupExpirationTest {
+
+    @Override
+    protected Config getConfig() {
+        Config config = super.getConfig();
+        config.setProperty(PROP_INDEX_ENABLED, "true");
+        return config;
+    }
+
+    @Test
+    public void ttl_expired_entries_should_be_removed_from_all_replicas_without_access() {
+        Config config = getConfig();
+        config.setProperty(PROP_TASK_PERIOD_SECONDS, "1");
+        config.getMapConfig("ttl").setBackupCount(1);
+        final HazelcastInstance[] instances = createHazelcastInstanceFactory(2).newInstances(config);
+
+        IMap<Integer, Integer> map = instances[0].getMap("ttl");
+        for (int i = 0; i < 1000; i++) {
+            map.put(i, i, 1 + i % 3, SECONDS);
+        }
+
+        assertTrueEventually(new AssertTask() {
+            @Override
+            public void run() throws Exception {
+                for (HazelcastInstance instance : instances) {
+                    assertEquals(0, getTotalEntryCount(instance.getMap("ttl")));
+                }
+            }
+        });
+    }
+}
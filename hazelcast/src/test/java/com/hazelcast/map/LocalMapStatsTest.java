@@ -19,12 +19,14 @@ package com.hazelcast.map;
 import com.hazelcast.config.Config;
 import com.hazelcast.config.EvictionPolicy;
 import com.hazelcast.config.MapConfig;
+import com.hazelcast.config.MapStoreConfig;
 import com.hazelcast.config.MaxSizeConfig;
 import com.hazelcast.config.MemberGroupConfig;
 import com.hazelcast.config.PartitionGroupConfig;
 import com.hazelcast.core.EntryEvent;
 import com.hazelcast.core.HazelcastInstance;
 import com.hazelcast.core.IMap;
+import com.hazelcast.core.MapStoreAdapter;
 import com.hazelcast.core.MultiMap;
 import com.hazelcast.internal.partition.InternalPartitionService;
 import com.hazelcast.map.listener.EntryEvictedListener;
@@ -107,6 +109,58 @@ public class LocalMapStatsTest extends HazelcastTestSupport {
         assertEquals(100, localMapStats.getHits());
     }
 
+    @Test
+    public void testLoadHitsGenerated_whenGetMissesServedByMapLoader() {
+        String mapName = randomMapName();
+        Config config = getConfig();
+        config.getMapConfig(mapName).setMapStoreConfig(new MapStoreConfig()
+                .setImplementation(new MapStoreAdapter<Integer, Integer>() {
+                    @Override
+                    public Integer load(Integer key) {
+                        return key < 50 ? key : null;
+                    }
+                }));
+        IMap<Integer, Integer> map = createHazelcastInstance(config).getMap(mapName);
+
+        for (int i = 0; i < 100; i++) {
+            map.get(i);
+        }
+        // served from memory
+        for (int i = 0; i < 50; i++) {
+            map.get(i);
+        }
+
+        LocalMapStats localMapStats = map.getLocalMapStats();
+        assertEquals(50, localMapStats.getLoadHits());
+        assertEquals(50, localMapStats.getHits());
+    }
+
+    @Test
+    public void testLoadHitsGenerated_whenGetAllAndContainsKeyMissesServedByMapLoader() {
+        String mapName = randomMapName();
+        Config config = getConfig();
+        config.getMapConfig(mapName).setMapStoreConfig(new MapStoreConfig()
+                .setImplementation(new MapStoreAdapter<Integer, Integer>() {
+                    @Override
+                    public Integer load(Integer key) {
+                        return key < 50 ? key : null;
+                    }
+                }));
+        IMap<Integer, Integer> map = createHazelcastInstance(config).getMap(mapName);
+
+        Set<Integer> keys = new HashSet<Integer>();
+        for (int i = 0; i < 40; i++) {
+            keys.add(i);
+        }
+        keys.add(99);
+        map.getAll(keys);
+        for (int i = 40; i < 60; i++) {
+            map.containsKey(i);
+        }
+
+        assertEquals(50, map.getLocalMapStats().getLoadHits());
+    }
+
     @Test
     public void testPutAllGenerated() throws Exception {
         IMap<Integer, Integer> map = getMap();
@@ -0,0 +1,182 @@
+/*
+ * Copyright (c) 2008-2018, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.map.impl;
+
+import com.hazelcast.core.IFunction;
+import com.hazelcast.internal.serialization.InternalSerializationService;
+import com.hazelcast.internal.serialization.impl.DefaultSerializationServiceBuilder;
+import com.hazelcast.nio.serialization.Data;
+import com.hazelcast.spi.ExecutionService;
+import com.hazelcast.spi.partition.IPartitionService;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.annotation.ParallelTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.stubbing.Answer;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+
+import static com.hazelcast.spi.ExecutionService.MAP_LOAD_ALL_KEYS_EXECUTOR;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelTest.class})
+public class ParallelKeyDispatcherTest {
+
+    private static final int PARTITION_COUNT = 7;
+
+    private InternalSerializationService ss;
+    private IPartitionService partitionService;
+    private ExecutionService execService;
+    private RecordingSender sender;
+
+    @Before
+    public void setUp() {
+        ss = new DefaultSerializationServiceBuilder().build();
+        partitionService = mock(IPartitionService.class);
+        when(partitionService.getPartitionId(any(Data.class))).thenAnswer(new Answer<Integer>() {
+            @Override
+            public Integer answer(InvocationOnMock invocation) {
+                Data key = (Data) invocation.getArguments()[0];
+                return (Integer) ss.toObject(key) % PARTITION_COUNT;
+            }
+        });
+        execService = mock(ExecutionService.class);
+        sender = new RecordingSender();
+    }
+
+    @Test
+    public void dispatch_sendsAllKeysInFullBatches_whenExecutorRunsTasks() {
+        doAnswer(new Answer() {
+            @Override
+            public Object answer(InvocationOnMock invocation) {
+                ((Runnable) invocation.getArguments()[1]).run();
+                return null;
+            }
+        }).when(execService).execute(anyString(), any(Runnable.class));
+
+        dispatch(1000, 4, 10);
+
+        assertAllKeysSent(1000, 10);
+    }
+
+    @Test
+    public void dispatch_sendsAllKeys_whenExecutorNeverRunsTasks() {
+        dispatch(1000, 4, 10);
+
+        assertAllKeysSent(1000, 10);
+    }
+
+    @Test
+    public void dispatch_sendsAllKeys_whenExecutorRejectsTasks() {
+        doThrow(new RejectedExecutionException()).when(execService).execute(anyString(), any(Runnable.class));
+
+        dispatch(1000, 4, 10);
+
+        assertAllKeysSent(1000, 10);
+    }
+
+    @Test
+    public void dispatch_sendsRemainingKeys_whenBatchNotFull() {
+        dispatch(3, 4, 10);
+
+        assertAllKeysSent(3, 10);
+    }
+
+    @Test(expected = NullPointerException.class)
+    public void dispatch_throwsNullPointerException_whenNullKeyLoaded() {
+        ParallelKeyDispatcher dispatcher = new ParallelKeyDispatcher(execService, MAP_LOAD_ALL_KEYS_EXECUTOR, toData(),
+                partitionService, 4, 10);
+
+        dispatcher.dispatch(Arrays.<Object>asList(1, null, 3).iterator(), sender);
+    }
+
+    private void dispatch(int keyCount, int parallelism, int maxBatch) {
+        List<Object> keys = new ArrayList<Object>(keyCount);
+        for (int i = 0; i < keyCount; i++) {
+            keys.add(i);
+        }
+        ParallelKeyDispatcher dispatcher = new ParallelKeyDispatcher(execService, MAP_LOAD_ALL_KEYS_EXECUTOR, toData(),
+                partitionService, parallelism, maxBatch);
+
+        List<Future> futures = dispatcher.dispatch(keys.iterator(), sender);
+
+        assertEquals(sender.batchCount, futures.size());
+    }
+
+    private void assertAllKeysSent(int keyCount, int maxBatch) {
+        Set<Integer> sentKeys = new HashSet<Integer>();
+        for (Map.Entry<Integer, List<Integer>> entry : sender.keysByPartition.entrySet()) {
+            for (Integer key : entry.getValue()) {
+                assertEquals((int) entry.getKey(), key % PARTITION_COUNT);
+                assertTrue("Key sent twice: " + key, sentKeys.add(key));
+            }
+        }
+        assertEquals(keyCount, sentKeys.size());
+        assertTrue(sender.maxBatchSize <= maxBatch);
+    }
+
+    private IFunction<Object, Data> toData() {
+        return new IFunction<Object, Data>() {
+            @Override
+            public Data apply(Object input) {
+                return ss.toData(input);
+            }
+        };
+    }
+
+    private class RecordingSender implements ParallelKeyDispatcher.KeyBatchSender {
+
+        private final Map<Integer, List<Integer>> keysByPartition = new HashMap<Integer, List<Integer>>();
+        private int batchCount;
+        private int maxBatchSize;
+
+        @Override
+        public Future send(int partitionId, List<Data> keys) {
+            List<Integer> partitionKeys = keysByPartition.get(partitionId);
+            if (partitionKeys == null) {
+                partitionKeys = new ArrayList<Integer>();
+                keysByPartition.put(partitionId, partitionKeys);
+            }
+            for (Data key : keys) {
+                partitionKeys.add((Integer) ss.toObject(key));
+            }
+            batchCount++;
+            maxBatchSize = Math.max(maxBatchSize, keys.size());
+            return mock(Future.class);
+        }
+    }
+}
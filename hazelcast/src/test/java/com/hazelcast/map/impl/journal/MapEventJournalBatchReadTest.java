@@ -0,0 +1,284 @@
+/*
+ * Copyright (c) 2008-2018, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.map.impl.journal;
+
+import com.hazelcast.config.Config;
+import com.hazelcast.config.EventJournalConfig;
+import com.hazelcast.core.EntryEventType;
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.core.IMap;
+import com.hazelcast.journal.EventJournalBatch;
+import com.hazelcast.map.impl.proxy.MapProxyImpl;
+import com.hazelcast.map.journal.EventJournalMapEvent;
+import com.hazelcast.projection.Projection;
+import com.hazelcast.spi.properties.GroupProperty;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.HazelcastTestSupport;
+import com.hazelcast.test.annotation.ParallelTest;
+import com.hazelcast.test.annotation.QuickTest;
+import com.hazelcast.util.function.Predicate;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelTest.class})
+public class MapEventJournalBatchReadTest extends HazelcastTestSupport {
+
+    private static final int PARTITION_COUNT = Integer.parseInt(GroupProperty.PARTITION_COUNT.getDefaultValue());
+
+    private HazelcastInstance[] instances;
+
+    @Before
+    public void setup() {
+        instances = createHazelcastInstanceFactory(2).newInstances(getConfig());
+    }
+
+    @Override
+    protected Config getConfig() {
+        EventJournalConfig journalConfig = new EventJournalConfig()
+                .setEnabled(true)
+                .setMapName("journal*")
+                .setCapacity(500 * PARTITION_COUNT);
+        EventJournalConfig smallJournalConfig = new EventJournalConfig()
+                .setEnabled(true)
+                .setMapName("small*")
+                .setCapacity(10 * PARTITION_COUNT);
+        return super.getConfig()
+                .addEventJournalConfig(journalConfig)
+                .addEventJournalConfig(smallJournalConfig);
+    }
+
+    @Test
+    public void testRead_allPartitions() {
+        MapProxyImpl<Integer, Integer> map = getMap("journal");
+        for (int key = 0; key < 1000; key++) {
+            map.put(key, key);
+        }
+
+        Map<Integer, EventJournalBatch<EventJournalMapEvent<Integer, Integer>>> batches
+                = map.readFromEventJournal(allPartitions(), new long[PARTITION_COUNT], 1000, null, null);
+
+        assertEquals(PARTITION_COUNT, batches.size());
+        int eventCount = 0;
+        for (Map.Entry<Integer, EventJournalBatch<EventJournalMapEvent<Integer, Integer>>> entry : batches.entrySet()) {
+            EventJournalBatch<EventJournalMapEvent<Integer, Integer>> batch = entry.getValue();
+            assertEquals(batch.size(), batch.readCount());
+            assertEquals(batch.size(), batch.getNextSequence());
+            assertEquals(0, batch.getLostCount());
+            for (int k = 0; k < batch.size(); k++) {
+                EventJournalMapEvent<Integer, Integer> event = batch.get(k);
+                assertEquals(k, batch.getSequence(k));
+                assertEquals(EntryEventType.ADDED, event.getType());
+                assertEquals(event.getKey(), event.getNewValue());
+                assertEquals(entry.getKey().intValue(), getPartitionId(event.getKey()));
+                eventCount++;
+            }
+        }
+        assertEquals(1000, eventCount);
+    }
+
+    @Test
+    public void testRead_continuesFromNextSequence() {
+        MapProxyImpl<Integer, Integer> map = getMap("journal");
+        for (int value = 0; value < 20; value++) {
+            map.put(1, value);
+        }
+        int partitionId = getPartitionId(1);
+
+        List<Integer> values = new ArrayList<Integer>();
+        long sequence = 0;
+        for (; ; ) {
+            EventJournalBatch<EventJournalMapEvent<Integer, Integer>> batch = map.<EventJournalMapEvent<Integer, Integer>>
+                    readFromEventJournal(new int[]{partitionId}, new long[]{sequence}, 5, null, null).get(partitionId);
+            assertTrue(batch.size() <= 5);
+            if (batch.size() == 0) {
+                break;
+            }
+            for (EventJournalMapEvent<Integer, Integer> event : batch) {
+                values.add(event.getNewValue());
+            }
+            sequence = batch.getNextSequence();
+        }
+
+        assertEquals(20, sequence);
+        assertEquals(20, values.size());
+        for (int value = 0; value < 20; value++) {
+            assertEquals(value, values.get(value).intValue());
+        }
+    }
+
+    @Test
+    public void testRead_withPredicateAndProjection() {
+        MapProxyImpl<Integer, Integer> map = getMap("journal");
+        for (int key = 0; key < 100; key++) {
+            map.put(key, key);
+        }
+
+        Map<Integer, EventJournalBatch<Integer>> batches = map.readFromEventJournal(
+                allPartitions(), new long[PARTITION_COUNT], 100, new EvenValuePredicate(), new NewValueProjection());
+
+        int readCount = 0;
+        List<Integer> values = new ArrayList<Integer>();
+        for (EventJournalBatch<Integer> batch : batches.values()) {
+            readCount += batch.readCount();
+            assertEquals(batch.readCount(), batch.getNextSequence());
+            for (Integer value : batch) {
+                values.add(value);
+            }
+        }
+        assertEquals(100, readCount);
+        assertEquals(50, values.size());
+        for (Integer value : values) {
+            assertEquals(0, value % 2);
+        }
+    }
+
+    @Test
+    public void testRead_whenPartitionsNotInOrder() {
+        MapProxyImpl<Integer, Integer> map = getMap("journal");
+        for (int key = 0; key < 5000; key++) {
+            map.put(key, key);
+        }
+        int[] partitionIds = {PARTITION_COUNT - 1, 0, PARTITION_COUNT / 2};
+        long[] startSequences = {1, 0, 2};
+
+        Map<Integer, EventJournalBatch<EventJournalMapEvent<Integer, Integer>>> batches
+                = map.readFromEventJournal(partitionIds, startSequences, 1000, null, null);
+
+        assertEquals(partitionIds.length, batches.size());
+        for (int i = 0; i < partitionIds.length; i++) {
+            EventJournalBatch<EventJournalMapEvent<Integer, Integer>> batch = batches.get(partitionIds[i]);
+            assertEquals(startSequences[i], batch.getSequence(0));
+            for (EventJournalMapEvent<Integer, Integer> event : batch) {
+                assertEquals(partitionIds[i], getPartitionId(event.getKey()));
+            }
+        }
+    }
+
+    @Test
+    public void testCreatePartitionOperation_whenPartitionNotRead() {
+        MapEventJournalBatchReadOperationFactory<Integer, Integer, Integer> factory
+                = new MapEventJournalBatchReadOperationFactory<Integer, Integer, Integer>(
+                "map", new int[]{3, 1}, new long[]{0, 0}, 100, null, null);
+
+        assertNotNull(factory.createPartitionOperation(1));
+        assertNotNull(factory.createPartitionOperation(3));
+        try {
+            factory.createPartitionOperation(2);
+            fail();
+        } catch (IllegalArgumentException expected) {
+            ignore(expected);
+        }
+        try {
+            factory.createPartitionOperation(4);
+            fail();
+        } catch (IllegalArgumentException expected) {
+            ignore(expected);
+        }
+    }
+
+    @Test
+    public void testRead_whenSequenceOverwritten() {
+        MapProxyImpl<Integer, Integer> map = getMap("small");
+        for (int value = 0; value < 30; value++) {
+            map.put(1, value);
+        }
+        int partitionId = getPartitionId(1);
+
+        EventJournalBatch<EventJournalMapEvent<Integer, Integer>> batch = map.<EventJournalMapEvent<Integer, Integer>>
+                readFromEventJournal(new int[]{partitionId}, new long[]{0}, 100, null, null).get(partitionId);
+
+        assertEquals(20, batch.getLostCount());
+        assertEquals(10, batch.size());
+        assertEquals(20, batch.getSequence(0));
+        assertEquals(20, batch.get(0).getNewValue().intValue());
+        assertEquals(30, batch.getNextSequence());
+    }
+
+    @Test
+    public void testRead_whenSequenceAfterNewest() {
+        MapProxyImpl<Integer, Integer> map = getMap("journal");
+        map.put(1, 1);
+        int partitionId = getPartitionId(1);
+
+        EventJournalBatch<EventJournalMapEvent<Integer, Integer>> batch = map.<EventJournalMapEvent<Integer, Integer>>
+                readFromEventJournal(new int[]{partitionId}, new long[]{100}, 100, null, null).get(partitionId);
+
+        assertEquals(0, batch.size());
+        assertEquals(0, batch.getLostCount());
+        assertEquals(1, batch.getNextSequence());
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void testRead_whenNoEventJournal() {
+        MapProxyImpl<Integer, Integer> map = getMap("other");
+
+        map.readFromEventJournal(allPartitions(), new long[PARTITION_COUNT], 100, null, null);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testRead_whenSequenceMissing() {
+        MapProxyImpl<Integer, Integer> map = getMap("journal");
+
+        map.readFromEventJournal(allPartitions(), new long[1], 100, null, null);
+    }
+
+    private MapProxyImpl<Integer, Integer> getMap(String prefix) {
+        IMap<Integer, Integer> map = instances[0].getMap(randomMapName(prefix));
+        return (MapProxyImpl<Integer, Integer>) map;
+    }
+
+    private int getPartitionId(Object key) {
+        return instances[0].getPartitionService().getPartition(key).getPartitionId();
+    }
+
+    private static int[] allPartitions() {
+        int[] partitionIds = new int[PARTITION_COUNT];
+        for (int partitionId = 0; partitionId < PARTITION_COUNT; partitionId++) {
+            partitionIds[partitionId] = partitionId;
+        }
+        return partitionIds;
+    }
+
+    private static class EvenValuePredicate implements Predicate<EventJournalMapEvent<Integer, Integer>>, Serializable {
+
+        @Override
+        public boolean test(EventJournalMapEvent<Integer, Integer> event) {
+            return event.getNewValue() % 2 == 0;
+        }
+    }
+
+    private static class NewValueProjection extends Projection<EventJournalMapEvent<Integer, Integer>, Integer> {
+
+        @Override
+        public Integer transform(EventJournalMapEvent<Integer, Integer> event) {
+            return event.getNewValue();
+        }
+    }
+}
@@ -53,6 +53,8 @@ public class TestMapUsingMapStoreBuilder<K, V> {
 
     private long writeBehindQueueCapacity;
 
+    private int flushParallelism;
+
     private TestHazelcastInstanceFactory instanceFactory;
 
     private TestMapUsingMapStoreBuilder() {
@@ -115,6 +117,14 @@ public class TestMapUsingMapStoreBuilder<K, V> {
         return this;
     }
 
+    public TestMapUsingMapStoreBuilder<K, V> withFlushParallelism(int flushParallelism) {
+        if (flushParallelism < 1) {
+            throw new IllegalArgumentException("flushParallelism < 1");
+        }
+        this.flushParallelism = flushParallelism;
+        return this;
+    }
+
     public TestMapUsingMapStoreBuilder<K, V> withMapStore(MapStore<K, V> mapStore) {
         this.mapStore = mapStore;
         return this;
@@ -164,6 +174,10 @@ public class TestMapUsingMapStoreBuilder<K, V> {
             config.setProperty(GroupProperty.MAP_WRITE_BEHIND_QUEUE_CAPACITY.getName(), String.valueOf(writeBehindQueueCapacity));
         }
 
+        if (flushParallelism > 0) {
+            config.setProperty(GroupProperty.MAP_WRITE_BEHIND_FLUSH_PARALLELISM.getName(), String.valueOf(flushParallelism));
+        }
+
         config.setProperty(GroupProperty.PARTITION_COUNT.getName(), String.valueOf(partitionCount));
         if (backupDelaySeconds > 0) {
             config.setProperty(GroupProperty.MAP_REPLICA_SCHEDULED_TASK_DELAY_SECONDS.getName(), String.valueOf(backupDelaySeconds));
@@ -0,0 +1,120 @@
+/*
+ * Copyright (c) 2008-2018, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.map.impl.mapstore.writebehind;
+
+import com.hazelcast.core.IMap;
+import com.hazelcast.test.AssertTask;
+import com.hazelcast.test.HazelcastSerialClassRunner;
+import com.hazelcast.test.HazelcastTestSupport;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(HazelcastSerialClassRunner.class)
+@Category(QuickTest.class)
+public class WriteBehindParallelFlushTest extends HazelcastTestSupport {
+
+    @Test
+    public void testAllEntriesStored_whenFlushedInParallel() {
+        final ConcurrencyTrackingMapStore mapStore = new ConcurrencyTrackingMapStore(0);
+        IMap<Integer, Integer> map = TestMapUsingMapStoreBuilder.<Integer, Integer>create()
+                .withMapStore(mapStore)
+                .withNodeCount(1)
+                .withNodeFactory(createHazelcastInstanceFactory(1))
+                .withWriteDelaySeconds(1)
+                .withWriteBatchSize(16)
+                .withFlushParallelism(4)
+                .build();
+
+        final int numberOfItems = 1000;
+        populateMap(map, numberOfItems);
+
+        assertTrueEventually(new AssertTask() {
+            @Override
+            public void run() throws Exception {
+                assertEquals(numberOfItems, mapStore.size());
+            }
+        });
+        for (int i = 0; i < numberOfItems; i++) {
+            assertEquals(i, (int) mapStore.store.get(i));
+        }
+    }
+
+    @Test
+    public void testStoreAllCalledConcurrently_whenFlushedInParallel() {
+        final ConcurrencyTrackingMapStore mapStore = new ConcurrencyTrackingMapStore(100);
+        IMap<Integer, Integer> map = TestMapUsingMapStoreBuilder.<Integer, Integer>create()
+                .withMapStore(mapStore)
+                .withNodeCount(1)
+                .withNodeFactory(createHazelcastInstanceFactory(1))
+                .withWriteDelaySeconds(1)
+                .withWriteBatchSize(16)
+                .withFlushParallelism(4)
+                .build();
+
+        final int numberOfItems = 1000;
+        populateMap(map, numberOfItems);
+
+        assertTrueEventually(new AssertTask() {
+            @Override
+            public void run() throws Exception {
+                assertEquals(numberOfItems, mapStore.size());
+            }
+        });
+        assertTrue("Expected concurrent storeAll calls but max concurrency was " + mapStore.maxConcurrency.get(),
+                mapStore.maxConcurrency.get() > 1);
+    }
+
+    private static void populateMap(IMap<Integer, Integer> map, int numberOfItems) {
+        for (int i = 0; i < numberOfItems; i++) {
+            map.put(i, i);
+        }
+    }
+
+    private static class ConcurrencyTrackingMapStore extends MapStoreWithCounter<Integer, Integer> {
+
+        private final AtomicInteger concurrency = new AtomicInteger();
+        private final AtomicInteger maxConcurrency = new AtomicInteger();
+        private final long storeAllDelayMillis;
+
+        ConcurrencyTrackingMapStore(long storeAllDelayMillis) {
+            this.storeAllDelayMillis = storeAllDelayMillis;
+        }
+
+        @Override
+        public void storeAll(Map<Integer, Integer> map) {
+            int current = concurrency.incrementAndGet();
+            try {
+                int max;
+                do {
+                    max = maxConcurrency.get();
+                } while (current > max && !maxConcurrency.compareAndSet(max, current));
+                sleepMillis((int) storeAllDelayMillis);
+                super.storeAll(map);
+            } finally {
+                concurrency.decrementAndGet();
+            }
+        }
+    }
+}
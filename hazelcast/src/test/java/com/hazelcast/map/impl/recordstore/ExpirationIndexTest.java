@@ -0,0 +1,158 @@
+/*
+ * Copyright (c) 2008-2018, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.map.impl.recordstore;
+
+import com.hazelcast.internal.serialization.InternalSerializationService;
+import com.hazelcast.internal.serialization.impl.DefaultSerializationServiceBuilder;
+import com.hazelcast.nio.serialization.Data;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.annotation.ParallelTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static java.util.Arrays.asList;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelTest.class})
+public class ExpirationIndexTest {
+
+    private static final long BUCKET_MILLIS = 1000;
+
+    private InternalSerializationService serializationService;
+    private ExpirationIndex index;
+
+    @Before
+    public void setUp() {
+        serializationService = new DefaultSerializationServiceBuilder().build();
+        index = new ExpirationIndex(BUCKET_MILLIS);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testConstructor_whenBucketMillisNotPositive() {
+        new ExpirationIndex(0);
+    }
+
+    @Test
+    public void testAdd_ignoresEntriesWhichNeverExpire() {
+        index.add(key(1), Long.MAX_VALUE);
+
+        assertEquals(0, index.size());
+    }
+
+    @Test
+    public void testDrainExpired_drainsOnlyEndedBuckets() {
+        index.add(key(1), 1000);
+        index.add(key(2), 1999);
+        index.add(key(3), 2000);
+        index.add(key(4), 5000);
+
+        List<Data> drained = new ArrayList<Data>();
+        int count = index.drainExpired(2500, 100, drained);
+
+        assertEquals(2, count);
+        assertEquals(asList(key(1), key(2)), sorted(drained));
+        assertEquals(2, index.size());
+    }
+
+    @Test
+    public void testDrainExpired_respectsMaxCount() {
+        for (int i = 0; i < 10; i++) {
+            index.add(key(i), 1000 + i);
+        }
+
+        List<Data> drained = new ArrayList<Data>();
+        assertEquals(4, index.drainExpired(3000, 4, drained));
+        assertEquals(6, index.size());
+
+        assertEquals(6, index.drainExpired(3000, 100, drained));
+        assertEquals(10, drained.size());
+        assertEquals(0, index.size());
+    }
+
+    @Test
+    public void testAdd_keepsEarlierBucket() {
+        index.add(key(1), 1000);
+        index.add(key(1), 9000);
+
+        List<Data> drained = new ArrayList<Data>();
+        index.drainExpired(2000, 100, drained);
+
+        assertEquals(asList(key(1)), drained);
+        assertEquals(0, index.size());
+    }
+
+    @Test
+    public void testAdd_movesKeyToEarlierBucket() {
+        index.add(key(1), 9000);
+        index.add(key(1), 1000);
+
+        List<Data> drained = new ArrayList<Data>();
+        index.drainExpired(2000, 100, drained);
+
+        assertEquals(asList(key(1)), drained);
+        assertEquals(0, index.size());
+        assertEquals(0, index.drainExpired(10000, 100, drained));
+    }
+
+    @Test
+    public void testDrainedKey_canBeAddedAgain() {
+        index.add(key(1), 1000);
+        List<Data> drained = new ArrayList<Data>();
+        index.drainExpired(2000, 100, drained);
+
+        index.add(key(1), 2000);
+
+        assertEquals(1, index.size());
+        assertEquals(0, index.drainExpired(2500, 100, drained));
+        assertEquals(1, index.drainExpired(3000, 100, drained));
+    }
+
+    @Test
+    public void testClear() {
+        index.add(key(1), 1000);
+        index.add(key(2), 2000);
+
+        index.clear();
+
+        assertEquals(0, index.size());
+        List<Data> drained = new ArrayList<Data>();
+        assertEquals(0, index.drainExpired(Long.MAX_VALUE - 1, 100, drained));
+        assertTrue(drained.isEmpty());
+    }
+
+    private Data key(int key) {
+        return serializationService.toData(key);
+    }
+
+    private List<Data> sorted(List<Data> keys) {
+        List<Data> sorted = new ArrayList<Data>();
+        for (int i = 0; i < 10; i++) {
+            if (keys.contains(key(i))) {
+                sorted.add(key(i));
+            }
+        }
+        return sorted;
+    }
+}
@@ -48,6 +48,7 @@ public class LocalMapStatsImplTest {
         localMapStats.setLastAccessTime(1231241512);
         localMapStats.setLastUpdateTime(1341412343);
         localMapStats.setHits(12314);
+        localMapStats.setLoadHits(1415);
         localMapStats.setLockedEntryCount(1231);
         localMapStats.setDirtyEntryCount(4252);
 
@@ -80,6 +81,7 @@ public class LocalMapStatsImplTest {
         assertEquals(1231241512, localMapStats.getLastAccessTime());
         assertEquals(1341412343, localMapStats.getLastUpdateTime());
         assertEquals(12314, localMapStats.getHits());
+        assertEquals(1415, localMapStats.getLoadHits());
         assertEquals(1231, localMapStats.getLockedEntryCount());
         assertEquals(4252, localMapStats.getDirtyEntryCount());
 
@@ -116,6 +118,7 @@ public class LocalMapStatsImplTest {
         assertEquals(1231241512, deserialized.getLastAccessTime());
         assertEquals(1341412343, deserialized.getLastUpdateTime());
         assertEquals(12314, deserialized.getHits());
+        assertEquals(1415, deserialized.getLoadHits());
         assertEquals(1231, deserialized.getLockedEntryCount());
         assertEquals(4252, deserialized.getDirtyEntryCount());
 
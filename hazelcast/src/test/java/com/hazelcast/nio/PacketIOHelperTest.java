@@ -43,7 +43,9 @@ import static com.hazelcast.nio.serialization.SerializationConcurrencyTest.Porta
 import static com.hazelcast.nio.serialization.SerializationConcurrencyTest.PortablePerson;
 import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
 
 /**
@@ -138,6 +140,43 @@ public class PacketIOHelperTest extends HazelcastTestSupport {
         assertPacketEquals(originalPacket, clonedPacket);
     }
 
+    /**
+     * Checks that the remainder of a large value can be written from the packet's byte-array directly, once the header
+     * and the start of the value have been written to a buffer.
+     */
+    @Test
+    public void largeValue_writtenDirectly() {
+        Packet originalPacket = new Packet(generateRandomString(100000).getBytes());
+
+        ByteBuffer bb = ByteBuffer.allocate(1000);
+        assertNull(packetWriter.remainingValue(originalPacket, 0));
+        assertFalse(packetWriter.writeTo(originalPacket, bb));
+        assertNull(packetWriter.remainingValue(originalPacket, 100000));
+
+        ByteBuffer remaining = packetWriter.remainingValue(originalPacket, 1000);
+        assertNotNull(remaining);
+        ByteBuffer wire = ByteBuffer.allocate(bb.position() + remaining.remaining());
+        bb.flip();
+        wire.put(bb);
+
+        // write the remainder in two steps, as a socket accepting only part of the bytes would
+        ByteBuffer firstPart = remaining.duplicate();
+        firstPart.limit(firstPart.position() + 10000);
+        int written = firstPart.remaining();
+        wire.put(firstPart);
+        assertFalse(packetWriter.onValueWritten(written));
+
+        remaining = packetWriter.remainingValue(originalPacket, 1000);
+        written = remaining.remaining();
+        wire.put(remaining);
+        assertTrue(packetWriter.onValueWritten(written));
+
+        wire.flip();
+        Packet clonedPacket = packetReader.readFrom(wire);
+        assertNotNull(clonedPacket);
+        assertPacketEquals(originalPacket, clonedPacket);
+    }
+
     @Test
     public void lotsOfPackets() {
         List<Packet> originalPackets = new LinkedList<Packet>();
@@ -30,6 +30,7 @@ import org.junit.runner.RunWith;
 import java.nio.ByteBuffer;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
 
 @RunWith(HazelcastParallelClassRunner.class)
@@ -59,4 +60,22 @@ public class ClientChannelOutboundHandlerTest extends HazelcastTestSupport {
         assertEquals(message.getPartitionId(), clone.getPartitionId());
         assertEquals(message.getMessageType(), clone.getMessageType());
     }
+
+    @Test
+    public void testRecyclableMessage_writtenOnce() throws Exception {
+        ClientMessage message = ClientMessage.createForEncode(1000)
+                .setPartitionId(10)
+                .setMessageType(1);
+        message.markRecyclable();
+
+        ByteBuffer bb = ByteBuffer.allocate(1000);
+        assertTrue(writeHandler.onWrite(message, bb));
+
+        // the buffer pool is disabled by default, so nothing is recycled twice
+        assertFalse(message.recycle());
+        bb.flip();
+        ClientMessage clone = ClientMessage.createForDecode(new SafeBuffer(bb.array()), 0);
+        assertEquals(10, clone.getPartitionId());
+        assertEquals(1, clone.getMessageType());
+    }
 }
@@ -131,6 +131,11 @@ public class MockIOService implements IOService {
         return false;
     }
 
+    @Override
+    public boolean isMetricsEnabled() {
+        return false;
+    }
+
     @Override
     public void removeEndpoint(Address endpoint) {
     }
@@ -27,6 +27,7 @@ import java.net.InetSocketAddress;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.Random;
 
 import static java.lang.System.currentTimeMillis;
 import static org.junit.Assert.assertEquals;
@@ -77,6 +78,28 @@ public abstract class TcpIpConnection_AbstractBasicTest extends TcpIpConnection_
         assertEquals(packet, found);
     }
 
+    @Test
+    public void write_whenLargerThanOutputBuffer() {
+        TcpIpConnection c = connect(connManagerA, addressB);
+
+        byte[] bytes = new byte[4 * 1024 * 1024];
+        new Random().nextBytes(bytes);
+        Packet largePacket = new Packet(serializationService.toBytes(bytes));
+        Packet smallPacket = new Packet(serializationService.toBytes("foo"));
+
+        assertTrue(c.write(largePacket));
+        assertTrue(c.write(smallPacket));
+        assertTrueEventually(new AssertTask() {
+            @Override
+            public void run() {
+                assertEquals(2, packetsB.size());
+            }
+        });
+
+        assertEquals(largePacket, packetsB.get(0));
+        assertEquals(smallPacket, packetsB.get(1));
+    }
+
     @Test
     public void write_whenUrgent() {
         TcpIpConnection c = connect(connManagerA, addressB);
@@ -16,6 +16,10 @@
 
 package com.hazelcast.query.impl.getters;
 
+import com.hazelcast.internal.serialization.InternalSerializationService;
+import com.hazelcast.internal.serialization.impl.DefaultSerializationServiceBuilder;
+import com.hazelcast.nio.serialization.Data;
+import com.hazelcast.nio.serialization.NamedPortable;
 import com.hazelcast.test.HazelcastParallelClassRunner;
 import com.hazelcast.test.annotation.ParallelTest;
 import com.hazelcast.test.annotation.QuickTest;
@@ -23,12 +27,33 @@ import org.junit.Test;
 import org.junit.experimental.categories.Category;
 import org.junit.runner.RunWith;
 
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
 
 @RunWith(HazelcastParallelClassRunner.class)
 @Category({QuickTest.class, ParallelTest.class})
 public class PortableGetterTest {
 
+    @Test
+    public void getValue_fromPortableData() throws Exception {
+        InternalSerializationService ss = new DefaultSerializationServiceBuilder().build();
+        Data data = ss.toData(new NamedPortable("name", 5));
+        PortableGetter getter = new PortableGetter(ss);
+
+        assertEquals("name", getter.getValue(data, "name"));
+        assertEquals(5, getter.getValue(data, "myint"));
+    }
+
+    @Test
+    public void getValue_fromPortableData_whenUnknownField() throws Exception {
+        InternalSerializationService ss = new DefaultSerializationServiceBuilder().build();
+        Data data = ss.toData(new NamedPortable("name", 5));
+        PortableGetter getter = new PortableGetter(ss);
+
+        assertNull(getter.getValue(data, "unknown"));
+    }
+
     @Test(expected = IllegalArgumentException.class)
     public void getValue() throws Exception {
         new PortableGetter(null).getValue("input");
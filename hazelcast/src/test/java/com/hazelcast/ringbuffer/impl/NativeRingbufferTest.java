@@ -0,0 +1,188 @@
+/*
+ * Copyright (c) 2008-2018, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.ringbuffer.impl;
+
+import com.hazelcast.internal.memory.impl.UnsafeMemoryAllocator;
+import com.hazelcast.internal.serialization.InternalSerializationService;
+import com.hazelcast.internal.serialization.impl.DefaultSerializationServiceBuilder;
+import com.hazelcast.memory.NativeOutOfMemoryError;
+import com.hazelcast.nio.serialization.Data;
+import com.hazelcast.ringbuffer.StaleSequenceException;
+import com.hazelcast.spi.exception.DistributedObjectDestroyedException;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.annotation.ParallelTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import static com.hazelcast.internal.memory.GlobalMemoryAccessorRegistry.MEM;
+import static com.hazelcast.internal.memory.GlobalMemoryAccessorRegistry.MEM_AVAILABLE;
+import static com.hazelcast.util.EmptyStatement.ignore;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.fail;
+import static org.junit.Assume.assumeTrue;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelTest.class})
+public class NativeRingbufferTest {
+
+    private InternalSerializationService serializationService;
+    private UnsafeMemoryAllocator malloc;
+    private NativeRingbuffer rb;
+
+    @Before
+    public void setup() {
+        assumeTrue(MEM_AVAILABLE && UnsafeMemoryAllocator.isAvailable());
+        serializationService = new DefaultSerializationServiceBuilder().build();
+        malloc = new UnsafeMemoryAllocator(1024);
+        rb = new NativeRingbuffer(5, MEM, malloc);
+    }
+
+    @After
+    public void tearDown() {
+        if (rb != null) {
+            rb.dispose();
+        }
+    }
+
+    @Test
+    public void testAddAndRead() {
+        long sequence = rb.add(toData("foo"));
+
+        assertEquals(0, sequence);
+        assertEquals(0, rb.headSequence());
+        assertEquals(0, rb.tailSequence());
+        assertEquals("foo", toObject(rb.read(0)));
+    }
+
+    @Test
+    public void testAdd_whenWrapped() {
+        for (int k = 0; k < 12; k++) {
+            rb.add(toData("item" + k));
+        }
+
+        assertEquals(7, rb.headSequence());
+        assertEquals(11, rb.tailSequence());
+        assertEquals(5, rb.size());
+        for (long seq = rb.headSequence(); seq <= rb.tailSequence(); seq++) {
+            assertEquals("item" + seq, toObject(rb.read(seq)));
+        }
+    }
+
+    @Test(expected = StaleSequenceException.class)
+    public void testReadStaleSequenceThrowsException() {
+        for (int k = 0; k < 6; k++) {
+            rb.add(toData("item" + k));
+        }
+        rb.read(0);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testReadFutureSequenceThrowsException() {
+        rb.add(toData("foo"));
+        rb.read(1);
+    }
+
+    @Test
+    public void testSet_overwritesItem() {
+        rb.add(toData("foo"));
+        rb.set(0, toData("bar"));
+
+        assertEquals("bar", toObject(rb.read(0)));
+        assertEquals(toData("bar").totalSize(), rb.getUsedMemory());
+    }
+
+    @Test
+    public void testSet_whenNull() {
+        rb.add(toData("foo"));
+        rb.set(0, null);
+
+        assertNull(rb.read(0));
+        assertEquals(0, rb.getUsedMemory());
+    }
+
+    @Test
+    public void testUsedMemory_whenWrapped() {
+        Data item = toData("item");
+        for (int k = 0; k < 100; k++) {
+            rb.add(item);
+        }
+
+        assertEquals(5 * item.totalSize(), rb.getUsedMemory());
+    }
+
+    @Test
+    public void testDispose_releasesItems() {
+        for (int k = 0; k < 3; k++) {
+            rb.add(toData("item" + k));
+        }
+
+        rb.dispose();
+
+        assertEquals(0, rb.getUsedMemory());
+        assertEquals(0, malloc.usedMemory());
+    }
+
+    @Test
+    public void testAllocatorUsedMemory() {
+        Data item = toData("item");
+        rb.add(item);
+
+        assertEquals(5 * NativeRingbuffer.SLOT_SIZE + item.totalSize(), malloc.usedMemory());
+    }
+
+    @Test
+    public void testAdd_whenMaxMemoryExceeded() {
+        rb.add(toData("foo"));
+
+        try {
+            rb.add(toData(new byte[1024]));
+            fail();
+        } catch (NativeOutOfMemoryError expected) {
+            ignore(expected);
+        }
+        assertEquals(0, rb.tailSequence());
+        assertEquals("foo", toObject(rb.read(0)));
+    }
+
+    @Test(expected = DistributedObjectDestroyedException.class)
+    public void testAdd_whenDisposed() {
+        rb.dispose();
+
+        rb.add(toData("foo"));
+    }
+
+    @Test(expected = DistributedObjectDestroyedException.class)
+    public void testRead_whenDisposed() {
+        rb.add(toData("foo"));
+        rb.dispose();
+
+        rb.read(0);
+    }
+
+    private Data toData(Object item) {
+        return serializationService.toData(item);
+    }
+
+    private Object toObject(Data item) {
+        return serializationService.toObject(item);
+    }
+}
@@ -18,6 +18,7 @@ package com.hazelcast.ringbuffer.impl;
 
 import com.hazelcast.config.InMemoryFormat;
 import com.hazelcast.config.RingbufferConfig;
+import com.hazelcast.internal.memory.impl.UnsafeMemoryAllocator;
 import com.hazelcast.core.HazelcastInstance;
 import com.hazelcast.nio.serialization.Data;
 import com.hazelcast.ringbuffer.StaleSequenceException;
@@ -32,12 +33,14 @@ import org.junit.Test;
 import org.junit.experimental.categories.Category;
 import org.junit.runner.RunWith;
 
+import static com.hazelcast.internal.memory.GlobalMemoryAccessorRegistry.MEM_AVAILABLE;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
+import static org.junit.Assume.assumeTrue;
 
 @RunWith(HazelcastSerialClassRunner.class)
 @Category(QuickTest.class)
@@ -239,4 +242,22 @@ public class RingbufferContainerTest extends HazelcastTestSupport {
         rbContainer.add(toData("foo"));
         assertInstanceOf(String.class, ringbuffer.ringItems[0]);
     }
+
+    @Test
+    public void add_whenNativeInMemoryFormat() {
+        assumeTrue(MEM_AVAILABLE && UnsafeMemoryAllocator.isAvailable());
+        final RingbufferConfig config = new RingbufferConfig("foo").setInMemoryFormat(InMemoryFormat.NATIVE);
+        final RingbufferContainer rbContainer = new RingbufferContainer(
+                RingbufferService.getRingbufferNamespace(config.getName()), config,
+                nodeEngine.getSerializationService(), nodeEngine.getConfigClassLoader(),
+                0, new UnsafeMemoryAllocator(1 << 20));
+        final NativeRingbuffer ringbuffer = (NativeRingbuffer) rbContainer.getRingbuffer();
+
+        rbContainer.add(toData("foo"));
+        assertEquals("foo", toObject(rbContainer.readAsData(0)));
+        assertEquals(toData("foo").totalSize(), ringbuffer.getUsedMemory());
+
+        rbContainer.dispose();
+        assertEquals(0, ringbuffer.getUsedMemory());
+    }
 }
@@ -0,0 +1,218 @@
+/*
+ * Copyright (c) 2008-2018, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.ringbuffer.impl;
+
+import com.hazelcast.config.Config;
+import com.hazelcast.config.RingbufferConfig;
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.core.ITopic;
+import com.hazelcast.core.Message;
+import com.hazelcast.core.MessageListener;
+import com.hazelcast.internal.memory.impl.UnsafeMemoryAllocator;
+import com.hazelcast.ringbuffer.OverflowPolicy;
+import com.hazelcast.ringbuffer.ReadResultSet;
+import com.hazelcast.ringbuffer.Ringbuffer;
+import com.hazelcast.spi.exception.DistributedObjectDestroyedException;
+import com.hazelcast.test.AssertTask;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.HazelcastTestSupport;
+import com.hazelcast.test.TestHazelcastInstanceFactory;
+import com.hazelcast.test.annotation.ParallelTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static com.hazelcast.config.InMemoryFormat.NATIVE;
+import static com.hazelcast.ringbuffer.impl.RingbufferService.TOPIC_RB_PREFIX;
+import static java.util.Arrays.asList;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * Verifies a ringbuffer with the {@link com.hazelcast.config.InMemoryFormat#NATIVE} format across a cluster,
+ * including the backups and the reliable topic on top of it.
+ */
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelTest.class})
+public class RingbufferNativeInMemoryFormatTest extends HazelcastTestSupport {
+
+    private TestHazelcastInstanceFactory factory;
+    private HazelcastInstance local;
+    private HazelcastInstance remote;
+
+    @Before
+    public void setup() {
+        Config config = new Config();
+        config.addRingBufferConfig(new RingbufferConfig("native*")
+                .setCapacity(5)
+                .setInMemoryFormat(NATIVE));
+        config.addRingBufferConfig(new RingbufferConfig(TOPIC_RB_PREFIX + "native*")
+                .setCapacity(100)
+                .setInMemoryFormat(NATIVE));
+        config.getNativeMemoryConfig().setEnabled(true);
+
+        factory = createHazelcastInstanceFactory(3);
+        HazelcastInstance[] instances = factory.newInstances(config, 2);
+        local = instances[0];
+        remote = instances[1];
+        warmUpPartitions(instances);
+    }
+
+    @Test
+    public void readMany_whenWrapped() throws Exception {
+        Ringbuffer<String> ringbuffer = local.getRingbuffer(randomNameOwnedBy(remote, "native"));
+        for (int k = 0; k < 8; k++) {
+            ringbuffer.add("item" + k);
+        }
+
+        ReadResultSet<String> result = ringbuffer.readManyAsync(ringbuffer.headSequence(), 5, 5, null).get();
+
+        assertEquals(3, ringbuffer.headSequence());
+        assertEquals(7, ringbuffer.tailSequence());
+        assertIterableEquals(result, "item3", "item4", "item5", "item6", "item7");
+    }
+
+    @Test
+    public void readOne_whenOwnerShutdown() throws Exception {
+        String name = randomNameOwnedBy(remote, "native");
+        Ringbuffer<String> ringbuffer = local.getRingbuffer(name);
+        ringbuffer.addAllAsync(asList("a", "b", "c"), OverflowPolicy.OVERWRITE).get();
+
+        remote.shutdown();
+
+        assertEquals(0, ringbuffer.headSequence());
+        assertEquals(2, ringbuffer.tailSequence());
+        assertEquals("a", ringbuffer.readOne(0));
+        assertEquals("c", ringbuffer.readOne(2));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void getRingbuffer_whenNativeMemoryNotEnabled() {
+        Config config = new Config();
+        config.addRingBufferConfig(new RingbufferConfig("native*").setInMemoryFormat(NATIVE));
+        HazelcastInstance hz = factory.newHazelcastInstance(config);
+
+        hz.getRingbuffer("native");
+    }
+
+    @Test
+    public void destroy_releasesNativeMemory() {
+        Ringbuffer<String> ringbuffer = local.getRingbuffer(randomNameOwnedBy(local, "native"));
+        ringbuffer.add("foo");
+        final UnsafeMemoryAllocator malloc = getNativeMemoryAllocator(local);
+        assertTrue(malloc.usedMemory() > 0);
+
+        ringbuffer.destroy();
+
+        assertTrueEventually(new AssertTask() {
+            @Override
+            public void run() {
+                assertEquals(0, malloc.usedMemory());
+            }
+        });
+    }
+
+    @Test(expected = DistributedObjectDestroyedException.class)
+    public void readAsData_whenContainerDestroyed() {
+        String name = randomNameOwnedBy(local, "native");
+        local.getRingbuffer(name).add("foo");
+        RingbufferContainer container = getContainer(local, name);
+        final UnsafeMemoryAllocator malloc = getNativeMemoryAllocator(local);
+
+        local.getRingbuffer(name).destroy();
+        assertTrueEventually(new AssertTask() {
+            @Override
+            public void run() {
+                assertEquals(0, malloc.usedMemory());
+            }
+        });
+
+        container.readAsData(0);
+    }
+
+    @Test
+    public void readAsData_whenContainerReplaced() {
+        String name = randomNameOwnedBy(local, "native");
+        local.getRingbuffer(name).add("foo");
+        RingbufferContainer container = getContainer(local, name);
+
+        local.getRingbuffer(name).destroy();
+        // the destroy queues the release of the native memory on the partition thread before this add
+        local.getRingbuffer(name).add("bar");
+
+        try {
+            container.readAsData(0);
+            fail();
+        } catch (DistributedObjectDestroyedException expected) {
+            ignore(expected);
+        }
+        assertEquals("bar", local.getRingbuffer(name).readOne(0));
+    }
+
+    @Test
+    public void shutdown_releasesNativeMemory() {
+        local.getRingbuffer(randomNameOwnedBy(local, "native")).add("foo");
+        UnsafeMemoryAllocator malloc = getNativeMemoryAllocator(local);
+        assertTrue(malloc.usedMemory() > 0);
+
+        getRingbufferService(local).shutdown(false);
+
+        assertEquals(0, malloc.usedMemory());
+    }
+
+    @Test
+    public void reliableTopic() {
+        ITopic<String> topic = local.getReliableTopic(randomNameOwnedBy(remote, "native"));
+        final List<String> messages = new CopyOnWriteArrayList<String>();
+        ITopic<String> remoteTopic = remote.getReliableTopic(topic.getName());
+        remoteTopic.addMessageListener(new MessageListener<String>() {
+            @Override
+            public void onMessage(Message<String> message) {
+                messages.add(message.getMessageObject());
+            }
+        });
+
+        topic.publish("foo");
+        topic.publish("bar");
+
+        assertTrueEventually(new AssertTask() {
+            @Override
+            public void run() {
+                assertEquals(asList("foo", "bar"), messages);
+            }
+        });
+    }
+
+    private static RingbufferService getRingbufferService(HazelcastInstance hz) {
+        return getNodeEngineImpl(hz).getService(RingbufferService.SERVICE_NAME);
+    }
+
+    private static RingbufferContainer getContainer(HazelcastInstance hz, String name) {
+        RingbufferService service = getRingbufferService(hz);
+        return service.getContainerOrNull(service.getRingbufferPartitionId(name), RingbufferService.getRingbufferNamespace(name));
+    }
+
+    private static UnsafeMemoryAllocator getNativeMemoryAllocator(HazelcastInstance hz) {
+        return getRingbufferService(hz).getNativeMemoryAllocator();
+    }
+}
@@ -0,0 +1,227 @@
+/*
+ * Copyright (c) 2008-2018, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.spi.impl;
+
+import com.hazelcast.internal.serialization.InternalSerializationService;
+import com.hazelcast.internal.serialization.impl.DefaultSerializationServiceBuilder;
+import com.hazelcast.nio.ObjectDataInput;
+import com.hazelcast.nio.ObjectDataOutput;
+import com.hazelcast.nio.serialization.Data;
+import com.hazelcast.nio.serialization.DataSerializable;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.annotation.ParallelTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelTest.class})
+public class SerializedLazyListTest {
+
+    private final InternalSerializationService serializationService = new DefaultSerializationServiceBuilder().build();
+
+    @Test
+    public void testSerializationRoundTrip() {
+        List<String> elements = Arrays.asList("a", null, "c");
+
+        SerializedLazyList<String> list = serializationService.toObject(serializationService.toData(new SerializedLazyList<String>(elements)));
+
+        assertEquals(3, list.size());
+        assertEquals(elements, list);
+    }
+
+    @Test
+    public void testEmptyList() {
+        SerializedLazyList<String> list = serializationService.toObject(
+                serializationService.toData(new SerializedLazyList<String>(Collections.<String>emptyList())));
+
+        assertEquals(0, list.size());
+        assertTrue(list.isEmpty());
+    }
+
+    @Test
+    public void testElementsDeserializedOnAccess() {
+        SerializedLazyList<Integer> list = roundTrip(Arrays.asList(1, 2, 3));
+
+        assertFalse(list.isDeserialized(0));
+        assertFalse(list.isDeserialized(1));
+
+        assertEquals(2, (int) list.get(1));
+
+        assertFalse(list.isDeserialized(0));
+        assertTrue(list.isDeserialized(1));
+        assertFalse(list.isDeserialized(2));
+    }
+
+    @Test
+    public void testNullElementDeserializedOnAccess() {
+        SerializedLazyList<Integer> list = roundTrip(Arrays.asList(1, null, 3));
+
+        assertFalse(list.isDeserialized(1));
+
+        assertNull(list.get(1));
+
+        assertTrue(list.isDeserialized(1));
+    }
+
+    @Test
+    public void testElementDeserializedOnlyOnce() {
+        SerializedLazyList<LineItem> list = roundTrip(Arrays.asList(new LineItem("item", 1)));
+
+        LineItem item = list.get(0);
+
+        assertTrue(item == list.get(0));
+    }
+
+    @Test
+    public void testWrite_whenReadAndNotAccessed_thenSerializedElementsReused() {
+        Data data = serializationService.toData(new SerializedLazyList<Integer>(Arrays.asList(1, 2, 3)));
+        SerializedLazyList<Integer> list = serializationService.toObject(data);
+
+        Data rewritten = serializationService.toData(list);
+
+        assertArrayEquals(data.toByteArray(), rewritten.toByteArray());
+        assertFalse(list.isDeserialized(0));
+    }
+
+    @Test
+    public void testNestedInDataSerializable() {
+        List<LineItem> items = new ArrayList<LineItem>();
+        for (int i = 0; i < 1000; i++) {
+            items.add(new LineItem("item-" + i, i));
+        }
+        Order order = new Order("order", new SerializedLazyList<LineItem>(items));
+
+        Order found = serializationService.toObject(serializationService.toData(order));
+
+        assertEquals("order", found.header);
+        assertEquals(1000, found.items.size());
+        assertFalse(found.items.isDeserialized(500));
+        assertEquals(items.get(500), found.items.get(500));
+        assertEquals(items, found.items);
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void testGet_whenIndexOutOfBounds() {
+        roundTrip(Arrays.asList(1, 2, 3)).get(3);
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void testAdd() {
+        roundTrip(Arrays.asList(1, 2, 3)).add(4);
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void testSet() {
+        new SerializedLazyList<Integer>(Arrays.asList(1, 2, 3)).set(0, 4);
+    }
+
+    @Test
+    public void testGet_whenNotSerialized() {
+        SerializedLazyList<Integer> list = new SerializedLazyList<Integer>(Arrays.asList(1, null));
+
+        assertEquals(1, (int) list.get(0));
+        assertNull(list.get(1));
+        assertTrue(list.isDeserialized(0));
+    }
+
+    private <E> SerializedLazyList<E> roundTrip(List<E> elements) {
+        return serializationService.toObject(serializationService.toData(new SerializedLazyList<E>(elements)));
+    }
+
+    private static class Order implements DataSerializable {
+
+        private String header;
+        private SerializedLazyList<LineItem> items;
+
+        Order() {
+        }
+
+        Order(String header, SerializedLazyList<LineItem> items) {
+            this.header = header;
+            this.items = items;
+        }
+
+        @Override
+        public void writeData(ObjectDataOutput out) throws IOException {
+            out.writeUTF(header);
+            out.writeObject(items);
+        }
+
+        @Override
+        public void readData(ObjectDataInput in) throws IOException {
+            header = in.readUTF();
+            items = in.readObject();
+        }
+    }
+
+    private static class LineItem implements DataSerializable {
+
+        private String name;
+        private int quantity;
+
+        LineItem() {
+        }
+
+        LineItem(String name, int quantity) {
+            this.name = name;
+            this.quantity = quantity;
+        }
+
+        @Override
+        public void writeData(ObjectDataOutput out) throws IOException {
+            out.writeUTF(name);
+            out.writeInt(quantity);
+        }
+
+        @Override
+        public void readData(ObjectDataInput in) throws IOException {
+            name = in.readUTF();
+            quantity = in.readInt();
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (o == null || getClass() != o.getClass()) {
+                return false;
+            }
+            LineItem that = (LineItem) o;
+            return quantity == that.quantity && name.equals(that.name);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * name.hashCode() + quantity;
+        }
+    }
+}
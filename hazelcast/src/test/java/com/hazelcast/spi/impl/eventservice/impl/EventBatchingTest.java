@@ -0,0 +1,182 @@
+/*
+ * Copyright (c) 2008-2018, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.spi.impl.eventservice.impl;
+
+import com.hazelcast.config.Config;
+import com.hazelcast.core.EntryAdapter;
+import com.hazelcast.core.EntryEvent;
+import com.hazelcast.core.EntryEventType;
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.core.IMap;
+import com.hazelcast.test.AssertTask;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.HazelcastTestSupport;
+import com.hazelcast.test.TestHazelcastInstanceFactory;
+import com.hazelcast.test.annotation.ParallelTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import static com.hazelcast.core.EntryEventType.ADDED;
+import static com.hazelcast.core.EntryEventType.UPDATED;
+import static com.hazelcast.spi.properties.GroupProperty.EVENT_BATCH_ENABLED;
+import static com.hazelcast.spi.properties.GroupProperty.EVENT_BATCH_MAX_DELAY_MILLIS;
+import static com.hazelcast.spi.properties.GroupProperty.EVENT_BATCH_MAX_SIZE;
+import static com.hazelcast.spi.properties.GroupProperty.EVENT_COALESCING_ENABLED;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelTest.class})
+public class EventBatchingTest extends HazelcastTestSupport {
+
+    private static final int KEY_COUNT = 1000;
+
+    @Test
+    public void testEventsDeliveredInOrder() {
+        Config config = new Config()
+                .setProperty(EVENT_BATCH_ENABLED.getName(), "true")
+                .setProperty(EVENT_BATCH_MAX_SIZE.getName(), "10");
+        TestHazelcastInstanceFactory factory = createHazelcastInstanceFactory(2);
+        HazelcastInstance hz1 = factory.newHazelcastInstance(config);
+        HazelcastInstance hz2 = factory.newHazelcastInstance(config);
+
+        String mapName = randomMapName();
+        final RecordingListener listener = new RecordingListener();
+        hz1.getMap(mapName).addEntryListener(listener, true);
+
+        // half of the keys is owned by the other member, so their events are sent as remote batches
+        IMap<Integer, Integer> map = hz2.getMap(mapName);
+        for (int key = 0; key < KEY_COUNT; key++) {
+            map.put(key, 1);
+            map.put(key, 2);
+        }
+
+        assertTrueEventually(new AssertTask() {
+            @Override
+            public void run() throws Exception {
+                for (int key = 0; key < KEY_COUNT; key++) {
+                    List<EntryEvent<Integer, Integer>> events = listener.getEvents(key);
+                    assertNotNull(events);
+                    assertEquals(2, events.size());
+                    assertEquals(ADDED, events.get(0).getEventType());
+                    assertEquals(UPDATED, events.get(1).getEventType());
+                    assertEquals(2, (int) events.get(1).getValue());
+                }
+            }
+        });
+    }
+
+    @Test
+    public void testUpdatesCoalesced() {
+        Config config = new Config()
+                .setProperty(EVENT_BATCH_ENABLED.getName(), "true")
+                .setProperty(EVENT_BATCH_MAX_SIZE.getName(), "1000")
+                .setProperty(EVENT_BATCH_MAX_DELAY_MILLIS.getName(), "1000")
+                .setProperty(EVENT_COALESCING_ENABLED.getName(), "true");
+        HazelcastInstance hz = createHazelcastInstance(config);
+
+        IMap<Integer, Integer> map = hz.getMap(randomMapName());
+        final RecordingListener listener = new RecordingListener();
+        map.addEntryListener(listener, true);
+
+        for (int value = 1; value <= 100; value++) {
+            map.put(0, value);
+        }
+        map.remove(0);
+
+        assertTrueEventually(new AssertTask() {
+            @Override
+            public void run() throws Exception {
+                List<EntryEvent<Integer, Integer>> events = listener.getEvents(0);
+                assertNotNull(events);
+                EntryEvent<Integer, Integer> last = events.get(events.size() - 1);
+                assertEquals(EntryEventType.REMOVED, last.getEventType());
+            }
+        });
+
+        List<EntryEvent<Integer, Integer>> events = listener.getEvents(0);
+        assertEquals(ADDED, events.get(0).getEventType());
+        assertTrue("updates should have been coalesced: " + events, events.size() < 100);
+        EntryEvent<Integer, Integer> lastUpdate = events.get(events.size() - 2);
+        assertEquals(UPDATED, lastUpdate.getEventType());
+        assertEquals(100, (int) lastUpdate.getValue());
+    }
+
+    @Test
+    public void testPendingEventsDropped_whenDeregistered() {
+        Config config = new Config()
+                .setProperty(EVENT_BATCH_ENABLED.getName(), "true")
+                .setProperty(EVENT_BATCH_MAX_SIZE.getName(), "1000")
+                .setProperty(EVENT_BATCH_MAX_DELAY_MILLIS.getName(), "600000");
+        HazelcastInstance hz = createHazelcastInstance(config);
+        EventBatcher eventBatcher = ((EventServiceImpl) getNodeEngineImpl(hz).getEventService()).getEventBatcher();
+
+        IMap<Integer, Integer> map = hz.getMap(randomMapName());
+        RecordingListener listener = new RecordingListener();
+        String registrationId = map.addEntryListener(listener, true);
+        for (int value = 1; value <= 10; value++) {
+            map.put(0, value);
+        }
+
+        // the batch would be delivered by this run if it wasn't dropped
+        map.removeEntryListener(registrationId);
+        eventBatcher.run();
+
+        sleepSeconds(1);
+        assertNull(listener.getEvents(0));
+    }
+
+    private static class RecordingListener extends EntryAdapter<Integer, Integer> {
+
+        private final ConcurrentMap<Integer, List<EntryEvent<Integer, Integer>>> events
+                = new ConcurrentHashMap<Integer, List<EntryEvent<Integer, Integer>>>();
+
+        @Override
+        public void onEntryEvent(EntryEvent<Integer, Integer> event) {
+            List<EntryEvent<Integer, Integer>> keyEvents = events.get(event.getKey());
+            if (keyEvents == null) {
+                keyEvents = new ArrayList<EntryEvent<Integer, Integer>>();
+                List<EntryEvent<Integer, Integer>> found = events.putIfAbsent(event.getKey(), keyEvents);
+                if (found != null) {
+                    keyEvents = found;
+                }
+            }
+            synchronized (keyEvents) {
+                keyEvents.add(event);
+            }
+        }
+
+        List<EntryEvent<Integer, Integer>> getEvents(int key) {
+            List<EntryEvent<Integer, Integer>> keyEvents = events.get(key);
+            if (keyEvents == null) {
+                return null;
+            }
+            synchronized (keyEvents) {
+                return new ArrayList<EntryEvent<Integer, Integer>>(keyEvents);
+            }
+        }
+    }
+}
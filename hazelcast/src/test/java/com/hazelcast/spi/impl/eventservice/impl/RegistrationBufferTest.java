@@ -0,0 +1,288 @@
+/*
+ * Copyright (c) 2008-2018, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.spi.impl.eventservice.impl;
+
+import com.hazelcast.config.Config;
+import com.hazelcast.core.EntryAdapter;
+import com.hazelcast.core.EntryEvent;
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.core.IMap;
+import com.hazelcast.map.impl.MapService;
+import com.hazelcast.test.AssertTask;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.HazelcastTestSupport;
+import com.hazelcast.test.TestHazelcastInstanceFactory;
+import com.hazelcast.test.annotation.ParallelTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+
+import static com.hazelcast.spi.properties.GroupProperty.EVENT_QUEUE_TIMEOUT_MILLIS;
+import static com.hazelcast.spi.properties.GroupProperty.EVENT_REGISTRATION_BUFFER_CAPACITY;
+import static com.hazelcast.spi.properties.GroupProperty.EVENT_REGISTRATION_OVERFLOW_POLICY;
+import static com.hazelcast.spi.properties.GroupProperty.EVENT_THREAD_COUNT;
+import static com.hazelcast.util.HashUtil.hashToIndex;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelTest.class})
+public class RegistrationBufferTest extends HazelcastTestSupport {
+
+    @Test
+    public void testDropOldest() {
+        HazelcastInstance hz = createHazelcastInstance(newConfig(10, EventOverflowPolicy.DROP_OLDEST));
+        IMap<Integer, Integer> map = hz.getMap(randomMapName());
+        final BlockingListener listener = new BlockingListener();
+        map.addEntryListener(listener, true);
+
+        // the listener blocks on the first event, so the other events of the same key are buffered
+        map.put(0, 0);
+        assertOpenEventually(listener.entered);
+        for (int i = 1; i < 100; i++) {
+            map.put(0, i);
+        }
+        final RegistrationBuffer buffer = getBuffer(hz);
+        assertEquals(10, buffer.size());
+        listener.latch.countDown();
+
+        assertTrueEventually(new AssertTask() {
+            @Override
+            public void run() throws Exception {
+                assertEquals(0, buffer.size());
+                List<Integer> values = listener.getValues();
+                assertEquals(11, values.size());
+                assertEquals(0, (int) values.get(0));
+                assertEquals(90, (int) values.get(1));
+                assertEquals(99, (int) values.get(10));
+            }
+        });
+        assertEquals(100, buffer.getOfferedCount());
+        assertEquals(89, buffer.getDroppedCount());
+    }
+
+    @Test
+    public void testCoalesce() {
+        HazelcastInstance hz = createHazelcastInstance(newConfig(2, EventOverflowPolicy.COALESCE));
+        IMap<Integer, Integer> map = hz.getMap(randomMapName());
+        final BlockingListener listener = new BlockingListener();
+        map.addEntryListener(listener, true);
+
+        map.put(0, 0);
+        assertOpenEventually(listener.entered);
+        for (int i = 1; i <= 100; i++) {
+            map.put(0, i);
+        }
+        RegistrationBuffer buffer = getBuffer(hz);
+        listener.latch.countDown();
+
+        assertTrueEventually(new AssertTask() {
+            @Override
+            public void run() throws Exception {
+                assertEquals(3, listener.getValues().size());
+            }
+        });
+        assertEquals(100, (int) listener.getValues().get(2));
+        assertEquals(98, buffer.getCoalescedCount());
+        assertEquals(0, buffer.getDroppedCount());
+    }
+
+    @Test
+    public void testBlock() {
+        HazelcastInstance hz = createHazelcastInstance(newConfig(1, EventOverflowPolicy.BLOCK));
+        IMap<Integer, Integer> map = hz.getMap(randomMapName());
+        final BlockingListener listener = new BlockingListener();
+        listener.latch.countDown();
+        map.addEntryListener(listener, true);
+
+        for (int i = 0; i < 100; i++) {
+            map.put(i, i);
+        }
+
+        assertTrueEventually(new AssertTask() {
+            @Override
+            public void run() throws Exception {
+                assertEquals(100, listener.getKeys().size());
+            }
+        });
+        assertEquals(0, getBuffer(hz).getDroppedCount());
+    }
+
+    @Test
+    public void testBlock_whenOfferedOnEventThread_thenOldestDropped() {
+        Config config = newConfig(1, EventOverflowPolicy.BLOCK)
+                .setProperty(EVENT_THREAD_COUNT.getName(), "2")
+                .setProperty(EVENT_QUEUE_TIMEOUT_MILLIS.getName(), "600000");
+        TestHazelcastInstanceFactory factory = createHazelcastInstanceFactory(2);
+        HazelcastInstance hz1 = factory.newHazelcastInstance(config);
+        HazelcastInstance hz2 = factory.newHazelcastInstance(config);
+        warmUpPartitions(hz1, hz2);
+        String mapName = randomMapName();
+        BlockingListener listener = new BlockingListener();
+        hz1.getMap(mapName).addEntryListener(listener, true);
+        int localKey = findKey(hz1, 0, 2);
+        int remoteKey = findKey(hz2, 1, 2);
+
+        // the listener blocks the stripe of the local key, so the second event of the local key fills the buffer
+        IMap<Integer, Integer> map = hz1.getMap(mapName);
+        map.put(localKey, 0);
+        assertOpenEventually(listener.entered);
+        map.put(localKey, 1);
+        final RegistrationBuffer buffer = getBuffer(hz1);
+        assertSizeEventually(1, buffer);
+
+        // the event of the remote key is offered by the event thread of the other stripe, which must not wait
+        map.put(remoteKey, 0);
+        assertTrueEventually(new AssertTask() {
+            @Override
+            public void run() throws Exception {
+                assertEquals(1, buffer.getDroppedCount());
+            }
+        }, 30);
+        listener.latch.countDown();
+    }
+
+    @Test
+    public void testOrderKeys_dispatchedByDifferentEventThreads() {
+        Config config = newConfig(100, EventOverflowPolicy.DROP_OLDEST)
+                .setProperty(EVENT_THREAD_COUNT.getName(), "2");
+        HazelcastInstance hz = createHazelcastInstance(config);
+        IMap<Integer, Integer> map = hz.getMap(randomMapName());
+        int blockedKey = findKey(hz, 0, 2);
+        final int otherKey = findKey(hz, 1, 2);
+        final BlockingListener listener = new BlockingListener(blockedKey);
+        map.addEntryListener(listener, true);
+
+        // the events of the other key are dispatched while the listener blocks on the first key
+        map.put(blockedKey, 0);
+        assertOpenEventually(listener.entered);
+        map.put(otherKey, 0);
+
+        assertTrueEventually(new AssertTask() {
+            @Override
+            public void run() throws Exception {
+                assertTrue(listener.getKeys().contains(otherKey));
+            }
+        });
+        listener.latch.countDown();
+    }
+
+    @Test
+    public void testDeregister() {
+        final HazelcastInstance hz = createHazelcastInstance(newConfig(1, EventOverflowPolicy.DEREGISTER));
+        final String mapName = randomMapName();
+        IMap<Integer, Integer> map = hz.getMap(mapName);
+        BlockingListener listener = new BlockingListener();
+        map.addEntryListener(listener, true);
+
+        for (int i = 0; i < 10; i++) {
+            map.put(i, i);
+        }
+        listener.latch.countDown();
+
+        assertTrueEventually(new AssertTask() {
+            @Override
+            public void run() throws Exception {
+                assertTrue(getNodeEngineImpl(hz).getEventService().getRegistrations(MapService.SERVICE_NAME, mapName).isEmpty());
+            }
+        });
+    }
+
+    private static Config newConfig(int capacity, EventOverflowPolicy overflowPolicy) {
+        return new Config()
+                .setProperty(EVENT_REGISTRATION_BUFFER_CAPACITY.getName(), String.valueOf(capacity))
+                .setProperty(EVENT_REGISTRATION_OVERFLOW_POLICY.getName(), overflowPolicy.name());
+    }
+
+    /**
+     * Finds a key owned by the given instance whose events are buffered in the given stripe.
+     */
+    private static int findKey(HazelcastInstance owner, int stripe, int stripeCount) {
+        for (int key = 0; ; key++) {
+            int orderKey = getSerializationService(owner).toData(key).hashCode();
+            if (hashToIndex(orderKey, stripeCount) == stripe
+                    && owner.getPartitionService().getPartition(key).getOwner().localMember()) {
+                return key;
+            }
+        }
+    }
+
+    private static void assertSizeEventually(final int expectedSize, final RegistrationBuffer buffer) {
+        assertTrueEventually(new AssertTask() {
+            @Override
+            public void run() throws Exception {
+                assertEquals(expectedSize, buffer.size());
+            }
+        });
+    }
+
+    private static RegistrationBuffer getBuffer(HazelcastInstance hz) {
+        EventServiceImpl eventService = (EventServiceImpl) getNodeEngineImpl(hz).getEventService();
+        for (RegistrationBuffer buffer : eventService.getRegistrationBuffers()) {
+            if (MapService.SERVICE_NAME.equals(buffer.getRegistration().getServiceName())) {
+                return buffer;
+            }
+        }
+        throw new AssertionError("No registration buffer found");
+    }
+
+    private static class BlockingListener extends EntryAdapter<Integer, Integer> {
+
+        private final CountDownLatch entered = new CountDownLatch(1);
+        private final CountDownLatch latch = new CountDownLatch(1);
+        private final List<Integer> keys = Collections.synchronizedList(new ArrayList<Integer>());
+        private final List<Integer> values = Collections.synchronizedList(new ArrayList<Integer>());
+        // the key whose events block the listener, null if all events block
+        private final Integer blockedKey;
+
+        BlockingListener() {
+            this(null);
+        }
+
+        BlockingListener(Integer blockedKey) {
+            this.blockedKey = blockedKey;
+        }
+
+        @Override
+        public void onEntryEvent(EntryEvent<Integer, Integer> event) {
+            if (blockedKey == null || blockedKey.equals(event.getKey())) {
+                entered.countDown();
+                assertOpenEventually(latch);
+            }
+            keys.add(event.getKey());
+            values.add(event.getValue());
+        }
+
+        List<Integer> getKeys() {
+            synchronized (keys) {
+                return new ArrayList<Integer>(keys);
+            }
+        }
+
+        List<Integer> getValues() {
+            synchronized (values) {
+                return new ArrayList<Integer>(values);
+            }
+        }
+    }
+}